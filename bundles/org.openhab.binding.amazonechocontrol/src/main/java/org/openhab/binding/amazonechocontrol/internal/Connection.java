@@ -120,6 +120,10 @@ public class Connection {
     protected final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THING_THREADPOOL_NAME);
 
     private static final long expiresIn = 432000; // five days
+    // GET responses of device states are reused within one refresh cycle
+    private static final long STATE_CACHE_TIME = TimeUnit.SECONDS.toMillis(10);
+    // playlists and notification sounds rarely change but are requested for every device on every refresh
+    private static final long CATALOG_CACHE_TIME = TimeUnit.MINUTES.toMillis(5);
     private static final Pattern charsetPattern = Pattern.compile("(?i)\\bcharset=\\s*\"?([^\\s;\"]*)");
 
     private final Logger logger = LoggerFactory.getLogger(Connection.class);
@@ -143,6 +147,25 @@ public class Connection {
     private final Gson gson;
     private final Gson gsonWithNullSerialization;
 
+    private final Map<String, CachedResponse> responseCache = new HashMap<>();
+    private long responseCacheGeneration;
+
+    private static class CachedResponse {
+        final String body;
+        final long expiresAt;
+        // serial number of the device, null if the response contains the state of all devices
+        final @Nullable String serialNumber;
+        // true for device states, false for catalogs which are not changed by commands
+        final boolean state;
+
+        CachedResponse(String body, long expiresAt, @Nullable String serialNumber, boolean state) {
+            this.body = body;
+            this.expiresAt = expiresAt;
+            this.serialNumber = serialNumber;
+            this.state = state;
+        }
+    }
+
     public Connection(@Nullable Connection oldConnection, Gson gson) {
         this.gson = gson;
         String frc = null;
@@ -503,9 +526,99 @@ public class Connection {
         return result;
     }
 
+    /**
+     * Returns the response of a GET request, reusing a response received within the cache time. Cached device states
+     * are dropped whenever the state may have changed, i.e. when a command is sent or a push message received.
+     *
+     * @param url the URL of the request
+     * @param serialNumber the serial number of the device or null if the response contains all devices
+     * @param state true if the response is a device state, false if it is a catalog
+     */
+    private String makeCachedRequestAndReturnString(String url, @Nullable String serialNumber, boolean state)
+            throws IOException, URISyntaxException {
+        long generation;
+        synchronized (responseCache) {
+            CachedResponse cached = responseCache.get(url);
+            if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+                logger.debug("Use cached result of GET {}", url);
+                return cached.body;
+            }
+            generation = responseCacheGeneration;
+        }
+        String result = makeRequestAndReturnString(url);
+        synchronized (responseCache) {
+            // do not cache a response which may have been outdated by a command sent in the meantime
+            if (generation == responseCacheGeneration) {
+                long cacheTime = state ? STATE_CACHE_TIME : CATALOG_CACHE_TIME;
+                responseCache.put(url,
+                        new CachedResponse(result, System.currentTimeMillis() + cacheTime, serialNumber, state));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drops the cached states of a device and the cached states of all devices, to be called when the state of the
+     * device changed. Cached catalogs like playlists and notification sounds are kept.
+     *
+     * @param serialNumber the serial number of the device or null to drop the cached states of all devices
+     */
+    public void invalidateResponseCache(@Nullable String serialNumber) {
+        synchronized (responseCache) {
+            responseCache.values().removeIf(cached -> cached.state && (serialNumber == null
+                    || cached.serialNumber == null || serialNumber.equals(cached.serialNumber)));
+            responseCacheGeneration++;
+        }
+    }
+
+    private void clearResponseCache() {
+        synchronized (responseCache) {
+            responseCache.clear();
+            responseCacheGeneration++;
+        }
+    }
+
+    private void makeRequestAndDiscardResponse(String verb, String url, @Nullable String postData, boolean json,
+            boolean autoredirect, @Nullable Map<String, String> customHeaders, int badRequestRepeats)
+            throws IOException, URISyntaxException {
+        discardResponse(makeRequest(verb, url, postData, json, autoredirect, customHeaders, badRequestRepeats));
+    }
+
+    /**
+     * Reads the remaining response, so that the connection is kept alive and reused for the next request.
+     */
+    private void discardResponse(HttpsURLConnection connection) {
+        try (InputStream input = connection.getResponseCode() < 400 ? connection.getInputStream()
+                : connection.getErrorStream()) {
+            if (input != null) {
+                byte[] buffer = new byte[4096];
+                while (input.read(buffer) != -1) {
+                    // discard
+                }
+            }
+        } catch (IOException e) {
+            connection.disconnect();
+        }
+    }
+
     public HttpsURLConnection makeRequest(String verb, String url, @Nullable String postData, boolean json,
             boolean autoredirect, @Nullable Map<String, String> customHeaders, int badRequestRepeats)
             throws IOException, URISyntaxException {
+        if ("GET".equals(verb)) {
+            return makeRequestInternal(verb, url, postData, json, autoredirect, customHeaders, badRequestRepeats);
+        }
+        // a command may change the state of any device
+        invalidateResponseCache(null);
+        try {
+            return makeRequestInternal(verb, url, postData, json, autoredirect, customHeaders, badRequestRepeats);
+        } finally {
+            invalidateResponseCache(null);
+        }
+    }
+
+    private HttpsURLConnection makeRequestInternal(String verb, String url, @Nullable String postData, boolean json,
+            boolean autoredirect, @Nullable Map<String, String> customHeaders, int badRequestRepeats)
+            throws IOException, URISyntaxException {
         String currentUrl = url;
         int redirectCounter = 0;
         while (true) // loop for handling redirect and bad request, using automatic redirect is not possible,
@@ -622,7 +735,8 @@ public class Connection {
                     scheduler.schedule(() -> {
                         logger.debug("Retry call to {}", url);
                         try {
-                            makeRequest(verb, url, postData, json, autoredirect, customHeaders, badRequestRepeats - 1);
+                            makeRequestAndDiscardResponse(verb, url, postData, json, autoredirect, customHeaders,
+                                    badRequestRepeats - 1);
                         } catch (IOException | URISyntaxException e) {
                             logger.debug("Repeat fails", e);
                         }
@@ -641,6 +755,7 @@ public class Connection {
                     }
                     currentUrl = location;
                     if (autoredirect) {
+                        discardResponse(connection);
                         continue; // repeat with new location
                     }
                     return connection;
@@ -875,6 +990,7 @@ public class Connection {
 
     public void logout() {
         cookieManager.getCookieStore().removeAll();
+        clearResponseCache();
         // reset all members
         refreshToken = null;
         loginTime = null;
@@ -926,15 +1042,16 @@ public class Connection {
     }
 
     public JsonPlayerState getPlayer(Device device) throws IOException, URISyntaxException {
-        String json = makeRequestAndReturnString(alexaServer + "/api/np/player?deviceSerialNumber="
-                + device.serialNumber + "&deviceType=" + device.deviceType + "&screenWidth=1440");
+        String json = makeCachedRequestAndReturnString(alexaServer + "/api/np/player?deviceSerialNumber="
+                + device.serialNumber + "&deviceType=" + device.deviceType + "&screenWidth=1440", device.serialNumber,
+                true);
         JsonPlayerState playerState = parseJson(json, JsonPlayerState.class);
         return playerState;
     }
 
     public JsonMediaState getMediaState(Device device) throws IOException, URISyntaxException {
-        String json = makeRequestAndReturnString(alexaServer + "/api/media/state?deviceSerialNumber="
-                + device.serialNumber + "&deviceType=" + device.deviceType);
+        String json = makeCachedRequestAndReturnString(alexaServer + "/api/media/state?deviceSerialNumber="
+                + device.serialNumber + "&deviceType=" + device.deviceType, device.serialNumber, true);
         JsonMediaState mediaState = parseJson(json, JsonMediaState.class);
         return mediaState;
     }
@@ -958,7 +1075,7 @@ public class Connection {
     public JsonBluetoothStates getBluetoothConnectionStates() {
         String json;
         try {
-            json = makeRequestAndReturnString(alexaServer + "/api/bluetooth?cached=true");
+            json = makeCachedRequestAndReturnString(alexaServer + "/api/bluetooth?cached=true", null, true);
         } catch (IOException | URISyntaxException e) {
             logger.debug("failed to get bluetooth state: {}", e.getMessage());
             return new JsonBluetoothStates();
@@ -968,10 +1085,10 @@ public class Connection {
     }
 
     public JsonPlaylists getPlaylists(Device device) throws IOException, URISyntaxException {
-        String json = makeRequestAndReturnString(alexaServer + "/api/cloudplayer/playlists?deviceSerialNumber="
+        String json = makeCachedRequestAndReturnString(alexaServer + "/api/cloudplayer/playlists?deviceSerialNumber="
                 + device.serialNumber + "&deviceType=" + device.deviceType + "&mediaOwnerCustomerId="
-                + (StringUtils.isEmpty(this.accountCustomerId) ? device.deviceOwnerCustomerId
-                        : this.accountCustomerId));
+                + (StringUtils.isEmpty(this.accountCustomerId) ? device.deviceOwnerCustomerId : this.accountCustomerId),
+                device.serialNumber, false);
         JsonPlaylists playlists = parseJson(json, JsonPlaylists.class);
         return playlists;
     }
@@ -979,7 +1096,7 @@ public class Connection {
     public void command(Device device, String command) throws IOException, URISyntaxException {
         String url = alexaServer + "/api/np/command?deviceSerialNumber=" + device.serialNumber + "&deviceType="
                 + device.deviceType;
-        makeRequest("POST", url, command, true, true, null, 0);
+        makeRequestAndDiscardResponse("POST", url, command, true, true, null, 0);
     }
 
     public void notificationVolume(Device device, int volume) throws IOException, URISyntaxException {
@@ -987,7 +1104,7 @@ public class Connection {
                 + "/" + device.serialNumber;
         String command = "{\"deviceSerialNumber\":\"" + device.serialNumber + "\",\"deviceType\":\"" + device.deviceType
                 + "\",\"softwareVersion\":\"" + device.softwareVersion + "\",\"volumeLevel\":" + volume + "}";
-        makeRequest("PUT", url, command, true, true, null, 0);
+        makeRequestAndDiscardResponse("PUT", url, command, true, true, null, 0);
     }
 
     public void ascendingAlarm(Device device, boolean ascendingAlarm) throws IOException, URISyntaxException {
@@ -995,13 +1112,13 @@ public class Connection {
         String command = "{\"ascendingAlarmEnabled\":" + (ascendingAlarm ? "true" : "false")
                 + ",\"deviceSerialNumber\":\"" + device.serialNumber + "\",\"deviceType\":\"" + device.deviceType
                 + "\",\"deviceAccountId\":null}";
-        makeRequest("PUT", url, command, true, true, null, 0);
+        makeRequestAndDiscardResponse("PUT", url, command, true, true, null, 0);
     }
 
     public DeviceNotificationState[] getDeviceNotificationStates() {
         String json;
         try {
-            json = makeRequestAndReturnString(alexaServer + "/api/device-notification-state");
+            json = makeCachedRequestAndReturnString(alexaServer + "/api/device-notification-state", null, true);
             JsonDeviceNotificationState result = parseJson(json, JsonDeviceNotificationState.class);
             DeviceNotificationState[] deviceNotificationStates = result.deviceNotificationStates;
             if (deviceNotificationStates != null) {
@@ -1016,7 +1133,7 @@ public class Connection {
     public AscendingAlarmModel[] getAscendingAlarm() {
         String json;
         try {
-            json = makeRequestAndReturnString(alexaServer + "/api/ascending-alarm");
+            json = makeCachedRequestAndReturnString(alexaServer + "/api/ascending-alarm", null, true);
             JsonAscendingAlarm result = parseJson(json, JsonAscendingAlarm.class);
             AscendingAlarmModel[] ascendingAlarmModelList = result.ascendingAlarmModelList;
             if (ascendingAlarmModelList != null) {
@@ -1031,11 +1148,11 @@ public class Connection {
     public void bluetooth(Device device, @Nullable String address) throws IOException, URISyntaxException {
         if (StringUtils.isEmpty(address)) {
             // disconnect
-            makeRequest("POST",
+            makeRequestAndDiscardResponse("POST",
                     alexaServer + "/api/bluetooth/disconnect-sink/" + device.deviceType + "/" + device.serialNumber, "",
                     true, true, null, 0);
         } else {
-            makeRequest("POST",
+            makeRequestAndDiscardResponse("POST",
                     alexaServer + "/api/bluetooth/pair-sink/" + device.deviceType + "/" + device.serialNumber,
                     "{\"bluetoothDeviceAddress\":\"" + address + "\"}", true, true, null, 0);
         }
@@ -1045,7 +1162,7 @@ public class Connection {
         if (StringUtils.isEmpty(stationId)) {
             command(device, "{\"type\":\"PauseCommand\"}");
         } else {
-            makeRequest("POST",
+            makeRequestAndDiscardResponse("POST",
                     alexaServer + "/api/tunein/queue-and-play?deviceSerialNumber=" + device.serialNumber
                             + "&deviceType=" + device.deviceType + "&guideId=" + stationId
                             + "&contentType=station&callSign=&mediaOwnerCustomerId="
@@ -1060,7 +1177,7 @@ public class Connection {
             command(device, "{\"type\":\"PauseCommand\"}");
         } else {
             String command = "{\"trackId\":\"" + trackId + "\",\"playQueuePrime\":true}";
-            makeRequest("POST",
+            makeRequestAndDiscardResponse("POST",
                     alexaServer + "/api/cloudplayer/queue-and-play?deviceSerialNumber=" + device.serialNumber
                             + "&deviceType=" + device.deviceType + "&mediaOwnerCustomerId="
                             + (StringUtils.isEmpty(this.accountCustomerId) ? device.deviceOwnerCustomerId
@@ -1076,7 +1193,7 @@ public class Connection {
             command(device, "{\"type\":\"PauseCommand\"}");
         } else {
             String command = "{\"playlistId\":\"" + playListId + "\",\"playQueuePrime\":true}";
-            makeRequest("POST",
+            makeRequestAndDiscardResponse("POST",
                     alexaServer + "/api/cloudplayer/queue-and-play?deviceSerialNumber=" + device.serialNumber
                             + "&deviceType=" + device.deviceType + "&mediaOwnerCustomerId="
                             + (StringUtils.isEmpty(this.accountCustomerId) ? device.deviceOwnerCustomerId
@@ -1190,7 +1307,7 @@ public class Connection {
         Map<String, String> headers = new HashMap<>();
         headers.put("Routines-Version", "1.1.218665");
 
-        makeRequest("POST", alexaServer + "/api/behaviors/preview", json, true, true, null, 3);
+        makeRequestAndDiscardResponse("POST", alexaServer + "/api/behaviors/preview", json, true, true, null, 3);
     }
 
     private void executeSequenceNodes(JsonArray nodesToExecute) throws IOException, URISyntaxException {
@@ -1298,7 +1415,8 @@ public class Connection {
             request.sequenceJson = sequenceJson;
 
             String requestJson = gson.toJson(request);
-            makeRequest("POST", alexaServer + "/api/behaviors/preview", requestJson, true, true, null, 3);
+            makeRequestAndDiscardResponse("POST", alexaServer + "/api/behaviors/preview", requestJson, true, true, null,
+                    3);
         } else {
             logger.warn("Routine {} not found", utterance);
         }
@@ -1324,13 +1442,15 @@ public class Connection {
         JsonEnabledFeeds enabled = new JsonEnabledFeeds();
         enabled.enabledFeeds = enabledFlashBriefing;
         String json = gsonWithNullSerialization.toJson(enabled);
-        makeRequest("POST", alexaServer + "/api/content-skills/enabled-feeds", json, true, true, null, 0);
+        makeRequestAndDiscardResponse("POST", alexaServer + "/api/content-skills/enabled-feeds", json, true, true, null,
+                0);
     }
 
     public JsonNotificationSound[] getNotificationSounds(Device device) throws IOException, URISyntaxException {
-        String json = makeRequestAndReturnString(
+        String json = makeCachedRequestAndReturnString(
                 alexaServer + "/api/notification/sounds?deviceSerialNumber=" + device.serialNumber + "&deviceType="
-                        + device.deviceType + "&softwareVersion=" + device.softwareVersion);
+                        + device.deviceType + "&softwareVersion=" + device.softwareVersion,
+                device.serialNumber, false);
         JsonNotificationSounds result = parseJson(json, JsonNotificationSounds.class);
         JsonNotificationSound[] notificationSounds = result.notificationSounds;
         if (notificationSounds != null) {
@@ -1454,7 +1574,7 @@ public class Connection {
         startRoutineRequest.status = null;
 
         String postData = gson.toJson(startRoutineRequest);
-        makeRequest("POST", alexaServer + "/api/behaviors/preview", postData, true, true, null, 3);
+        makeRequestAndDiscardResponse("POST", alexaServer + "/api/behaviors/preview", postData, true, true, null, 3);
     }
 
     public JsonEqualizer getEqualizer(Device device) throws IOException, URISyntaxException {
@@ -1465,7 +1585,8 @@ public class Connection {
 
     public void SetEqualizer(Device device, JsonEqualizer settings) throws IOException, URISyntaxException {
         String postData = gson.toJson(settings);
-        makeRequest("POST", alexaServer + "/api/equalizer/" + device.serialNumber + "/" + device.deviceType, postData,
-                true, true, null, 0);
+        makeRequestAndDiscardResponse("POST",
+                alexaServer + "/api/equalizer/" + device.serialNumber + "/" + device.deviceType, postData, true, true,
+                null, 0);
     }
 }
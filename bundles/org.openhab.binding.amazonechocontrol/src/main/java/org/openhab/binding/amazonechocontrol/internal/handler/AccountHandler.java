@@ -719,10 +719,13 @@ public class AccountHandler extends BaseBridgeHandler implements IWebSocketComma
         if (command != null) {
             switch (command) {
                 case "PUSH_ACTIVITY":
+                    // a voice command can change the state of any device, not only of the device hearing it
+                    invalidateResponseCache(null);
                     handlePushActivity(pushCommand.payload);
-                    return;
+                    break;
                 case "PUSH_DOPPLER_CONNECTION_CHANGE":
                 case "PUSH_BLUETOOTH_STATE_CHANGE":
+                    invalidateResponseCache(null);
                     // refresh data 200ms after last command
                     @Nullable
                     ScheduledFuture<?> refreshDataDelayed = this.refreshAfterCommandJob;
@@ -733,6 +736,7 @@ public class AccountHandler extends BaseBridgeHandler implements IWebSocketComma
                             TimeUnit.MILLISECONDS);
                     break;
                 case "PUSH_NOTIFICATION_CHANGE":
+                    invalidateResponseCache(null);
                     JsonCommandPayloadPushNotificationChange pushPayload = gson.fromJson(pushCommand.payload,
                             JsonCommandPayloadPushNotificationChange.class);
                     refreshNotifications(pushPayload);
@@ -746,14 +750,30 @@ public class AccountHandler extends BaseBridgeHandler implements IWebSocketComma
                         @Nullable
                         DopplerId dopplerId = devicePayload.dopplerId;
                         if (dopplerId != null) {
+                            // only the cached states of the device reporting the change are outdated
+                            invalidateResponseCache(dopplerId.deviceSerialNumber);
                             handlePushDeviceCommand(dopplerId, command, payload);
+                            break;
                         }
                     }
+                    invalidateResponseCache(null);
                     break;
             }
         }
     }
 
+    /**
+     * Drops the cached states of a device after a push message reported a changed state.
+     *
+     * @param serialNumber the serial number of the device or null if the device is not known
+     */
+    private void invalidateResponseCache(@Nullable String serialNumber) {
+        Connection currentConnection = this.connection;
+        if (currentConnection != null) {
+            currentConnection.invalidateResponseCache(serialNumber);
+        }
+    }
+
     private void handlePushDeviceCommand(DopplerId dopplerId, String command, String payload) {
         @Nullable
         EchoHandler echoHandler = findEchoHandlerBySerialNumber(dopplerId.deviceSerialNumber);
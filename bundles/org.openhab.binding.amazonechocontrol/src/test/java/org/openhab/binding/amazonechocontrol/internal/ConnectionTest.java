@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.amazonechocontrol.internal;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.amazonechocontrol.internal.jsons.JsonDevices.Device;
+
+import com.google.gson.Gson;
+
+/**
+ * Tests the response cache of the {@link Connection}.
+ *
+ * @author agent - Initial contribution
+ */
+public class ConnectionTest {
+
+    private static final String PLAYER = "/api/np/player";
+    private static final String PLAYLISTS = "/api/cloudplayer/playlists";
+    private static final String BLUETOOTH = "/api/bluetooth";
+    private static final Pattern SERIAL_NUMBER_PATTERN = Pattern.compile("deviceSerialNumber=([^&]*)");
+
+    private final List<String> requests = new ArrayList<>();
+
+    private Connection connection;
+    private Device device1;
+    private Device device2;
+
+    @Before
+    public void setUp() {
+        connection = new Connection(null, new Gson()) {
+            @Override
+            public String makeRequestAndReturnString(String url) throws IOException, URISyntaxException {
+                requests.add(describe(url));
+                return "{}";
+            }
+        };
+        device1 = createDevice("SERIAL1");
+        device2 = createDevice("SERIAL2");
+    }
+
+    @Test
+    public void testResponsesAreReused() throws IOException, URISyntaxException {
+        refresh();
+        refresh();
+
+        assertEquals(Arrays.asList(PLAYER + "#SERIAL1", PLAYLISTS + "#SERIAL1", PLAYER + "#SERIAL2",
+                PLAYLISTS + "#SERIAL2", BLUETOOTH + "#all"), requests);
+    }
+
+    @Test
+    public void testPushMessageOfDeviceDropsOnlyStatesOfDevice() throws IOException, URISyntaxException {
+        refresh();
+        requests.clear();
+
+        connection.invalidateResponseCache("SERIAL1");
+        refresh();
+
+        // the bluetooth states contain all devices, so they are outdated as well
+        assertEquals(Arrays.asList(PLAYER + "#SERIAL1", BLUETOOTH + "#all"), requests);
+    }
+
+    @Test
+    public void testCommandDropsOnlyStates() throws IOException, URISyntaxException {
+        refresh();
+        requests.clear();
+
+        connection.invalidateResponseCache(null);
+        refresh();
+
+        assertEquals(Arrays.asList(PLAYER + "#SERIAL1", PLAYER + "#SERIAL2", BLUETOOTH + "#all"), requests);
+    }
+
+    private void refresh() throws IOException, URISyntaxException {
+        for (Device device : Arrays.asList(device1, device2)) {
+            connection.getPlayer(device);
+            connection.getPlaylists(device);
+        }
+        connection.getBluetoothConnectionStates();
+    }
+
+    /**
+     * Returns the path and the serial number of the device of a request URL.
+     */
+    private static String describe(String url) {
+        String path = url.substring(url.indexOf("/api/"), url.indexOf('?'));
+        Matcher matcher = SERIAL_NUMBER_PATTERN.matcher(url);
+        return path + "#" + (matcher.find() ? matcher.group(1) : "all");
+    }
+
+    private Device createDevice(String serialNumber) {
+        Device device = new Device();
+        device.serialNumber = serialNumber;
+        device.deviceType = "A3S5BH2HU6VAYF";
+        device.deviceOwnerCustomerId = "A1234567890";
+        return device;
+    }
+}
@@ -12,6 +12,7 @@
  */
 package org.openhab.binding.astro.internal.calc;
 
+import java.time.ZonedDateTime;
 import java.util.Calendar;
 import java.util.Map.Entry;
 
@@ -64,37 +65,62 @@ public class SunCalc {
      * Calculates the sun position (azimuth and elevation).
      */
     public void setPositionalInfo(Calendar calendar, double latitude, double longitude, Double altitude, Sun sun) {
+        double[] azimuthElevation = getAzimuthElevation(DateTimeUtils.dateToJulianDate(calendar), latitude, longitude);
+        setPositionalInfo(azimuthElevation[0], azimuthElevation[1], sun);
+        setRadiationInfo(calendar, azimuthElevation[1], altitude, sun);
+    }
+
+    /**
+     * Calculates the sun position (azimuth and elevation), looked up in the shared {@link SunPositionTable} of the
+     * day.
+     */
+    public void setPositionalInfo(ZonedDateTime dateTime, double latitude, double longitude, Double altitude,
+            int intervalSeconds, Sun sun) {
+        double[] azimuthElevation = SunPositionTable.getTable(dateTime.toLocalDate(), dateTime.getZone(), latitude,
+                longitude, intervalSeconds).getAzimuthElevation(dateTime.toInstant().toEpochMilli());
+        setPositionalInfo(azimuthElevation[0], azimuthElevation[1], sun);
+        setRadiationInfo(dateTime.getDayOfYear(), dateTime.toLocalDate().lengthOfYear(), azimuthElevation[1],
+                altitude, sun);
+    }
+
+    private void setPositionalInfo(double azimuth, double elevation, Sun sun) {
+        Position position = sun.getPosition();
+        position.setAzimuth(azimuth);
+        position.setElevation(elevation);
+        position.setShadeLength(getShadeLength(elevation));
+    }
+
+    /**
+     * Calculates the azimuth and elevation of the sun in degrees at the given julian date.
+     *
+     * @return an array with the azimuth and the elevation
+     */
+    public double[] getAzimuthElevation(double julianDate, double latitude, double longitude) {
         double lw = -longitude * DEG2RAD;
         double phi = latitude * DEG2RAD;
 
-        double j = DateTimeUtils.dateToJulianDate(calendar);
-        double m = getSolarMeanAnomaly(j);
+        double m = getSolarMeanAnomaly(julianDate);
         double c = getEquationOfCenter(m);
         double lsun = getEclipticLongitude(m, c);
         double d = getSunDeclination(lsun);
         double a = getRightAscension(lsun);
-        double th = getSiderealTime(j, lw);
+        double th = getSiderealTime(julianDate, lw);
 
         double azimuth = getAzimuth(th, a, phi, d) / DEG2RAD;
         double elevation = getElevation(th, a, phi, d) / DEG2RAD;
-        double shadeLength = getShadeLength(elevation);
-
-        Position position = sun.getPosition();
-        position.setAzimuth(azimuth + 180);
-        position.setElevation(elevation);
-        position.setShadeLength(shadeLength);
-
-        setRadiationInfo(calendar, elevation, altitude, sun);
+        return new double[] { azimuth + 180, elevation };
     }
 
     /**
      * Calculates sun radiation data.
      */
     public void setRadiationInfo(Calendar calendar, double elevation, Double altitude, Sun sun) {
-        double sinAlpha = Math.sin(DEG2RAD * elevation);
+        setRadiationInfo(calendar.get(Calendar.DAY_OF_YEAR), calendar.getActualMaximum(Calendar.DAY_OF_YEAR),
+                elevation, altitude, sun);
+    }
 
-        int dayOfYear = calendar.get(Calendar.DAY_OF_YEAR);
-        int daysInYear = calendar.getActualMaximum(Calendar.DAY_OF_YEAR);
+    private void setRadiationInfo(int dayOfYear, int daysInYear, double elevation, Double altitude, Sun sun) {
+        double sinAlpha = Math.sin(DEG2RAD * elevation);
 
         // Direct Solar Radiation (in W/m²) at the atmosphere entry
         // At sunrise/sunset - calculations limits are reached
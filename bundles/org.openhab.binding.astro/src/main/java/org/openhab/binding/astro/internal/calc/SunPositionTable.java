@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.astro.internal.calc;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openhab.binding.astro.internal.util.DateTimeUtils;
+
+/**
+ * Holds the sun positions of one day at one location, sampled in a fixed interval and interpolated in between.
+ * <p>
+ * Tables are shared between all things with the same coordinates and interval, so the trigonometry of
+ * {@link SunCalc} runs once per sample and day instead of once per positional job run of every thing.
+ * <p>
+ * When the sun passes close to the zenith, as it does in the tropics, the azimuth swings around within minutes and the
+ * elevation has a sharp peak, so linear interpolation is not accurate. Each interval is therefore checked against the
+ * calculated position at its middle, and positions in intervals that cannot be interpolated accurately are
+ * calculated directly.
+ *
+ * @author agent - Initial contribution
+ */
+public final class SunPositionTable {
+    /** The samples are at least one and at most five minutes apart, to keep the interpolation accurate */
+    private static final int MIN_STEP_SECONDS = 60;
+    private static final int MAX_STEP_SECONDS = 300;
+    /** The maximum difference in degrees between an interpolated and the calculated position */
+    private static final double MAX_INTERPOLATION_ERROR = 0.005;
+
+    private static final Map<Key, SunPositionTable> TABLES = new ConcurrentHashMap<>();
+
+    private final SunCalc sunCalc = new SunCalc();
+    private final LocalDate date;
+    private final double latitude;
+    private final double longitude;
+    private final long startMillis;
+    private final long stepMillis;
+    private final double[] azimuths;
+    private final double[] elevations;
+    private final boolean[] calculated;
+
+    private SunPositionTable(Key key) {
+        date = key.date;
+        latitude = key.latitude;
+        longitude = key.longitude;
+        startMillis = date.atStartOfDay(key.zone).toInstant().toEpochMilli();
+        long endMillis = date.plusDays(1).atStartOfDay(key.zone).toInstant().toEpochMilli();
+        stepMillis = key.stepSeconds * 1000L;
+
+        int samples = (int) ((endMillis - startMillis + stepMillis - 1) / stepMillis) + 1;
+        azimuths = new double[samples];
+        elevations = new double[samples];
+
+        for (int i = 0; i < samples; i++) {
+            double[] azimuthElevation = sunCalc.getAzimuthElevation(toJulianDate(startMillis + i * stepMillis),
+                    latitude, longitude);
+            azimuths[i] = azimuthElevation[0];
+            elevations[i] = azimuthElevation[1];
+        }
+
+        calculated = new boolean[samples - 1];
+        for (int i = 0; i < samples - 1; i++) {
+            double[] expected = sunCalc.getAzimuthElevation(toJulianDate(startMillis + i * stepMillis + stepMillis / 2),
+                    latitude, longitude);
+            double[] interpolated = interpolate(i, 0.5);
+            calculated[i] = Math.abs(angleDifference(expected[0], interpolated[0])) > MAX_INTERPOLATION_ERROR
+                    || Math.abs(expected[1] - interpolated[1]) > MAX_INTERPOLATION_ERROR;
+        }
+    }
+
+    /**
+     * Returns the shared table for the given day and location, calculating it on first use. Tables of earlier days are
+     * discarded.
+     *
+     * @param date the day
+     * @param zone the time zone the day is in
+     * @param latitude the latitude of the location
+     * @param longitude the longitude of the location
+     * @param intervalSeconds the interval in which positions are requested
+     */
+    public static SunPositionTable getTable(LocalDate date, ZoneId zone, double latitude, double longitude,
+            int intervalSeconds) {
+        int stepSeconds = Math.min(MAX_STEP_SECONDS, Math.max(MIN_STEP_SECONDS, intervalSeconds));
+        Key key = new Key(date, zone, latitude, longitude, stepSeconds);
+        SunPositionTable table = TABLES.get(key);
+        if (table == null) {
+            TABLES.keySet().removeIf(other -> other.date.isBefore(date));
+            table = TABLES.computeIfAbsent(key, SunPositionTable::new);
+        }
+        return table;
+    }
+
+    /**
+     * Returns the azimuth and elevation of the sun in degrees at the given time, interpolated between the two
+     * surrounding samples. Times outside of the day of this table and times in intervals that cannot be interpolated
+     * accurately are calculated directly.
+     *
+     * @return an array with the azimuth and the elevation
+     */
+    public double[] getAzimuthElevation(long epochMillis) {
+        long offset = epochMillis - startMillis;
+        int index = (int) (offset / stepMillis);
+        if (offset < 0 || index >= calculated.length || calculated[index]) {
+            return sunCalc.getAzimuthElevation(toJulianDate(epochMillis), latitude, longitude);
+        }
+        return interpolate(index, (double) (offset - index * stepMillis) / stepMillis);
+    }
+
+    private double[] interpolate(int index, double fraction) {
+        double elevation = elevations[index] + fraction * (elevations[index + 1] - elevations[index]);
+
+        // the azimuth wraps around at 360°, interpolate along the shorter arc of the circle
+        double azimuth = azimuths[index] + fraction * angleDifference(azimuths[index + 1], azimuths[index]);
+        if (azimuth < 0) {
+            azimuth += 360;
+        } else if (azimuth >= 360) {
+            azimuth -= 360;
+        }
+        return new double[] { azimuth, elevation };
+    }
+
+    /**
+     * Returns the difference of two angles in degrees along the shorter arc, between -180 and 180.
+     */
+    private static double angleDifference(double angle, double other) {
+        double difference = angle - other;
+        if (difference > 180) {
+            difference -= 360;
+        } else if (difference < -180) {
+            difference += 360;
+        }
+        return difference;
+    }
+
+    private static double toJulianDate(long epochMillis) {
+        return epochMillis / DateTimeUtils.MILLISECONDS_PER_DAY - 0.5 + DateTimeUtils.J1970;
+    }
+
+    private static final class Key {
+        private final LocalDate date;
+        private final ZoneId zone;
+        private final double latitude;
+        private final double longitude;
+        private final int stepSeconds;
+
+        private Key(LocalDate date, ZoneId zone, double latitude, double longitude, int stepSeconds) {
+            this.date = date;
+            this.zone = zone;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.stepSeconds = stepSeconds;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(date, zone, latitude, longitude, stepSeconds);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return date.equals(other.date) && zone.equals(other.zone) && latitude == other.latitude
+                    && longitude == other.longitude && stepSeconds == other.stepSeconds;
+        }
+    }
+}
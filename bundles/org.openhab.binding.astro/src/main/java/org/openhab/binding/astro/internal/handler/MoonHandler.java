@@ -27,6 +27,7 @@ import org.openhab.binding.astro.internal.job.DailyJobMoon;
 import org.openhab.binding.astro.internal.job.Job;
 import org.openhab.binding.astro.internal.model.Moon;
 import org.openhab.binding.astro.internal.model.Planet;
+import org.openhab.binding.astro.internal.util.DateTimeUtils;
 
 /**
  * The MoonHandler is responsible for updating calculated moon data.
@@ -42,6 +43,7 @@ public class MoonHandler extends AstroThingHandler {
             "phase#ageDegree", "phase#illumination", "position#azimuth", "position#elevation", "zodiac#sign" };
     private final MoonCalc moonCalc = new MoonCalc();
     private Moon moon;
+    private Calendar moonDate;
 
     /**
      * Constructor
@@ -58,8 +60,11 @@ public class MoonHandler extends AstroThingHandler {
 
     @Override
     public void publishPositionalInfo() {
-        initializeMoon();
-        moonCalc.setPositionalInfo(Calendar.getInstance(), thingConfig.getLatitude(), thingConfig.getLongitude(), moon);
+        Calendar now = Calendar.getInstance();
+        if (moon == null || !DateTimeUtils.isSameDay(now, moonDate)) {
+            initializeMoon();
+        }
+        moonCalc.setPositionalInfo(now, thingConfig.getLatitude(), thingConfig.getLongitude(), moon);
         publishPlanet();
     }
 
@@ -72,6 +77,7 @@ public class MoonHandler extends AstroThingHandler {
     public void dispose() {
         super.dispose();
         moon = null;
+        moonDate = null;
     }
 
     @Override
@@ -84,8 +90,12 @@ public class MoonHandler extends AstroThingHandler {
         return new DailyJobMoon(thing.getUID().getAsString(), this);
     }
 
+    /**
+     * Calculates the daily moon data. The positional job only updates the position and phase of this instance.
+     */
     private void initializeMoon() {
-        moon = moonCalc.getMoonInfo(Calendar.getInstance(), thingConfig.getLatitude(), thingConfig.getLongitude());
+        moonDate = Calendar.getInstance();
+        moon = moonCalc.getMoonInfo(moonDate, thingConfig.getLatitude(), thingConfig.getLongitude());
     }
 
 }
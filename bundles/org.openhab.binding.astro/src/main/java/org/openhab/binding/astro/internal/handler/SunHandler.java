@@ -14,6 +14,8 @@ package org.openhab.binding.astro.internal.handler;
 
 import static org.openhab.binding.astro.internal.AstroBindingConstants.THING_TYPE_SUN;
 
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashSet;
@@ -42,6 +44,7 @@ public class SunHandler extends AstroThingHandler {
             "radiation#direct", "radiation#diffuse", "radiation#total" };
     private final SunCalc sunCalc = new SunCalc();
     private Sun sun;
+    private LocalDate sunDate;
 
     /**
      * Constructor
@@ -58,9 +61,12 @@ public class SunHandler extends AstroThingHandler {
 
     @Override
     public void publishPositionalInfo() {
-        initializeSun();
-        sunCalc.setPositionalInfo(Calendar.getInstance(), thingConfig.getLatitude(), thingConfig.getLongitude(),
-                thingConfig.getAltitude(), sun);
+        ZonedDateTime now = ZonedDateTime.now();
+        if (sun == null || !now.toLocalDate().equals(sunDate)) {
+            initializeSun();
+        }
+        sunCalc.setPositionalInfo(now, thingConfig.getLatitude(), thingConfig.getLongitude(),
+                thingConfig.getAltitude(), thingConfig.getInterval(), sun);
         publishPlanet();
     }
 
@@ -73,6 +79,7 @@ public class SunHandler extends AstroThingHandler {
     public void dispose() {
         super.dispose();
         sun = null;
+        sunDate = null;
     }
 
     @Override
@@ -85,9 +92,16 @@ public class SunHandler extends AstroThingHandler {
         return new DailyJobSun(thing.getUID().getAsString(), this);
     }
 
+    /**
+     * Calculates the daily sun data. The positional job only updates the position of this instance, the sun phase is
+     * updated by the {@link org.openhab.binding.astro.internal.job.SunPhaseJob}s of the day.
+     */
     private void initializeSun() {
-        sun = sunCalc.getSunInfo(Calendar.getInstance(), thingConfig.getLatitude(), thingConfig.getLongitude(),
+        Calendar calendar = Calendar.getInstance();
+        sun = sunCalc.getSunInfo(calendar, thingConfig.getLatitude(), thingConfig.getLongitude(),
                 thingConfig.getAltitude());
+        sunDate = LocalDate.of(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1,
+                calendar.get(Calendar.DAY_OF_MONTH));
     }
 
 }
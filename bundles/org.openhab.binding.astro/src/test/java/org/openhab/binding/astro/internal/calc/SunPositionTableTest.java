@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.astro.internal.calc;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import org.junit.Test;
+import org.openhab.binding.astro.internal.model.Sun;
+
+/**
+ * Compares the interpolated positions of the {@link SunPositionTable} with the direct calculation of {@link SunCalc}
+ * for Amsterdam and for locations in the tropics, where the sun passes close to the zenith.
+ *
+ * @author agent - Initial contribution
+ */
+public class SunPositionTableTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Amsterdam");
+    private static final double AMSTERDAM_LATITUDE = 52.367607;
+    private static final double AMSTERDAM_LONGITUDE = 4.8978293;
+    private static final double ACCURACY_IN_DEGREES = 0.01;
+
+    private final SunCalc sunCalc = new SunCalc();
+
+    @Test
+    public void testInterpolatedPositionsMatchCalculation() {
+        // 31 March 2019 is only 23 hours long due to the DST change
+        for (LocalDate date : new LocalDate[] { LocalDate.of(2019, 2, 27), LocalDate.of(2019, 3, 31),
+                LocalDate.of(2019, 6, 21) }) {
+            assertTableMatchesCalculation(date, ZONE, AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, 60);
+            assertTableMatchesCalculation(date, ZONE, AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, 300);
+        }
+    }
+
+    @Test
+    public void testInterpolatedPositionsMatchCalculationInTropics() {
+        // the sun passes the zenith of Honolulu on 27 May and 15 July, of the equator on 20 March and of the tropic of
+        // Capricorn on 21 December
+        ZoneId honolulu = ZoneId.of("Pacific/Honolulu");
+        assertTableMatchesCalculation(LocalDate.of(2019, 5, 27), honolulu, 21.3069, -157.8583, 300);
+        assertTableMatchesCalculation(LocalDate.of(2019, 7, 15), honolulu, 21.3069, -157.8583, 300);
+        assertTableMatchesCalculation(LocalDate.of(2019, 3, 20), ZoneId.of("Asia/Singapore"), 1.3521, 103.8198, 300);
+        assertTableMatchesCalculation(LocalDate.of(2019, 3, 20), ZoneId.of("UTC"), 0, 0, 300);
+        assertTableMatchesCalculation(LocalDate.of(2019, 12, 21), ZoneId.of("America/Sao_Paulo"), -23.5505, -46.6333,
+                300);
+        assertTableMatchesCalculation(LocalDate.of(2019, 12, 21), ZoneId.of("UTC"), -23.44, 0, 300);
+    }
+
+    @Test
+    public void testPositionalInfoMatchesCalendarCalculation() {
+        ZonedDateTime time = ZonedDateTime.of(2019, 6, 21, 14, 23, 17, 0, ZONE);
+        Sun expected = new Sun();
+        Calendar calendar = GregorianCalendar.from(time);
+        calendar.setTimeZone(TimeZone.getTimeZone(ZONE));
+        sunCalc.setPositionalInfo(calendar, AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, 10.0, expected);
+
+        Sun sun = new Sun();
+        sunCalc.setPositionalInfo(time, AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, 10.0, 60, sun);
+
+        assertEquals(expected.getPosition().getAzimuth().doubleValue(), sun.getPosition().getAzimuth().doubleValue(),
+                ACCURACY_IN_DEGREES);
+        assertEquals(expected.getPosition().getElevationAsDouble(), sun.getPosition().getElevationAsDouble(),
+                ACCURACY_IN_DEGREES);
+        assertEquals(expected.getRadiation().getTotal().doubleValue(), sun.getRadiation().getTotal().doubleValue(),
+                1.0);
+    }
+
+    @Test
+    public void testTablesAreShared() {
+        LocalDate date = LocalDate.of(2019, 6, 21);
+        SunPositionTable table = SunPositionTable.getTable(date, ZONE, AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, 60);
+
+        assertSame(table, SunPositionTable.getTable(date, ZONE, AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, 60));
+        // intervals below the minimum sample step share the table with the minimum step
+        assertSame(table, SunPositionTable.getTable(date, ZONE, AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, 10));
+        assertNotSame(table, SunPositionTable.getTable(date, ZONE, AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE, 300));
+        assertNotSame(table, SunPositionTable.getTable(date, ZONE, 0, AMSTERDAM_LONGITUDE, 60));
+    }
+
+    private void assertTableMatchesCalculation(LocalDate date, ZoneId zone, double latitude, double longitude,
+            int intervalSeconds) {
+        SunPositionTable table = SunPositionTable.getTable(date, zone, latitude, longitude, intervalSeconds);
+        // check at times between the samples, every 37 seconds
+        for (ZonedDateTime time = date.atStartOfDay(zone); time.toLocalDate().equals(date); time = time
+                .plusSeconds(37)) {
+            Calendar calendar = GregorianCalendar.from(time);
+            Sun sun = new Sun();
+            sunCalc.setPositionalInfo(calendar, latitude, longitude, null, sun);
+
+            double[] azimuthElevation = table.getAzimuthElevation(time.toInstant().toEpochMilli());
+            // the azimuth wraps around at 360°
+            double azimuthDifference = Math.abs(sun.getPosition().getAzimuth().doubleValue() - azimuthElevation[0]);
+            assertEquals(time.toString(), 0, Math.min(azimuthDifference, 360 - azimuthDifference),
+                    ACCURACY_IN_DEGREES);
+            assertEquals(time.toString(), sun.getPosition().getElevationAsDouble(), azimuthElevation[1],
+                    ACCURACY_IN_DEGREES);
+        }
+    }
+}
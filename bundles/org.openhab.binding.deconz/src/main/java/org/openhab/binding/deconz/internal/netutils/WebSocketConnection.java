@@ -12,11 +12,14 @@
  */
 package org.openhab.binding.deconz.internal.netutils;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.net.URI;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.websocket.api.Session;
 import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
 import org.eclipse.jetty.websocket.api.annotations.OnWebSocketConnect;
@@ -24,27 +27,36 @@ import org.eclipse.jetty.websocket.api.annotations.OnWebSocketError;
 import org.eclipse.jetty.websocket.api.annotations.OnWebSocketMessage;
 import org.eclipse.jetty.websocket.api.annotations.WebSocket;
 import org.eclipse.jetty.websocket.client.WebSocketClient;
-import org.openhab.binding.deconz.internal.dto.SensorMessage;
+import org.openhab.binding.deconz.internal.dto.SensorState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 /**
  * Establishes and keeps a websocket connection to the deCONZ software.
  *
  * The connection is closed by deCONZ now and then and needs to be re-established.
  *
+ * Change events are decoded while streaming through the message: only the event type, resource and id are read
+ * before the state is deserialized, events of resources without a registered listener are dropped right away.
+ *
  * @author David Graeff - Initial contribution
  */
 @WebSocket
 @NonNullByDefault
 public class WebSocketConnection {
+    private static final String EVENT_CHANGED = "changed";
+    private static final String RESOURCE_SENSORS = "sensors";
+
     private final Logger logger = LoggerFactory.getLogger(WebSocketConnection.class);
 
     private final WebSocketClient client;
     private final WebSocketConnectionListener connectionListener;
-    private final Map<String, WebSocketValueUpdateListener> valueListener = new HashMap<>();
+    private final Map<String, WebSocketValueUpdateListener> valueListener = new ConcurrentHashMap<>();
     private final Gson gson;
     private boolean connected = false;
 
@@ -96,13 +108,81 @@ public class WebSocketConnection {
         connectionListener.connectionEstablished();
     }
 
-    @SuppressWarnings("null")
     @OnWebSocketMessage
     public void onMessage(String message) {
-        SensorMessage changedMessage = gson.fromJson(message, SensorMessage.class);
-        WebSocketValueUpdateListener listener = valueListener.get(changedMessage.id);
+        try (JsonReader reader = new JsonReader(new StringReader(message))) {
+            decodeMessage(reader);
+        } catch (IOException | JsonParseException | IllegalStateException e) {
+            logger.debug("Failed to decode websocket message '{}'", message, e);
+        }
+    }
+
+    /**
+     * Reads a change event and passes its state to the listener of the sensor. Stops reading as soon as the event
+     * turns out to be of no interest.
+     */
+    private void decodeMessage(JsonReader reader) throws IOException {
+        String e = null;
+        String r = null;
+        String id = null;
+        SensorState state = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "e":
+                    e = nextString(reader);
+                    if (!EVENT_CHANGED.equals(e)) {
+                        return;
+                    }
+                    break;
+                case "r":
+                    r = nextString(reader);
+                    if (!RESOURCE_SENSORS.equals(r)) {
+                        return;
+                    }
+                    break;
+                case "id":
+                    id = nextString(reader);
+                    if (id == null || !valueListener.containsKey(id)) {
+                        return;
+                    }
+                    break;
+                case "state":
+                    state = gson.fromJson(reader, SensorState.class);
+                    if (id != null && e != null && r != null) {
+                        // everything of interest is known, the rest of the message can be ignored
+                        if (state != null) {
+                            dispatch(id, state);
+                        }
+                        return;
+                    }
+                    // deCONZ sends the state after the header fields, but the order is not guaranteed
+                    break;
+                default:
+                    // "config" and "attr" changes are not consumed by the sensor things
+                    reader.skipValue();
+                    break;
+            }
+        }
+
+        if (EVENT_CHANGED.equals(e) && RESOURCE_SENSORS.equals(r) && id != null && state != null) {
+            dispatch(id, state);
+        }
+    }
+
+    private @Nullable String nextString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    private void dispatch(String sensorID, SensorState state) {
+        WebSocketValueUpdateListener listener = valueListener.get(sensorID);
         if (listener != null) {
-            listener.websocketUpdate(changedMessage.id, changedMessage.state);
+            listener.websocketUpdate(sensorID, state);
         }
     }
 
@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.transceiver;
+
+import java.security.InvalidParameterException;
+import java.util.function.Consumer;
+
+import org.eclipse.smarthome.core.util.HexUtils;
+import org.openhab.binding.enocean.internal.messages.ESP3Packet;
+import org.openhab.binding.enocean.internal.messages.ESP3PacketFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Assembles ESP3 packets from the chunks read from the gateway. A chunk may contain any part of one or more packets.
+ * Header and data of a packet are collected in a buffer which is reused for all packets and validated by their CRC8
+ * checksums before the packet is built.
+ *
+ * @author agent - Initial contribution
+ */
+public class ESP3FrameDecoder {
+
+    private enum ReadingState {
+        WaitingForSyncByte,
+        ReadingHeader,
+        ReadingData
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ESP3FrameDecoder.class);
+
+    private final Consumer<ESP3Packet> packetConsumer;
+
+    private final byte[] dataBuffer = new byte[Helper.ENOCEAN_MAX_DATA];
+    private ReadingState state = ReadingState.WaitingForSyncByte;
+    private int currentPosition = 0;
+    private int dataLength = -1;
+    private int optionalLength = -1;
+    private byte packetType = -1;
+
+    public ESP3FrameDecoder(Consumer<ESP3Packet> packetConsumer) {
+        this.packetConsumer = packetConsumer;
+    }
+
+    /**
+     * Decodes the next chunk read from the gateway. Every packet completed by this chunk is passed to the packet
+     * consumer.
+     *
+     * @param chunk buffer holding the bytes read
+     * @param length number of bytes read into the buffer
+     */
+    public void decode(byte[] chunk, int length) {
+        int p = 0;
+        while (p < length) {
+            byte _byte = chunk[p];
+
+            switch (state) {
+                case WaitingForSyncByte:
+                    if (_byte == Helper.ENOCEAN_SYNC_BYTE) {
+                        state = ReadingState.ReadingHeader;
+                        logger.trace("Received Sync Byte");
+                    }
+                    p++;
+                    break;
+                case ReadingHeader:
+                    if (currentPosition == Helper.ENOCEAN_HEADER_LENGTH) {
+                        processHeader(_byte);
+                    } else {
+                        dataBuffer[currentPosition++] = _byte;
+                    }
+                    p++;
+                    break;
+                case ReadingData:
+                    int remaining = dataLength + optionalLength - currentPosition;
+                    if (remaining > 0) {
+                        // copy as much of the data as this chunk holds at once
+                        int count = Math.min(remaining, length - p);
+                        System.arraycopy(chunk, p, dataBuffer, currentPosition, count);
+                        currentPosition += count;
+                        p += count;
+                    } else {
+                        processData(_byte);
+                        p++;
+                    }
+                    break;
+                default:
+                    p++;
+                    break;
+            }
+        }
+    }
+
+    private void processHeader(byte crc8) {
+        if (Helper.checkCRC8(dataBuffer, Helper.ENOCEAN_HEADER_LENGTH, crc8)
+                && ((dataBuffer[0] & 0xFF) << 8) + (dataBuffer[1] & 0xFF) + (dataBuffer[2] & 0xFF) > 0) {
+
+            state = ReadingState.ReadingData;
+
+            dataLength = ((dataBuffer[0] & 0xFF) << 8) | (dataBuffer[1] & 0xFF);
+            optionalLength = dataBuffer[2] & 0xFF;
+            packetType = dataBuffer[3];
+            currentPosition = 0;
+
+            if (packetType == 3) {
+                logger.trace("Received sub_msg");
+            }
+
+            logger.trace(">> Received header, data length {} optional length {} packet type {}", dataLength,
+                    optionalLength, packetType);
+        } else {
+            // check if we find a sync byte in current buffer
+            int copyFrom = -1;
+            for (int i = 0; i < Helper.ENOCEAN_HEADER_LENGTH; i++) {
+                if (dataBuffer[i] == Helper.ENOCEAN_SYNC_BYTE) {
+                    copyFrom = i + 1;
+                    break;
+                }
+            }
+
+            if (copyFrom != -1) {
+                System.arraycopy(dataBuffer, copyFrom, dataBuffer, 0, Helper.ENOCEAN_HEADER_LENGTH - copyFrom);
+                state = ReadingState.ReadingHeader;
+                currentPosition = Helper.ENOCEAN_HEADER_LENGTH - copyFrom;
+                dataBuffer[currentPosition++] = crc8;
+            } else {
+                currentPosition = 0;
+                state = crc8 == Helper.ENOCEAN_SYNC_BYTE ? ReadingState.ReadingHeader
+                        : ReadingState.WaitingForSyncByte;
+            }
+            logger.trace("CrC8 header check not successful");
+        }
+    }
+
+    private void processData(byte crc8) {
+        if (Helper.checkCRC8(dataBuffer, dataLength + optionalLength, crc8)) {
+            state = ReadingState.WaitingForSyncByte;
+
+            ESP3Packet packet = null;
+            try {
+                // the packet copies its payload, so the buffer can be reused for the next packet
+                packet = ESP3PacketFactory.BuildPacket(dataLength, optionalLength, packetType, dataBuffer);
+            } catch (InvalidParameterException e) {
+                logger.trace("Invalid ESP3Packet: {}", e.getMessage());
+            }
+
+            if (packet != null) {
+                packetConsumer.accept(packet);
+            } else if (logger.isTraceEnabled()) {
+                logger.trace("Unknown ESP3Packet");
+                byte[] d = new byte[dataLength + optionalLength];
+                System.arraycopy(dataBuffer, 0, d, 0, d.length);
+                logger.trace("{}", HexUtils.bytesToHex(d));
+            }
+        } else {
+            state = crc8 == Helper.ENOCEAN_SYNC_BYTE ? ReadingState.ReadingHeader : ReadingState.WaitingForSyncByte;
+            logger.trace("esp packet malformed");
+        }
+
+        currentPosition = 0;
+        dataLength = optionalLength = packetType = -1;
+    }
+}
@@ -17,11 +17,11 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.Map;
 import java.util.Queue;
 import java.util.TooManyListenersException;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -32,7 +32,7 @@ import org.openhab.binding.enocean.internal.EnOceanException;
 import org.openhab.binding.enocean.internal.messages.ERP1Message;
 import org.openhab.binding.enocean.internal.messages.ERP1Message.RORG;
 import org.openhab.binding.enocean.internal.messages.ESP3Packet;
-import org.openhab.binding.enocean.internal.messages.ESP3PacketFactory;
+import org.openhab.binding.enocean.internal.messages.ESP3Packet.ESPPacketType;
 import org.openhab.binding.enocean.internal.messages.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,9 +43,15 @@ import org.slf4j.LoggerFactory;
  */
 public abstract class EnOceanTransceiver {
 
+    // the gateway answers every packet within this time
+    private static final long RESPONSE_TIMEOUT = 500;
+    // slowdown sending of radio telegrams to avoid hickups at receivers
+    private static final long RADIO_SEND_INTERVAL = 250;
+    private static final int READ_BUFFER_SIZE = 256;
+    private static final int STATISTICS_LOG_INTERVAL = 100;
+
     // Thread management
     private Future<?> readingTask = null;
-    private Future<?> timeOut = null;
 
     private Logger logger = LoggerFactory.getLogger(EnOceanTransceiver.class);
 
@@ -54,77 +60,146 @@ public abstract class EnOceanTransceiver {
 
         Response ResponsePacket;
         ResponseListener<? extends Response> ResponseListener;
+
+        RequestQueue queue;
+        long enqueuedAt;
+        long sentAt;
     }
 
+    /**
+     * Sends its requests one after the other, at most one per send interval. A request is only sent when no other
+     * request waits for its response from the gateway.
+     */
     private class RequestQueue {
-        private Queue<Request> queue = new LinkedBlockingQueue<>();
-        private ScheduledExecutorService scheduler;
-
-        public RequestQueue(ScheduledExecutorService scheduler) {
+        private final String name;
+        private final long sendInterval;
+        private final ScheduledExecutorService scheduler;
+
+        private final Queue<Request> queue = new LinkedList<>();
+        private long nextSendTime = 0;
+        private Future<?> sendNextTask = null;
+
+        // latency statistics
+        private long sentCount = 0;
+        private long totalWaitingTime = 0;
+        private long maxWaitingTime = 0;
+        private long responseCount = 0;
+        private long totalResponseTime = 0;
+        private long maxResponseTime = 0;
+
+        public RequestQueue(String name, long sendInterval, ScheduledExecutorService scheduler) {
+            this.name = name;
+            this.sendInterval = sendInterval;
             this.scheduler = scheduler;
         }
 
         public synchronized void enqueRequest(Request request) throws IOException {
-            boolean wasEmpty = queue.isEmpty();
+            request.queue = this;
+            request.enqueuedAt = System.nanoTime();
 
             if (queue.offer(request)) {
-                if (wasEmpty) {
-                    send();
-                }
+                sendNext();
             } else {
                 logger.error("Transmit queue overflow. Lost message: {}", request);
             }
         }
 
-        private synchronized void sendNext() throws IOException {
-            queue.poll();
-            send();
+        private synchronized void responseReceived(Request request) {
+            long responseTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - request.sentAt);
+            responseCount++;
+            totalResponseTime += responseTime;
+            maxResponseTime = Math.max(maxResponseTime, responseTime);
         }
 
-        private synchronized void send() throws IOException {
-            if (!queue.isEmpty()) {
+        /**
+         * Sends the next request, if the send interval of the previous request has passed and the gateway is not
+         * busy. Otherwise the request is sent after the interval or when the gateway becomes available.
+         */
+        private synchronized void sendNext() throws IOException {
+            if (sendNextTask != null) {
+                return;
+            }
 
-                currentRequest = queue.peek();
+            Request request = queue.peek();
+            while (request != null) {
+                long delay = nextSendTime - System.nanoTime();
+                if (delay > 0) {
+                    sendNextTask = scheduler.schedule(this::scheduledSendNext, delay, TimeUnit.NANOSECONDS);
+                    return;
+                }
+
+                boolean sent = false;
                 try {
-                    if (currentRequest != null && currentRequest.RequestPacket != null) {
-                        synchronized (currentRequest) {
-
-                            logger.debug("Sending data, type {}, payload {}{}",
-                                    currentRequest.RequestPacket.getPacketType().name(),
-                                    HexUtils.bytesToHex(currentRequest.RequestPacket.getPayload()),
-                                    HexUtils.bytesToHex(currentRequest.RequestPacket.getOptionalPayload()));
-
-                            byte[] b = currentRequest.RequestPacket.serialize();
-                            outputStream.write(b);
-                            outputStream.flush();
-
-                            if (timeOut != null) {
-                                timeOut.cancel(true);
-                            }
-
-                            // slowdown sending of message to avoid hickups at receivers
-                            // Todo tweak sending intervall (250 ist just a first try)
-                            timeOut = scheduler.schedule(() -> {
-                                try {
-                                    sendNext();
-                                } catch (IOException e) {
-                                    errorListener.ErrorOccured(e);
-                                    return;
-                                }
-                            }, 250, TimeUnit.MILLISECONDS);
+                    if (request.RequestPacket != null) {
+                        if (!send(request)) {
+                            // another request waits for its response, sent when the gateway is available again
+                            return;
                         }
-                    } else {
-                        sendNext();
+                        sent = true;
                     }
                 } catch (EnOceanException e) {
                     logger.error("exception while sending data", e);
                 }
+
+                queue.poll();
+                if (sent) {
+                    nextSendTime = request.sentAt + TimeUnit.MILLISECONDS.toNanos(sendInterval);
+                    updateWaitingTime(TimeUnit.NANOSECONDS.toMillis(request.sentAt - request.enqueuedAt));
+                }
+                request = queue.peek();
             }
         }
+
+        private void scheduledSendNext() {
+            synchronized (this) {
+                sendNextTask = null;
+            }
+            try {
+                sendNext();
+            } catch (IOException e) {
+                errorListener.ErrorOccured(e);
+            }
+        }
+
+        private void updateWaitingTime(long waitingTime) {
+            sentCount++;
+            totalWaitingTime += waitingTime;
+            maxWaitingTime = Math.max(maxWaitingTime, waitingTime);
+
+            if (sentCount % STATISTICS_LOG_INTERVAL == 0) {
+                logger.debug("{}", this);
+            }
+        }
+
+        private synchronized void clear() {
+            if (sendNextTask != null) {
+                sendNextTask.cancel(true);
+            }
+            sendNextTask = null;
+            queue.clear();
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format(
+                    "%s queue: %d requests sent, waiting time avg %d ms max %d ms, response time avg %d ms max %d ms",
+                    name, sentCount, sentCount == 0 ? 0 : totalWaitingTime / sentCount, maxWaitingTime,
+                    responseCount == 0 ? 0 : totalResponseTime / responseCount, maxResponseTime);
+        }
     }
 
-    RequestQueue requestQueue;
-    Request currentRequest = null;
+    // radio telegrams are sent independently of the common commands
+    RequestQueue radioQueue;
+    RequestQueue commandQueue;
+
+    // The responses of the gateway do not identify their request. Only one request at a time waits for its response,
+    // so that every response is matched to the request it belongs to.
+    private final Object pendingRequestLock = new Object();
+    private Request pendingRequest = null;
+    private Future<?> responseTimeoutTask = null;
+    private final ScheduledExecutorService scheduler;
+
+    private final ESP3FrameDecoder frameDecoder = new ESP3FrameDecoder(this::packetReceived);
 
     protected Map<Long, HashSet<ESP3PacketListener>> listeners;
     protected ESP3PacketListener teachInListener;
@@ -136,15 +211,11 @@ public abstract class EnOceanTransceiver {
     private byte[] filteredDeviceId;
     TransceiverErrorListener errorListener;
 
-    enum ReadingState {
-        WaitingForSyncByte,
-        ReadingHeader,
-        ReadingData
-    }
-
     public EnOceanTransceiver(TransceiverErrorListener errorListener, ScheduledExecutorService scheduler) {
 
-        requestQueue = new RequestQueue(scheduler);
+        radioQueue = new RequestQueue("Radio", RADIO_SEND_INTERVAL, scheduler);
+        commandQueue = new RequestQueue("Command", 0, scheduler);
+        this.scheduler = scheduler;
         listeners = new HashMap<>();
         teachInListener = null;
         this.errorListener = errorListener;
@@ -170,8 +241,16 @@ public abstract class EnOceanTransceiver {
     public void ShutDown() {
         logger.debug("Interrupt rx Thread");
 
-        if (timeOut != null) {
-            timeOut.cancel(true);
+        logger.debug("{}", radioQueue);
+        logger.debug("{}", commandQueue);
+        radioQueue.clear();
+        commandQueue.clear();
+        synchronized (pendingRequestLock) {
+            if (responseTimeoutTask != null) {
+                responseTimeoutTask.cancel(true);
+            }
+            responseTimeoutTask = null;
+            pendingRequest = null;
         }
 
         if (readingTask != null) {
@@ -183,203 +262,154 @@ public abstract class EnOceanTransceiver {
         }
 
         readingTask = null;
-        timeOut = null;
         listeners.clear();
         teachInListener = null;
         errorListener = null;
     }
 
     private void receivePackets() {
-        byte[] buffer = new byte[1];
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
 
         while (readingTask != null && !readingTask.isCancelled()) {
 
-            int bytesRead = read(buffer, 1);
+            int bytesRead = read(buffer, buffer.length);
             if (bytesRead > 0) {
-                // if byte == sync byte => processMessage
-                processMessage(buffer[0]);
+                frameDecoder.decode(buffer, bytesRead);
             }
         }
     }
 
     protected abstract int read(byte[] buffer, int length);
 
-    byte[] dataBuffer = new byte[Helper.ENOCEAN_MAX_DATA];
-    ReadingState state = ReadingState.WaitingForSyncByte; // we already received sync byte when we get called
-    int currentPosition = 0;
-    int dataLength = -1;
-    int optionalLength = -1;
-    byte packetType = -1;
+    private void packetReceived(ESP3Packet packet) {
+        if (readingTask == null || readingTask.isCancelled()) {
+            return;
+        }
 
-    private void processMessage(byte firstByte) {
+        switch (packet.getPacketType()) {
+            case COMMON_COMMAND:
+                break;
+            case EVENT:
+                break;
+            case RADIO_ERP1: {
+                ERP1Message msg = (ERP1Message) packet;
 
-        byte[] readingBuffer = new byte[Helper.ENOCEAN_MAX_DATA];
-        int bytesRead = -1;
-        byte _byte;
+                logger.debug("{} with RORG {} for {} payload {}{} received", packet.getPacketType().name(),
+                        msg.getRORG().name(), HexUtils.bytesToHex(msg.getSenderId()),
+                        HexUtils.bytesToHex(packet.getPayload()), HexUtils.bytesToHex(packet.getOptionalPayload()));
 
-        try {
+                if (msg.getRORG() != RORG.Unknown) {
+                    informListeners(msg);
+                } else {
+                    logger.debug("Received unknown RORG, payload {}{}", HexUtils.bytesToHex(packet.getPayload()),
+                            HexUtils.bytesToHex(packet.getOptionalPayload()));
+                }
+            }
+                break;
+            case RADIO_ERP2:
+                break;
+            case RADIO_MESSAGE:
+                break;
+            case RADIO_SUB_TEL:
+                break;
+            case REMOTE_MAN_COMMAND:
+                break;
+            case RESPONSE: {
+                logger.debug("{} with code {} payload {}{} received", packet.getPacketType().name(),
+                        ((Response) packet).getResponseType().name(), HexUtils.bytesToHex(packet.getPayload()),
+                        HexUtils.bytesToHex(packet.getOptionalPayload()));
+
+                Request request;
+                synchronized (pendingRequestLock) {
+                    request = pendingRequest;
+                    pendingRequest = null;
+                    if (responseTimeoutTask != null) {
+                        responseTimeoutTask.cancel(false);
+                        responseTimeoutTask = null;
+                    }
+                }
 
-            readingBuffer[0] = firstByte;
+                if (request != null) {
+                    request.queue.responseReceived(request);
+                    if (request.ResponseListener != null) {
+                        request.ResponsePacket = (Response) packet;
+                        try {
+                            request.ResponseListener.handleResponse(request.ResponsePacket);
+                        } catch (Exception e) {
+                        }
+
+                        logger.trace("Response handled");
+                    } else {
+                        logger.trace("Response without listener");
+                    }
 
-            bytesRead = this.inputStream.read(readingBuffer, 1, inputStream.available());
-            if (bytesRead == -1) {
-                throw new IOException("could not read from inputstream");
+                    // do not send from the reading thread
+                    scheduler.submit(this::sendNextRequests);
+                } else {
+                    logger.trace("Response without request, the response timed out");
+                }
             }
+                break;
+            case SMART_ACK_COMMAND:
+                break;
+            default:
+                break;
+        }
+    }
 
-            if (readingTask == null || readingTask.isCancelled()) {
-                return;
+    /**
+     * Writes a request to the gateway, unless another request still waits for its response.
+     *
+     * @return whether the request was sent
+     */
+    private boolean send(Request request) throws IOException, EnOceanException {
+        logger.debug("Sending data, type {}, payload {}{}", request.RequestPacket.getPacketType().name(),
+                HexUtils.bytesToHex(request.RequestPacket.getPayload()),
+                HexUtils.bytesToHex(request.RequestPacket.getOptionalPayload()));
+
+        byte[] b = request.RequestPacket.serialize();
+        synchronized (pendingRequestLock) {
+            if (pendingRequest != null) {
+                return false;
             }
 
-            bytesRead++;
-            for (int p = 0; p < bytesRead; p++) {
-                _byte = readingBuffer[p];
+            outputStream.write(b);
+            outputStream.flush();
+            request.sentAt = System.nanoTime();
+            pendingRequest = request;
+            responseTimeoutTask = scheduler.schedule(() -> responseTimedOut(request), RESPONSE_TIMEOUT,
+                    TimeUnit.MILLISECONDS);
+        }
+        return true;
+    }
 
-                switch (state) {
-                    case WaitingForSyncByte:
-                        if (_byte == Helper.ENOCEAN_SYNC_BYTE) {
-                            state = ReadingState.ReadingHeader;
-                            logger.trace("Received Sync Byte");
-                        }
-                        break;
-                    case ReadingHeader:
-                        if (currentPosition == Helper.ENOCEAN_HEADER_LENGTH) {
-                            if (Helper.checkCRC8(dataBuffer, Helper.ENOCEAN_HEADER_LENGTH, _byte)
-                                    && ((dataBuffer[0] & 0xFF) << 8) + (dataBuffer[1] & 0xFF)
-                                            + (dataBuffer[2] & 0xFF) > 0) {
-
-                                state = ReadingState.ReadingData;
-
-                                dataLength = ((dataBuffer[0] & 0xFF << 8) | (dataBuffer[1] & 0xFF));
-                                optionalLength = dataBuffer[2] & 0xFF;
-                                packetType = dataBuffer[3];
-                                currentPosition = 0;
-
-                                if (packetType == 3) {
-                                    logger.trace("Received sub_msg");
-                                }
-
-                                logger.trace(">> Received header, data length {} optional length {} packet type {}",
-                                        dataLength, optionalLength, packetType);
-                            } else {
-                                // check if we find a sync byte in current buffer
-                                int copyFrom = -1;
-                                for (int i = 0; i < Helper.ENOCEAN_HEADER_LENGTH; i++) {
-                                    if (dataBuffer[i] == Helper.ENOCEAN_SYNC_BYTE) {
-                                        copyFrom = i + 1;
-                                        break;
-                                    }
-                                }
-
-                                if (copyFrom != -1) {
-                                    System.arraycopy(dataBuffer, copyFrom, dataBuffer, 0,
-                                            Helper.ENOCEAN_HEADER_LENGTH - copyFrom);
-                                    state = ReadingState.ReadingHeader;
-                                    currentPosition = Helper.ENOCEAN_HEADER_LENGTH - copyFrom;
-                                    dataBuffer[currentPosition++] = _byte;
-                                } else {
-                                    currentPosition = 0;
-                                    state = _byte == Helper.ENOCEAN_SYNC_BYTE ? ReadingState.ReadingHeader
-                                            : ReadingState.WaitingForSyncByte;
-                                }
-                                logger.trace("CrC8 header check not successful");
-                            }
-                        } else {
-                            dataBuffer[currentPosition++] = _byte;
-                        }
-                        break;
-                    case ReadingData:
-                        if (currentPosition == dataLength + optionalLength) {
-                            if (Helper.checkCRC8(dataBuffer, dataLength + optionalLength, _byte)) {
-                                state = ReadingState.WaitingForSyncByte;
-                                ESP3Packet packet = ESP3PacketFactory.BuildPacket(dataLength, optionalLength,
-                                        packetType, dataBuffer);
-
-                                if (packet != null) {
-                                    switch (packet.getPacketType()) {
-                                        case COMMON_COMMAND:
-                                            break;
-                                        case EVENT:
-                                            break;
-                                        case RADIO_ERP1: {
-                                            ERP1Message msg = (ERP1Message) packet;
-
-                                            byte[] d = new byte[dataLength + optionalLength];
-                                            System.arraycopy(dataBuffer, 0, d, 0, d.length);
-
-                                            logger.debug("{} with RORG {} for {} payload {} received",
-                                                    packet.getPacketType().name(), msg.getRORG().name(),
-                                                    HexUtils.bytesToHex(msg.getSenderId()), HexUtils.bytesToHex(d));
-                                            
-                                            if(msg.getRORG() != RORG.Unknown) {
-                                                informListeners(msg);
-                                            } else {
-                                                logger.debug("Received unknown RORG, payload {}", HexUtils.bytesToHex(d));
-                                            }
-                                        }
-                                            break;
-                                        case RADIO_ERP2:
-                                            break;
-                                        case RADIO_MESSAGE:
-                                            break;
-                                        case RADIO_SUB_TEL:
-                                            break;
-                                        case REMOTE_MAN_COMMAND:
-                                            break;
-                                        case RESPONSE: {
-                                            byte[] d = new byte[dataLength + optionalLength];
-                                            System.arraycopy(dataBuffer, 0, d, 0, d.length);
-
-                                            logger.debug("{} with code {} payload {} received",
-                                                    packet.getPacketType().name(),
-                                                    ((Response) packet).getResponseType().name(),
-                                                    HexUtils.bytesToHex(d));
-
-                                            if (currentRequest != null) {
-                                                if (currentRequest.ResponseListener != null) {
-                                                    currentRequest.ResponsePacket = (Response) packet;
-                                                    try {
-                                                        currentRequest.ResponseListener
-                                                                .handleResponse(currentRequest.ResponsePacket);
-                                                    } catch (Exception e) {
-                                                    }
-
-                                                    logger.trace("Response handled");
-                                                } else {
-                                                    logger.trace("Response without listener");
-                                                }
-                                            }
-                                        }
-                                            break;
-                                        case SMART_ACK_COMMAND:
-                                            break;
-                                        default:
-                                            break;
-                                    }
-                                } else {
-                                    logger.trace("Unknown ESP3Packet");
-                                    byte[] d = new byte[dataLength + optionalLength];
-                                    System.arraycopy(dataBuffer, 0, d, 0, d.length);
-                                    logger.trace("{}", HexUtils.bytesToHex(d));
-                                }
-                            } else {
-                                state = _byte == Helper.ENOCEAN_SYNC_BYTE ? ReadingState.ReadingHeader
-                                        : ReadingState.WaitingForSyncByte;
-                                logger.trace("esp packet malformed");
-                            }
-
-                            currentPosition = 0;
-                            dataLength = optionalLength = packetType = -1;
-                        } else {
-                            dataBuffer[currentPosition++] = _byte;
-                        }
-                        break;
-                    default:
-                        break;
-                }
+    private void responseTimedOut(Request request) {
+        synchronized (pendingRequestLock) {
+            if (pendingRequest != request) {
+                // the response was received meanwhile
+                return;
             }
-        } catch (IOException ioexception) {
-            errorListener.ErrorOccured(ioexception);
-            return;
+            pendingRequest = null;
+            responseTimeoutTask = null;
+        }
+
+        logger.debug("No response received for {} request, type {}", request.queue.name,
+                request.RequestPacket.getPacketType().name());
+        if (request.ResponseListener != null) {
+            request.ResponseListener.responseTimeOut();
+        }
+        sendNextRequests();
+    }
+
+    /**
+     * Sends the next requests of the queues after the gateway answered or did not answer the previous request.
+     */
+    private void sendNextRequests() {
+        try {
+            commandQueue.sendNext();
+            radioQueue.sendNext();
+        } catch (IOException e) {
+            errorListener.ErrorOccured(e);
         }
     }
 
@@ -396,7 +426,11 @@ public abstract class EnOceanTransceiver {
         r.RequestPacket = packet;
         r.ResponseListener = responseCallback;
 
-        requestQueue.enqueRequest(r);
+        if (packet.getPacketType() == ESPPacketType.RADIO_ERP1) {
+            radioQueue.enqueRequest(r);
+        } else {
+            commandQueue.enqueRequest(r);
+        }
     }
 
     protected void informListeners(ERP1Message msg) {
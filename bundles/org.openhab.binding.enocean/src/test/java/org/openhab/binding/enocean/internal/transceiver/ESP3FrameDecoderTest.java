@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.transceiver;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.binding.enocean.internal.messages.ESP3Packet;
+import org.openhab.binding.enocean.internal.messages.ESP3Packet.ESPPacketType;
+
+/**
+ * Tests the {@link ESP3FrameDecoder} with frames split across chunks and with corrupted frames.
+ *
+ * @author agent - Initial contribution
+ */
+public class ESP3FrameDecoderTest {
+
+    private static final byte RADIO_ERP1_TYPE = 0x01;
+    private static final byte RESPONSE_TYPE = 0x02;
+
+    private static final byte[] RESPONSE_DATA = { 0x00 };
+    private static final byte[] RPS_DATA = { (byte) 0xF6, 0x50, 0x01, 0x02, 0x03, 0x04, 0x30 };
+    private static final byte[] RPS_OPTIONAL_DATA = { 0x01, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x2D,
+            0x00 };
+
+    private final byte[] responseFrame = createFrame(RESPONSE_TYPE, RESPONSE_DATA, new byte[0]);
+    private final byte[] rpsFrame = createFrame(RADIO_ERP1_TYPE, RPS_DATA, RPS_OPTIONAL_DATA);
+
+    @Test
+    public void testPacketsSplitAcrossChunks() {
+        byte[] stream = concat(responseFrame, rpsFrame);
+
+        for (int split = 0; split <= stream.length; split++) {
+            List<ESP3Packet> packets = new ArrayList<>();
+            ESP3FrameDecoder decoder = new ESP3FrameDecoder(packets::add);
+            decoder.decode(Arrays.copyOfRange(stream, 0, split), split);
+            byte[] rest = Arrays.copyOfRange(stream, split, stream.length);
+            decoder.decode(rest, rest.length);
+
+            assertPackets("split at " + split, packets);
+        }
+
+        List<ESP3Packet> packets = new ArrayList<>();
+        ESP3FrameDecoder decoder = new ESP3FrameDecoder(packets::add);
+        for (byte b : stream) {
+            decoder.decode(new byte[] { b }, 1);
+        }
+        assertPackets("byte by byte", packets);
+    }
+
+    @Test
+    public void testChunkLengthLimitsDecodedBytes() {
+        List<ESP3Packet> packets = new ArrayList<>();
+        ESP3FrameDecoder decoder = new ESP3FrameDecoder(packets::add);
+
+        // the chunk buffer is reused by the reader, only its first bytes are valid
+        byte[] chunk = concat(responseFrame, new byte[] { Helper.ENOCEAN_SYNC_BYTE, 0x00 });
+        decoder.decode(chunk, responseFrame.length);
+        decoder.decode(rpsFrame, rpsFrame.length);
+
+        assertPackets("reused buffer", packets);
+    }
+
+    @Test
+    public void testSyncLoss() {
+        byte[] junk = { 0x00, Helper.ENOCEAN_SYNC_BYTE, 0x01, 0x02, 0x03, (byte) 0xFF, Helper.ENOCEAN_SYNC_BYTE };
+
+        assertPackets("junk before frames", decode(concat(junk, responseFrame, rpsFrame)));
+    }
+
+    @Test
+    public void testBadHeaderCrc() {
+        byte[] corrupted = createFrame(RESPONSE_TYPE, RESPONSE_DATA, new byte[0]);
+        corrupted[5] ^= 0x01;
+
+        assertPackets("bad header crc", decode(concat(corrupted, responseFrame, rpsFrame)));
+    }
+
+    @Test
+    public void testBadDataCrc() {
+        byte[] corrupted = createFrame(RADIO_ERP1_TYPE, RPS_DATA, RPS_OPTIONAL_DATA);
+        corrupted[corrupted.length - 1] ^= 0x01;
+
+        assertPackets("bad data crc", decode(concat(responseFrame, corrupted, rpsFrame)));
+    }
+
+    private List<ESP3Packet> decode(byte[] stream) {
+        List<ESP3Packet> packets = new ArrayList<>();
+        new ESP3FrameDecoder(packets::add).decode(stream, stream.length);
+        return packets;
+    }
+
+    /**
+     * Asserts that exactly the response and the RPS telegram of the valid frames were decoded.
+     */
+    private void assertPackets(String message, List<ESP3Packet> packets) {
+        assertEquals(message, 2, packets.size());
+
+        assertEquals(message, ESPPacketType.RESPONSE, packets.get(0).getPacketType());
+        assertArrayEquals(message, RESPONSE_DATA, packets.get(0).getPayload());
+
+        assertEquals(message, ESPPacketType.RADIO_ERP1, packets.get(1).getPacketType());
+        assertArrayEquals(message, RPS_DATA, packets.get(1).getPayload());
+        assertArrayEquals(message, RPS_OPTIONAL_DATA, packets.get(1).getOptionalPayload());
+    }
+
+    private static byte[] createFrame(byte packetType, byte[] data, byte[] optionalData) {
+        byte[] header = { (byte) (data.length >> 8), (byte) data.length, (byte) optionalData.length, packetType };
+        byte[] payload = concat(data, optionalData);
+
+        return concat(new byte[] { Helper.ENOCEAN_SYNC_BYTE }, header,
+                new byte[] { Helper.calcCRC8(header, 0, header.length) }, payload,
+                new byte[] { Helper.calcCRC8(payload, 0, payload.length) });
+    }
+
+    private static byte[] concat(byte[]... arrays) {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        for (byte[] array : arrays) {
+            result.write(array, 0, array.length);
+        }
+        return result.toByteArray();
+    }
+}
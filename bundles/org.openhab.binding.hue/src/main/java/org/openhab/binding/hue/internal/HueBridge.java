@@ -23,9 +23,13 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -45,6 +49,7 @@ import org.slf4j.LoggerFactory;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 
@@ -70,6 +75,7 @@ public class HueBridge {
     private final Gson gson = new GsonBuilder().setDateFormat(DATE_FORMAT).create();
     private HttpClient http = new HttpClient();
     private final ScheduledExecutorService scheduler;
+    private final LightCommandScheduler lightCommandScheduler;
 
     @Nullable
     private Config cachedConfig;
@@ -93,6 +99,8 @@ public class HueBridge {
         }
         this.baseUrl = baseUrl;
         this.scheduler = scheduler;
+        this.lightCommandScheduler = new LightCommandScheduler(http, scheduler,
+                groupId -> getRelativeURL("groups/" + enc(groupId) + "/action"));
     }
 
     /**
@@ -170,6 +178,82 @@ public class HueBridge {
         return getUsername() != null;
     }
 
+    /**
+     * Returns the lights whose JSON representation changed since the last call. Only those lights are deserialized,
+     * unchanged lights are detected by comparing the parsed JSON of each light with the given fingerprints.
+     *
+     * @param fingerprints parsed JSON of each light from the previous call, updated by this call
+     * @return the changed lights and the ids of all lights
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public HueObjectDelta<FullLight> getChangedFullLights(Map<String, JsonElement> fingerprints)
+            throws IOException, ApiException {
+        if (ApiVersionUtils.supportsFullLights(getVersion())) {
+            return getChangedObjects("lights", FullLight.class, fingerprints);
+        } else {
+            // old bridges only provide the lights as part of the full config, report all of them
+            List<FullLight> lights = getFullConfig().getLights();
+            Set<String> ids = new HashSet<>();
+            for (FullLight light : lights) {
+                ids.add(light.getId());
+            }
+            fingerprints.clear();
+            return new HueObjectDelta<>(lights, ids, 0);
+        }
+    }
+
+    /**
+     * Returns the sensors whose JSON representation changed since the last call. Only those sensors are deserialized,
+     * unchanged sensors are detected by comparing the parsed JSON of each sensor with the given fingerprints.
+     *
+     * @param fingerprints parsed JSON of each sensor from the previous call, updated by this call
+     * @return the changed sensors and the ids of all sensors
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public HueObjectDelta<FullSensor> getChangedSensors(Map<String, JsonElement> fingerprints)
+            throws IOException, ApiException {
+        return getChangedObjects("sensors", FullSensor.class, fingerprints);
+    }
+
+    private <T extends HueObject> HueObjectDelta<T> getChangedObjects(String path, Class<T> type,
+            Map<String, JsonElement> fingerprints) throws IOException, ApiException {
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL(path));
+
+        handleErrors(result);
+
+        String body = result.getBody();
+        JsonObject objects;
+        try {
+            objects = new JsonParser().parse(body).getAsJsonObject();
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new ApiException("API returned unexpected result: " + e.getMessage());
+        }
+
+        List<T> changed = new ArrayList<>();
+        Map<String, JsonElement> changedFingerprints = new HashMap<>();
+        Set<String> ids = new HashSet<>();
+        for (Entry<String, JsonElement> entry : objects.entrySet()) {
+            String id = entry.getKey();
+            ids.add(id);
+            // the parsed elements are compared member by member, without serializing them again
+            JsonElement json = entry.getValue();
+            if (!json.equals(fingerprints.get(id))) {
+                T object = safeFromJson(json, type);
+                object.setId(id);
+                changed.add(object);
+                changedFingerprints.put(id, json);
+            }
+        }
+
+        // update the fingerprints only after all changed objects could be deserialized
+        fingerprints.keySet().retainAll(ids);
+        fingerprints.putAll(changedFingerprints);
+
+        return new HueObjectDelta<>(changed, ids, body.length());
+    }
+
     /**
      * Returns a list of lights known to the bridge.
      *
@@ -347,6 +431,8 @@ public class HueBridge {
 
     /**
      * Changes the state of a light.
+     * Updates are sent at the rate supported by the bridge. Pending updates of the same light are merged and pending
+     * updates which are equal for all lights of a group are sent as one group command.
      *
      * @param light light
      * @param update changes to the state
@@ -358,9 +444,8 @@ public class HueBridge {
     public CompletableFuture<Result> setLightState(FullLight light, StateUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("lights/" + enc(light.getId()) + "/state"), body, update.getMessageDelay(),
-                scheduler);
+        return lightCommandScheduler.submit(light.getId(), getRelativeURL("lights/" + enc(light.getId()) + "/state"),
+                update);
     }
 
     /**
@@ -409,6 +494,31 @@ public class HueBridge {
         return new Group();
     }
 
+    /**
+     * Reads the lights of all groups, so that light state updates which are equal for all lights of a group can be
+     * sent as one group command by {@link #setLightState(FullLight, StateUpdate)}.
+     *
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public void updateGroups() throws IOException, ApiException {
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL("groups"));
+
+        handleErrors(result);
+
+        Map<String, FullGroup> groupMap = safeFromJson(result.getBody(), FullGroup.GSON_TYPE);
+        List<FullGroup> groupList = new ArrayList<>();
+
+        for (Entry<String, FullGroup> entry : groupMap.entrySet()) {
+            FullGroup group = entry.getValue();
+            group.setId(entry.getKey());
+            groupList.add(group);
+        }
+
+        lightCommandScheduler.setGroups(groupList);
+    }
+
     /**
      * Returns the list of groups, including the unmodifiable all lights group.
      *
@@ -986,6 +1096,14 @@ public class HueBridge {
         }
     }
 
+    private <T> T safeFromJson(JsonElement json, Class<T> classOfT) throws ApiException {
+        try {
+            return gson.fromJson(json, classOfT);
+        } catch (JsonParseException e) {
+            throw new ApiException("API returned unexpected result: " + e.getMessage());
+        }
+    }
+
     private <T> T safeFromJson(String json, Class<T> classOfT) throws ApiException {
         try {
             return gson.fromJson(json, classOfT);
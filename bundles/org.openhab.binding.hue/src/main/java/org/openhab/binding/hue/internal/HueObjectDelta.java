@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Result of polling a list of lights or sensors, containing only the objects whose JSON representation changed since
+ * the previous poll.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueObjectDelta<T extends HueObject> {
+
+    private final List<T> changed;
+    private final Set<String> ids;
+    private final int responseSize;
+
+    HueObjectDelta(List<T> changed, Set<String> ids, int responseSize) {
+        this.changed = changed;
+        this.ids = ids;
+        this.responseSize = responseSize;
+    }
+
+    /**
+     * Returns the objects which are new or whose JSON representation changed.
+     *
+     * @return changed objects
+     */
+    public List<T> getChanged() {
+        return changed;
+    }
+
+    /**
+     * Returns the ids of all objects known to the bridge, changed or not.
+     *
+     * @return ids of all objects
+     */
+    public Set<String> getIds() {
+        return ids;
+    }
+
+    /**
+     * Returns the size of the parsed response in characters.
+     *
+     * @return response size
+     */
+    public int getResponseSize() {
+        return responseSize;
+    }
+}
@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends the light state updates of one bridge at the rate recommended by Philips
+ * (https://developers.meethue.com/documentation/hue-system-performance).
+ * <p>
+ * Updates for a light which has not been sent yet are merged into one update, later values replacing earlier ones.
+ * If all lights of a group are waiting for the same update, a single group command is sent instead. Requests are
+ * paced by a token bucket allowing about 10 light commands or one group command per second.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class LightCommandScheduler {
+
+    /** commands collected before sending the first one, gives bursts like scenes a chance to be merged */
+    static final long COALESCING_WINDOW = 50;
+
+    private static final int MAX_TOKENS = 10;
+    private static final double TOKENS_PER_MILLISECOND = 10 / 1000.0;
+    private static final int LIGHT_COMMAND_TOKENS = 1;
+    private static final int GROUP_COMMAND_TOKENS = MAX_TOKENS;
+
+    private final Logger logger = LoggerFactory.getLogger(LightCommandScheduler.class);
+
+    private final HttpClient http;
+    private final ScheduledExecutorService scheduler;
+    private final Function<String, String> groupActionAddress;
+
+    private final Map<String, PendingUpdate> pendingUpdates = new LinkedHashMap<>();
+    private List<Set<String>> groupLights = Collections.emptyList();
+    private Map<Set<String>, String> groupIds = Collections.emptyMap();
+    private double tokens = MAX_TOKENS;
+    private long lastRefillTime = System.currentTimeMillis();
+    private boolean running;
+
+    /**
+     * @param http client used to send the requests
+     * @param scheduler executor sending the requests
+     * @param groupActionAddress returns the address of the action of the group with the given id
+     */
+    LightCommandScheduler(HttpClient http, ScheduledExecutorService scheduler,
+            Function<String, String> groupActionAddress) {
+        this.http = http;
+        this.scheduler = scheduler;
+        this.groupActionAddress = groupActionAddress;
+    }
+
+    /**
+     * Sets the groups whose lights can be addressed by a single group command.
+     *
+     * @param groups groups of the bridge
+     */
+    synchronized void setGroups(Collection<FullGroup> groups) {
+        List<Set<String>> lights = new ArrayList<>();
+        Map<Set<String>, String> ids = new LinkedHashMap<>();
+        for (FullGroup group : groups) {
+            Set<String> lightIds = new HashSet<>(Util.lightsToIds(group.getLights()));
+            if (group.isModifiable() && lightIds.size() > 1 && !ids.containsKey(lightIds)) {
+                lights.add(lightIds);
+                ids.put(lightIds, group.getId());
+            }
+        }
+        // prefer the largest group, it replaces the most light commands
+        lights.sort((a, b) -> Integer.compare(b.size(), a.size()));
+        groupLights = lights;
+        groupIds = ids;
+    }
+
+    /**
+     * Queues an update of the state of a light.
+     *
+     * @param lightId id of the light
+     * @param address address of the state of the light
+     * @param update changes to the state
+     * @return future completed with the result of the request which carried the update
+     */
+    CompletableFuture<Result> submit(String lightId, String address, StateUpdate update) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        synchronized (this) {
+            PendingUpdate pendingUpdate = pendingUpdates.get(lightId);
+            if (pendingUpdate == null) {
+                pendingUpdate = new PendingUpdate(address);
+                pendingUpdates.put(lightId, pendingUpdate);
+            }
+            for (Command command : update.commands) {
+                pendingUpdate.commands.put(command.key, command);
+            }
+            pendingUpdate.futures.add(future);
+
+            if (!running) {
+                running = true;
+                scheduler.schedule(this::sendNext, COALESCING_WINDOW, TimeUnit.MILLISECONDS);
+            }
+        }
+        return future;
+    }
+
+    private void sendNext() {
+        String address;
+        String body;
+        List<CompletableFuture<Result>> futures = new ArrayList<>();
+        synchronized (this) {
+            Set<String> groupLightIds = findGroupCommand();
+            int requiredTokens = groupLightIds != null ? GROUP_COMMAND_TOKENS : LIGHT_COMMAND_TOKENS;
+
+            long now = System.currentTimeMillis();
+            tokens = Math.min(MAX_TOKENS, tokens + (now - lastRefillTime) * TOKENS_PER_MILLISECOND);
+            lastRefillTime = now;
+            if (tokens < requiredTokens) {
+                long delay = (long) Math.ceil((requiredTokens - tokens) / TOKENS_PER_MILLISECOND);
+                scheduler.schedule(this::sendNext, delay, TimeUnit.MILLISECONDS);
+                return;
+            }
+            tokens -= requiredTokens;
+
+            if (groupLightIds != null) {
+                body = pendingUpdates.get(groupLightIds.iterator().next()).toJson();
+                for (String lightId : groupLightIds) {
+                    futures.addAll(pendingUpdates.remove(lightId).futures);
+                }
+                address = groupActionAddress.apply(groupIds.get(groupLightIds));
+            } else {
+                Iterator<Map.Entry<String, PendingUpdate>> iterator = pendingUpdates.entrySet().iterator();
+                Map.Entry<String, PendingUpdate> entry = iterator.next();
+                iterator.remove();
+                body = entry.getValue().toJson();
+                futures.addAll(entry.getValue().futures);
+                address = entry.getValue().address;
+            }
+        }
+
+        try {
+            logger.debug("Sending put to address: {} body: {} for {} command(s)", address, body, futures.size());
+            Result result = http.put(address, body);
+            futures.forEach(future -> future.complete(result));
+        } catch (IOException | RuntimeException e) {
+            futures.forEach(future -> future.completeExceptionally(e));
+        } finally {
+            synchronized (this) {
+                if (pendingUpdates.isEmpty()) {
+                    running = false;
+                } else {
+                    scheduler.execute(this::sendNext);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the lights of the largest group whose lights are all waiting for the same update.
+     */
+    private @Nullable Set<String> findGroupCommand() {
+        for (Set<String> lightIds : groupLights) {
+            if (!pendingUpdates.keySet().containsAll(lightIds)) {
+                continue;
+            }
+            String body = null;
+            boolean sameUpdate = true;
+            for (String lightId : lightIds) {
+                String lightBody = pendingUpdates.get(lightId).toJson();
+                if (body == null) {
+                    body = lightBody;
+                } else if (!body.equals(lightBody)) {
+                    sameUpdate = false;
+                    break;
+                }
+            }
+            if (sameUpdate) {
+                return lightIds;
+            }
+        }
+        return null;
+    }
+
+    private static class PendingUpdate {
+        final String address;
+        final Map<String, Command> commands = new LinkedHashMap<>();
+        final List<CompletableFuture<Result>> futures = new ArrayList<>();
+
+        PendingUpdate(String address) {
+            this.address = address;
+        }
+
+        String toJson() {
+            return commands.values().stream().map(Command::toJson).collect(joining(",", "{", "}"));
+        }
+    }
+}
@@ -43,7 +43,6 @@ import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.binding.ConfigStatusBridgeHandler;
 import org.eclipse.smarthome.core.types.Command;
-import org.openhab.binding.hue.internal.ApiVersionUtils;
 import org.openhab.binding.hue.internal.Config;
 import org.openhab.binding.hue.internal.ConfigUpdate;
 import org.openhab.binding.hue.internal.FullConfig;
@@ -51,6 +50,7 @@ import org.openhab.binding.hue.internal.FullLight;
 import org.openhab.binding.hue.internal.FullSensor;
 import org.openhab.binding.hue.internal.HueBridge;
 import org.openhab.binding.hue.internal.HueConfigStatusMessage;
+import org.openhab.binding.hue.internal.HueObjectDelta;
 import org.openhab.binding.hue.internal.State;
 import org.openhab.binding.hue.internal.StateUpdate;
 import org.openhab.binding.hue.internal.config.HueBridgeConfig;
@@ -62,6 +62,8 @@ import org.openhab.binding.hue.internal.exceptions.UnauthorizedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.JsonElement;
+
 /**
  * {@link HueBridgeHandler} is the handler for a hue bridge and connects it to
  * the framework. All {@link HueLightHandler}s use the {@link HueBridgeHandler} to execute the actual commands.
@@ -80,6 +82,17 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueClient {
 
+    /** the light polling job runs with this delay, skipping runs until the adaptive interval has elapsed */
+    private static final long LIGHT_POLLING_TICK = TimeUnit.SECONDS.toMillis(1);
+    /** lights are polled with {@link #LIGHT_POLLING_TICK} for this period after a command or a state change */
+    private static final long LIGHT_ACTIVE_PERIOD = TimeUnit.SECONDS.toMillis(10);
+    /** lights are polled with twice the configured interval after this period without commands or state changes */
+    private static final long LIGHT_IDLE_PERIOD = TimeUnit.MINUTES.toMillis(5);
+    /** the polling metrics are logged with this interval */
+    private static final long METRICS_LOG_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+    /** the lights of the groups are read with this interval, light commands are merged into group commands by them */
+    private static final long GROUPS_UPDATE_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
     private long lightPollingInterval = TimeUnit.SECONDS.toSeconds(10);
     private long sensorPollingInterval = TimeUnit.MILLISECONDS.toMillis(500);
 
@@ -162,6 +175,19 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final Map<String, FullLight> lastLightStates = new ConcurrentHashMap<>();
     private final Map<String, FullSensor> lastSensorStates = new ConcurrentHashMap<>();
 
+    /** parsed JSON of each light and sensor from the last poll, only accessed by the polling jobs */
+    private final Map<String, JsonElement> lightFingerprints = new HashMap<>();
+    private final Map<String, JsonElement> sensorFingerprints = new HashMap<>();
+
+    private final PollingMetrics lightPollingMetrics = new PollingMetrics();
+    private final PollingMetrics sensorPollingMetrics = new PollingMetrics();
+    private long lastMetricsLogTime;
+    private long lastGroupsUpdateTime;
+
+    /** time of the next light poll and of the last command or state change, in milliseconds */
+    private volatile long nextLightPollTime;
+    private volatile long lastLightActivityTime;
+
     private boolean lastBridgeConnectionState = false;
 
     private boolean propertiesInitializedSuccessfully = false;
@@ -178,28 +204,28 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final Runnable sensorPollingRunnable = new PollingRunnable() {
         @Override
         protected void doConnectedRun() throws IOException, ApiException {
-            Map<String, FullSensor> lastSensorStateCopy = new HashMap<>(lastSensorStates);
+            final long startTime = System.currentTimeMillis();
+            final HueObjectDelta<FullSensor> delta = hueBridge.getChangedSensors(sensorFingerprints);
 
-            for (final FullSensor sensor : hueBridge.getSensors()) {
+            for (final FullSensor sensor : delta.getChanged()) {
                 String sensorId = sensor.getId();
-                if (lastSensorStateCopy.containsKey(sensorId)) {
-                    final FullSensor lastFullSensor = lastSensorStateCopy.remove(sensorId);
-                    final Map<String, Object> lastFullSensorState = lastFullSensor.getState();
-                    lastSensorStates.put(sensorId, sensor);
-                    if (!lastFullSensorState.equals(sensor.getState())) {
+                final FullSensor lastFullSensor = lastSensorStates.put(sensorId, sensor);
+                if (lastFullSensor != null) {
+                    if (!lastFullSensor.getState().equals(sensor.getState())) {
                         logger.debug("Status update for Hue sensor '{}' detected: {}", sensorId, sensor.getState());
                         notifySensorStatusListeners(sensor, STATE_CHANGED);
                     }
                 } else {
-                    lastSensorStates.put(sensorId, sensor);
                     logger.debug("Hue sensor '{}' added.", sensorId);
                     notifySensorStatusListeners(sensor, STATE_ADDED);
-
                 }
             }
 
             // Check for removed sensors
-            for (Entry<String, FullSensor> fullSensorEntry : lastSensorStateCopy.entrySet()) {
+            for (Entry<String, FullSensor> fullSensorEntry : new HashMap<>(lastSensorStates).entrySet()) {
+                if (delta.getIds().contains(fullSensorEntry.getKey())) {
+                    continue;
+                }
                 lastSensorStates.remove(fullSensorEntry.getKey());
                 logger.debug("Hue sensor '{}' removed.", fullSensorEntry.getKey());
                 for (SensorStatusListener sensorStatusListener : sensorStatusListeners) {
@@ -210,40 +236,60 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     }
                 }
             }
+
+            sensorPollingMetrics.record(System.currentTimeMillis() - startTime, delta.getResponseSize(),
+                    delta.getChanged().size());
+            logPollingMetrics();
         }
     };
 
     private final Runnable lightPollingRunnable = new PollingRunnable() {
         @Override
-        protected void doConnectedRun() throws IOException, ApiException {
-            Map<String, FullLight> lastLightStateCopy = new HashMap<>(lastLightStates);
+        public void run() {
+            // the job ticks every second, the actual polling interval adapts to the activity of the lights
+            if (System.currentTimeMillis() < nextLightPollTime) {
+                return;
+            }
+            super.run();
+            nextLightPollTime = System.currentTimeMillis() + getAdaptiveLightPollingInterval();
+        }
 
-            List<FullLight> lights;
-            if (ApiVersionUtils.supportsFullLights(hueBridge.getVersion())) {
-                lights = hueBridge.getFullLights();
-            } else {
-                lights = hueBridge.getFullConfig().getLights();
+        @Override
+        protected void doConnectedRun() throws IOException, ApiException {
+            final long startTime = System.currentTimeMillis();
+            if (startTime - lastGroupsUpdateTime > GROUPS_UPDATE_INTERVAL) {
+                // retried with the regular interval only, the lights are polled even if reading the groups fails
+                lastGroupsUpdateTime = startTime;
+                try {
+                    hueBridge.updateGroups();
+                } catch (IOException | ApiException e) {
+                    logger.debug("Failed to read the groups of the Hue bridge: {}", e.getMessage());
+                }
             }
+            final HueObjectDelta<FullLight> delta = hueBridge.getChangedFullLights(lightFingerprints);
+            boolean stateChanged = false;
 
-            for (final FullLight fullLight : lights) {
+            for (final FullLight fullLight : delta.getChanged()) {
                 final String lightId = fullLight.getId();
-                if (lastLightStateCopy.containsKey(lightId)) {
-                    final FullLight lastFullLight = lastLightStateCopy.remove(lightId);
-                    final State lastFullLightState = lastFullLight.getState();
-                    lastLightStates.put(lightId, fullLight);
-                    if (!isEqual(lastFullLightState, fullLight.getState())) {
+                final FullLight lastFullLight = lastLightStates.put(lightId, fullLight);
+                if (lastFullLight != null) {
+                    if (!isEqual(lastFullLight.getState(), fullLight.getState())) {
                         logger.debug("Status update for Hue light '{}' detected.", lightId);
                         notifyLightStatusListeners(fullLight, STATE_CHANGED);
+                        stateChanged = true;
                     }
                 } else {
-                    lastLightStates.put(lightId, fullLight);
                     logger.debug("Hue light '{}' added.", lightId);
                     notifyLightStatusListeners(fullLight, STATE_ADDED);
+                    stateChanged = true;
                 }
             }
 
             // Check for removed lights
-            for (Entry<String, FullLight> fullLightEntry : lastLightStateCopy.entrySet()) {
+            for (Entry<String, FullLight> fullLightEntry : new HashMap<>(lastLightStates).entrySet()) {
+                if (delta.getIds().contains(fullLightEntry.getKey())) {
+                    continue;
+                }
                 lastLightStates.remove(fullLightEntry.getKey());
                 logger.debug("Hue light '{}' removed.", fullLightEntry.getKey());
                 for (LightStatusListener lightStatusListener : lightStatusListeners) {
@@ -254,6 +300,13 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     }
                 }
             }
+
+            if (stateChanged) {
+                lastLightActivityTime = System.currentTimeMillis();
+            }
+            lightPollingMetrics.record(System.currentTimeMillis() - startTime, delta.getResponseSize(),
+                    delta.getChanged().size());
+            logPollingMetrics();
         }
     };
 
@@ -269,6 +322,10 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     @Override
     public void updateLightState(FullLight light, StateUpdate stateUpdate) {
         if (hueBridge != null) {
+            // poll soon to pick up the new state
+            final long now = System.currentTimeMillis();
+            lastLightActivityTime = now;
+            nextLightPollTime = Math.min(nextLightPollTime, now + LIGHT_POLLING_TICK);
             hueBridge.setLightState(light, stateUpdate).thenAccept(result -> {
                 try {
                     hueBridge.handleErrors(result);
@@ -379,9 +436,37 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             } else {
                 lightPollingInterval = hueBridgeConfig.getPollingInterval();
             }
-            lightPollingJob = scheduler.scheduleWithFixedDelay(lightPollingRunnable, 1, lightPollingInterval,
-                    TimeUnit.SECONDS);
+            nextLightPollTime = 0;
+            lastGroupsUpdateTime = 0;
+            lightPollingJob = scheduler.scheduleWithFixedDelay(lightPollingRunnable, LIGHT_POLLING_TICK,
+                    LIGHT_POLLING_TICK, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns the light polling interval in milliseconds. Lights are polled every second for a short period after a
+     * command or a detected state change, with the configured interval normally and with twice the configured interval
+     * when the lights have been idle for a while.
+     */
+    private long getAdaptiveLightPollingInterval() {
+        final long configuredInterval = TimeUnit.SECONDS.toMillis(lightPollingInterval);
+        final long idleTime = System.currentTimeMillis() - lastLightActivityTime;
+        if (idleTime < LIGHT_ACTIVE_PERIOD) {
+            return Math.min(LIGHT_POLLING_TICK, configuredInterval);
+        } else if (idleTime > LIGHT_IDLE_PERIOD) {
+            return 2 * configuredInterval;
+        }
+        return configuredInterval;
+    }
+
+    private void logPollingMetrics() {
+        final long now = System.currentTimeMillis();
+        if (now - lastMetricsLogTime < METRICS_LOG_INTERVAL || !logger.isDebugEnabled()) {
+            return;
         }
+        lastMetricsLogTime = now;
+        logger.debug("Polling metrics of Hue bridge {}: lights [{}], sensors [{}]", hueBridge.getIPAddress(),
+                lightPollingMetrics, sensorPollingMetrics);
     }
 
     private void stopLightPolling() {
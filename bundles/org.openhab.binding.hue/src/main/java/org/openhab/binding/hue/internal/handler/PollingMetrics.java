@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.handler;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Collects the duration and the amount of parsed data of the polls of a {@link HueBridgeHandler} for logging.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class PollingMetrics {
+
+    private long polls;
+    private long totalDurationMillis;
+    private long lastDurationMillis;
+    private long totalBytes;
+    private long changedObjects;
+
+    synchronized void record(long durationMillis, int bytes, int changed) {
+        polls++;
+        totalDurationMillis += durationMillis;
+        lastDurationMillis = durationMillis;
+        totalBytes += bytes;
+        changedObjects += changed;
+    }
+
+    private long getAverageDurationMillis() {
+        return polls == 0 ? 0 : totalDurationMillis / polls;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "polls=" + polls + ", lastDuration=" + lastDurationMillis + "ms, averageDuration="
+                + getAverageDurationMillis() + "ms, parsed=" + totalBytes + " chars, changed=" + changedObjects;
+    }
+}
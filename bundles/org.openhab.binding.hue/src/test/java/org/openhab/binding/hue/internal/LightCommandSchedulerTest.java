@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+
+import com.google.gson.Gson;
+
+/**
+ * Tests for {@link LightCommandScheduler}.
+ *
+ * @author agent - Initial contribution
+ */
+public class LightCommandSchedulerTest {
+
+    private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+
+    private ScheduledExecutorService scheduler;
+    private LightCommandScheduler commandScheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        HttpClient http = new HttpClient() {
+            @Override
+            public Result put(String address, String body) {
+                requests.add(address + " " + body);
+                return new Result("[]", 200);
+            }
+        };
+        commandScheduler = new LightCommandScheduler(http, scheduler, groupId -> "groups/" + groupId + "/action");
+
+        FullGroup group = new Gson().fromJson("{\"lights\":[\"1\",\"2\"]}", FullGroup.class);
+        group.setId("1");
+        commandScheduler.setGroups(Collections.singletonList(group));
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void pendingUpdatesOfALightAreMerged() throws Exception {
+        CompletableFuture<Result> first = commandScheduler.submit("1", "lights/1/state", new StateUpdate().setOn(true));
+        CompletableFuture<Result> second = commandScheduler.submit("1", "lights/1/state",
+                new StateUpdate().setBrightness(100));
+
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList("lights/1/state {\"on\":true,\"bri\":100}"), requests);
+    }
+
+    @Test
+    public void laterValuesReplaceEarlierValues() throws Exception {
+        commandScheduler.submit("1", "lights/1/state", new StateUpdate().setOn(true).setBrightness(10));
+        commandScheduler.submit("1", "lights/1/state", new StateUpdate().setBrightness(200)).get(5, TimeUnit.SECONDS);
+
+        assertEquals(Collections.singletonList("lights/1/state {\"on\":true,\"bri\":200}"), requests);
+    }
+
+    @Test
+    public void equalUpdatesOfAllLightsOfAGroupAreSentAsGroupCommand() throws Exception {
+        CompletableFuture<Result> first = commandScheduler.submit("1", "lights/1/state", new StateUpdate().turnOff());
+        CompletableFuture<Result> second = commandScheduler.submit("2", "lights/2/state", new StateUpdate().turnOff());
+
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList("groups/1/action {\"on\":false}"), requests);
+    }
+
+    @Test
+    public void differentUpdatesOfAGroupAreSentAsLightCommands() throws Exception {
+        CompletableFuture<Result> first = commandScheduler.submit("1", "lights/1/state", new StateUpdate().turnOff());
+        CompletableFuture<Result> second = commandScheduler.submit("2", "lights/2/state", new StateUpdate().turnOn());
+
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals(2, requests.size());
+        assertTrue(requests.contains("lights/1/state {\"on\":false}"));
+        assertTrue(requests.contains("lights/2/state {\"on\":true}"));
+    }
+}
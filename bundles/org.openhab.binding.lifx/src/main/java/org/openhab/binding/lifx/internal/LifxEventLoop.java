@@ -0,0 +1,223 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.lifx.internal;
+
+import static org.openhab.binding.lifx.internal.util.LifxNetworkUtil.isRemoteAddress;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.lifx.internal.protocol.Packet;
+import org.openhab.binding.lifx.internal.util.LifxNetworkUtil;
+import org.openhab.binding.lifx.internal.util.LifxSelectorUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link LifxEventLoop} is the binding-wide UDP endpoint used for communicating with all LIFX lights. It uses a
+ * single {@link Selector} and {@link DatagramChannel} for unicast and broadcast packets and a single thread for
+ * receiving packets.
+ * <p>
+ * Each light handler and the discovery register with their own source identifier. Lights copy the source identifier
+ * of a request into their responses, so received packets are dispatched to the consumer registered for the source of
+ * the packet. Packets having source 0 are dispatched to all consumers. Each consumer has its own
+ * {@link LifxSerialExecutor}, so consumers are called in the order the packets are received without blocking the
+ * receiving thread or other consumers. The selector and thread are only running while consumers are registered.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public final class LifxEventLoop {
+
+    private static final LifxEventLoop INSTANCE = new LifxEventLoop();
+    private static final String LOG_ID = "Event loop";
+    private static final int MAX_SEND_RETRIES = 10;
+    private static final long SEND_RETRY_INTERVAL = 20;
+
+    private final Logger logger = LoggerFactory.getLogger(LifxEventLoop.class);
+
+    private final Map<Long, Registration> consumers = new ConcurrentHashMap<>();
+
+    private @Nullable Selector selector;
+    private volatile @Nullable DatagramChannel channel;
+
+    private static class Registration {
+        private final BiConsumer<Packet, InetSocketAddress> consumer;
+        private final LifxSerialExecutor executor;
+
+        private Registration(BiConsumer<Packet, InetSocketAddress> consumer, LifxSerialExecutor executor) {
+            this.consumer = consumer;
+            this.executor = executor;
+        }
+
+        private void accept(Packet packet, InetSocketAddress address) {
+            executor.execute(() -> consumer.accept(packet, address));
+        }
+    }
+
+    private LifxEventLoop() {
+    }
+
+    public static LifxEventLoop getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers a consumer for the packets received for the given source identifier. Opens the channel when the first
+     * consumer is registered.
+     *
+     * @param sourceId the source identifier used in the packets sent by the consumer
+     * @param consumer the consumer of the received packets
+     * @param executor the executor calling the consumer, one packet at a time
+     * @throws IOException when the channel could not be opened
+     */
+    public synchronized void register(long sourceId, BiConsumer<Packet, InetSocketAddress> consumer,
+            Executor executor) throws IOException {
+        if (channel == null) {
+            open();
+        }
+        consumers.put(sourceId,
+                new Registration(consumer, new LifxSerialExecutor(executor, Long.toString(sourceId, 16))));
+    }
+
+    /**
+     * Unregisters the consumer of the given source identifier. Closes the channel when no consumers remain.
+     *
+     * @param sourceId the source identifier of the consumer
+     */
+    public synchronized void unregister(long sourceId) {
+        consumers.remove(sourceId);
+        if (consumers.isEmpty()) {
+            close();
+        }
+    }
+
+    /**
+     * Sends a packet to the given address. The caller is responsible for throttling packets.
+     *
+     * @param packet the packet to send
+     * @param address the unicast or broadcast address of the packet
+     * @return {@code true} if the packet was sent, {@code false} otherwise
+     * @throws IOException when the packet could not be sent
+     */
+    public boolean send(Packet packet, InetSocketAddress address) throws IOException {
+        DatagramChannel localChannel = channel;
+        if (localChannel == null) {
+            return false;
+        }
+
+        ByteBuffer bytes = packet.bytes();
+        for (int i = 0; i <= MAX_SEND_RETRIES; i++) {
+            // a non-blocking channel sends the whole datagram or nothing when its buffer is full
+            if (localChannel.send(bytes, address) > 0) {
+                return true;
+            }
+            try {
+                Thread.sleep(SEND_RETRY_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        logger.debug("Failed to send packet after {} retries to '{}'", MAX_SEND_RETRIES, address);
+        return false;
+    }
+
+    @SuppressWarnings("resource")
+    private void open() throws IOException {
+        Selector localSelector = Selector.open();
+        try {
+            DatagramChannel localChannel = DatagramChannel.open(StandardProtocolFamily.INET)
+                    .setOption(StandardSocketOptions.SO_REUSEADDR, true)
+                    .setOption(StandardSocketOptions.SO_BROADCAST, true);
+            localChannel.configureBlocking(false);
+            localChannel.bind(new InetSocketAddress(0));
+            localChannel.register(localSelector, SelectionKey.OP_READ);
+            logger.debug("{} : Opened channel on {}", LOG_ID, localChannel.getLocalAddress());
+
+            Thread thread = new Thread(() -> run(localSelector, localChannel), "OH-binding-lifx-event-loop");
+            thread.setDaemon(true);
+            thread.start();
+
+            selector = localSelector;
+            channel = localChannel;
+        } catch (IOException e) {
+            LifxSelectorUtil.closeSelector(localSelector, LOG_ID);
+            throw e;
+        }
+    }
+
+    private void close() {
+        LifxSelectorUtil.closeSelector(selector, LOG_ID);
+        selector = null;
+        channel = null;
+        logger.debug("{} : Closed channel", LOG_ID);
+    }
+
+    private void run(Selector localSelector, DatagramChannel localChannel) {
+        ByteBuffer readBuffer = ByteBuffer.allocate(LifxNetworkUtil.getBufferSize());
+
+        while (localSelector.isOpen()) {
+            try {
+                localSelector.select();
+                localSelector.selectedKeys().clear();
+
+                InetSocketAddress address;
+                while ((address = (InetSocketAddress) localChannel.receive(readBuffer)) != null) {
+                    if (isRemoteAddress(address.getAddress())) {
+                        Packet packet = LifxSelectorUtil.parsePacket(readBuffer, address, LOG_ID);
+                        if (packet != null) {
+                            dispatch(packet, address);
+                        }
+                    }
+                    readBuffer.clear();
+                }
+            } catch (ClosedSelectorException | ClosedChannelException e) {
+                break;
+            } catch (Exception e) {
+                readBuffer.clear();
+                logger.debug("{} while receiving packets : {}", e.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Queues a received packet for the consumers of its source.
+     */
+    void dispatch(Packet packet, InetSocketAddress address) {
+        long source = packet.getSource();
+        if (source == 0) {
+            consumers.values().forEach(registration -> registration.accept(packet, address));
+        } else {
+            Registration registration = consumers.get(source);
+            if (registration != null) {
+                registration.accept(packet, address);
+            }
+        }
+    }
+}
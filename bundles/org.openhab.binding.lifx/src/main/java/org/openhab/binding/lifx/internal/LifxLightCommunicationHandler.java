@@ -12,20 +12,14 @@
  */
 package org.openhab.binding.lifx.internal;
 
-import static org.openhab.binding.lifx.internal.LifxBindingConstants.PACKET_INTERVAL;
 import static org.openhab.binding.lifx.internal.fields.MACAddress.BROADCAST_ADDRESS;
 import static org.openhab.binding.lifx.internal.util.LifxMessageUtil.randomSourceId;
-import static org.openhab.binding.lifx.internal.util.LifxSelectorUtil.*;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.nio.channels.SelectionKey;
-import java.nio.channels.Selector;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
@@ -38,13 +32,16 @@ import org.openhab.binding.lifx.internal.listener.LifxResponsePacketListener;
 import org.openhab.binding.lifx.internal.protocol.GetServiceRequest;
 import org.openhab.binding.lifx.internal.protocol.Packet;
 import org.openhab.binding.lifx.internal.protocol.StateServiceResponse;
-import org.openhab.binding.lifx.internal.util.LifxNetworkUtil;
 import org.openhab.binding.lifx.internal.util.LifxSelectorUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * The {@link LifxLightCommunicationHandler} is responsible for the communications with a light.
+ * <p>
+ * Packets are sent to the light in the order they are queued by a {@link LifxSerialExecutor}, so callers and the
+ * packets of other lights are not blocked while the packets of this light are throttled. Received packets are handled
+ * and passed to the response packet listeners by another {@link LifxSerialExecutor} of the light.
  *
  * @author Wouter Born - Extracted class from LifxLightHandler
  */
@@ -56,6 +53,7 @@ public class LifxLightCommunicationHandler {
     private final String logId;
     private final CurrentLightState currentLightState;
     private final ScheduledExecutorService scheduler;
+    private final LifxSerialExecutor sendExecutor;
 
     private final ReentrantLock lock = new ReentrantLock();
     private final long sourceId = randomSourceId();
@@ -63,18 +61,12 @@ public class LifxLightCommunicationHandler {
 
     private int service;
     private int unicastPort;
-    private final int broadcastPort = LifxNetworkUtil.getNewBroadcastPort();
-
-    private @Nullable ScheduledFuture<?> networkJob;
 
     private @Nullable MACAddress macAddress;
     private @Nullable InetSocketAddress host;
     private boolean broadcastEnabled;
 
-    private @Nullable Selector selector;
-    private @Nullable SelectionKey broadcastKey;
-    private @Nullable SelectionKey unicastKey;
-    private @Nullable LifxSelectorContext selectorContext;
+    private volatile @Nullable LifxSelectorContext selectorContext;
 
     public LifxLightCommunicationHandler(LifxLightContext context) {
         this.logId = context.getLogId();
@@ -82,6 +74,7 @@ public class LifxLightCommunicationHandler {
         this.host = context.getConfiguration().getHost();
         this.currentLightState = context.getCurrentLightState();
         this.scheduler = context.getScheduler();
+        this.sendExecutor = new LifxSerialExecutor(scheduler, logId);
         this.broadcastEnabled = context.getConfiguration().getHost() == null;
     }
 
@@ -102,26 +95,14 @@ public class LifxLightCommunicationHandler {
             logger.debug("{} : Starting communication handler", logId);
             logger.debug("{} : Using '{}' as source identifier", logId, Long.toString(sourceId, 16));
 
-            ScheduledFuture<?> localNetworkJob = networkJob;
-            if (localNetworkJob == null || localNetworkJob.isCancelled()) {
-                networkJob = scheduler.scheduleWithFixedDelay(this::receiveAndHandlePackets, 0, PACKET_INTERVAL,
-                        TimeUnit.MILLISECONDS);
-            }
-
             currentLightState.setOffline();
 
-            Selector localSelector = Selector.open();
-            selector = localSelector;
+            LifxEventLoop.getInstance().register(sourceId, this::receivePacket, scheduler);
+            selectorContext = new LifxSelectorContext(sourceId, sequenceNumberSupplier, logId, host, macAddress);
 
             if (isBroadcastEnabled()) {
-                broadcastKey = openBroadcastChannel(selector, logId, broadcastPort);
-                selectorContext = new LifxSelectorContext(localSelector, sourceId, sequenceNumberSupplier, logId, host,
-                        macAddress, broadcastKey, unicastKey);
                 broadcastPacket(new GetServiceRequest());
             } else {
-                unicastKey = openUnicastChannel(selector, logId, host);
-                selectorContext = new LifxSelectorContext(localSelector, sourceId, sequenceNumberSupplier, logId, host,
-                        macAddress, broadcastKey, unicastKey);
                 sendPacket(new GetServiceRequest());
             }
         } catch (IOException e) {
@@ -136,16 +117,7 @@ public class LifxLightCommunicationHandler {
         try {
             lock.lock();
 
-            ScheduledFuture<?> localNetworkJob = networkJob;
-            if (localNetworkJob != null && !localNetworkJob.isCancelled()) {
-                localNetworkJob.cancel(true);
-                networkJob = null;
-            }
-
-            closeSelector(selector, logId);
-            selector = null;
-            broadcastKey = null;
-            unicastKey = null;
+            LifxEventLoop.getInstance().unregister(sourceId);
             selectorContext = null;
         } finally {
             lock.unlock();
@@ -160,15 +132,16 @@ public class LifxLightCommunicationHandler {
         return macAddress;
     }
 
-    public void receiveAndHandlePackets() {
+    /**
+     * Handles a packet received by the {@link LifxEventLoop}. Packets received after the handler has been stopped are
+     * ignored. The listeners are notified without holding the lock to prevent deadlock.
+     */
+    private void receivePacket(Packet packet, InetSocketAddress address) {
+        boolean notifyListeners = false;
         try {
             lock.lock();
-            Selector localSelector = selector;
-            if (localSelector == null || !localSelector.isOpen()) {
-                logger.debug("{} : Unable to receive and handle packets with null or closed selector", logId);
-            } else {
-                LifxSelectorUtil.receiveAndHandlePackets(localSelector, logId,
-                        (packet, address) -> handlePacket(packet, address));
+            if (selectorContext != null) {
+                notifyListeners = handlePacket(packet, address);
             }
         } catch (Exception e) {
             logger.error("{} while receiving a packet from the light ({}): {}", e.getClass().getSimpleName(), logId,
@@ -176,9 +149,18 @@ public class LifxLightCommunicationHandler {
         } finally {
             lock.unlock();
         }
+
+        if (notifyListeners) {
+            responsePacketListeners.forEach(listener -> listener.handleResponsePacket(packet));
+        }
     }
 
-    private void handlePacket(Packet packet, InetSocketAddress address) {
+    /**
+     * Handles a received packet.
+     *
+     * @return {@code true} if the packet is for this light and has to be passed to the listeners
+     */
+    private boolean handlePacket(Packet packet, InetSocketAddress address) {
         boolean packetFromConfiguredMAC = macAddress != null && (packet.getTarget().equals(macAddress));
         boolean packetFromConfiguredHost = host != null && (address.equals(host));
         boolean broadcastPacket = packet.getTarget().equals(BROADCAST_ADDRESS);
@@ -200,7 +182,7 @@ public class LifxLightCommunicationHandler {
                     if (context != null) {
                         context.setMACAddress(macAddress);
                     }
-                    return;
+                    return false;
                 } else if (macAddress != null && macAddress.equals(discoveredAddress)) {
                     boolean newHost = host == null || !address.equals(host);
                     boolean newPort = unicastPort != (int) response.getPort();
@@ -216,20 +198,9 @@ public class LifxLightCommunicationHandler {
                         } else {
                             this.host = new InetSocketAddress(address.getAddress(), unicastPort);
 
-                            try {
-                                cancelKey(unicastKey, logId);
-                                unicastKey = openUnicastChannel(selector, logId, host);
-
-                                LifxSelectorContext context = selectorContext;
-                                if (context != null) {
-                                    context.setHost(host);
-                                    context.setUnicastKey(unicastKey);
-                                }
-                            } catch (IOException e) {
-                                logger.warn("{} while opening the unicast channel of the light ({}): {}",
-                                        e.getClass().getSimpleName(), logId, e.getMessage());
-                                currentLightState.setOfflineByCommunicationError();
-                                return;
+                            LifxSelectorContext context = selectorContext;
+                            if (context != null) {
+                                context.setHost(host);
                             }
 
                             currentLightState.setOnline();
@@ -238,11 +209,9 @@ public class LifxLightCommunicationHandler {
                 }
             }
 
-            // Listeners are notified in a separate thread for better concurrency and to prevent deadlock.
-            scheduler.schedule(() -> {
-                responsePacketListeners.forEach(listener -> listener.handleResponsePacket(packet));
-            }, 0, TimeUnit.MILLISECONDS);
+            return true;
         }
+        return false;
     }
 
     public boolean isBroadcastEnabled() {
@@ -255,7 +224,9 @@ public class LifxLightCommunicationHandler {
 
     public void sendPacket(Packet packet) {
         if (host != null) {
-            wrappedPacketSend((s, p) -> LifxSelectorUtil.sendPacket(s, p), packet);
+            // the sequence number is set when queuing the packet, so its response can be matched before it is sent
+            packet.setSequence(sequenceNumberSupplier.get());
+            wrappedPacketSend((s, p) -> LifxSelectorUtil.resendPacket(s, p), packet);
         }
     }
 
@@ -266,19 +237,13 @@ public class LifxLightCommunicationHandler {
     }
 
     private void wrappedPacketSend(BiFunction<LifxSelectorContext, Packet, Boolean> function, Packet packet) {
-        LifxSelectorContext localSelectorContext = selectorContext;
-        if (localSelectorContext != null) {
-            boolean result = false;
-            try {
-                lock.lock();
-                result = function.apply(localSelectorContext, packet);
-            } finally {
-                lock.unlock();
-                if (!result) {
-                    currentLightState.setOfflineByCommunicationError();
-                }
+        // the packets are sent one at a time by the send executor and throttled by the LifxThrottlingUtil
+        sendExecutor.execute(() -> {
+            LifxSelectorContext localSelectorContext = selectorContext;
+            if (localSelectorContext != null && !function.apply(localSelectorContext, packet)) {
+                currentLightState.setOfflineByCommunicationError();
             }
-        }
+        });
     }
 
 }
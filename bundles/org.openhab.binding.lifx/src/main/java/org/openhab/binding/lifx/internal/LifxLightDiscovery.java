@@ -18,9 +18,9 @@ import static org.openhab.binding.lifx.internal.util.LifxSelectorUtil.*;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.nio.channels.SelectionKey;
-import java.nio.channels.Selector;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -43,7 +43,6 @@ import org.openhab.binding.lifx.internal.protocol.Product;
 import org.openhab.binding.lifx.internal.protocol.StateLabelResponse;
 import org.openhab.binding.lifx.internal.protocol.StateServiceResponse;
 import org.openhab.binding.lifx.internal.protocol.StateVersionResponse;
-import org.openhab.binding.lifx.internal.util.LifxSelectorUtil;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -73,9 +72,6 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
     private final long sourceId = randomSourceId();
     private final Supplier<Integer> sequenceNumberSupplier = new LifxSequenceNumberSupplier();
 
-    private @Nullable Selector selector;
-    private @Nullable SelectionKey broadcastKey;
-
     private @Nullable ScheduledFuture<?> discoveryJob;
     private @Nullable ScheduledFuture<?> networkJob;
 
@@ -94,25 +90,17 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
 
         private long lastRequestTimeMillis;
 
-        public DiscoveredLight(Selector lightSelector, MACAddress macAddress, InetSocketAddress socketAddress,
-                String logId, @Nullable SelectionKey unicastKey) {
+        public DiscoveredLight(MACAddress macAddress, InetSocketAddress socketAddress, String logId) {
             this.macAddress = macAddress;
             this.logId = logId;
             this.socketAddress = socketAddress;
-            this.selectorContext = new LifxSelectorContext(lightSelector, sourceId, sequenceNumberSupplier, logId,
-                    socketAddress, macAddress, broadcastKey, unicastKey);
+            this.selectorContext = new LifxSelectorContext(sourceId, sequenceNumberSupplier, logId, socketAddress,
+                    macAddress);
         }
 
         public boolean isDataComplete() {
             return label != null && product != null;
         }
-
-        public void cancelUnicastKey() {
-            SelectionKey unicastKey = selectorContext.getUnicastKey();
-            if (unicastKey != null) {
-                cancelKey(unicastKey, selectorContext.getLogId());
-            }
-        }
     }
 
     public LifxLightDiscovery() throws IllegalArgumentException {
@@ -179,21 +167,18 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
         try {
             if (!isScanning) {
                 isScanning = true;
-                if (selector != null) {
-                    closeSelector(selector, LOG_ID);
-                }
 
                 logger.debug("The LIFX discovery service will use '{}' as source identifier",
                         Long.toString(sourceId, 16));
 
-                Selector localSelector = Selector.open();
-                selector = localSelector;
-
-                broadcastKey = openBroadcastChannel(localSelector, LOG_ID, BROADCAST_PORT);
-                networkJob = scheduler.schedule(this::receiveAndHandlePackets, 0, TimeUnit.MILLISECONDS);
+                synchronized (discoveredLights) {
+                    discoveredLights.clear();
+                }
+                LifxEventLoop.getInstance().register(sourceId, this::handlePacket, scheduler);
+                networkJob = scheduler.schedule(this::requestLightDataUntilTimeout, 0, TimeUnit.MILLISECONDS);
 
-                LifxSelectorContext selectorContext = new LifxSelectorContext(localSelector, sourceId,
-                        sequenceNumberSupplier, LOG_ID, broadcastKey);
+                LifxSelectorContext selectorContext = new LifxSelectorContext(sourceId, sequenceNumberSupplier,
+                        LOG_ID);
                 broadcastPacket(selectorContext, new GetServiceRequest());
             } else {
                 logger.info("A discovery scan for LIFX lights is already underway");
@@ -204,68 +189,61 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
         }
     }
 
-    public void receiveAndHandlePackets() {
-        Selector localSelector = selector;
-
+    /**
+     * Requests the data of discovered lights until the scan times out. Responses are received by the
+     * {@link LifxEventLoop} and handled by {@link #handlePacket(Packet, InetSocketAddress)}.
+     */
+    private void requestLightDataUntilTimeout() {
         try {
-            if (localSelector == null || !localSelector.isOpen()) {
-                logger.debug("Unable to receive and handle packets with null or closed selector");
-                return;
-            }
-
-            discoveredLights.clear();
-            logger.trace("Entering read loop");
             long startStamp = System.currentTimeMillis();
-
             while (System.currentTimeMillis() - startStamp < SELECTOR_TIMEOUT) {
-                int lightCount = discoveredLights.size();
-                long selectStamp = System.currentTimeMillis();
-
-                LifxSelectorUtil.receiveAndHandlePackets(localSelector, LOG_ID,
-                        (packet, address) -> handlePacket(packet, address));
                 requestAdditionalLightData();
-
-                boolean discoveredNewLights = lightCount < discoveredLights.size();
-                if (!discoveredNewLights) {
-                    boolean preventBusyWaiting = System.currentTimeMillis() - selectStamp < PACKET_INTERVAL;
-                    if (preventBusyWaiting) {
-                        Thread.sleep(PACKET_INTERVAL);
-                    }
-                }
+                Thread.sleep(PACKET_INTERVAL);
             }
-            logger.trace("Exited read loop");
+        } catch (InterruptedException e) {
+            logger.debug("Discovery of LIFX lights was interrupted");
         } catch (Exception e) {
-            logger.debug("{} while receiving and handling discovery packets: {}", e.getClass().getSimpleName(),
-                    e.getMessage(), e);
+            logger.debug("{} while requesting discovery data: {}", e.getClass().getSimpleName(), e.getMessage(), e);
         } finally {
-            LifxSelectorUtil.closeSelector(localSelector, LOG_ID);
-            selector = null;
+            LifxEventLoop.getInstance().unregister(sourceId);
             isScanning = false;
         }
     }
 
     private void requestAdditionalLightData() {
-        // Iterate through the discovered lights that have to be set up, and the packets that have to be sent
-        // Workaround to avoid a ConcurrentModifictionException on the selector.SelectedKeys() Set
-        for (DiscoveredLight light : discoveredLights.values()) {
-            if (light == null) {
-                continue;
-            }
-            boolean waitingForLightResponse = System.currentTimeMillis() - light.lastRequestTimeMillis < 200;
-
-            if (light.supportedProduct && !light.isDataComplete() && !waitingForLightResponse) {
-                if (light.product == null) {
-                    sendPacket(light.selectorContext, new GetVersionRequest());
+        // Collect the lights that have to be set up, the packets are sent without blocking the event loop
+        List<DiscoveredLight> lightsToRequest = new ArrayList<>();
+        synchronized (discoveredLights) {
+            for (DiscoveredLight light : discoveredLights.values()) {
+                if (light == null) {
+                    continue;
                 }
-                if (light.label == null) {
-                    sendPacket(light.selectorContext, new GetLabelRequest());
+                boolean waitingForLightResponse = System.currentTimeMillis() - light.lastRequestTimeMillis < 200;
+
+                if (light.supportedProduct && !light.isDataComplete() && !waitingForLightResponse) {
+                    lightsToRequest.add(light);
+                    light.lastRequestTimeMillis = System.currentTimeMillis();
                 }
-                light.lastRequestTimeMillis = System.currentTimeMillis();
+            }
+        }
+
+        for (DiscoveredLight light : lightsToRequest) {
+            if (light.product == null) {
+                sendPacket(light.selectorContext, new GetVersionRequest());
+            }
+            if (light.label == null) {
+                sendPacket(light.selectorContext, new GetLabelRequest());
             }
         }
     }
 
     private void handlePacket(Packet packet, InetSocketAddress address) {
+        synchronized (discoveredLights) {
+            handlePacketLocked(packet, address);
+        }
+    }
+
+    private void handlePacketLocked(Packet packet, InetSocketAddress address) {
         logger.trace("Discovery : Packet type '{}' received from '{}' for '{}' with sequence '{}' and source '{}'",
                 new Object[] { packet.getClass().getSimpleName(), address.toString(), packet.getTarget().getHex(),
                         packet.getSequence(), Long.toString(packet.getSource(), 16) });
@@ -280,17 +258,8 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
                     try {
                         InetSocketAddress socketAddress = new InetSocketAddress(address.getAddress(), port);
                         if (light == null || (!socketAddress.equals(light.socketAddress))) {
-                            if (light != null) {
-                                light.cancelUnicastKey();
-                            }
-
-                            Selector lightSelector = selector;
-                            if (lightSelector != null) {
-                                String logId = getLogId(macAddress, socketAddress);
-                                light = new DiscoveredLight(lightSelector, macAddress, socketAddress, logId,
-                                        openUnicastChannel(lightSelector, logId, socketAddress));
-                                discoveredLights.put(macAddress, light);
-                            }
+                            light = new DiscoveredLight(macAddress, socketAddress, getLogId(macAddress, socketAddress));
+                            discoveredLights.put(macAddress, light);
                         }
                     } catch (Exception e) {
                         logger.warn("{} while connecting to IP address: {}", e.getClass().getSimpleName(),
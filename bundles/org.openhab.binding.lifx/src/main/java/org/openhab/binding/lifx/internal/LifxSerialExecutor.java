@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.lifx.internal;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link LifxSerialExecutor} queues the tasks of one light and runs them one at a time in submission order on a
+ * shared {@link Executor}. It is used for the packets sent to and received from a light, so a light that is throttled
+ * or slow to handle its packets does not block the packets of other lights.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class LifxSerialExecutor implements Executor {
+
+    private final Logger logger = LoggerFactory.getLogger(LifxSerialExecutor.class);
+
+    private final Executor executor;
+    private final String logId;
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private boolean running;
+
+    public LifxSerialExecutor(Executor executor, String logId) {
+        this.executor = executor;
+        this.logId = logId;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        synchronized (tasks) {
+            tasks.add(task);
+            if (running) {
+                return;
+            }
+            running = true;
+        }
+
+        try {
+            executor.execute(this::runTasks);
+        } catch (RejectedExecutionException e) {
+            logger.debug("{} : Discarding queued tasks, the executor does not accept tasks: {}", logId,
+                    e.getMessage());
+            synchronized (tasks) {
+                tasks.clear();
+                running = false;
+            }
+        }
+    }
+
+    private void runTasks() {
+        while (true) {
+            @Nullable
+            Runnable task;
+            synchronized (tasks) {
+                task = tasks.poll();
+                if (task == null) {
+                    running = false;
+                    return;
+                }
+            }
+
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.error("{} while running a task of the light ({}): {}", e.getClass().getSimpleName(), logId,
+                        e.getMessage(), e);
+            }
+        }
+    }
+}
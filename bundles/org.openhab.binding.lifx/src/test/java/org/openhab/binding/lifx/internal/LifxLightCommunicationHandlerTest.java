@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.lifx.internal;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.lifx.internal.fields.MACAddress;
+import org.openhab.binding.lifx.internal.handler.LifxLightHandler.CurrentLightState;
+import org.openhab.binding.lifx.internal.protocol.AcknowledgementResponse;
+import org.openhab.binding.lifx.internal.protocol.GetLightPowerRequest;
+import org.openhab.binding.lifx.internal.protocol.GetServiceRequest;
+import org.openhab.binding.lifx.internal.protocol.Packet;
+import org.openhab.binding.lifx.internal.protocol.Product;
+import org.openhab.binding.lifx.internal.util.LifxThrottlingUtil;
+
+/**
+ * Tests the communication of several lights sharing the {@link LifxEventLoop}, with each light simulated by a UDP
+ * socket on the loopback interface.
+ *
+ * @author agent - Initial contribution
+ */
+public class LifxLightCommunicationHandlerTest {
+
+    private static final int LIGHT_COUNT = 3;
+    private static final int RECEIVE_TIMEOUT = 2000;
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(LIGHT_COUNT + 1);
+    private final List<SimulatedLight> lights = new ArrayList<>();
+    private final List<LifxLightCommunicationHandler> handlers = new ArrayList<>();
+
+    private static class SimulatedLight {
+        private final MACAddress macAddress;
+        private final DatagramSocket socket;
+
+        private SimulatedLight(int index) throws IOException {
+            macAddress = new MACAddress(String.format("D073D500000%d", index), true);
+            socket = new DatagramSocket(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        }
+
+        /**
+         * Returns the type of the next received packet or -1 if no packet is received within the timeout.
+         */
+        private int receivePacketType(int timeout) throws IOException {
+            byte[] data = new byte[1024];
+            DatagramPacket datagram = new DatagramPacket(data, data.length);
+            socket.setSoTimeout(timeout);
+            try {
+                socket.receive(datagram);
+            } catch (SocketTimeoutException e) {
+                return -1;
+            }
+            return (data[32] & 0xFF) | (data[33] & 0xFF) << 8;
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        for (int i = 0; i < LIGHT_COUNT; i++) {
+            SimulatedLight light = new SimulatedLight(i);
+            lights.add(light);
+
+            LifxLightConfig configuration = mock(LifxLightConfig.class);
+            when(configuration.getMACAddress()).thenReturn(light.macAddress);
+            when(configuration.getHost()).thenReturn((InetSocketAddress) light.socket.getLocalSocketAddress());
+
+            LifxLightContext context = new LifxLightContext("light" + i, Product.values()[0], configuration,
+                    mock(CurrentLightState.class), new LifxLightState(), scheduler);
+            LifxLightCommunicationHandler handler = new LifxLightCommunicationHandler(context);
+            handler.start();
+            handlers.add(handler);
+
+            assertEquals(GetServiceRequest.TYPE, light.receivePacketType(RECEIVE_TIMEOUT));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        handlers.forEach(LifxLightCommunicationHandler::stop);
+        lights.forEach(light -> light.socket.close());
+        scheduler.shutdownNow();
+    }
+
+    @Test(timeout = 10000)
+    public void testThrottledLightDoesNotBlockOtherLights() throws IOException {
+        MACAddress throttledMacAddress = lights.get(0).macAddress;
+
+        // the packets of the first light cannot be sent while its throttling lock is held
+        LifxThrottlingUtil.lock(throttledMacAddress);
+        try {
+            for (LifxLightCommunicationHandler handler : handlers) {
+                // does not block the caller although the packet of the first light is throttled
+                handler.sendPacket(new GetLightPowerRequest());
+            }
+
+            for (int i = 1; i < LIGHT_COUNT; i++) {
+                assertEquals(GetLightPowerRequest.TYPE, lights.get(i).receivePacketType(RECEIVE_TIMEOUT));
+            }
+            assertEquals(-1, lights.get(0).receivePacketType(200));
+        } finally {
+            LifxThrottlingUtil.unlock(throttledMacAddress);
+        }
+
+        assertEquals(GetLightPowerRequest.TYPE, lights.get(0).receivePacketType(RECEIVE_TIMEOUT));
+    }
+
+    @Test(timeout = 10000)
+    public void testSlowListenerDoesNotBlockOtherLights() throws InterruptedException {
+        CountDownLatch releaseFirstListener = new CountDownLatch(1);
+        List<BlockingQueue<Packet>> receivedPackets = new ArrayList<>();
+        for (int i = 0; i < LIGHT_COUNT; i++) {
+            BlockingQueue<Packet> packets = new LinkedBlockingQueue<>();
+            receivedPackets.add(packets);
+            boolean slowListener = i == 0;
+            handlers.get(i).addResponsePacketListener(packet -> {
+                if (slowListener) {
+                    try {
+                        releaseFirstListener.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                packets.add(packet);
+            });
+        }
+
+        // dispatched like packets received by the event loop thread
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < LIGHT_COUNT; i++) {
+                AcknowledgementResponse packet = new AcknowledgementResponse();
+                packet.setTarget(lights.get(i).macAddress);
+                packet.setSequence(round);
+                LifxEventLoop.getInstance().dispatch(packet,
+                        (InetSocketAddress) lights.get(i).socket.getLocalSocketAddress());
+            }
+        }
+
+        for (int i = 1; i < LIGHT_COUNT; i++) {
+            for (int round = 0; round < 2; round++) {
+                Packet packet = receivedPackets.get(i).poll(RECEIVE_TIMEOUT, TimeUnit.MILLISECONDS);
+                assertNotNull(packet);
+                assertEquals(round, packet.getSequence());
+            }
+        }
+        assertTrue(receivedPackets.get(0).isEmpty());
+
+        releaseFirstListener.countDown();
+        for (int round = 0; round < 2; round++) {
+            Packet packet = receivedPackets.get(0).poll(RECEIVE_TIMEOUT, TimeUnit.MILLISECONDS);
+            assertNotNull(packet);
+            assertEquals(round, packet.getSequence());
+        }
+    }
+}
@@ -68,6 +68,8 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
 
     private static final String SOCKET_URL = "/ws/rfc6455";
     private static final String CMD_CFG_API = "jdev/cfg/api";
+    // period of passing the value state updates received from the Miniserver to the controls
+    private static final int VALUE_STATE_UPDATE_PERIOD_MS = 100;
 
     private static final Gson GSON;
 
@@ -82,6 +84,12 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
     // the state. It must be ensured that updates received for this state UUID are passed to all controls that have this
     // state UUID configured.
     private Map<LxUuid, Map<LxUuid, LxState>> states = new HashMap<>();
+    // Value updates of the states, received in binary event tables and passed to the controls periodically
+    private final LxValueStateQueue valueStateQueue = new LxValueStateQueue();
+    // Lock for the structures of controls and states
+    private final Lock stateLock = new ReentrantLock();
+    // Lock that keeps the queued value state updates in order, when a drain is scheduled before the previous one ends
+    private final Lock drainLock = new ReentrantLock();
 
     private LxWebSocket socket;
     private WebSocketClient wsClient;
@@ -239,8 +247,14 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
      */
     @Override
     public void addControl(LxControl control) {
-        addControlStructures(control);
-        addThingChannels(control.getChannelsWithSubcontrols(), false);
+        stateLock.lock();
+        try {
+            addControlStructures(control);
+            valueStateQueue.setStates(states.keySet());
+            addThingChannels(control.getChannelsWithSubcontrols(), false);
+        } finally {
+            stateLock.unlock();
+        }
     }
 
     /*
@@ -252,29 +266,35 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
      */
     @Override
     public void removeControl(LxControl control) {
-        logger.debug("[{}] Removing control: {}", debugId, control.getName());
-        control.getSubControls().values().forEach(subControl -> removeControl(subControl));
-        LxUuid controlUuid = control.getUuid();
-        control.getStates().values().forEach(state -> {
-            LxUuid stateUuid = state.getUuid();
-            Map<LxUuid, LxState> perUuid = states.get(stateUuid);
-            if (perUuid != null) {
-                perUuid.remove(controlUuid);
-                if (perUuid.isEmpty()) {
-                    states.remove(stateUuid);
+        stateLock.lock();
+        try {
+            logger.debug("[{}] Removing control: {}", debugId, control.getName());
+            control.getSubControls().values().forEach(subControl -> removeControl(subControl));
+            LxUuid controlUuid = control.getUuid();
+            control.getStates().values().forEach(state -> {
+                LxUuid stateUuid = state.getUuid();
+                Map<LxUuid, LxState> perUuid = states.get(stateUuid);
+                if (perUuid != null) {
+                    perUuid.remove(controlUuid);
+                    if (perUuid.isEmpty()) {
+                        states.remove(stateUuid);
+                    }
                 }
-            }
-        });
-
-        ThingBuilder builder = editThing();
-        control.getChannels().forEach(channel -> {
-            ChannelUID id = channel.getUID();
-            builder.withoutChannel(id);
-            dynamicStateDescriptionProvider.removeDescription(id);
-            channels.remove(id);
-        });
-        updateThing(builder.build());
-        controls.remove(controlUuid);
+            });
+            valueStateQueue.setStates(states.keySet());
+
+            ThingBuilder builder = editThing();
+            control.getChannels().forEach(channel -> {
+                ChannelUID id = channel.getUID();
+                builder.withoutChannel(id);
+                dynamicStateDescriptionProvider.removeDescription(id);
+                channels.remove(id);
+            });
+            updateThing(builder.build());
+            controls.remove(controlUuid);
+        } finally {
+            stateLock.unlock();
+        }
     }
 
     /*
@@ -356,10 +376,16 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
      * Dispose of all objects created from the Miniserver configuration.
      */
     void clearConfiguration() {
-        controls.clear();
-        channels.clear();
-        states.clear();
-        dynamicStateDescriptionProvider.removeAllDescriptions();
+        stateLock.lock();
+        try {
+            controls.clear();
+            channels.clear();
+            states.clear();
+            valueStateQueue.setStates(states.keySet());
+            dynamicStateDescriptionProvider.removeAllDescriptions();
+        } finally {
+            stateLock.unlock();
+        }
     }
 
     /**
@@ -385,16 +411,22 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
         thing.setProperty(Thing.PROPERTY_MAC_ADDRESS, buildName(info.macAddress));
 
         List<Channel> list = new ArrayList<>();
-        if (config.controls != null) {
-            logger.trace("[{}] creating control structures.", debugId);
-            config.controls.values().forEach(ctrl -> {
-                addControlStructures(ctrl);
-                list.addAll(ctrl.getChannelsWithSubcontrols());
-            });
-        } else {
-            logger.warn("[{}] no controls received in Miniserver configuration.", debugId);
+        stateLock.lock();
+        try {
+            if (config.controls != null) {
+                logger.trace("[{}] creating control structures.", debugId);
+                config.controls.values().forEach(ctrl -> {
+                    addControlStructures(ctrl);
+                    list.addAll(ctrl.getChannelsWithSubcontrols());
+                });
+            } else {
+                logger.warn("[{}] no controls received in Miniserver configuration.", debugId);
+            }
+            valueStateQueue.setStates(states.keySet());
+            addThingChannels(list, true);
+        } finally {
+            stateLock.unlock();
         }
-        addThingChannels(list, true);
         updateStatus(ThingStatus.ONLINE);
     }
 
@@ -407,11 +439,31 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
      * @param value a new value for this state
      */
     void updateStateValue(LxUuid uuid, Object value) {
-        Map<LxUuid, LxState> perStateUuid = states.get(uuid);
-        if (perStateUuid != null) {
-            perStateUuid.forEach((controlUuid, state) -> {
-                state.setStateValue(value);
-            });
+        List<LxState> updatedStates = new ArrayList<>();
+        stateLock.lock();
+        try {
+            Map<LxUuid, LxState> perStateUuid = states.get(uuid);
+            if (perStateUuid != null) {
+                updatedStates.addAll(perStateUuid.values());
+            }
+        } finally {
+            stateLock.unlock();
+        }
+        // the controls are updated without holding the lock, as they may call back into the handler and websocket
+        updatedStates.forEach(state -> state.setStateValue(value));
+    }
+
+    /**
+     * Queue an update of a value state received from Miniserver in a binary event table. The queued updates are
+     * passed to the controls periodically by a scheduler thread, so the websocket thread is not blocked by the
+     * controls. If a state is updated more than once within a period, only its latest value is passed.
+     *
+     * @param data   buffer with the event table
+     * @param offset offset of the state's entry in the buffer
+     */
+    void queueStateValue(byte[] data, int offset) {
+        if (valueStateQueue.offer(data, offset)) {
+            scheduler.schedule(this::updateQueuedStateValues, VALUE_STATE_UPDATE_PERIOD_MS, TimeUnit.MILLISECONDS);
         }
     }
 
@@ -472,6 +524,40 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
 
     }
 
+    /**
+     * Pass the queued value state updates to the controls. The states of the drained updates are looked up while
+     * holding the state lock, but the controls are updated after releasing it, so the websocket thread is not blocked
+     * for the whole batch and the controls can call back into the handler and websocket.
+     */
+    private void updateQueuedStateValues() {
+        List<LxState> updatedStates = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+        drainLock.lock();
+        try {
+            int count;
+            stateLock.lock();
+            try {
+                count = valueStateQueue.drain((uuid, value) -> {
+                    Map<LxUuid, LxState> perStateUuid = states.get(uuid);
+                    if (perStateUuid != null) {
+                        perStateUuid.values().forEach(state -> {
+                            updatedStates.add(state);
+                            values.add(value);
+                        });
+                    }
+                });
+            } finally {
+                stateLock.unlock();
+            }
+            for (int i = 0; i < updatedStates.size(); i++) {
+                updatedStates.get(i).setStateValue(values.get(i));
+            }
+            logger.trace("[{}] Updated {} value states", debugId, count);
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
     /**
      * Add a new control, its states, subcontrols and channels to the handler structures.
      * Handler maintains maps of all controls (main controls + subcontrols), all channels for all controls and all
@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.loxone.internal;
+
+import java.util.Collection;
+import java.util.function.ObjDoubleConsumer;
+
+import org.openhab.binding.loxone.internal.types.LxUuid;
+
+/**
+ * Queue of value state updates received from the Miniserver in binary event tables.
+ * <p>
+ * Each entry of the event table is matched against the known state UUIDs by its 16 UUID bytes, using an open
+ * addressing hash table with the UUIDs stored as two long values, so no objects are created when the entries are
+ * decoded. Each state is queued at most once, repeated updates of a queued state only replace its value. The queue is
+ * therefore bounded by the number of known states and the consumer receives only the latest value of each state.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+class LxValueStateQueue {
+    // size of one entry of the value states table - UUID (16 bytes) and value (double, 8 bytes)
+    static final int ENTRY_SIZE = 24;
+
+    private static class Entry {
+        private final LxUuid uuid;
+        private final long high;
+        private final long low;
+        private double value;
+        private boolean queued;
+
+        private Entry(LxUuid uuid, long high, long low) {
+            this.uuid = uuid;
+            this.high = high;
+            this.low = low;
+        }
+    }
+
+    private Entry[] table = new Entry[0];
+    private Entry[] queue = new Entry[0];
+    private int queueHead = 0;
+    private int queueSize = 0;
+
+    // used only by the thread draining the queue
+    private LxUuid[] drainedUuids = new LxUuid[0];
+    private double[] drainedValues = new double[0];
+
+    /**
+     * Sets the UUIDs of all states that can receive value updates. Queued updates of the states that are still known
+     * are kept, other queued updates are discarded.
+     *
+     * @param uuids UUIDs of the states
+     */
+    synchronized void setStates(Collection<LxUuid> uuids) {
+        int capacity = 16;
+        while (capacity < uuids.size() * 2) {
+            capacity <<= 1;
+        }
+        Entry[] newTable = new Entry[capacity];
+        int count = 0;
+        for (LxUuid uuid : uuids) {
+            String id = uuid.toString();
+            // only UUIDs in the format of the binary event tables can receive value updates
+            if (id.length() != 35 || id.charAt(8) != '-' || id.charAt(13) != '-' || id.charAt(18) != '-') {
+                continue;
+            }
+            long high;
+            long low;
+            try {
+                high = Long.parseUnsignedLong(id.substring(0, 8) + id.substring(9, 13) + id.substring(14, 18), 16);
+                low = Long.parseUnsignedLong(id.substring(19), 16);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            Entry entry = find(table, high, low);
+            if (entry == null) {
+                entry = new Entry(uuid, high, low);
+            }
+            int index = index(newTable, high, low);
+            if (newTable[index] == null) {
+                newTable[index] = entry;
+                count++;
+            }
+        }
+
+        Entry[] newQueue = new Entry[count];
+        int newQueueSize = 0;
+        for (int i = 0; i < queueSize; i++) {
+            Entry entry = queue[(queueHead + i) % queue.length];
+            if (find(newTable, entry.high, entry.low) == entry) {
+                newQueue[newQueueSize++] = entry;
+            } else {
+                entry.queued = false;
+            }
+        }
+        table = newTable;
+        queue = newQueue;
+        queueHead = 0;
+        queueSize = newQueueSize;
+    }
+
+    /**
+     * Queues a value update from an entry of the binary value states table.
+     *
+     * @param data buffer with the event table
+     * @param offset offset of the entry in the buffer
+     * @return true if the queue was empty before and the update has to be scheduled
+     */
+    boolean offer(byte[] data, int offset) {
+        long high = (long) getInt(data, offset) << 32 | (getShort(data, offset + 4) & 0xFFFFL) << 16
+                | getShort(data, offset + 6) & 0xFFFFL;
+        long low = 0;
+        for (int i = 8; i < 16; i++) {
+            low = low << 8 | data[offset + i] & 0xFF;
+        }
+        double value = Double.longBitsToDouble(getInt(data, offset + 16) & 0xFFFFFFFFL
+                | (long) getInt(data, offset + 20) << 32);
+
+        synchronized (this) {
+            Entry entry = find(table, high, low);
+            if (entry == null) {
+                return false;
+            }
+            entry.value = value;
+            if (entry.queued) {
+                return false;
+            }
+            entry.queued = true;
+            queue[(queueHead + queueSize) % queue.length] = entry;
+            return ++queueSize == 1;
+        }
+    }
+
+    /**
+     * Removes all updates from the queue and passes the latest value of each updated state to the consumer.
+     * The consumer is called outside of the queue synchronization, so new updates can be queued meanwhile.
+     * Only one thread at a time may drain the queue.
+     *
+     * @param consumer consumer of the state UUID and its new value
+     * @return number of states updated
+     */
+    int drain(ObjDoubleConsumer<LxUuid> consumer) {
+        int count;
+        synchronized (this) {
+            count = queueSize;
+            if (drainedUuids.length < count) {
+                drainedUuids = new LxUuid[queue.length];
+                drainedValues = new double[queue.length];
+            }
+            for (int i = 0; i < count; i++) {
+                Entry entry = queue[queueHead];
+                queue[queueHead] = null;
+                queueHead = (queueHead + 1) % queue.length;
+                entry.queued = false;
+                drainedUuids[i] = entry.uuid;
+                drainedValues[i] = entry.value;
+            }
+            queueHead = 0;
+            queueSize = 0;
+        }
+        for (int i = 0; i < count; i++) {
+            consumer.accept(drainedUuids[i], drainedValues[i]);
+            drainedUuids[i] = null;
+        }
+        return count;
+    }
+
+    private static Entry find(Entry[] table, long high, long low) {
+        if (table.length == 0) {
+            return null;
+        }
+        return table[index(table, high, low)];
+    }
+
+    private static int index(Entry[] table, long high, long low) {
+        long hash = (high ^ low) * 0x9E3779B97F4A7C15L;
+        int mask = table.length - 1;
+        int index = (int) (hash ^ hash >>> 32) & mask;
+        while (table[index] != null && (table[index].high != high || table[index].low != low)) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private static int getInt(byte[] data, int offset) {
+        return data[offset] & 0xFF | (data[offset + 1] & 0xFF) << 8 | (data[offset + 2] & 0xFF) << 16
+                | data[offset + 3] << 24;
+    }
+
+    private static short getShort(byte[] data, int offset) {
+        return (short) (data[offset] & 0xFF | data[offset + 1] << 8);
+    }
+}
@@ -238,11 +238,9 @@ public class LxWebSocket {
                     case EVENT_TABLE_OF_VALUE_STATES:
                         stopResponseTimeout();
                         while (length > 0) {
-                            Double value = ByteBuffer.wrap(data, offset + 16, 8).order(ByteOrder.LITTLE_ENDIAN)
-                                    .getDouble();
-                            thingHandler.updateStateValue(new LxUuid(data, offset), value);
-                            offset += 24;
-                            length -= 24;
+                            thingHandler.queueStateValue(data, offset);
+                            offset += LxValueStateQueue.ENTRY_SIZE;
+                            length -= LxValueStateQueue.ENTRY_SIZE;
                         }
                         break;
                     case EVENT_TABLE_OF_TEXT_STATES:
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.loxone.internal;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.binding.ThingHandlerCallback;
+import org.eclipse.smarthome.core.thing.binding.builder.ThingBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.loxone.internal.controls.LxControl;
+import org.openhab.binding.loxone.internal.types.LxConfig;
+import org.openhab.binding.loxone.internal.types.LxUuid;
+
+/**
+ * Test class for the value state updates of {@link LxServerHandler}, which are queued from the binary event tables
+ * and passed to the controls and their channels by the handler's scheduler.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class LxServerHandlerTest {
+    // the Info Only Analog control of the test configuration, its value state has the UUID of the control
+    private static final LxUuid CONTROL = new LxUuid("0fec5dc3-003e-8800-ffff403fb0c34b9e");
+    private static final LxUuid UNKNOWN = new LxUuid("4f2f6b5d-0349-83b1-ffff403fb0c34b9e");
+    private static final long UPDATE_TIMEOUT_MS = 5000;
+
+    private LxServerHandler handler;
+    private ThingHandlerCallback callback;
+    private ChannelUID channelId;
+
+    @Before
+    public void setup() {
+        Thing thing = ThingBuilder.create(LxBindingConstants.THING_TYPE_MINISERVER, "test").build();
+        handler = new LxServerHandler(thing, mock(LxDynamicStateDescriptionProvider.class));
+        callback = mock(ThingHandlerCallback.class);
+        handler.setCallback(callback);
+
+        InputStream stream = LxServerHandlerTest.class.getResourceAsStream("controls/LoxAPP3.json");
+        assertNotNull(stream);
+        String msg = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8)).lines()
+                .collect(Collectors.joining(System.lineSeparator()));
+        LxConfig config = handler.getGson().fromJson(msg, LxConfig.class);
+        config.finalize(handler);
+        handler.setMiniserverConfig(config);
+
+        LxControl control = config.controls.get(CONTROL);
+        assertNotNull(control);
+        channelId = control.getChannels().get(0).getUID();
+    }
+
+    @Test
+    public void testQueuedValueIsPassedToChannel() {
+        handler.queueStateValue(entry(CONTROL, 12.5), 0);
+
+        verify(callback, timeout(UPDATE_TIMEOUT_MS)).stateUpdated(channelId, new DecimalType(12.5));
+    }
+
+    @Test
+    public void testOnlyLatestQueuedValueIsPassedToChannel() {
+        byte[] data = table(entry(CONTROL, 1.0), entry(UNKNOWN, 2.0), entry(CONTROL, 3.0));
+        for (int offset = 0; offset < data.length; offset += LxValueStateQueue.ENTRY_SIZE) {
+            handler.queueStateValue(data, offset);
+        }
+
+        verify(callback, timeout(UPDATE_TIMEOUT_MS)).stateUpdated(channelId, new DecimalType(3.0));
+        verify(callback, never()).stateUpdated(channelId, new DecimalType(1.0));
+
+        // updates queued after the drain are passed with the next drain
+        handler.queueStateValue(entry(CONTROL, 4.0), 0);
+        verify(callback, timeout(UPDATE_TIMEOUT_MS)).stateUpdated(channelId, new DecimalType(4.0));
+    }
+
+    @Test
+    public void testQueuedValueOfRemovedControlIsDiscarded() throws InterruptedException {
+        handler.queueStateValue(entry(CONTROL, 5.0), 0);
+        handler.clearConfiguration();
+
+        Thread.sleep(500);
+        verify(callback, never()).stateUpdated(channelId, new DecimalType(5.0));
+    }
+
+    private byte[] table(byte[]... entries) {
+        ByteBuffer buffer = ByteBuffer.allocate(entries.length * LxValueStateQueue.ENTRY_SIZE);
+        for (byte[] entry : entries) {
+            buffer.put(entry);
+        }
+        return buffer.array();
+    }
+
+    private byte[] entry(LxUuid uuid, double value) {
+        String id = uuid.toString();
+        ByteBuffer buffer = ByteBuffer.allocate(LxValueStateQueue.ENTRY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt((int) Long.parseLong(id.substring(0, 8), 16));
+        buffer.putShort((short) Integer.parseInt(id.substring(9, 13), 16));
+        buffer.putShort((short) Integer.parseInt(id.substring(14, 18), 16));
+        for (int i = 19; i < 35; i += 2) {
+            buffer.put((byte) Integer.parseInt(id.substring(i, i + 2), 16));
+        }
+        buffer.putDouble(value);
+        return buffer.array();
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.loxone.internal;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.loxone.internal.types.LxUuid;
+
+/**
+ * Test class for {@link LxValueStateQueue}
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class LxValueStateQueueTest {
+    private static final LxUuid STATE1 = new LxUuid("0b734138-038c-0386-ffff403fb0c34b9e");
+    private static final LxUuid STATE2 = new LxUuid("0fe665f4-0161-4773-ffff403fb0c34b9e");
+    private static final LxUuid STATE3 = new LxUuid("106bed36-016d-6dd8-ffffffe6109fb656");
+    private static final LxUuid UNKNOWN = new LxUuid("4f2f6b5d-0349-83b1-ffff403fb0c34b9e");
+
+    private LxValueStateQueue queue;
+    private Map<LxUuid, Double> updates;
+
+    @Before
+    public void setup() {
+        queue = new LxValueStateQueue();
+        queue.setStates(Arrays.asList(STATE1, STATE2, STATE3,
+                new LxUuid("0b734138-038c-0386-ffff403fb0c34b9e/subcontrol")));
+        updates = new LinkedHashMap<>();
+    }
+
+    @Test
+    public void testEntryUuidMatchesBinaryUuid() {
+        byte[] data = entry(STATE3, 1.0);
+        assertEquals(STATE3, new LxUuid(data, 0));
+        assertTrue(queue.offer(data, 0));
+        assertEquals(1, drain());
+        assertEquals(Collections.singletonMap(STATE3, 1.0), updates);
+    }
+
+    @Test
+    public void testUpdatesAreCoalesced() {
+        byte[] data = table(entry(STATE1, 1.0), entry(STATE2, 2.0), entry(STATE1, 3.0), entry(UNKNOWN, 4.0),
+                entry(STATE2, -5.5));
+        boolean[] scheduled = new boolean[5];
+        for (int i = 0; i < 5; i++) {
+            scheduled[i] = queue.offer(data, i * LxValueStateQueue.ENTRY_SIZE);
+        }
+
+        assertTrue(Arrays.equals(new boolean[] { true, false, false, false, false }, scheduled));
+        assertEquals(2, drain());
+        assertEquals(Arrays.asList(STATE1, STATE2), Arrays.asList(updates.keySet().toArray()));
+        assertEquals(3.0, updates.get(STATE1), 0.0);
+        assertEquals(-5.5, updates.get(STATE2), 0.0);
+
+        // the queue is empty after draining and the next update has to be scheduled again
+        assertEquals(0, drain());
+        assertTrue(queue.offer(entry(STATE2, 6.0), 0));
+    }
+
+    @Test
+    public void testQueuedUpdatesOfRemovedStatesAreDiscarded() {
+        queue.offer(entry(STATE1, 1.0), 0);
+        queue.offer(entry(STATE2, 2.0), 0);
+
+        queue.setStates(Arrays.asList(STATE2, STATE3));
+
+        assertFalse(queue.offer(entry(STATE1, 3.0), 0));
+        assertFalse(queue.offer(entry(STATE3, 4.0), 0));
+        assertEquals(2, drain());
+        assertEquals(Arrays.asList(STATE2, STATE3), Arrays.asList(updates.keySet().toArray()));
+
+        queue.setStates(Collections.emptyList());
+        assertFalse(queue.offer(entry(STATE2, 5.0), 0));
+        assertEquals(0, drain());
+    }
+
+    private int drain() {
+        updates.clear();
+        return queue.drain((uuid, value) -> updates.put(uuid, value));
+    }
+
+    private byte[] table(byte[]... entries) {
+        ByteBuffer buffer = ByteBuffer.allocate(entries.length * LxValueStateQueue.ENTRY_SIZE);
+        for (byte[] entry : entries) {
+            buffer.put(entry);
+        }
+        return buffer.array();
+    }
+
+    private byte[] entry(LxUuid uuid, double value) {
+        String id = uuid.toString();
+        ByteBuffer buffer = ByteBuffer.allocate(LxValueStateQueue.ENTRY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt((int) Long.parseLong(id.substring(0, 8), 16));
+        buffer.putShort((short) Integer.parseInt(id.substring(9, 13), 16));
+        buffer.putShort((short) Integer.parseInt(id.substring(14, 18), 16));
+        for (int i = 19; i < 35; i += 2) {
+            buffer.put((byte) Integer.parseInt(id.substring(i, i + 2), 16));
+        }
+        buffer.putDouble(value);
+        return buffer.array();
+    }
+}
@@ -31,6 +31,7 @@ public class RFXComStreamReader extends Thread {
     private final Logger logger = LoggerFactory.getLogger(RFXComStreamReader.class);
     private static final int MAX_READ_TIMEOUTS = 4;
     private static final int MAX_RFXCOM_MESSAGE_LEN = 256;
+    private static final int READ_BUFFER_LEN = 4 * MAX_RFXCOM_MESSAGE_LEN;
 
     private RFXComBaseConnector connector;
 
@@ -50,7 +51,9 @@ public class RFXComStreamReader extends Thread {
     @Override
     public void run() {
         logger.debug("Data listener started");
-        byte[] buf = new byte[MAX_RFXCOM_MESSAGE_LEN];
+        byte[] buf = new byte[READ_BUFFER_LEN];
+        int bufferEnd = 0;
+        int readTimeoutCount = 0;
 
         // The stream has (or SHOULD have) a read timeout set. Taking a
         // read timeout (read returns 0) between packets gives us a chance
@@ -59,14 +62,14 @@ public class RFXComStreamReader extends Thread {
         // meaning the RFXCOM has become missing presumed dead.
         try {
             while (!Thread.interrupted()) {
-                // First byte tells us how long the packet is
-                int bytesRead = connector.read(buf, 0, 1);
-                int packetLength = buf[0];
-
-                if (bytesRead > 0 && packetLength > 0) {
-                    logger.trace("Message length is {} bytes", packetLength);
-                    processMessage(buf, packetLength);
-                    connector.sendMsgToListeners(Arrays.copyOfRange(buf, 0, packetLength + 1));
+                // Read whatever is available, this may be any part of one or more packets
+                int bytesRead = connector.read(buf, bufferEnd, buf.length - bufferEnd);
+                if (bytesRead > 0) {
+                    logger.trace("Received {} bytes", bytesRead);
+                    bufferEnd = processMessages(buf, bufferEnd + bytesRead);
+                    readTimeoutCount = 0;
+                } else if (bufferEnd > 0 && ++readTimeoutCount == MAX_READ_TIMEOUTS) {
+                    throw new RFXComTimeoutException("Timeout during packet read");
                 }
             }
         } catch (IOException | RFXComTimeoutException e) {
@@ -77,21 +80,35 @@ public class RFXComStreamReader extends Thread {
         logger.debug("Data listener stopped");
     }
 
-    private void processMessage(byte[] buf, int packetLength) throws IOException, RFXComTimeoutException {
-        // Now read the rest of the packet
-        int bufferIndex = 1;
-        int readTimeoutCount = 1;
-        while (bufferIndex <= packetLength) {
-            int bytesRemaining = packetLength - bufferIndex + 1;
-            logger.trace("Waiting remaining {} bytes from the message", bytesRemaining);
-            int bytesRead = connector.read(buf, bufferIndex, bytesRemaining);
-            if (bytesRead > 0) {
-                logger.trace("Received {} bytes from the message", bytesRead);
-                bufferIndex += bytesRead;
-                readTimeoutCount = 1;
-            } else if (readTimeoutCount++ == MAX_READ_TIMEOUTS) {
-                throw new RFXComTimeoutException("Timeout during packet read");
+    /**
+     * Passes all complete packets in the buffer to the listeners and moves the remaining part of an incomplete packet
+     * to the start of the buffer.
+     *
+     * @param buf buffer holding the received bytes
+     * @param bufferEnd number of bytes in the buffer
+     * @return number of bytes of the incomplete packet left in the buffer
+     */
+    int processMessages(byte[] buf, int bufferEnd) {
+        int packetStart = 0;
+        while (packetStart < bufferEnd) {
+            // First byte tells us how long the packet is
+            int packetLength = buf[packetStart];
+            if (packetLength <= 0) {
+                packetStart++;
+            } else if (bufferEnd - packetStart > packetLength) {
+                logger.trace("Message length is {} bytes", packetLength);
+                connector.sendMsgToListeners(Arrays.copyOfRange(buf, packetStart, packetStart + packetLength + 1));
+                packetStart += packetLength + 1;
+            } else {
+                logger.trace("Waiting remaining {} bytes from the message", packetLength + 1 - bufferEnd + packetStart);
+                break;
             }
         }
+
+        int remaining = bufferEnd - packetStart;
+        if (packetStart > 0 && remaining > 0) {
+            System.arraycopy(buf, packetStart, buf, 0, remaining);
+        }
+        return remaining;
     }
 }
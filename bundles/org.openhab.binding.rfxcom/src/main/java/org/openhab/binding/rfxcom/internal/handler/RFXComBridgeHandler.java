@@ -12,9 +12,17 @@
  */
 package org.openhab.binding.rfxcom.internal.handler;
 
+import static org.openhab.binding.rfxcom.internal.RFXComBindingConstants.PACKET_TYPE_THING_TYPE_UID_MAP;
+
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
@@ -26,6 +34,7 @@ import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
+import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.util.HexUtils;
@@ -40,6 +49,7 @@ import org.openhab.binding.rfxcom.internal.connector.RFXComTcpConnector;
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComException;
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComMessageNotImplementedException;
 import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage;
+import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage.PacketType;
 import org.openhab.binding.rfxcom.internal.messages.RFXComDeviceMessage;
 import org.openhab.binding.rfxcom.internal.messages.RFXComInterfaceControlMessage;
 import org.openhab.binding.rfxcom.internal.messages.RFXComInterfaceMessage;
@@ -59,13 +69,34 @@ import org.slf4j.LoggerFactory;
  * @author Pauli Anttila - Initial contribution
  */
 public class RFXComBridgeHandler extends BaseBridgeHandler {
+    /**
+     * Thing types of the device messages by their packet type byte, to check received packets without decoding them.
+     * Several thing types can share a packet type byte, like the fans.
+     */
+    private static final Map<Byte, Set<ThingTypeUID>> PACKET_THING_TYPES = new HashMap<>();
+
+    static {
+        for (Map.Entry<PacketType, ThingTypeUID> entry : PACKET_TYPE_THING_TYPE_UID_MAP.entrySet()) {
+            PACKET_THING_TYPES.computeIfAbsent(entry.getKey().toByte(), packetType -> new HashSet<>())
+                    .add(entry.getValue());
+        }
+    }
+
     private Logger logger = LoggerFactory.getLogger(RFXComBridgeHandler.class);
 
     private RFXComConnectorInterface connector = null;
-    private MessageListener eventListener = new MessageListener();
+    RFXComEventListener eventListener = new MessageListener();
 
+    /**
+     * Listeners receiving all device messages, like the discovery service.
+     */
     private List<DeviceMessageListener> deviceStatusListeners = new CopyOnWriteArrayList<>();
 
+    /**
+     * Listeners of a single device like the thing handlers, by thing type and device id.
+     */
+    private Map<ThingTypeUID, Map<String, List<DeviceMessageListener>>> thingListeners = new ConcurrentHashMap<>();
+
     private RFXComBridgeConfiguration configuration = null;
     private ScheduledFuture<?> connectorTask;
 
@@ -126,6 +157,7 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
         for (DeviceMessageListener deviceStatusListener : deviceStatusListeners) {
             unregisterDeviceStatusListener(deviceStatusListener);
         }
+        thingListeners.clear();
 
         if (connector != null) {
             connector.removeEventListener(eventListener);
@@ -232,6 +264,13 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
 
         @Override
         public void packetReceived(byte[] packet) {
+            if (!isDecodingRequired(packet)) {
+                if (logger.isTraceEnabled()) {
+                    logger.trace("Message without configured thing dropped, data: {}", HexUtils.bytesToHex(packet));
+                }
+                return;
+            }
+
             try {
                 RFXComMessage message = RFXComMessageFactory.createMessage(packet);
                 logger.debug("Message received: {}", message);
@@ -297,13 +336,18 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
 
                     transmitQueue.sendNext();
                 } else if (message instanceof RFXComDeviceMessage) {
+                    RFXComDeviceMessage deviceMessage = (RFXComDeviceMessage) message;
                     for (DeviceMessageListener deviceStatusListener : deviceStatusListeners) {
-                        try {
-                            deviceStatusListener.onDeviceMessageReceived(getThing().getUID(),
-                                    (RFXComDeviceMessage) message);
-                        } catch (Exception e) {
-                            // catch all exceptions give all handlers a fair chance of handling the messages
-                            logger.error("An exception occurred while calling the DeviceStatusListener", e);
+                        notifyDeviceStatusListener(deviceStatusListener, deviceMessage);
+                    }
+
+                    Map<String, List<DeviceMessageListener>> listenersByDeviceId = thingListeners
+                            .get(PACKET_TYPE_THING_TYPE_UID_MAP.get(deviceMessage.getPacketType()));
+                    List<DeviceMessageListener> listeners = listenersByDeviceId == null ? null
+                            : listenersByDeviceId.get(deviceMessage.getDeviceId());
+                    if (listeners != null) {
+                        for (DeviceMessageListener deviceStatusListener : listeners) {
+                            notifyDeviceStatusListener(deviceStatusListener, deviceMessage);
                         }
                     }
                 } else {
@@ -319,6 +363,36 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
             }
         }
 
+        /**
+         * Checks by the packet type whether the packet has to be decoded. Device messages of thing types without any
+         * configured thing are only decoded when they may be discovered.
+         */
+        private boolean isDecodingRequired(byte[] packet) {
+            if (configuration == null || !configuration.disableDiscovery) {
+                return true;
+            }
+            Set<ThingTypeUID> thingTypeUIDs = PACKET_THING_TYPES.get(packet[1]);
+            if (thingTypeUIDs == null) {
+                return true;
+            }
+            for (ThingTypeUID thingTypeUID : thingTypeUIDs) {
+                if (thingListeners.containsKey(thingTypeUID)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void notifyDeviceStatusListener(DeviceMessageListener deviceStatusListener,
+                RFXComDeviceMessage message) {
+            try {
+                deviceStatusListener.onDeviceMessageReceived(getThing().getUID(), message);
+            } catch (Exception e) {
+                // catch all exceptions give all handlers a fair chance of handling the messages
+                logger.error("An exception occurred while calling the DeviceStatusListener", e);
+            }
+        }
+
         @Override
         public void errorOccurred(String error) {
             logger.error("Error occurred: {}", error);
@@ -333,11 +407,49 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
         return !deviceStatusListeners.contains(deviceStatusListener) && deviceStatusListeners.add(deviceStatusListener);
     }
 
-    public boolean unregisterDeviceStatusListener(DeviceMessageListener deviceStatusListener) {
+    /**
+     * Registers a listener for the messages of a single device, replacing a former registration of the listener.
+     *
+     * @param thingTypeUID the thing type of the device
+     * @param deviceId the id of the device as configured for the thing
+     * @param deviceStatusListener the listener to register
+     */
+    public synchronized void registerDeviceStatusListener(ThingTypeUID thingTypeUID, String deviceId,
+            DeviceMessageListener deviceStatusListener) {
         if (deviceStatusListener == null) {
             throw new IllegalArgumentException("It's not allowed to pass a null deviceStatusListener.");
         }
-        return deviceStatusListeners.remove(deviceStatusListener);
+        removeThingListener(deviceStatusListener);
+        thingListeners.computeIfAbsent(thingTypeUID, uid -> new ConcurrentHashMap<>())
+                .computeIfAbsent(deviceId, id -> new CopyOnWriteArrayList<>()).add(deviceStatusListener);
+    }
+
+    public synchronized boolean unregisterDeviceStatusListener(DeviceMessageListener deviceStatusListener) {
+        if (deviceStatusListener == null) {
+            throw new IllegalArgumentException("It's not allowed to pass a null deviceStatusListener.");
+        }
+        boolean removed = removeThingListener(deviceStatusListener);
+        return deviceStatusListeners.remove(deviceStatusListener) || removed;
+    }
+
+    private boolean removeThingListener(DeviceMessageListener deviceStatusListener) {
+        boolean removed = false;
+        Iterator<Map<String, List<DeviceMessageListener>>> thingTypeIterator = thingListeners.values().iterator();
+        while (thingTypeIterator.hasNext()) {
+            Map<String, List<DeviceMessageListener>> listenersByDeviceId = thingTypeIterator.next();
+            Iterator<List<DeviceMessageListener>> deviceIterator = listenersByDeviceId.values().iterator();
+            while (deviceIterator.hasNext()) {
+                List<DeviceMessageListener> listeners = deviceIterator.next();
+                removed |= listeners.remove(deviceStatusListener);
+                if (listeners.isEmpty()) {
+                    deviceIterator.remove();
+                }
+            }
+            if (listenersByDeviceId.isEmpty()) {
+                thingTypeIterator.remove();
+            }
+        }
+        return removed;
     }
 
     public RFXComBridgeConfiguration getConfiguration() {
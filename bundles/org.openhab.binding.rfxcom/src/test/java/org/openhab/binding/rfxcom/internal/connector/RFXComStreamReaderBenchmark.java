@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.rfxcom.internal.connector;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.openhab.binding.rfxcom.internal.exceptions.RFXComException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the time the {@link RFXComStreamReader} needs to split and decode a large number of captured packets.
+ * The class name does not match the test includes of the build, so it only runs on request:
+ * <code>mvn test -Dtest=RFXComStreamReaderBenchmark</code>.
+ *
+ * @author agent - Initial contribution
+ */
+public class RFXComStreamReaderBenchmark {
+    private static final int WARMUP_REPLAY_COUNT = 2000;
+    private static final int REPLAY_COUNT = 20000;
+
+    private final Logger logger = LoggerFactory.getLogger(RFXComStreamReaderBenchmark.class);
+
+    @Test
+    public void replayCapturedPackets() throws RFXComException {
+        new RFXComStreamReaderTest().replayCapturedPackets(WARMUP_REPLAY_COUNT);
+
+        long start = System.nanoTime();
+        int decodedPackets = new RFXComStreamReaderTest().replayCapturedPackets(REPLAY_COUNT);
+        long duration = System.nanoTime() - start;
+
+        logger.info("Split and decoded {} packets in {} ms", decodedPackets, TimeUnit.NANOSECONDS.toMillis(duration));
+    }
+}
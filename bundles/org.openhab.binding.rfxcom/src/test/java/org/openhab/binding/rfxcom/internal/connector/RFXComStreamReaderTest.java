@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.rfxcom.internal.connector;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.util.HexUtils;
+import org.junit.Test;
+import org.openhab.binding.rfxcom.internal.config.RFXComBridgeConfiguration;
+import org.openhab.binding.rfxcom.internal.exceptions.RFXComException;
+import org.openhab.binding.rfxcom.internal.messages.RFXComDeviceMessage;
+import org.openhab.binding.rfxcom.internal.messages.RFXComMessageFactory;
+
+/**
+ * Test for the {@link RFXComStreamReader}, replaying captured packets in chunks of random size.
+ *
+ * @author agent - Initial contribution
+ */
+public class RFXComStreamReaderTest {
+    private static final List<String> CAPTURED_PACKETS = Arrays.asList("0710010047010070", "0B11000600109B520B000080",
+            "091300E1D8AD59018F70", "08200A0E8000200650", "08500110000180BC69", "0A520211700200A72D0089",
+            "0B550217B6000000004D3C69", "105601122F000087000000140000000079", "0770000008080270");
+
+    // every packet is split at different positions in each replay
+    private static final int REPLAY_COUNT = 100;
+
+    private final List<byte[]> receivedPackets = new CopyOnWriteArrayList<>();
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void testPacketsSplitOverChunks() throws InterruptedException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (String packet : CAPTURED_PACKETS) {
+            // packets with a length of zero are skipped
+            stream.write(0);
+            byte[] data = HexUtils.hexToBytes(packet);
+            stream.write(data, 0, data.length);
+        }
+
+        ChunkConnector connector = new ChunkConnector(split(stream.toByteArray(), new Random(1)));
+        RFXComStreamReader reader = new RFXComStreamReader(connector);
+        reader.start();
+        try {
+            assertTrue(connector.allChunksRead.await(5, TimeUnit.SECONDS));
+        } finally {
+            reader.interrupt();
+            reader.join(5000);
+        }
+
+        assertEquals(CAPTURED_PACKETS.size(), receivedPackets.size());
+        for (int i = 0; i < CAPTURED_PACKETS.size(); i++) {
+            assertEquals(CAPTURED_PACKETS.get(i), HexUtils.bytesToHex(receivedPackets.get(i)));
+        }
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void testTimeoutDuringPacket() throws InterruptedException {
+        List<byte[]> chunks = new ArrayList<>();
+        chunks.add(HexUtils.hexToBytes("07100100"));
+        ChunkConnector connector = new ChunkConnector(chunks);
+        RFXComStreamReader reader = new RFXComStreamReader(connector);
+        reader.start();
+        reader.join(5000);
+
+        assertFalse(reader.isAlive());
+        assertTrue(receivedPackets.isEmpty());
+        assertEquals(Arrays.asList("Timeout during packet read"), errors);
+    }
+
+    @Test
+    public void testReplayCapturedPackets() throws RFXComException {
+        assertEquals(REPLAY_COUNT * CAPTURED_PACKETS.size(), replayCapturedPackets(REPLAY_COUNT));
+    }
+
+    /**
+     * Passes the captured packets the given number of times in chunks of random size to the reader and decodes the
+     * received packets, as the bridge handler does. Also used by the {@link RFXComStreamReaderBenchmark}.
+     *
+     * @return the number of decoded device messages
+     */
+    int replayCapturedPackets(int replayCount) throws RFXComException {
+        ChunkConnector connector = new ChunkConnector(new ArrayList<>());
+        RFXComStreamReader reader = new RFXComStreamReader(connector);
+        byte[] buf = new byte[1024];
+        Random random = new Random(1);
+
+        int bufferEnd = 0;
+        int decodedPackets = 0;
+        for (int i = 0; i < replayCount; i++) {
+            for (String packet : CAPTURED_PACKETS) {
+                for (byte[] chunk : split(HexUtils.hexToBytes(packet), random)) {
+                    System.arraycopy(chunk, 0, buf, bufferEnd, chunk.length);
+                    bufferEnd = reader.processMessages(buf, bufferEnd + chunk.length);
+                }
+            }
+            assertEquals(CAPTURED_PACKETS.size(), receivedPackets.size());
+            for (byte[] packet : receivedPackets) {
+                if (RFXComMessageFactory.createMessage(packet) instanceof RFXComDeviceMessage) {
+                    decodedPackets++;
+                }
+            }
+            receivedPackets.clear();
+        }
+
+        assertEquals(0, bufferEnd);
+        assertTrue(errors.isEmpty());
+        return decodedPackets;
+    }
+
+    private List<byte[]> split(byte[] data, Random random) {
+        List<byte[]> chunks = new ArrayList<>();
+        int start = 0;
+        while (start < data.length) {
+            int end = Math.min(data.length, start + 1 + random.nextInt(12));
+            chunks.add(Arrays.copyOfRange(data, start, end));
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * Connector returning one chunk per read and timeouts afterwards.
+     */
+    private class ChunkConnector extends RFXComBaseConnector {
+        private final List<byte[]> chunks;
+        private final CountDownLatch allChunksRead = new CountDownLatch(1);
+        private int chunkIndex = 0;
+
+        ChunkConnector(List<byte[]> chunks) {
+            this.chunks = chunks;
+            addEventListener(new RFXComEventListener() {
+                @Override
+                public void packetReceived(byte[] data) {
+                    receivedPackets.add(data);
+                }
+
+                @Override
+                public void errorOccurred(String error) {
+                    errors.add(error);
+                }
+            });
+        }
+
+        @Override
+        int read(byte[] buffer, int offset, int length) {
+            if (chunkIndex == chunks.size()) {
+                allChunksRead.countDown();
+                return 0;
+            }
+            byte[] chunk = chunks.get(chunkIndex++);
+            assertTrue(chunk.length <= length);
+            System.arraycopy(chunk, 0, buffer, offset, chunk.length);
+            return chunk.length;
+        }
+
+        @Override
+        public void connect(RFXComBridgeConfiguration device) {
+        }
+
+        @Override
+        public void disconnect() {
+        }
+
+        @Override
+        public void sendMessage(byte[] data) {
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.rfxcom.internal.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.openhab.binding.rfxcom.internal.RFXComBindingConstants.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.thing.Bridge;
+import org.eclipse.smarthome.core.thing.ThingTypeUID;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.binding.ThingHandlerCallback;
+import org.eclipse.smarthome.core.thing.binding.builder.BridgeBuilder;
+import org.eclipse.smarthome.core.util.HexUtils;
+import org.eclipse.smarthome.io.transport.serial.SerialPortManager;
+import org.junit.After;
+import org.junit.Test;
+import org.openhab.binding.rfxcom.internal.DeviceMessageListener;
+import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage.PacketType;
+import org.openhab.binding.rfxcom.internal.messages.RFXComDeviceMessage;
+
+/**
+ * Tests the routing of the received device messages to the thing handlers by the {@link RFXComBridgeHandler}, and
+ * that packets of device types without a thing are dropped before they are decoded when discovery is disabled.
+ *
+ * @author agent - Initial contribution
+ */
+public class RFXComBridgeHandlerTest {
+
+    private static final String TEMPERATURE_1 = "08500110000180BC69";
+    private static final String HUMIDITY = "085101027700360189";
+    private static final String TEMPERATURE_1_MESSAGE = "TEMPERATURE/1";
+    private static final String HUMIDITY_MESSAGE = "HUMIDITY/30464";
+
+    // all fan messages share the packet type byte 0x17, their thing type depends on the sub type
+    private static final List<String> FAN_MESSAGES = Arrays.asList("0817060052D4000100", "0817050052D4000100",
+            "0817070052D4000100", "0817080052D4000100", "0817090052D4000100");
+    private static final List<PacketType> FAN_PACKET_TYPES = Arrays.asList(PacketType.FAN, PacketType.FAN_LUCCI_DC,
+            PacketType.FAN_FT1211R, PacketType.FAN_FALMEC, PacketType.FAN_LUCCI_DC_II);
+    private static final String FAN_DEVICE_ID = "5428224";
+
+    private RFXComBridgeHandler bridgeHandler;
+
+    // the packet types and device ids of the messages decoded by the bridge, received like by the discovery service
+    private final List<String> decodedMessages = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        if (bridgeHandler != null) {
+            bridgeHandler.dispose();
+        }
+    }
+
+    @Test
+    public void testMessagesAreRoutedByThingTypeAndDeviceId() {
+        createBridgeHandler(false);
+        List<String> temperature1 = registerThing(PacketType.TEMPERATURE, "1");
+        List<String> temperature2 = registerThing(PacketType.TEMPERATURE, "2");
+        List<String> humidity1 = registerThing(PacketType.HUMIDITY, "1");
+
+        receive(TEMPERATURE_1);
+
+        assertEquals(Collections.singletonList(TEMPERATURE_1_MESSAGE), temperature1);
+        assertEquals(Collections.emptyList(), temperature2);
+        assertEquals(Collections.emptyList(), humidity1);
+        assertEquals(Collections.singletonList(TEMPERATURE_1_MESSAGE), decodedMessages);
+    }
+
+    @Test
+    public void testMessagesWithoutThingAreDroppedWhenDiscoveryIsDisabled() {
+        createBridgeHandler(true);
+        List<String> temperature1 = registerThing(PacketType.TEMPERATURE, "1");
+
+        receive(HUMIDITY);
+        receive(TEMPERATURE_1);
+
+        assertEquals(Collections.singletonList(TEMPERATURE_1_MESSAGE), temperature1);
+        assertEquals(Collections.singletonList(TEMPERATURE_1_MESSAGE), decodedMessages);
+    }
+
+    @Test
+    public void testMessagesWithoutThingAreDecodedForDiscovery() {
+        createBridgeHandler(false);
+        registerThing(PacketType.TEMPERATURE, "1");
+
+        receive(HUMIDITY);
+
+        assertEquals(Collections.singletonList(HUMIDITY_MESSAGE), decodedMessages);
+    }
+
+    @Test
+    public void testFanMessagesOfEveryFanThingTypeAreDecoded() {
+        for (int i = 0; i < FAN_PACKET_TYPES.size(); i++) {
+            createBridgeHandler(true);
+            decodedMessages.clear();
+            List<String> fan = registerThing(FAN_PACKET_TYPES.get(i), FAN_DEVICE_ID);
+
+            FAN_MESSAGES.forEach(this::receive);
+
+            // the packet type byte does not tell the fan types apart, so all fan messages are decoded
+            assertEquals(FAN_PACKET_TYPES.get(i).name(), FAN_MESSAGES.size(), decodedMessages.size());
+            assertEquals(FAN_PACKET_TYPES.get(i).name(),
+                    Collections.singletonList(FAN_PACKET_TYPES.get(i).name() + "/" + FAN_DEVICE_ID), fan);
+
+            bridgeHandler.dispose();
+        }
+        bridgeHandler = null;
+    }
+
+    private void createBridgeHandler(boolean disableDiscovery) {
+        Configuration configuration = new Configuration();
+        configuration.put("disableDiscovery", disableDiscovery);
+        Bridge bridge = BridgeBuilder.create(BRIDGE_RFXTRX443, new ThingUID(BRIDGE_RFXTRX443, "bridge"))
+                .withConfiguration(configuration).build();
+        bridgeHandler = new RFXComBridgeHandler(bridge, mock(SerialPortManager.class));
+        bridgeHandler.setCallback(mock(ThingHandlerCallback.class));
+        // no connection is configured, so the bridge does not connect
+        bridgeHandler.initialize();
+
+        bridgeHandler.registerDeviceStatusListener((bridgeUID, message) -> decodedMessages.add(describe(message)));
+    }
+
+    /**
+     * Registers a thing handler and returns the messages it receives.
+     */
+    private List<String> registerThing(PacketType packetType, String deviceId) {
+        ThingTypeUID thingTypeUID = PACKET_TYPE_THING_TYPE_UID_MAP.get(packetType);
+        List<String> messages = new ArrayList<>();
+        DeviceMessageListener listener = (bridgeUID, message) -> messages.add(describe(message));
+        bridgeHandler.registerDeviceStatusListener(thingTypeUID, deviceId, listener);
+        return messages;
+    }
+
+    private static String describe(RFXComDeviceMessage<?> message) {
+        return message.getPacketType().name() + "/" + message.getDeviceId();
+    }
+
+    private void receive(String message) {
+        bridgeHandler.eventListener.packetReceived(HexUtils.hexToBytes(message));
+    }
+}
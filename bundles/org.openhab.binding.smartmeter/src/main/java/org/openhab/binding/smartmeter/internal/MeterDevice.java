@@ -15,7 +15,7 @@ package org.openhab.binding.smartmeter.internal;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -35,6 +35,7 @@ import org.openhab.binding.smartmeter.internal.helper.ProtocolMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.reactivex.BackpressureOverflowStrategy;
 import io.reactivex.Flowable;
 import io.reactivex.disposables.Disposable;
 import io.reactivex.plugins.RxJavaPlugins;
@@ -62,6 +63,15 @@ public abstract class MeterDevice<T> {
      * Map of all values captured from the device during the read request.
      */
     private Map<String, MeterValue<?>> valueCache;
+    /**
+     * Map of the values of the previous read request. Only values which differ from these are notified, unless a
+     * listener asks for unchanged values as well.
+     */
+    private Map<String, MeterValue<?>> previousValueCache;
+    /**
+     * Set after a reading error, so that all values of the next read request are notified again.
+     */
+    private volatile boolean notifyAllValues;
     private byte @Nullable [] initMessage;
     /**
      * The id of the SML device from openHAB configuration.
@@ -77,7 +87,8 @@ public abstract class MeterDevice<T> {
             byte @Nullable [] initMessage, int baudrate, int baudrateChangeDelay, ProtocolMode protocolMode) {
         super();
         this.deviceId = deviceId;
-        this.valueCache = new HashMap<String, MeterValue<?>>();
+        this.valueCache = new LinkedHashMap<String, MeterValue<?>>();
+        this.previousValueCache = new LinkedHashMap<String, MeterValue<?>>();
         this.valueChangeListeners = new CopyOnWriteArrayList<>();
         this.printMeterInfo = true;
         this.connector = createConnector(serialPortManagerSupplier, serialPort, baudrate, baudrateChangeDelay,
@@ -157,6 +168,10 @@ public abstract class MeterDevice<T> {
      * by {@code period} seconds.
      * If its still failing, the connection will be closed and opened again.
      *
+     * Values are processed on the {@code executorService}. If the processing of a read out is not finished when the
+     * next one is read, the newest read out replaces the one waiting for processing, so that the device is always read
+     * at its own pace and no outdated values pile up.
+     *
      * @return The {@link Disposable} which needs to be disposed whenever not used anymore.
      *
      */
@@ -174,20 +189,46 @@ public abstract class MeterDevice<T> {
                                 ex.getMessage(), RETRY_DELAY, getDeviceId(), ex);
                     }
                     connector.closeConnection();
+                    notifyAllValues = true;
                     notifyReadingError(ex);
                 }).doOnCancel(connector::closeConnection).doOnComplete(connector::closeConnection).share()
                 .retryWhen(
                         publisher -> publisher.delay(RETRY_DELAY, TimeUnit.SECONDS, Schedulers.from(executorService)))
-                .subscribeOn(Schedulers.from(executorService), true).subscribe((value) -> {
-                    Map<String, MeterValue<?>> obisCodes = new HashMap<>(valueCache);
-                    clearValueCache();
-                    populateValueCache(value);
-                    printInfo();
-                    Collection<String> newObisCodes = getObisCodes();
-                    // notify every removed obis code.
-                    obisCodes.values().stream().filter((val) -> !newObisCodes.contains(val.getObisCode()))
-                            .forEach((val) -> notifyValuesRemoved(val));
-                });
+                .subscribeOn(Schedulers.from(executorService), true)
+                .onBackpressureBuffer(1, () -> logger.debug(
+                        "Processing of the values of {} falls behind the readings, skipping an outdated read out",
+                        getDeviceId()), BackpressureOverflowStrategy.DROP_OLDEST)
+                .observeOn(Schedulers.from(executorService), false, 1).subscribe(this::processReadOut);
+    }
+
+    /**
+     * Replaces the cached values with the values of a read out and notifies the listeners about changed and removed
+     * values. The listeners are notified after the whole read out is cached, so that they can access the other values
+     * of the same read out, e.g. for the negate bit.
+     *
+     * @param payload The read out.
+     */
+    void processReadOut(T payload) {
+        // reuse the maps instead of copying the cache for every read out
+        Map<String, MeterValue<?>> previousValues = valueCache;
+        valueCache = previousValueCache;
+        previousValueCache = previousValues;
+        clearValueCache();
+        if (notifyAllValues) {
+            notifyAllValues = false;
+            previousValues.clear();
+        }
+        populateValueCache(payload);
+        printInfo();
+        for (MeterValue<?> value : valueCache.values()) {
+            notifyValueChanged(value, !value.equals(previousValues.get(value.getObisCode())));
+        }
+        // notify every removed obis code.
+        for (MeterValue<?> previousValue : previousValues.values()) {
+            if (!valueCache.containsKey(previousValue.getObisCode())) {
+                notifyValuesRemoved(previousValue);
+            }
+        }
     }
 
     /**
@@ -208,20 +249,12 @@ public abstract class MeterDevice<T> {
     protected abstract <Q extends Quantity<Q>> void populateValueCache(T payload);
 
     /**
-     * Adds a {@link MeterValue} to the current cache.
+     * Adds a {@link MeterValue} to the current cache. The listeners are notified once the whole read out is cached.
      *
      * @param value The value to add.
      */
     protected <Q extends Quantity<Q>> void addObisCache(MeterValue<Q> value) {
-        logger.debug("Value changed: {}", value);
         this.valueCache.put(value.getObisCode(), value);
-        this.valueChangeListeners.forEach((listener) -> {
-            try {
-                listener.valueChanged(value);
-            } catch (Exception e) {
-                logger.error("Meter listener failed", e);
-            }
-        });
     }
 
     @Override
@@ -256,6 +289,28 @@ public abstract class MeterDevice<T> {
         this.valueChangeListeners.remove(valueChangeListener);
     }
 
+    /**
+     * Notifies the listeners about a value of the read out. Unchanged values are only notified to the listeners which
+     * ask for them.
+     *
+     * @param value The value to notify.
+     * @param changed Whether the value differs from the previous read out.
+     */
+    private <Q extends Quantity<Q>> void notifyValueChanged(MeterValue<Q> value, boolean changed) {
+        if (changed) {
+            logger.debug("Value changed: {}", value);
+        }
+        this.valueChangeListeners.forEach((listener) -> {
+            try {
+                if (changed || listener.isUnchangedValueRequired(value)) {
+                    listener.valueChanged(value);
+                }
+            } catch (Exception e) {
+                logger.error("Meter listener failed", e);
+            }
+        });
+    }
+
     private <Q extends Quantity<Q>> void notifyValuesRemoved(MeterValue<Q> value) {
         this.valueChangeListeners.forEach((listener) -> listener.valueRemoved(value));
     }
@@ -39,6 +39,17 @@ public interface MeterValueListener {
      */
     public <Q extends Quantity<Q>> void valueChanged(MeterValue<Q> value);
 
+    /**
+     * Gets whether the listener has to be notified about a value, although it did not change since the previous read
+     * out. This is the case if the listener derives a state from the value and from other values, e.g. a negate bit.
+     *
+     * @param value The unchanged value.
+     * @return whether {@link #valueChanged(MeterValue)} has to be called for the unchanged value.
+     */
+    public default <Q extends Quantity<Q>> boolean isUnchangedValueRequired(MeterValue<Q> value) {
+        return false;
+    }
+
     /**
      * Called whenever some value was removed from the meter device (not available anymore).
      *
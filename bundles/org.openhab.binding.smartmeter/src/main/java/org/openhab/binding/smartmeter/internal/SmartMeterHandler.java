@@ -159,8 +159,6 @@ public class SmartMeterHandler extends BaseThingHandler {
         valueChangeListener = new MeterValueListener() {
             @Override
             public <Q extends @NonNull Quantity<Q>> void valueChanged(MeterValue<Q> value) {
-                ThingBuilder thingBuilder = editThing();
-
                 String obis = value.getObisCode();
 
                 String obisChannelString = SmartMeterBindingConstants.getObisChannelId(obis);
@@ -193,6 +191,7 @@ public class SmartMeterHandler extends BaseThingHandler {
                         ChannelUID channelId = channel.getUID();
 
                         // add all valid channels to the thing builder
+                        ThingBuilder thingBuilder = editThing();
                         List<Channel> channels = new ArrayList<Channel>(getThing().getChannels());
                         if (channels.stream().filter((element) -> element.getUID().equals(channelId)).count() == 0) {
                             channels.add(channel);
@@ -212,6 +211,13 @@ public class SmartMeterHandler extends BaseThingHandler {
                 }
             }
 
+            @Override
+            public <Q extends @NonNull Quantity<Q>> boolean isUnchangedValueRequired(MeterValue<Q> value) {
+                // the negate bit may have changed in another value
+                Channel channel = thing.getChannel(SmartMeterBindingConstants.getObisChannelId(value.getObisCode()));
+                return channel != null && conformity.isNegationPossible(channel, value);
+            }
+
             private void addObisPropertyToChannel(String obis, Channel channel) {
                 String description = channel.getDescription();
                 String label = channel.getLabel();
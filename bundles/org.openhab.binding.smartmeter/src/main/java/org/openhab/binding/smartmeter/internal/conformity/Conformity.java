@@ -101,6 +101,11 @@ public enum Conformity {
                 return currentState;
             });
         }
+
+        @Override
+        public boolean isNegationPossible(Channel channel, MeterValue<?> value) {
+            return super.isNegationPossible(channel, value) || SmartHomeUnits.WATT.isCompatible(value.getUnit());
+        }
     };
 
     private final static Logger logger = LoggerFactory.getLogger(Conformity.class);
@@ -157,6 +162,20 @@ public enum Conformity {
         }
     }
 
+    /**
+     * Gets whether the state of the channel may be negated depending on other values of the device. The state of such
+     * a channel has to be updated even if its own value did not change.
+     *
+     * @param channel The {@link Channel} of the value.
+     * @param value The value of the channel.
+     * @return whether the state may be negated.
+     */
+    public boolean isNegationPossible(Channel channel, MeterValue<?> value) {
+        String negateProperty = (String) channel.getConfiguration()
+                .get(SmartMeterBindingConstants.CONFIGURATION_CHANNEL_NEGATE);
+        return negateProperty != null && !negateProperty.trim().isEmpty();
+    }
+
     /**
      * Applies any changes according to the conformity and returns the new value.
      *
@@ -12,9 +12,14 @@
  */
 package org.openhab.binding.smartmeter.internal.sml;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 
+import javax.measure.Quantity;
+import javax.measure.Unit;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.io.transport.serial.SerialPortManager;
@@ -22,6 +27,7 @@ import org.openhab.binding.smartmeter.connectors.IMeterReaderConnector;
 import org.openhab.binding.smartmeter.internal.MeterDevice;
 import org.openhab.binding.smartmeter.internal.MeterValue;
 import org.openhab.binding.smartmeter.internal.helper.ProtocolMode;
+import org.openmuc.jsml.EUnit;
 import org.openmuc.jsml.structures.ASNObject;
 import org.openmuc.jsml.structures.EMessageBody;
 import org.openmuc.jsml.structures.SmlFile;
@@ -44,6 +50,12 @@ public final class SmlMeterReader extends MeterDevice<SmlFile> {
 
     protected final Logger logger = LoggerFactory.getLogger(SmlMeterReader.class);
 
+    /**
+     * The decoded OBIS codes and units of the list entries by their packed OBIS bytes. Meters send the same list in
+     * every telegram, so each OBIS code and unit is only decoded once.
+     */
+    private final Map<Long, ObisIndexEntry> obisIndex = new HashMap<>();
+
     /**
      * Static factory method to create a SmlDevice object with a serial connector member.
      *
@@ -115,12 +127,13 @@ public final class SmlMeterReader extends MeterDevice<SmlFile> {
 
                 for (SmlListEntry entry : smlListEntries) {
                     SmlValueExtractor valueExtractor = new SmlValueExtractor(entry);
-                    String obis = valueExtractor.getObisCode();
+                    ObisIndexEntry indexEntry = getObisIndexEntry(entry);
+                    String obis = indexEntry.obis;
 
                     MeterValue<?> smlValue = getMeterValue(obis);
 
                     if (smlValue == null) {
-                        smlValue = valueExtractor.getSmlValue();
+                        smlValue = indexEntry.createValue(entry.getUnit().getVal(), valueExtractor.getValue());
                     }
 
                     SmlStatus status = entry.getStatus();
@@ -140,6 +153,17 @@ public final class SmlMeterReader extends MeterDevice<SmlFile> {
         }
     }
 
+    private ObisIndexEntry getObisIndexEntry(SmlListEntry entry) {
+        byte[] obisBytes = entry.getObjName().getValue();
+        long key = SmlValueExtractor.getObisKey(obisBytes);
+        ObisIndexEntry indexEntry = obisIndex.get(key);
+        if (indexEntry == null) {
+            indexEntry = new ObisIndexEntry(SmlValueExtractor.getObisAsString(obisBytes));
+            obisIndex.put(key, indexEntry);
+        }
+        return indexEntry;
+    }
+
     private @Nullable String readStatus(SmlStatus status, String obis) {
         ASNObject choice = status.getChoice();
         if (choice != null) {
@@ -159,4 +183,26 @@ public final class SmlMeterReader extends MeterDevice<SmlFile> {
     protected void printInfo() {
         super.printInfo();
     }
+
+    /**
+     * The decoded OBIS code of a list entry and its last unit.
+     */
+    private static class ObisIndexEntry {
+        private final String obis;
+        private int unitId = -1;
+        private @Nullable Unit<?> unit;
+
+        private ObisIndexEntry(String obis) {
+            this.obis = obis;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <Q extends Quantity<Q>> MeterValue<Q> createValue(int unitId, String value) {
+            if (this.unitId != unitId) {
+                this.unit = SmlUnitConversion.getUnit(EUnit.from(unitId));
+                this.unitId = unitId;
+            }
+            return new MeterValue<Q>(obis, value, (Unit<Q>) unit);
+        }
+    }
 }
@@ -116,13 +116,8 @@ public final class SmlValueExtractor {
         int scaler = 0;
 
         if (smlListEntry.getScaler().isSelected()) {
-            byte scalerByte = smlListEntry.getScaler().getVal();
-
-            scaler = Integer.parseInt(String.format("%02x", scalerByte), 16);
-
-            if (scaler > 127) {
-                scaler -= 256;
-            }
+            // the scaler is a signed byte
+            scaler = smlListEntry.getScaler().getVal();
         }
 
         return Math.pow(10, scaler);
@@ -143,7 +138,7 @@ public final class SmlValueExtractor {
      * @param byte to convert to Integer.
      */
     private static int byteToInt(byte b) {
-        return Integer.parseInt(String.format("%02x", b), 16);
+        return b & 0xFF;
     }
 
     /**
@@ -159,6 +154,19 @@ public final class SmlValueExtractor {
         return formattedObis;
     }
 
+    /**
+     * Packs the first six bytes of a hex encoded OBIS into a number, to look up an OBIS code without formatting it.
+     *
+     * @return the OBIS bytes as a number.
+     */
+    static long getObisKey(byte[] octetBytes) {
+        long key = octetBytes.length;
+        for (int i = 0; i < Math.min(6, octetBytes.length); i++) {
+            key = key << 8 | byteToInt(octetBytes[i]);
+        }
+        return key;
+    }
+
     public String getObisCode() {
         return getObisAsString(smlListEntry.getObjName().getValue());
     }
@@ -12,13 +12,19 @@
  */
 package org.openhab.binding.smartmeter;
 
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import javax.measure.Quantity;
@@ -64,6 +70,95 @@ public class TestMeterReading {
         }
     }
 
+    @Test
+    public void testUnchangedValuesAreNotifiedOnce() throws Exception {
+        final Duration period = Duration.ofMillis(100);
+        final int executionCount = 5;
+        MockMeterReaderConnector connector = getMockedConnector(false, () -> "333");
+        MeterDevice<Object> meter = getMeterDevice(connector);
+        MeterValueListener changeListener = Mockito.mock(MeterValueListener.class);
+        meter.addValueChangeListener(changeListener);
+        // notified about every read out after the change listener
+        CountDownLatch readOuts = new CountDownLatch(executionCount);
+        meter.addValueChangeListener(new MeterValueListener() {
+            @Override
+            public <Q extends @NonNull Quantity<Q>> boolean isUnchangedValueRequired(MeterValue<Q> value) {
+                return true;
+            }
+
+            @Override
+            public <Q extends @NonNull Quantity<Q>> void valueChanged(MeterValue<Q> value) {
+                readOuts.countDown();
+            }
+
+            @Override
+            public <Q extends @NonNull Quantity<Q>> void valueRemoved(MeterValue<Q> value) {
+            }
+
+            @Override
+            public void errorOccurred(Throwable e) {
+            }
+        });
+        Disposable disposable = meter.readValues(5000, Executors.newScheduledThreadPool(1), period);
+        try {
+            assertTrue(readOuts.await(10, TimeUnit.SECONDS));
+            verify(changeListener, never()).errorOccurred(any());
+            verify(changeListener, times(1)).valueChanged(any());
+        } finally {
+            disposable.dispose();
+        }
+    }
+
+    @Test
+    public void testSlowListenerDoesNotDelayReading() throws Exception {
+        final Duration period = Duration.ofMillis(100);
+        final int readCount = 10;
+        final AtomicInteger reads = new AtomicInteger();
+        CountDownLatch readsWhileBlocked = new CountDownLatch(readCount);
+        MockMeterReaderConnector connector = getMockedConnector(false, () -> {
+            readsWhileBlocked.countDown();
+            return reads.incrementAndGet();
+        });
+        MeterDevice<Object> meter = getMeterDevice(connector);
+        List<String> values = new CopyOnWriteArrayList<>();
+        CountDownLatch releaseListener = new CountDownLatch(1);
+        CountDownLatch secondValue = new CountDownLatch(1);
+        meter.addValueChangeListener(new MeterValueListener() {
+            @Override
+            public <Q extends @NonNull Quantity<Q>> void valueChanged(MeterValue<Q> value) {
+                values.add(value.getValue());
+                if (values.size() == 2) {
+                    secondValue.countDown();
+                }
+                try {
+                    releaseListener.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public <Q extends @NonNull Quantity<Q>> void valueRemoved(MeterValue<Q> value) {
+            }
+
+            @Override
+            public void errorOccurred(Throwable e) {
+            }
+        });
+        Disposable disposable = meter.readValues(5000, Executors.newScheduledThreadPool(2), period);
+        try {
+            // the meter is read on while the listener blocks the processing of the first read out
+            assertTrue(readsWhileBlocked.await(10, TimeUnit.SECONDS));
+            releaseListener.countDown();
+
+            // outdated read outs are skipped instead of being queued behind the slow listener
+            assertTrue(secondValue.await(10, TimeUnit.SECONDS));
+            assertTrue(values.toString(), Integer.parseInt(values.get(1)) >= readCount);
+        } finally {
+            disposable.dispose();
+        }
+    }
+
     @Test
     public void testRetryHandling() {
         final Duration period = Duration.ofSeconds(1);
@@ -148,7 +243,7 @@ public class TestMeterReading {
 
             @Override
             protected <Q extends @NonNull Quantity<Q>> void populateValueCache(Object smlFile) {
-                addObisCache(new MeterValue("123", "333", null));
+                addObisCache(new MeterValue("123", String.valueOf(smlFile), null));
             }
 
         };
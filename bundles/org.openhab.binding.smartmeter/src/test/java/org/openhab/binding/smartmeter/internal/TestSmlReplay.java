@@ -0,0 +1,355 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter.internal;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Power;
+
+import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.library.types.QuantityType;
+import org.eclipse.smarthome.core.library.unit.SmartHomeUnits;
+import org.eclipse.smarthome.core.thing.Channel;
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.binding.builder.ChannelBuilder;
+import org.eclipse.smarthome.core.thing.binding.builder.ThingBuilder;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.io.transport.serial.SerialPort;
+import org.eclipse.smarthome.io.transport.serial.SerialPortIdentifier;
+import org.eclipse.smarthome.io.transport.serial.SerialPortManager;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.smartmeter.SmartMeterBindingConstants;
+import org.openhab.binding.smartmeter.internal.conformity.Conformity;
+import org.openhab.binding.smartmeter.internal.sml.SmlFileDebugOutput;
+import org.openhab.binding.smartmeter.internal.sml.SmlMeterReader;
+import org.openmuc.jsml.structures.SmlFile;
+import org.openmuc.jsml.transport.Transport;
+
+import io.reactivex.disposables.Disposable;
+
+/**
+ * Replays a sequence of SML telegrams through the {@link SmlMeterReader} and checks that exactly the changed values
+ * are notified. The telegrams in {@code ehz.sml} are in the format of an EMH eHZ meter, one telegram per second with
+ * the OBIS codes 1.8.0 (with status word), 2.8.0 and 16.7.0. The replay passes them one by one through a mocked
+ * serial port to the reading pipeline of the meter device, which decodes them with the serial connector.
+ *
+ * @author agent - Initial contribution
+ */
+public class TestSmlReplay {
+
+    private static final String ENERGY_IMPORT = "1-0:1.8.0";
+    private static final String ENERGY_EXPORT = "1-0:2.8.0";
+    private static final String POWER = "1-0:16.7.0";
+
+    // the values of the telegrams in ehz.sml, the energies are in 0.1 Wh
+    private static final long[] ENERGY_IMPORT_VALUES = { 123456789, 123456789, 123456790, 123456790, 123456791,
+            123456791, 123456791, 123456791 };
+    private static final long[] ENERGY_IMPORT_STATUS = { 0x10182, 0x10182, 0x10182, 0x10182, 0x10182, 0x101A2,
+            0x101A2, 0x10182 };
+    private static final long[] ENERGY_EXPORT_VALUES = { 4567, 4567, 4567, 4567, 4567, 4567, 4568, 4568 };
+    private static final long[] POWER_VALUES = { 312, 312, 298, 298, 1045, 1045, 1045, 1045 };
+
+    // from the second replay on, the first telegram follows the last one
+    private static final int REPLAY_COUNT = 20;
+    private static final Duration READ_PERIOD = Duration.ofMillis(1);
+    private static final long READ_TIMEOUT_MS = 5000;
+
+    private final List<byte[]> telegrams = new ArrayList<>();
+    private final List<SmlFile> files = new ArrayList<>();
+    private final List<String> fileDumps = new ArrayList<>();
+    private final List<Map<String, String>> expectedValues = new ArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        byte[] data = readResource("ehz.sml");
+        try (ByteArrayInputStream bytes = new ByteArrayInputStream(data);
+                DataInputStream is = new DataInputStream(bytes)) {
+            Transport transport = new Transport();
+            while (is.available() > 0) {
+                int start = data.length - bytes.available();
+                SmlFile file = transport.getSMLFile(is);
+                files.add(file);
+                telegrams.add(Arrays.copyOfRange(data, start, data.length - bytes.available()));
+                StringBuilder dump = new StringBuilder();
+                SmlFileDebugOutput.printFile(file, line -> dump.append(line).append(System.lineSeparator()));
+                fileDumps.add(dump.toString());
+            }
+        }
+        assertEquals(POWER_VALUES.length, files.size());
+
+        for (int i = 0; i < files.size(); i++) {
+            Map<String, String> values = new HashMap<>();
+            values.put(ENERGY_IMPORT, describe(ENERGY_IMPORT_VALUES[i], -1, ENERGY_IMPORT_STATUS[i]));
+            values.put(ENERGY_EXPORT, describe(ENERGY_EXPORT_VALUES[i], -1, null));
+            values.put(POWER, describe(POWER_VALUES[i], 0, null));
+            expectedValues.add(values);
+        }
+    }
+
+    @Test
+    public void testReplayNotifiesChangedValuesOnly() throws Exception {
+        TelegramInputStream serialInput = new TelegramInputStream();
+        MeterDevice<SmlFile> reader = createReader(serialInput);
+        List<MeterValue<?>> notifiedValues = new CopyOnWriteArrayList<>();
+        // the meter device logs failures of its listeners, so they are collected instead
+        List<String> failures = new CopyOnWriteArrayList<>();
+        reader.addValueChangeListener(new MeterValueListener() {
+            @Override
+            public <Q extends Quantity<Q>> void valueChanged(MeterValue<Q> value) {
+                notifiedValues.add(value);
+            }
+
+            @Override
+            public <Q extends Quantity<Q>> void valueRemoved(MeterValue<Q> value) {
+                failures.add("Removed value " + value);
+            }
+
+            @Override
+            public void errorOccurred(Throwable e) {
+                failures.add("Reading failed: " + e);
+            }
+        });
+        // notified about every value of a read out after the listener above
+        Semaphore readOutValues = new Semaphore(0);
+        reader.addValueChangeListener(new MeterValueListener() {
+            @Override
+            public <Q extends Quantity<Q>> boolean isUnchangedValueRequired(MeterValue<Q> value) {
+                return true;
+            }
+
+            @Override
+            public <Q extends Quantity<Q>> void valueChanged(MeterValue<Q> value) {
+                readOutValues.release();
+            }
+
+            @Override
+            public <Q extends Quantity<Q>> void valueRemoved(MeterValue<Q> value) {
+            }
+
+            @Override
+            public void errorOccurred(Throwable e) {
+            }
+        });
+
+        ScheduledExecutorService executor = Executors.newScheduledThreadPool(3);
+        Disposable disposable = reader.readValues(READ_TIMEOUT_MS, executor, READ_PERIOD);
+        try {
+            Map<String, String> lastValues = Collections.emptyMap();
+            for (int i = 0; i < REPLAY_COUNT * files.size(); i++) {
+                int fileIndex = i % files.size();
+                Map<String, String> values = expectedValues.get(fileIndex);
+                notifiedValues.clear();
+
+                // the next telegram is only sent once the previous one has been processed, so none is skipped
+                serialInput.send(telegrams.get(fileIndex));
+                assertTrue("Read out of telegram " + fileIndex + " " + failures,
+                        readOutValues.tryAcquire(values.size(), READ_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+
+                Map<String, String> previousValues = lastValues;
+                Map<String, String> changedValues = new HashMap<>(values);
+                changedValues.entrySet().removeIf(entry -> entry.getValue().equals(previousValues.get(entry.getKey())));
+                Map<String, String> actualValues = new HashMap<>();
+                notifiedValues.forEach(value -> actualValues.put(value.getObisCode(), describe(value)));
+                assertEquals("Notifications of replay " + i + " of telegram " + fileIndex + System.lineSeparator()
+                        + fileDumps.get(fileIndex), changedValues, actualValues);
+                lastValues = values;
+            }
+            assertEquals(Collections.emptyList(), failures);
+            for (Map.Entry<String, String> entry : lastValues.entrySet()) {
+                assertEquals(entry.getValue(), describe(reader.getMeterValue(entry.getKey())));
+            }
+        } finally {
+            disposable.dispose();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testNegateBitIsAppliedToUnchangedValue() {
+        MeterDevice<SmlFile> reader = createReader();
+        ThingUID thingUID = new ThingUID(SmartMeterBindingConstants.THING_TYPE_SMLREADER, "ehz");
+        Channel statusChannel = createChannel(thingUID, ENERGY_IMPORT, null);
+        Channel powerChannel = createChannel(thingUID, POWER, "1-0_1-8-0:5:1:status");
+        Thing thing = ThingBuilder.create(SmartMeterBindingConstants.THING_TYPE_SMLREADER, thingUID)
+                .withChannels(statusChannel, powerChannel).build();
+
+        List<State> powerStates = new ArrayList<>();
+        reader.addValueChangeListener(new ReplayListener() {
+            @Override
+            public <Q extends Quantity<Q>> boolean isUnchangedValueRequired(MeterValue<Q> value) {
+                return POWER.equals(value.getObisCode()) && Conformity.NONE.isNegationPossible(powerChannel, value);
+            }
+
+            @Override
+            public <Q extends Quantity<Q>> void valueChanged(MeterValue<Q> value) {
+                if (POWER.equals(value.getObisCode())) {
+                    QuantityType<Power> state = new QuantityType<>(Double.parseDouble(value.getValue()),
+                            SmartHomeUnits.WATT);
+                    powerStates.add(Conformity.NONE.apply(powerChannel, state, thing, reader));
+                }
+            }
+        });
+
+        for (SmlFile file : files) {
+            reader.processReadOut(file);
+        }
+
+        // the power does not change with the telegrams 6 and 8, but the negate bit in the status of 1.8.0 does
+        assertEquals(Arrays.asList(power(312), power(312), power(298), power(298), power(1045), power(-1045),
+                power(-1045), power(1045)), powerStates);
+    }
+
+    private MeterDevice<SmlFile> createReader() {
+        return SmlMeterReader.createInstance(() -> mock(SerialPortManager.class), "id", "port", null, 9600, 0);
+    }
+
+    private MeterDevice<SmlFile> createReader(InputStream serialInput) throws Exception {
+        SerialPort serialPort = mock(SerialPort.class);
+        when(serialPort.getInputStream()).thenReturn(serialInput);
+        when(serialPort.getOutputStream()).thenReturn(new ByteArrayOutputStream());
+        SerialPortIdentifier identifier = mock(SerialPortIdentifier.class);
+        when(identifier.open(anyString(), anyInt())).thenReturn(serialPort);
+        SerialPortManager serialPortManager = mock(SerialPortManager.class);
+        when(serialPortManager.getIdentifier("port")).thenReturn(identifier);
+        return SmlMeterReader.createInstance(() -> serialPortManager, "id", "port", null, 9600, 0);
+    }
+
+    private Channel createChannel(ThingUID thingUID, String obis, String negateProperty) {
+        Configuration configuration = new Configuration();
+        if (negateProperty != null) {
+            configuration.put(SmartMeterBindingConstants.CONFIGURATION_CHANNEL_NEGATE, negateProperty);
+        }
+        return ChannelBuilder
+                .create(new ChannelUID(thingUID, SmartMeterBindingConstants.getObisChannelId(obis)), "Number")
+                .withConfiguration(configuration)
+                .withProperties(Collections.singletonMap(SmartMeterBindingConstants.CHANNEL_PROPERTY_OBIS, obis))
+                .build();
+    }
+
+    private QuantityType<Power> power(double value) {
+        return new QuantityType<>(value, SmartHomeUnits.WATT);
+    }
+
+    private String describe(MeterValue<?> value) {
+        return value.getValue() + "/" + value.getStatus();
+    }
+
+    private String describe(long value, int scaler, Long status) {
+        // scaled like the SmlValueExtractor does
+        return Double.toString(value * Math.pow(10, scaler)) + "/" + status;
+    }
+
+    private byte[] readResource(String name) throws IOException {
+        try (InputStream is = TestSmlReplay.class.getResourceAsStream(name)) {
+            assertNotNull("Missing resource " + name, is);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int length;
+            while ((length = is.read(buffer)) > 0) {
+                bytes.write(buffer, 0, length);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * Fails on errors and removed values, which do not occur in the replayed telegrams.
+     */
+    private abstract static class ReplayListener implements MeterValueListener {
+
+        @Override
+        public <Q extends Quantity<Q>> void valueRemoved(MeterValue<Q> value) {
+            fail("No value should be removed: " + value);
+        }
+
+        @Override
+        public void errorOccurred(Throwable e) {
+            fail(e.getMessage());
+        }
+    }
+
+    /**
+     * The input of the serial port, a read blocks until the next telegram has been sent.
+     */
+    private static class TelegramInputStream extends InputStream {
+        private final BlockingQueue<byte[]> sentTelegrams = new LinkedBlockingQueue<>();
+        private byte[] telegram = new byte[0];
+        private int position;
+
+        void send(byte[] telegram) {
+            sentTelegrams.add(telegram);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] data = new byte[1];
+            return read(data, 0, 1) < 0 ? -1 : data[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (position == telegram.length) {
+                try {
+                    telegram = sentTelegrams.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+                position = 0;
+            }
+            int count = Math.min(length, telegram.length - position);
+            System.arraycopy(telegram, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            if (position < telegram.length) {
+                return telegram.length - position;
+            }
+            byte[] next = sentTelegrams.peek();
+            return next == null ? 0 : next.length;
+        }
+    }
+}
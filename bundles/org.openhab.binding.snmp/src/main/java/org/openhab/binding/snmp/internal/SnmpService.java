@@ -36,4 +36,9 @@ public interface SnmpService {
     public void removeCommandResponder(CommandResponder listener);
 
     public void send(PDU pdu, Target target, @Nullable Object userHandle, ResponseListener listener) throws IOException;
+
+    /**
+     * Drops the requests of a listener which are not sent yet, e.g. when its thing is disposed.
+     */
+    public void cancelRequests(ResponseListener listener);
 }
@@ -13,9 +13,12 @@
 package org.openhab.binding.snmp.internal;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -31,9 +34,11 @@ import org.snmp4j.CommandResponder;
 import org.snmp4j.PDU;
 import org.snmp4j.Snmp;
 import org.snmp4j.Target;
+import org.snmp4j.event.ResponseEvent;
 import org.snmp4j.event.ResponseListener;
 import org.snmp4j.security.Priv3DES;
 import org.snmp4j.security.SecurityProtocols;
+import org.snmp4j.smi.Address;
 import org.snmp4j.smi.UdpAddress;
 import org.snmp4j.transport.DefaultUdpTransportMapping;
 
@@ -47,6 +52,9 @@ import org.snmp4j.transport.DefaultUdpTransportMapping;
 @NonNullByDefault
 @Component(configurationPid = "binding.snmp", service = SnmpService.class)
 public class SnmpServiceImpl implements SnmpService {
+    // requests sent to a single target at the same time, further requests wait for one of them to finish
+    private static final int MAX_PENDING_REQUESTS_PER_TARGET = 4;
+
     private final Logger logger = LoggerFactory.getLogger(SnmpServiceImpl.class);
 
     private @NonNullByDefault({}) SnmpServiceConfiguration config;
@@ -54,6 +62,7 @@ public class SnmpServiceImpl implements SnmpService {
     private @Nullable DefaultUdpTransportMapping transport;
 
     private List<CommandResponder> listeners = new ArrayList<>();
+    private final Map<Address, TargetRequestScheduler> requestSchedulers = new HashMap<>();
 
     @Activate
     public SnmpServiceImpl(Map<String, Object> config) {
@@ -100,6 +109,9 @@ public class SnmpServiceImpl implements SnmpService {
     }
 
     private void shutdownSnmp() throws IOException {
+        synchronized (requestSchedulers) {
+            requestSchedulers.clear();
+        }
         if (transport != null) {
             transport.close();
             transport = null;
@@ -129,11 +141,130 @@ public class SnmpServiceImpl implements SnmpService {
     @Override
     public void send(PDU pdu, Target target, @Nullable Object userHandle, ResponseListener listener)
             throws IOException {
-        if (snmp != null) {
-            snmp.send(pdu, target, userHandle, listener);
-            logger.trace("send {} to {}", pdu, target);
-        } else {
+        Address address = target.getAddress();
+        if (snmp == null || address == null) {
             logger.warn("SNMP service not initialized, can't send {} to {}", pdu, target);
+            return;
+        }
+
+        Request request = new Request(pdu, target, userHandle, listener);
+        TargetRequestScheduler requestScheduler;
+        synchronized (requestSchedulers) {
+            requestScheduler = requestSchedulers.computeIfAbsent(address, a -> new TargetRequestScheduler());
+            // counted while the schedulers are locked, so the scheduler is not removed as idle before sending
+            if (!requestScheduler.startRequest(request)) {
+                return;
+            }
+        }
+        requestScheduler.send(request);
+    }
+
+    @Override
+    public void cancelRequests(ResponseListener listener) {
+        synchronized (requestSchedulers) {
+            // the schedulers of targets without any requests are removed, e.g. after all their things were disposed
+            requestSchedulers.values().removeIf(requestScheduler -> requestScheduler.cancelRequests(listener));
+        }
+    }
+
+    private static class Request {
+        private final PDU pdu;
+        private final Target target;
+        private final @Nullable Object userHandle;
+        private final ResponseListener listener;
+
+        private Request(PDU pdu, Target target, @Nullable Object userHandle, ResponseListener listener) {
+            this.pdu = pdu;
+            this.target = target;
+            this.userHandle = userHandle;
+            this.listener = listener;
+        }
+    }
+
+    /**
+     * Limits the number of requests pending at one target, so that the requests of all things of a target can be sent
+     * in parallel without flooding the agent.
+     */
+    private class TargetRequestScheduler {
+        private final Queue<Request> waitingRequests = new ArrayDeque<>();
+        private int pendingRequests = 0;
+
+        /**
+         * Counts a request as pending or queues it, if too many requests are pending.
+         *
+         * @return whether the request can be sent now
+         */
+        public synchronized boolean startRequest(Request request) {
+            if (pendingRequests >= MAX_PENDING_REQUESTS_PER_TARGET) {
+                waitingRequests.add(request);
+                logger.trace("delaying {} to {}, {} requests pending", request.pdu, request.target, pendingRequests);
+                return false;
+            }
+            pendingRequests++;
+            return true;
+        }
+
+        /**
+         * Drops the waiting requests of a listener.
+         *
+         * @return whether the scheduler has no pending and no waiting requests left
+         */
+        public synchronized boolean cancelRequests(ResponseListener listener) {
+            waitingRequests.removeIf(request -> request.listener == listener);
+            return pendingRequests == 0 && waitingRequests.isEmpty();
+        }
+
+        /**
+         * Sends a request started by {@link #startRequest(Request)}.
+         */
+        public void send(Request request) throws IOException {
+            try {
+                sendRequest(request);
+            } catch (IOException e) {
+                requestFinished();
+                throw e;
+            }
+        }
+
+        private void sendRequest(Request request) throws IOException {
+            final Snmp snmp = SnmpServiceImpl.this.snmp;
+            if (snmp == null) {
+                throw new IOException("SNMP service not initialized");
+            }
+            snmp.send(request.pdu, request.target, request.userHandle, new ResponseListener() {
+                @Override
+                public void onResponse(@Nullable ResponseEvent event) {
+                    if (event != null) {
+                        // stop retransmissions of the request
+                        snmp.cancel(event.getRequest(), this);
+                    }
+                    try {
+                        request.listener.onResponse(event);
+                    } finally {
+                        requestFinished();
+                    }
+                }
+            });
+            logger.trace("send {} to {}", request.pdu, request.target);
+        }
+
+        private void requestFinished() {
+            Request request;
+            synchronized (this) {
+                request = waitingRequests.poll();
+                if (request == null) {
+                    pendingRequests--;
+                    return;
+                }
+            }
+            try {
+                sendRequest(request);
+            } catch (IOException e) {
+                logger.debug("could not send delayed {} to {}: {}", request.pdu, request.target, e.getMessage());
+                request.listener.onResponse(new ResponseEvent(SnmpServiceImpl.this, null, request.pdu, null,
+                        request.userHandle, e));
+                requestFinished();
+            }
         }
     }
 }
@@ -17,7 +17,10 @@ import static org.openhab.binding.snmp.internal.SnmpBindingConstants.*;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
@@ -25,9 +28,11 @@ import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.config.core.Configuration;
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.StringType;
@@ -37,6 +42,8 @@ import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandler;
+import org.eclipse.smarthome.core.thing.binding.builder.ChannelBuilder;
+import org.eclipse.smarthome.core.thing.binding.builder.ThingBuilder;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
@@ -75,6 +82,8 @@ import org.snmp4j.smi.VariableBinding;
 public class SnmpTargetHandler extends BaseThingHandler implements ResponseListener, CommandResponder {
     private static final Pattern HEXSTRING_VALIDITY = Pattern.compile("([a-f0-9]{2}[ :-]?)+");
     private static final Pattern HEXSTRING_EXTRACTOR = Pattern.compile("[^a-f0-9]");
+    // refresh commands received within this time are combined into one request
+    private static final long REFRESH_COMMAND_DELAY = 50;
 
     private final Logger logger = LoggerFactory.getLogger(SnmpTargetHandler.class);
 
@@ -82,13 +91,18 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
     private final SnmpService snmpService;
     private @Nullable ScheduledFuture<?> refresh;
     private int timeoutCounter = 0;
+    private volatile int maxVariables;
+    private volatile int maxRepetitions;
+    private final Set<OID> pendingRefreshOids = new HashSet<>();
 
     private @NonNullByDefault({}) AbstractTarget target;
     private @NonNullByDefault({}) String targetAddressString;
 
-    private @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> readChannelSet;
-    private @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> writeChannelSet;
-    private @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> trapChannelSet;
+    private volatile @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> readChannelSet;
+    private volatile @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> requestChannelSet;
+    private volatile @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> tableChannelSet;
+    private volatile @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> writeChannelSet;
+    private volatile @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> trapChannelSet;
 
     public SnmpTargetHandler(Thing thing, SnmpService snmpService) {
         super(thing);
@@ -104,11 +118,20 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
 
         try {
             if (command instanceof RefreshType) {
-                SnmpInternalChannelConfiguration channel = readChannelSet.stream()
-                        .filter(c -> channelUID.equals(c.channelUID)).findFirst()
-                        .orElseThrow(() -> new IllegalArgumentException("no writable channel found"));
-                PDU pdu = new PDU(PDU.GET, Collections.singletonList(new VariableBinding(channel.oid)));
-                snmpService.send(pdu, target, null, this);
+                SnmpInternalChannelConfiguration channel = Stream.concat(readChannelSet.stream(),
+                        tableChannelSet.stream()).filter(c -> channelUID.equals(c.channelUID)).findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("no readable channel found"));
+                if (channel.mode == SnmpChannelMode.TABLE) {
+                    requestTableRows(new TableWalk(channel), channel.oid);
+                } else {
+                    synchronized (pendingRefreshOids) {
+                        if (pendingRefreshOids.isEmpty()) {
+                            scheduler.schedule(this::sendPendingRefreshes, REFRESH_COMMAND_DELAY,
+                                    TimeUnit.MILLISECONDS);
+                        }
+                        pendingRefreshOids.add(channel.oid);
+                    }
+                }
             } else if (command instanceof DecimalType || command instanceof StringType
                     || command instanceof OnOffType) {
                 SnmpInternalChannelConfiguration channel = writeChannelSet.stream()
@@ -156,6 +179,8 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
         }
 
         timeoutCounter = 0;
+        maxVariables = Math.max(1, config.maxVariables);
+        maxRepetitions = Math.max(1, config.maxRepetitions);
 
         updateStatus(ThingStatus.UNKNOWN);
         refresh = scheduler.scheduleWithFixedDelay(this::refresh, 0, config.refresh, TimeUnit.SECONDS);
@@ -168,6 +193,7 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
             r.cancel(true);
         }
         snmpService.removeCommandResponder(this);
+        snmpService.cancelRequests(this);
     }
 
     @Override
@@ -192,6 +218,17 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
         timeoutCounter = 0;
         logger.trace("{} received {}", thing.getUID(), response);
 
+        if (response.getErrorStatus() == PDU.tooBig) {
+            resendSmallerRequest(event);
+            return;
+        }
+
+        Object userHandle = event.getUserHandle();
+        if (userHandle instanceof TableWalk) {
+            updateTableRows((TableWalk) userHandle, event.getRequest(), response);
+            return;
+        }
+
         response.getVariableBindings().forEach(variable -> {
             OID oid = variable.getOid();
             Variable value = variable.getVariable();
@@ -301,6 +338,12 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
                 .collect(Collectors.toSet());
         this.trapChannelSet = channelConfigs.stream().filter(c -> c.mode == SnmpChannelMode.TRAP)
                 .collect(Collectors.toSet());
+        this.tableChannelSet = channelConfigs.stream().filter(c -> c.mode == SnmpChannelMode.TABLE)
+                .collect(Collectors.toSet());
+        // the rows of tables are read by the table walk
+        this.requestChannelSet = readChannelSet.stream()
+                .filter(c -> tableChannelSet.stream().noneMatch(t -> c.oid.startsWith(t.oid)))
+                .collect(Collectors.toSet());
     }
 
     private void updateChannels(OID oid, Variable value, Set<SnmpInternalChannelConfiguration> channelConfigs) {
@@ -429,9 +472,27 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
                 return;
             }
         }
-        PDU pdu = new PDU(PDU.GET,
-                readChannelSet.stream().map(c -> new VariableBinding(c.oid)).collect(Collectors.toList()));
-        if (!pdu.getVariableBindings().isEmpty()) {
+        sendGetRequests(requestChannelSet.stream().map(c -> c.oid).distinct().collect(Collectors.toList()));
+        tableChannelSet.forEach(c -> requestTableRows(new TableWalk(c), c.oid));
+    }
+
+    private void sendPendingRefreshes() {
+        List<OID> oids;
+        synchronized (pendingRefreshOids) {
+            oids = new ArrayList<>(pendingRefreshOids);
+            pendingRefreshOids.clear();
+        }
+        sendGetRequests(oids);
+    }
+
+    /**
+     * Requests the given OIDs, split into requests of at most {@code maxVariables} OIDs which are sent in parallel.
+     */
+    private void sendGetRequests(List<OID> oids) {
+        int requestSize = maxVariables;
+        for (int i = 0; i < oids.size(); i += requestSize) {
+            PDU pdu = new PDU(PDU.GET, oids.subList(i, Math.min(i + requestSize, oids.size())).stream()
+                    .map(VariableBinding::new).collect(Collectors.toList()));
             try {
                 snmpService.send(pdu, target, null, this);
             } catch (IOException e) {
@@ -440,4 +501,144 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
         }
     }
 
+    private void resendSmallerRequest(ResponseEvent event) {
+        PDU request = event.getRequest();
+        if (request == null) {
+            return;
+        }
+        Object userHandle = event.getUserHandle();
+        if (request.getType() == PDU.GETBULK && userHandle instanceof TableWalk) {
+            if (request.getMaxRepetitions() <= 1) {
+                logger.warn("{}: a single row of table {} is too big for the target", thing.getUID(),
+                        ((TableWalk) userHandle).tableChannel.oid);
+                return;
+            }
+            maxRepetitions = Math.min(maxRepetitions, request.getMaxRepetitions() / 2);
+            logger.debug("{}: reduced table request size to {} rows", thing.getUID(), maxRepetitions);
+            requestTableRows((TableWalk) userHandle, request.get(0).getOid());
+        } else if (request.getType() == PDU.GET) {
+            if (request.size() <= 1) {
+                logger.warn("{}: response to {} is too big for the target", thing.getUID(), request);
+                return;
+            }
+            maxVariables = Math.min(maxVariables, request.size() / 2);
+            logger.debug("{}: reduced request size to {} OIDs", thing.getUID(), maxVariables);
+            sendGetRequests(request.getVariableBindings().stream().map(VariableBinding::getOid)
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Requests the rows of a table following the given OID, with GETBULK requests if supported by the target.
+     */
+    private void requestTableRows(TableWalk tableWalk, OID startOid) {
+        PDU pdu = new PDU();
+        pdu.add(new VariableBinding(startOid));
+        if (target.getVersion() == SnmpConstants.version1) {
+            pdu.setType(PDU.GETNEXT);
+        } else {
+            pdu.setType(PDU.GETBULK);
+            pdu.setNonRepeaters(0);
+            pdu.setMaxRepetitions(maxRepetitions);
+        }
+        try {
+            snmpService.send(pdu, target, tableWalk, this);
+        } catch (IOException e) {
+            logger.info("Could not send PDU", e);
+        }
+    }
+
+    private void updateTableRows(TableWalk tableWalk, @Nullable PDU request, PDU response) {
+        OID tableOid = tableWalk.tableChannel.oid;
+        OID lastOid = request != null && request.size() > 0 ? request.get(0).getOid() : tableOid;
+        boolean tableEnd = response.getVariableBindings().isEmpty();
+
+        for (VariableBinding variable : response.getVariableBindings()) {
+            OID oid = variable.getOid();
+            Variable value = variable.getVariable();
+            if (value.isException() || !oid.startsWith(tableOid) || oid.size() <= tableOid.size()
+                    || oid.compareTo(lastOid) <= 0) {
+                tableEnd = true;
+                break;
+            }
+            lastOid = oid;
+
+            ChannelUID rowChannelUID = getTableRowChannelUID(tableWalk.tableChannel, oid);
+            if (thing.getChannel(rowChannelUID) == null) {
+                Channel rowChannel = createTableRowChannel(tableWalk.tableChannel, rowChannelUID, oid);
+                if (rowChannel != null) {
+                    tableWalk.newChannels.add(rowChannel);
+                    tableWalk.newRows.add(variable);
+                }
+            } else {
+                updateChannels(oid, value, readChannelSet);
+            }
+        }
+
+        if (!tableEnd) {
+            requestTableRows(tableWalk, lastOid);
+        } else if (!tableWalk.newChannels.isEmpty()) {
+            addTableRowChannels(tableWalk);
+        }
+    }
+
+    private synchronized void addTableRowChannels(TableWalk tableWalk) {
+        // another walk of the table may have added the channels meanwhile
+        List<Channel> newChannels = tableWalk.newChannels.stream().filter(c -> thing.getChannel(c.getUID()) == null)
+                .collect(Collectors.toList());
+        if (!newChannels.isEmpty()) {
+            logger.debug("{}: adding {} channels for the rows of table {}", thing.getUID(), newChannels.size(),
+                    tableWalk.tableChannel.oid);
+            ThingBuilder thingBuilder = editThing();
+            newChannels.forEach(thingBuilder::withChannel);
+            updateThing(thingBuilder.build());
+            // the thing is not initialized again, so the row channels are added to the channel sets here
+            generateChannelConfigs();
+        }
+
+        // the values of the rows are published now, as the channels are not read again before the next refresh
+        for (VariableBinding variable : tableWalk.newRows) {
+            updateChannels(variable.getOid(), variable.getVariable(), readChannelSet);
+        }
+    }
+
+    private ChannelUID getTableRowChannelUID(SnmpInternalChannelConfiguration tableChannel, OID oid) {
+        String rowIndex = getTableRowIndex(tableChannel, oid);
+        return new ChannelUID(thing.getUID(), tableChannel.channelUID.getId() + "_" + rowIndex.replace('.', '_'));
+    }
+
+    private String getTableRowIndex(SnmpInternalChannelConfiguration tableChannel, OID oid) {
+        return new OID(oid.getValue(), tableChannel.oid.size(), oid.size() - tableChannel.oid.size()).toDottedString();
+    }
+
+    private @Nullable Channel createTableRowChannel(SnmpInternalChannelConfiguration tableChannel,
+            ChannelUID rowChannelUID, OID oid) {
+        Channel channel = thing.getChannel(tableChannel.channelUID);
+        if (channel == null) {
+            return null;
+        }
+        Configuration configuration = new Configuration(channel.getConfiguration().getProperties());
+        configuration.put("oid", oid.toDottedString());
+        configuration.put("mode", SnmpChannelMode.READ.name());
+        String label = channel.getLabel();
+        return ChannelBuilder.create(rowChannelUID, channel.getAcceptedItemType())
+                .withType(channel.getChannelTypeUID())
+                .withLabel((label != null ? label : tableChannel.channelUID.getId()) + " "
+                        + getTableRowIndex(tableChannel, oid))
+                .withConfiguration(configuration).build();
+    }
+
+    /**
+     * The state of a table walk, passed as user handle of its requests.
+     */
+    private static class TableWalk {
+        private final SnmpInternalChannelConfiguration tableChannel;
+        private final List<Channel> newChannels = new ArrayList<>();
+        private final List<VariableBinding> newRows = new ArrayList<>();
+
+        private TableWalk(SnmpInternalChannelConfiguration tableChannel) {
+            this.tableChannel = tableChannel;
+        }
+    }
+
 }
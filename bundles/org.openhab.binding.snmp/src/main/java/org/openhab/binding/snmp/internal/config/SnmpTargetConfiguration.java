@@ -27,4 +27,6 @@ public class SnmpTargetConfiguration {
     public SnmpProtocolVersion protocol = SnmpProtocolVersion.v1;
     public int timeout = 1500;
     public int retries = 2;
+    public int maxVariables = 32;
+    public int maxRepetitions = 10;
 }
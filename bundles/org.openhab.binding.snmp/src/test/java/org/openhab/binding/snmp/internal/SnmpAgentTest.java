@@ -0,0 +1,246 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.snmp.internal;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.openhab.binding.snmp.internal.SnmpBindingConstants.THING_TYPE_TARGET;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.thing.Channel;
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingStatus;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.binding.ThingHandlerCallback;
+import org.eclipse.smarthome.core.thing.binding.builder.ChannelBuilder;
+import org.eclipse.smarthome.core.thing.binding.builder.ThingBuilder;
+import org.eclipse.smarthome.core.types.RefreshType;
+import org.eclipse.smarthome.test.java.JavaTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.snmp4j.CommandResponder;
+import org.snmp4j.CommandResponderEvent;
+import org.snmp4j.MessageException;
+import org.snmp4j.PDU;
+import org.snmp4j.Snmp;
+import org.snmp4j.mp.StatusInformation;
+import org.snmp4j.smi.Integer32;
+import org.snmp4j.smi.Null;
+import org.snmp4j.smi.OID;
+import org.snmp4j.smi.UdpAddress;
+import org.snmp4j.smi.Variable;
+import org.snmp4j.smi.VariableBinding;
+import org.snmp4j.transport.DefaultUdpTransportMapping;
+
+/**
+ * Tests the requests of {@link SnmpTargetHandler} against an SNMP agent running in the test.
+ *
+ * @author agent - Initial contribution
+ */
+public class SnmpAgentTest extends JavaTest {
+    private static final ThingUID THING_UID = new ThingUID(THING_TYPE_TARGET, "testthing");
+    private static final String SCALAR_OID = "1.3.6.1.4.1.99999.1";
+    private static final String TABLE_OID = "1.3.6.1.4.1.99999.2.1";
+    private static final int SCALAR_COUNT = 12;
+    private static final int TABLE_ROW_COUNT = 7;
+    private static final int AGENT_MAX_VARIABLES = 5;
+
+    private @Mock ThingHandlerCallback thingHandlerCallback;
+
+    private final NavigableMap<OID, Variable> mib = new TreeMap<>();
+    private int tooBigCount = 0;
+
+    private Snmp agent;
+    private SnmpServiceImpl snmpService;
+    private SnmpTargetHandler thingHandler;
+
+    @Before
+    public void setUp() throws IOException {
+        MockitoAnnotations.initMocks(this);
+
+        for (int i = 1; i <= SCALAR_COUNT; i++) {
+            mib.put(new OID(SCALAR_OID + "." + i + ".0"), new Integer32(i));
+        }
+        for (int i = 1; i <= TABLE_ROW_COUNT; i++) {
+            mib.put(new OID(TABLE_OID + "." + i), new Integer32(100 + i));
+        }
+        mib.put(new OID("1.3.6.1.4.1.99999.3.0"), new Integer32(0));
+
+        int port;
+        try (DatagramSocket socket = new DatagramSocket()) {
+            port = socket.getLocalPort();
+        }
+        agent = new Snmp(new DefaultUdpTransportMapping(new UdpAddress("127.0.0.1/" + port)));
+        agent.addCommandResponder(new Agent());
+        agent.listen();
+
+        snmpService = new SnmpServiceImpl(new HashMap<>());
+
+        Map<String, Object> thingConfig = new HashMap<>();
+        thingConfig.put("hostname", "127.0.0.1");
+        thingConfig.put("port", port);
+        thingConfig.put("protocol", "v2c");
+        thingConfig.put("maxVariables", 8);
+        thingConfig.put("maxRepetitions", 3);
+        ThingBuilder thingBuilder = ThingBuilder.create(THING_TYPE_TARGET, THING_UID).withLabel("Test thing")
+                .withConfiguration(new Configuration(thingConfig));
+        for (int i = 1; i <= SCALAR_COUNT; i++) {
+            thingBuilder.withChannel(createChannel("scalar" + i, SCALAR_OID + "." + i + ".0", SnmpChannelMode.READ));
+        }
+        thingBuilder.withChannel(createChannel("table", TABLE_OID, SnmpChannelMode.TABLE));
+        Thing thing = thingBuilder.build();
+
+        thingHandler = new SnmpTargetHandler(thing, snmpService);
+        thing.setHandler(thingHandler);
+        thingHandler.setCallback(thingHandlerCallback);
+        doAnswer(answer -> {
+            ((Thing) answer.getArgument(0)).setStatusInfo(answer.getArgument(1));
+            return null;
+        }).when(thingHandlerCallback).statusUpdated(any(), any());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        thingHandler.dispose();
+        snmpService.deactivate();
+        agent.close();
+    }
+
+    @Test
+    public void testSplitRequestsAndTableWalk() {
+        thingHandler.initialize();
+
+        waitForAssert(() -> assertEquals(ThingStatus.ONLINE, thingHandler.getThing().getStatusInfo().getStatus()));
+        for (int i = 1; i <= SCALAR_COUNT; i++) {
+            verify(thingHandlerCallback, timeout(5000)).stateUpdated(eq(new ChannelUID(THING_UID, "scalar" + i)),
+                    eq(new DecimalType(i)));
+        }
+
+        ArgumentCaptor<Thing> thingCaptor = ArgumentCaptor.forClass(Thing.class);
+        verify(thingHandlerCallback, timeout(5000)).thingUpdated(thingCaptor.capture());
+        Thing updatedThing = thingCaptor.getValue();
+        for (int i = 1; i <= TABLE_ROW_COUNT; i++) {
+            Channel rowChannel = updatedThing.getChannel("table_" + i);
+            assertNotNull(rowChannel);
+            assertEquals(TABLE_OID + "." + i, rowChannel.getConfiguration().get("oid"));
+            assertEquals(SnmpChannelMode.READ.name(), rowChannel.getConfiguration().get("mode"));
+        }
+        assertNull(updatedThing.getChannel("table_" + (TABLE_ROW_COUNT + 1)));
+
+        // the values of the rows found by the walk are published with the new channels
+        for (int i = 1; i <= TABLE_ROW_COUNT; i++) {
+            verify(thingHandlerCallback, timeout(5000)).stateUpdated(eq(new ChannelUID(THING_UID, "table_" + i)),
+                    eq(new DecimalType(100 + i)));
+        }
+
+        // only the first request was too big for the agent, it was split and all following requests were smaller
+        synchronized (mib) {
+            assertEquals(1, tooBigCount);
+        }
+    }
+
+    @Test
+    public void testTableRowsAreReadAfterRefresh() {
+        thingHandler.initialize();
+
+        verify(thingHandlerCallback, timeout(5000)).thingUpdated(any());
+        waitForAssert(() -> assertNotNull(thingHandler.getThing().getChannel("table_" + TABLE_ROW_COUNT)));
+        synchronized (mib) {
+            mib.put(new OID(TABLE_OID + ".1"), new Integer32(42));
+        }
+
+        // the rows are updated by the next walk, without adding their channels again
+        thingHandler.handleCommand(new ChannelUID(THING_UID, "table"), RefreshType.REFRESH);
+        verify(thingHandlerCallback, timeout(5000)).stateUpdated(eq(new ChannelUID(THING_UID, "table_1")),
+                eq(new DecimalType(42)));
+        verify(thingHandlerCallback, times(1)).thingUpdated(any());
+
+        // the row channels are readable channels of the handler
+        thingHandler.handleCommand(new ChannelUID(THING_UID, "table_2"), RefreshType.REFRESH);
+        verify(thingHandlerCallback, timeout(5000).times(2)).stateUpdated(eq(new ChannelUID(THING_UID, "table_2")),
+                eq(new DecimalType(102)));
+    }
+
+    private Channel createChannel(String id, String oid, SnmpChannelMode mode) {
+        Map<String, Object> channelConfig = new HashMap<>();
+        channelConfig.put("oid", oid);
+        channelConfig.put("mode", mode.name());
+        return ChannelBuilder.create(new ChannelUID(THING_UID, id), "Number")
+                .withType(SnmpBindingConstants.CHANNEL_TYPE_UID_NUMBER)
+                .withConfiguration(new Configuration(channelConfig)).build();
+    }
+
+    /**
+     * Answers GET, GETNEXT and GETBULK requests from the MIB and rejects requests for more than
+     * {@value #AGENT_MAX_VARIABLES} variables as too big.
+     */
+    private class Agent implements CommandResponder {
+        @Override
+        public void processPdu(CommandResponderEvent event) {
+            PDU request = event.getPDU();
+            PDU response = new PDU();
+            response.setType(PDU.RESPONSE);
+            response.setRequestID(request.getRequestID());
+
+            synchronized (mib) {
+                if (request.getType() == PDU.GET) {
+                    if (request.size() > AGENT_MAX_VARIABLES) {
+                        response.setErrorStatus(PDU.tooBig);
+                        tooBigCount++;
+                    } else {
+                        for (VariableBinding variable : request.getVariableBindings()) {
+                            Variable value = mib.get(variable.getOid());
+                            response.add(new VariableBinding(variable.getOid(),
+                                    value != null ? value : Null.noSuchObject));
+                        }
+                    }
+                } else if (request.getType() == PDU.GETNEXT || request.getType() == PDU.GETBULK) {
+                    int repetitions = request.getType() == PDU.GETBULK ? request.getMaxRepetitions() : 1;
+                    OID oid = request.get(0).getOid();
+                    for (int i = 0; i < repetitions; i++) {
+                        Map.Entry<OID, Variable> entry = mib.higherEntry(oid);
+                        if (entry == null) {
+                            response.add(new VariableBinding(oid, Null.endOfMibView));
+                            break;
+                        }
+                        oid = entry.getKey();
+                        response.add(new VariableBinding(oid, entry.getValue()));
+                    }
+                }
+            }
+
+            try {
+                event.getMessageDispatcher().returnResponsePdu(event.getMessageProcessingModel(),
+                        event.getSecurityModel(), event.getSecurityName(), event.getSecurityLevel(), response,
+                        event.getMaxSizeResponsePDU(), event.getStateReference(), new StatusInformation());
+            } catch (MessageException e) {
+                fail(e.getMessage());
+            }
+            event.setProcessed(true);
+        }
+    }
+}
@@ -32,6 +32,7 @@ import java.util.Map;
 import java.util.TimeZone;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -138,6 +139,21 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
     private final Map<String, String> stateMap = Collections.synchronizedMap(new HashMap<String, String>());
 
+    /**
+     * Time window (in milliseconds) in which LastChange events of a service are merged before updating the channels
+     */
+    private static final int EVENT_COALESCING_WINDOW = 100;
+
+    /**
+     * Changed variables of LastChange events per service, waiting for the end of the coalescing window
+     */
+    private final Map<String, Map<String, String>> pendingLastChanges = new HashMap<>();
+
+    /**
+     * Last decoded value of each variable of LastChange events per service, guarded by {@link #pendingLastChanges}
+     */
+    private final Map<String, Map<String, String>> lastDecodedValues = new HashMap<>();
+
     private List<SonosMusicService> musicServices;
 
     private final Object upnpLock = new Object();
@@ -202,6 +218,11 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
             pollingJob = null;
         }
 
+        synchronized (pendingLastChanges) {
+            pendingLastChanges.clear();
+            lastDecodedValues.clear();
+        }
+
         removeSubscription();
         service.unregisterParticipant(this);
     }
@@ -386,33 +407,9 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
             this.stateMap.put(variable, value);
 
             // pre-process some variables, eg XML processing
-            if (service.equals("AVTransport") && variable.equals("LastChange")) {
-                Map<String, String> parsedValues = SonosXMLParser.getAVTransportFromXML(value);
-                for (String parsedValue : parsedValues.keySet()) {
-                    // Update the transport state after the update of the media information
-                    // to not break the notification mechanism
-                    if (!parsedValue.equals("TransportState")) {
-                        onValueReceived(parsedValue, parsedValues.get(parsedValue), "AVTransport");
-                    }
-                    // Translate AVTransportURI/AVTransportURIMetaData to CurrentURI/CurrentURIMetaData
-                    // for a compatibility with the result of the action GetMediaInfo
-                    if (parsedValue.equals("AVTransportURI")) {
-                        onValueReceived("CurrentURI", parsedValues.get(parsedValue), service);
-                    } else if (parsedValue.equals("AVTransportURIMetaData")) {
-                        onValueReceived("CurrentURIMetaData", parsedValues.get(parsedValue), service);
-                    }
-                }
-                updateMediaInformation();
-                if (parsedValues.get("TransportState") != null) {
-                    onValueReceived("TransportState", parsedValues.get("TransportState"), "AVTransport");
-                }
-            }
-
-            if (service.equals("RenderingControl") && variable.equals("LastChange")) {
-                Map<String, String> parsedValues = SonosXMLParser.getRenderingControlFromXML(value);
-                for (String parsedValue : parsedValues.keySet()) {
-                    onValueReceived(parsedValue, parsedValues.get(parsedValue), "RenderingControl");
-                }
+            if ((service.equals("AVTransport") || service.equals("RenderingControl"))
+                    && variable.equals("LastChange")) {
+                queueLastChange(service, value);
             }
 
             List<StateOption> options = new ArrayList<>();
@@ -558,6 +555,77 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         }
     }
 
+    /**
+     * Decodes the changed variables of a LastChange event and merges them into the pending changes of the service.
+     * The pending changes are applied once the coalescing window has elapsed, so a burst of events results in one
+     * update of the channels.
+     *
+     * A variable counts as changed if its value differs from the last decoded one or from the current state. Events
+     * are decoded one after another, so the pending changes always end up with the latest value of each variable.
+     */
+    private void queueLastChange(String service, String xml) {
+        synchronized (pendingLastChanges) {
+            Map<String, String> lastDecoded = lastDecodedValues.get(service);
+            if (lastDecoded == null) {
+                lastDecoded = new HashMap<>();
+                lastDecodedValues.put(service, lastDecoded);
+            }
+            final Map<String, String> decoded = lastDecoded;
+            BiPredicate<String, String> changeFilter = (variable, value) -> !value.equals(decoded.get(variable))
+                    || !value.equals(stateMap.get(variable));
+            Map<String, String> changes = service.equals("AVTransport")
+                    ? SonosXMLParser.getAVTransportChangesFromXML(xml, changeFilter)
+                    : SonosXMLParser.getRenderingControlChangesFromXML(xml, changeFilter);
+            if (changes.isEmpty()) {
+                return;
+            }
+            lastDecoded.putAll(changes);
+
+            Map<String, String> pending = pendingLastChanges.get(service);
+            if (pending == null) {
+                pendingLastChanges.put(service, new HashMap<>(changes));
+                scheduler.schedule(() -> applyLastChange(service), EVENT_COALESCING_WINDOW, TimeUnit.MILLISECONDS);
+            } else {
+                pending.putAll(changes);
+            }
+        }
+    }
+
+    private void applyLastChange(String service) {
+        Map<String, String> parsedValues;
+        synchronized (pendingLastChanges) {
+            parsedValues = pendingLastChanges.remove(service);
+        }
+        if (parsedValues == null || getThing().getStatus() != ThingStatus.ONLINE) {
+            return;
+        }
+
+        if (service.equals("AVTransport")) {
+            for (String parsedValue : parsedValues.keySet()) {
+                // Update the transport state after the update of the media information
+                // to not break the notification mechanism
+                if (!parsedValue.equals("TransportState")) {
+                    onValueReceived(parsedValue, parsedValues.get(parsedValue), "AVTransport");
+                }
+                // Translate AVTransportURI/AVTransportURIMetaData to CurrentURI/CurrentURIMetaData
+                // for a compatibility with the result of the action GetMediaInfo
+                if (parsedValue.equals("AVTransportURI")) {
+                    onValueReceived("CurrentURI", parsedValues.get(parsedValue), service);
+                } else if (parsedValue.equals("AVTransportURIMetaData")) {
+                    onValueReceived("CurrentURIMetaData", parsedValues.get(parsedValue), service);
+                }
+            }
+            updateMediaInformation();
+            if (parsedValues.get("TransportState") != null) {
+                onValueReceived("TransportState", parsedValues.get("TransportState"), "AVTransport");
+            }
+        } else {
+            for (String parsedValue : parsedValues.keySet()) {
+                onValueReceived(parsedValue, parsedValues.get(parsedValue), service);
+            }
+        }
+    }
+
     private void dispatchOnAllGroupMembers(String variable, String value, String service) {
         if (isCoordinator()) {
             for (String member : getOtherZoneGroupMembers()) {
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link SonosXMLParser} with the per-thread reuse of its SAX readers.
+ *
+ * @author agent - Initial contribution
+ */
+public class SonosXMLParserTest {
+
+    private static final String NAMESPACES = "xmlns:dc=\"http://purl.org/dc/elements/1.1/\" "
+            + "xmlns:upnp=\"urn:schemas-upnp-org:metadata-1-0/upnp/\" "
+            + "xmlns:r=\"urn:schemas-rinconnetworks-com:metadata-1-0/\" "
+            + "xmlns=\"urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/\"";
+
+    private static final int FAVORITE_COUNT = 3;
+
+    @Test
+    public void testEntriesWithResourceMetaData() {
+        StringBuilder didl = new StringBuilder("<DIDL-Lite " + NAMESPACES + ">");
+        for (int i = 1; i <= FAVORITE_COUNT; i++) {
+            didl.append(favorite(i));
+        }
+        didl.append("</DIDL-Lite>");
+
+        // the resource meta data of every entry is parsed while the list is parsed
+        List<SonosEntry> entries = SonosXMLParser.getEntriesFromString(didl.toString());
+
+        assertEquals(FAVORITE_COUNT, entries.size());
+        for (int i = 1; i <= FAVORITE_COUNT; i++) {
+            SonosEntry entry = entries.get(i - 1);
+            assertEquals("FV:2/" + i, entry.getId());
+            assertEquals("Favorite " + i, entry.getTitle());
+            assertEquals("x-sonosapi-radio:station" + i, entry.getRes());
+            SonosResourceMetaData metaData = entry.getResourceMetaData();
+            assertNotNull(metaData);
+            assertEquals("station" + i, metaData.getId());
+            assertEquals("Station " + i, metaData.getTitle());
+            assertEquals("SA_RINCON3_user" + i, metaData.getDesc());
+        }
+
+        // the reader of the thread can still be used after the nested parses
+        assertEquals(FAVORITE_COUNT, SonosXMLParser.getEntriesFromString(didl.toString()).size());
+    }
+
+    @Test
+    public void testRenderingControlChanges() {
+        String xml = "<Event xmlns=\"urn:schemas-upnp-org:metadata-1-0/RCS/\"><InstanceID val=\"0\">"
+                + "<Volume channel=\"Master\" val=\"30\"/><Mute channel=\"Master\" val=\"0\"/>"
+                + "<Bass val=\"2\"/></InstanceID></Event>";
+
+        Map<String, String> all = SonosXMLParser.getRenderingControlFromXML(xml);
+        assertEquals("30", all.get("VolumeMaster"));
+        assertEquals("0", all.get("MuteMaster"));
+        assertEquals("2", all.get("Bass"));
+
+        Map<String, String> changes = SonosXMLParser.getRenderingControlChangesFromXML(xml,
+                (variable, value) -> !variable.equals("MuteMaster"));
+        assertEquals(2, changes.size());
+        assertFalse(changes.containsKey("MuteMaster"));
+    }
+
+    private static String favorite(int i) {
+        String resourceMetaData = "<DIDL-Lite " + NAMESPACES + "><item id=\"station" + i
+                + "\" parentID=\"0\" restricted=\"true\"><dc:title>Station " + i + "</dc:title>"
+                + "<upnp:class>object.item.audioItem.audioBroadcast</upnp:class>"
+                + "<desc id=\"cdudn\" nameSpace=\"urn:schemas-rinconnetworks-com:metadata-1-0/\">SA_RINCON3_user" + i
+                + "</desc></item></DIDL-Lite>";
+        return "<item id=\"FV:2/" + i + "\" parentID=\"FV:2\" restricted=\"false\"><dc:title>Favorite " + i
+                + "</dc:title><upnp:class>object.itemobject.item.sonos-favorite</upnp:class>"
+                + "<res protocolInfo=\"x-sonosapi-radio:*:*:*\">x-sonosapi-radio:station" + i + "</res>"
+                + "<r:resMD>" + escape(resourceMetaData) + "</r:resMD></item>";
+    }
+
+    private static String escape(String xml) {
+        return xml.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
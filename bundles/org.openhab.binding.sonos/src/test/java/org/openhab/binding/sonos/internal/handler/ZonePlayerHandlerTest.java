@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal.handler;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.openhab.binding.sonos.internal.SonosBindingConstants.*;
+
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingRegistry;
+import org.eclipse.smarthome.core.thing.ThingStatus;
+import org.eclipse.smarthome.core.thing.ThingStatusDetail;
+import org.eclipse.smarthome.core.thing.ThingStatusInfo;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.binding.ThingHandlerCallback;
+import org.eclipse.smarthome.core.thing.binding.builder.ChannelBuilder;
+import org.eclipse.smarthome.core.thing.binding.builder.ThingBuilder;
+import org.eclipse.smarthome.io.transport.upnp.UpnpIOService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.sonos.internal.SonosStateDescriptionOptionProvider;
+
+/**
+ * Tests the coalescing of the RenderingControl LastChange events by the {@link ZonePlayerHandler}.
+ *
+ * @author agent - Initial contribution
+ */
+public class ZonePlayerHandlerTest {
+
+    // the coalescing window is 100 ms
+    private static final long UPDATE_TIMEOUT_MS = 2000;
+
+    private ZonePlayerHandler handler;
+    private ThingHandlerCallback callback;
+    private ChannelUID volume;
+    private ChannelUID mute;
+
+    @Before
+    public void setUp() {
+        ThingUID thingUID = new ThingUID(PLAY1_THING_TYPE_UID, "test");
+        volume = new ChannelUID(thingUID, VOLUME);
+        mute = new ChannelUID(thingUID, MUTE);
+        Thing thing = ThingBuilder.create(PLAY1_THING_TYPE_UID, thingUID)
+                .withChannel(ChannelBuilder.create(volume, "Dimmer").build())
+                .withChannel(ChannelBuilder.create(mute, "Switch").build()).build();
+        thing.setStatusInfo(new ThingStatusInfo(ThingStatus.ONLINE, ThingStatusDetail.NONE, null));
+
+        handler = new ZonePlayerHandler(mock(ThingRegistry.class), thing, mock(UpnpIOService.class), null,
+                mock(SonosStateDescriptionOptionProvider.class));
+        callback = mock(ThingHandlerCallback.class);
+        when(callback.isChannelLinked(any())).thenReturn(true);
+        handler.setCallback(callback);
+    }
+
+    @After
+    public void tearDown() {
+        handler.dispose();
+    }
+
+    @Test
+    public void testBurstOfEventsIsAppliedOnce() {
+        handler.onValueReceived("LastChange", renderingControlEvent("<Volume channel=\"Master\" val=\"10\"/>"),
+                "RenderingControl");
+        handler.onValueReceived("LastChange", renderingControlEvent("<Mute channel=\"Master\" val=\"1\"/>"),
+                "RenderingControl");
+        handler.onValueReceived("LastChange", renderingControlEvent("<Volume channel=\"Master\" val=\"30\"/>"),
+                "RenderingControl");
+
+        verify(callback, timeout(UPDATE_TIMEOUT_MS)).stateUpdated(volume, new PercentType(30));
+        verify(callback, timeout(UPDATE_TIMEOUT_MS)).stateUpdated(mute, OnOffType.ON);
+        verify(callback, never()).stateUpdated(volume, new PercentType(10));
+    }
+
+    @Test
+    public void testUnchangedValuesAreNotApplied() {
+        handler.onValueReceived("LastChange", renderingControlEvent("<Volume channel=\"Master\" val=\"30\"/>"),
+                "RenderingControl");
+        verify(callback, timeout(UPDATE_TIMEOUT_MS)).stateUpdated(volume, new PercentType(30));
+
+        handler.onValueReceived("LastChange", renderingControlEvent(
+                "<Volume channel=\"Master\" val=\"30\"/><Mute channel=\"Master\" val=\"0\"/>"), "RenderingControl");
+
+        verify(callback, timeout(UPDATE_TIMEOUT_MS)).stateUpdated(mute, OnOffType.OFF);
+        verify(callback, times(1)).stateUpdated(volume, new PercentType(30));
+    }
+
+    private static String renderingControlEvent(String variables) {
+        return "<Event xmlns=\"urn:schemas-upnp-org:metadata-1-0/RCS/\"><InstanceID val=\"0\">" + variables
+                + "</InstanceID></Event>";
+    }
+}
@@ -307,6 +307,11 @@ public class SysteminfoBindingConstants {
      */
     public static final String CHANNEL_PROCESS_PATH = "process#path";
 
+    /**
+     * Duration of the last scheduled refresh in milliseconds
+     */
+    public static final String CHANNEL_REFRESH_DURATION = "refresh#duration";
+
     // Thing configuraion
     /**
      * Name of the configuration parameter of the thing that defines refresh time for High priority channels
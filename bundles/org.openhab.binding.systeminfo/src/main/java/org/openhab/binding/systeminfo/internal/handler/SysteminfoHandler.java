@@ -26,6 +26,7 @@ import java.util.concurrent.TimeUnit;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.thing.Channel;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.Thing;
@@ -93,6 +94,16 @@ public class SysteminfoHandler extends BaseThingHandler {
     private @Nullable ScheduledFuture<?> highPriorityTasks;
     private @Nullable ScheduledFuture<?> mediumPriorityTasks;
 
+    /**
+     * Serializes the refreshes, so that the system information is not replaced while channels are published from it.
+     */
+    private final Object refreshLock = new Object();
+
+    /**
+     * Duration of the last scheduled refresh in milliseconds, or -1 if there was no refresh yet.
+     */
+    private volatile long lastRefreshDuration = -1;
+
     private Logger logger = LoggerFactory.getLogger(SysteminfoHandler.class);
 
     public SysteminfoHandler(Thing thing, @Nullable SysteminfoInterface systeminfo) {
@@ -224,32 +235,60 @@ public class SysteminfoHandler extends BaseThingHandler {
     private void scheduleUpdates() {
         logger.debug("Schedule high priority tasks at fixed rate {} s.", refreshIntervalHighPriority);
         highPriorityTasks = scheduler.scheduleWithFixedDelay(() -> {
-            publishData(highPriorityChannels);
+            refreshData(highPriorityChannels);
         }, WAIT_TIME_CHANNEL_ITEM_LINK_INIT, refreshIntervalHighPriority.intValue(), TimeUnit.SECONDS);
 
         logger.debug("Schedule medium priority tasks at fixed rate {} s.", refreshIntervalMediumPriority);
         mediumPriorityTasks = scheduler.scheduleWithFixedDelay(() -> {
-            publishData(mediumPriorityChannels);
+            refreshData(mediumPriorityChannels);
         }, WAIT_TIME_CHANNEL_ITEM_LINK_INIT, refreshIntervalMediumPriority.intValue(), TimeUnit.SECONDS);
 
         logger.debug("Schedule one time update for low priority tasks.");
         scheduler.schedule(() -> {
-            publishData(lowPriorityChannels);
+            refreshData(lowPriorityChannels);
         }, WAIT_TIME_CHANNEL_ITEM_LINK_INIT, TimeUnit.SECONDS);
 
     }
 
+    private void refreshData(Set<ChannelUID> channels) {
+        long start = System.nanoTime();
+        publishData(channels);
+        lastRefreshDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // published after the refresh, so it shows the duration of this refresh and not of the previous one
+        if (isLinked(CHANNEL_REFRESH_DURATION)) {
+            updateState(CHANNEL_REFRESH_DURATION, new DecimalType(lastRefreshDuration));
+        }
+    }
+
+    /**
+     * Publishes the linked channels of a priority group. All channels are published from the same snapshot of the
+     * system information, so each device is queried only once.
+     */
     private void publishData(Set<ChannelUID> channels) {
-        Iterator<ChannelUID> iter = channels.iterator();
-        while (iter.hasNext()) {
-            ChannelUID channeUID = iter.next();
-            if (isLinked(channeUID.getId())) {
-                publishDataForChannel(channeUID);
+        synchronized (refreshLock) {
+            systeminfo.refresh();
+            Iterator<ChannelUID> iter = channels.iterator();
+            while (iter.hasNext()) {
+                ChannelUID channeUID = iter.next();
+                if (isLinked(channeUID.getId()) && !CHANNEL_REFRESH_DURATION.equals(channeUID.getId())) {
+                    updateChannelState(channeUID);
+                }
             }
         }
     }
 
+    /**
+     * Publishes a single channel from the current refresh cycle. No new cycle is started, so that a REFRESH command
+     * does not shorten the measurement window of the CPU and process loads of the next scheduled refresh.
+     */
     private void publishDataForChannel(ChannelUID channelUID) {
+        synchronized (refreshLock) {
+            updateChannelState(channelUID);
+        }
+    }
+
+    private void updateChannelState(ChannelUID channelUID) {
         State state = getInfoForChannel(channelUID);
         String channelID = channelUID.getId();
         updateState(channelID, state);
@@ -314,6 +353,9 @@ public class SysteminfoHandler extends BaseThingHandler {
                 case CHANNEL_SENSORS_FAN_SPEED:
                     state = systeminfo.getSensorsFanSpeed(deviceIndex);
                     break;
+                case CHANNEL_CPU_LOAD:
+                    state = systeminfo.getCpuLoad();
+                    break;
                 case CHANNEL_CPU_LOAD_1:
                     state = systeminfo.getCpuLoad1();
                     break;
@@ -437,6 +479,10 @@ public class SysteminfoHandler extends BaseThingHandler {
                 case CHANNEL_PROCESS_THREADS:
                     state = systeminfo.getProcessThreads(deviceIndex);
                     break;
+                case CHANNEL_REFRESH_DURATION:
+                    long duration = lastRefreshDuration;
+                    state = duration < 0 ? null : new DecimalType(duration);
+                    break;
                 default:
                     logger.debug("Channel with unknown ID: {} !", channelID);
             }
@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.systeminfo.internal.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import oshi.hardware.HardwareAbstractionLayer;
+import oshi.hardware.NetworkIF;
+import oshi.hardware.PowerSource;
+import oshi.software.os.OSFileStore;
+import oshi.software.os.OSProcess;
+import oshi.software.os.OperatingSystem;
+
+/**
+ * The {@link OSHISnapshot} holds the dynamic OSHI objects of one refresh cycle. Each subsystem is queried on first
+ * access only, so that the getters of all channels of a cycle share the same device enumeration.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class OSHISnapshot {
+
+    private final HardwareAbstractionLayer hal;
+    private final OperatingSystem operatingSystem;
+
+    private OSFileStore @Nullable [] fileStores;
+    private NetworkIF @Nullable [] networks;
+    private PowerSource @Nullable [] powerSources;
+    private final Map<Integer, @Nullable OSProcess> processes = new HashMap<>();
+
+    OSHISnapshot(HardwareAbstractionLayer hal, OperatingSystem operatingSystem) {
+        this.hal = hal;
+        this.operatingSystem = operatingSystem;
+    }
+
+    synchronized OSFileStore[] getFileStores() {
+        OSFileStore[] localFileStores = fileStores;
+        if (localFileStores == null) {
+            localFileStores = operatingSystem.getFileSystem().getFileStores();
+            fileStores = localFileStores;
+        }
+        return localFileStores;
+    }
+
+    synchronized NetworkIF[] getNetworks() {
+        NetworkIF[] localNetworks = networks;
+        if (localNetworks == null) {
+            localNetworks = hal.getNetworkIFs();
+            for (NetworkIF network : localNetworks) {
+                network.updateAttributes();
+            }
+            networks = localNetworks;
+        }
+        return localNetworks;
+    }
+
+    synchronized PowerSource[] getPowerSources() {
+        PowerSource[] localPowerSources = powerSources;
+        if (localPowerSources == null) {
+            localPowerSources = hal.getPowerSources();
+            powerSources = localPowerSources;
+        }
+        return localPowerSources;
+    }
+
+    /**
+     * Returns the process with the given PID, or null if there is no such process.
+     */
+    synchronized @Nullable OSProcess getProcess(int pid) {
+        if (!processes.containsKey(pid)) {
+            processes.put(pid, operatingSystem.getProcess(pid));
+        }
+        return processes.get(pid);
+    }
+}
@@ -31,6 +31,13 @@ public interface SysteminfoInterface {
      */
     public void initializeSysteminfo();
 
+    /**
+     * Starts a new refresh cycle. Information that changes over time is queried from the system on first access after
+     * this call and shared by all getters until the next call, so that every device is enumerated at most once per
+     * cycle.
+     */
+    public void refresh();
+
     // Operating system info
     /**
      * Get the Family of the operating system /e.g. Windows,Unix,.../
@@ -71,6 +78,14 @@ public interface SysteminfoInterface {
      */
     public DecimalType getCpuPhysicalCores();
 
+    /**
+     * Returns the recent CPU load, measured between the refresh cycles of this and of the previous request of the
+     * value. Requests within the same refresh cycle return the same value.
+     *
+     * @return the load in percent or null, if no information is available
+     */
+    public @Nullable DecimalType getCpuLoad();
+
     /**
      * Returns the system load average for the last minute.
      *
@@ -405,7 +420,8 @@ public interface SysteminfoInterface {
     public @Nullable StringType getProcessName(int pid) throws DeviceNotFoundException;
 
     /**
-     * Returns the CPU usage of the process
+     * Returns the CPU usage of the process since the refresh cycle of the previous request of the value, or since the
+     * process start on the first request. Requests within the same refresh cycle return the same value.
      *
      * @param pid - the PID of the process
      * @return - percentage value /0-100/
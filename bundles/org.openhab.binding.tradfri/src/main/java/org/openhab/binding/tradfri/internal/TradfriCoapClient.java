@@ -19,7 +19,6 @@ import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.californium.core.CoapClient;
-import org.eclipse.californium.core.CoapObserveRelation;
 import org.eclipse.californium.core.coap.MediaTypeRegistry;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -65,15 +64,6 @@ public class TradfriCoapClient extends CoapClient {
         }
     }
 
-    /**
-     * Starts observation of the resource and uses the given callback to provide updates.
-     *
-     * @param callback the callback to use for updates
-     */
-    public CoapObserveRelation startObserve(CoapCallback callback) {
-        return observe(new TradfriCoapHandler(callback));
-    }
-
     /**
      * Asynchronously executes a GET on the resource and provides the result through a {@link CompletableFuture}.
      *
@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.tradfri.internal;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.californium.core.CoapClient;
+import org.eclipse.californium.core.CoapObserveRelation;
+import org.eclipse.californium.core.coap.Request;
+import org.eclipse.californium.core.network.Endpoint;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.thing.ThingStatus;
+import org.eclipse.smarthome.core.thing.ThingStatusDetail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+
+/**
+ * The {@link TradfriObserveManager} observes the devices of a gateway with a single {@link CoapClient} on the
+ * endpoint of the gateway and dispatches the notifications to the {@link CoapCallback} registered for each device.
+ * <p>
+ * Observations are established in batches, so that the gateway is not flooded with requests when all devices are
+ * observed at once, e.g. after the DTLS session to the gateway has been reset.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TradfriObserveManager {
+
+    static final int OBSERVE_BATCH_SIZE = 5;
+    static final long OBSERVE_BATCH_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+
+    private final Logger logger = LoggerFactory.getLogger(TradfriObserveManager.class);
+
+    private final String gatewayURI;
+    private final ScheduledExecutorService scheduler;
+    private final CoapClient client = new CoapClient();
+
+    private final Map<String, Observation> observations = new ConcurrentHashMap<>();
+    private final Set<String> pendingObservations = new LinkedHashSet<>();
+    private @Nullable ScheduledFuture<?> observeJob;
+    private boolean disposed;
+
+    /**
+     * The observation of a device. Notifications are only passed on as long as the observation has not been replaced
+     * or cancelled, as a cancelled relation may still receive a last notification.
+     */
+    private class Observation implements CoapCallback {
+        private final String instanceId;
+        private final CoapCallback callback;
+        private @Nullable CoapObserveRelation relation;
+
+        Observation(String instanceId, CoapCallback callback) {
+            this.instanceId = instanceId;
+            this.callback = callback;
+        }
+
+        boolean isCurrent() {
+            return observations.get(instanceId) == this;
+        }
+
+        @Override
+        public void onUpdate(JsonElement data) {
+            if (isCurrent()) {
+                callback.onUpdate(data);
+            }
+        }
+
+        @Override
+        public void setStatus(ThingStatus status, ThingStatusDetail statusDetail) {
+            if (isCurrent()) {
+                callback.setStatus(status, statusDetail);
+            }
+        }
+
+        synchronized void cancel() {
+            CoapObserveRelation localRelation = relation;
+            if (localRelation != null) {
+                localRelation.reactiveCancel();
+                relation = null;
+            }
+        }
+    }
+
+    /**
+     * @param gatewayURI the URI of the devices resource of the gateway
+     * @param endpoint the endpoint used for communicating with the gateway
+     * @param scheduler the scheduler used for establishing observations
+     */
+    public TradfriObserveManager(String gatewayURI, Endpoint endpoint, ScheduledExecutorService scheduler) {
+        this.gatewayURI = gatewayURI;
+        this.scheduler = scheduler;
+        client.setEndpoint(endpoint);
+    }
+
+    /**
+     * Starts observing a device. An existing observation of the device is replaced. The observation is established
+     * with the next batch.
+     *
+     * @param instanceId the instance id of the device
+     * @param callback the callback receiving the notifications of the device
+     */
+    public void observe(String instanceId, CoapCallback callback) {
+        Observation previous = observations.put(instanceId, new Observation(instanceId, callback));
+        if (previous != null) {
+            previous.cancel();
+        }
+        synchronized (pendingObservations) {
+            pendingObservations.add(instanceId);
+            scheduleObserveJob(0);
+        }
+    }
+
+    /**
+     * Re-establishes the observation of a device, e.g. after the observation failed.
+     *
+     * @param instanceId the instance id of the device
+     */
+    public void reobserve(String instanceId) {
+        Observation observation = observations.get(instanceId);
+        if (observation != null) {
+            observe(instanceId, observation.callback);
+        }
+    }
+
+    /**
+     * Stops observing a device.
+     *
+     * @param instanceId the instance id of the device
+     */
+    public void cancel(String instanceId) {
+        Observation observation = observations.remove(instanceId);
+        if (observation != null) {
+            observation.cancel();
+        }
+        synchronized (pendingObservations) {
+            pendingObservations.remove(instanceId);
+        }
+    }
+
+    /**
+     * Stops all observations.
+     */
+    public void dispose() {
+        synchronized (pendingObservations) {
+            disposed = true;
+            pendingObservations.clear();
+            ScheduledFuture<?> localObserveJob = observeJob;
+            if (localObserveJob != null) {
+                localObserveJob.cancel(false);
+                observeJob = null;
+            }
+        }
+        observations.values().forEach(Observation::cancel);
+        observations.clear();
+        client.shutdown();
+    }
+
+    private void scheduleObserveJob(long delay) {
+        ScheduledFuture<?> localObserveJob = observeJob;
+        if (!disposed && (localObserveJob == null || localObserveJob.isDone())) {
+            observeJob = scheduler.schedule(this::observeBatch, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void observeBatch() {
+        Set<String> batch = new LinkedHashSet<>();
+        synchronized (pendingObservations) {
+            Iterator<String> iterator = pendingObservations.iterator();
+            while (iterator.hasNext() && batch.size() < OBSERVE_BATCH_SIZE) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+        }
+
+        for (String instanceId : batch) {
+            Observation observation = observations.get(instanceId);
+            if (observation != null) {
+                startObservation(observation);
+            }
+        }
+
+        synchronized (pendingObservations) {
+            observeJob = null;
+            if (!pendingObservations.isEmpty()) {
+                scheduleObserveJob(OBSERVE_BATCH_INTERVAL);
+            }
+        }
+    }
+
+    private void startObservation(Observation observation) {
+        String uri = gatewayURI + "/" + observation.instanceId;
+        logger.debug("CoAP observe request\nuri: {}", uri);
+        Request request = Request.newGet();
+        request.setURI(uri);
+        request.setObserve();
+        synchronized (observation) {
+            observation.cancel();
+            // the observation may have been replaced or cancelled in the meantime
+            if (observation.isCurrent()) {
+                observation.relation = client.observe(request, new TradfriCoapHandler(observation));
+            }
+        }
+    }
+}
@@ -47,6 +47,7 @@ import org.openhab.binding.tradfri.internal.DeviceUpdateListener;
 import org.openhab.binding.tradfri.internal.TradfriBindingConstants;
 import org.openhab.binding.tradfri.internal.TradfriCoapClient;
 import org.openhab.binding.tradfri.internal.TradfriCoapHandler;
+import org.openhab.binding.tradfri.internal.TradfriObserveManager;
 import org.openhab.binding.tradfri.internal.config.TradfriGatewayConfig;
 import org.openhab.binding.tradfri.internal.model.TradfriVersion;
 import org.slf4j.Logger;
@@ -77,6 +78,7 @@ public class TradfriGatewayHandler extends BaseBridgeHandler implements CoapCall
     private @NonNullByDefault({}) String gatewayInfoURI;
     private @NonNullByDefault({}) DTLSConnector dtlsConnector;
     private @Nullable CoapEndpoint endPoint;
+    private @Nullable TradfriObserveManager observeManager;
 
     private final Set<DeviceUpdateListener> deviceUpdateListeners = new CopyOnWriteArraySet<>();
 
@@ -151,8 +153,10 @@ public class TradfriGatewayHandler extends BaseBridgeHandler implements CoapCall
         builder.setMaxConnections(100);
         builder.setStaleConnectionThreshold(60);
         dtlsConnector = new DTLSConnector(builder.build());
-        endPoint = new CoapEndpoint.Builder().setConnector(dtlsConnector).build();
-        deviceClient.setEndpoint(endPoint);
+        CoapEndpoint localEndPoint = new CoapEndpoint.Builder().setConnector(dtlsConnector).build();
+        endPoint = localEndPoint;
+        deviceClient.setEndpoint(localEndPoint);
+        observeManager = new TradfriObserveManager(gatewayURI, localEndPoint, scheduler);
         updateStatus(ThingStatus.UNKNOWN);
 
         // schedule a new scan every minute
@@ -257,6 +261,11 @@ public class TradfriGatewayHandler extends BaseBridgeHandler implements CoapCall
             scanJob.cancel(true);
             scanJob = null;
         }
+        TradfriObserveManager localObserveManager = observeManager;
+        if (localObserveManager != null) {
+            localObserveManager.dispose();
+            observeManager = null;
+        }
         if (endPoint != null) {
             endPoint.destroy();
             endPoint = null;
@@ -297,6 +306,15 @@ public class TradfriGatewayHandler extends BaseBridgeHandler implements CoapCall
         return endPoint;
     }
 
+    /**
+     * Returns the manager observing the devices of this gateway.
+     *
+     * @return the observe manager or null if the gateway is not connected
+     */
+    public @Nullable TradfriObserveManager getObserveManager() {
+        return observeManager;
+    }
+
     @Override
     public void onUpdate(JsonElement data) {
         logger.debug("onUpdate response: {}", data);
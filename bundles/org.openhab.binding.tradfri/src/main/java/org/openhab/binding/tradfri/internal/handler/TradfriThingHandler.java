@@ -18,7 +18,6 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.concurrent.TimeUnit;
 
-import org.eclipse.californium.core.CoapObserveRelation;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.thing.Bridge;
@@ -29,6 +28,7 @@ import org.eclipse.smarthome.core.thing.ThingStatusInfo;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandler;
 import org.openhab.binding.tradfri.internal.CoapCallback;
 import org.openhab.binding.tradfri.internal.TradfriCoapClient;
+import org.openhab.binding.tradfri.internal.TradfriObserveManager;
 import org.openhab.binding.tradfri.internal.config.TradfriDeviceConfig;
 import org.openhab.binding.tradfri.internal.model.TradfriDeviceData;
 import org.slf4j.Logger;
@@ -53,7 +53,8 @@ public abstract class TradfriThingHandler extends BaseThingHandler implements Co
 
     protected @NonNullByDefault({}) TradfriCoapClient coapClient;
 
-    private @Nullable CoapObserveRelation observeRelation;
+    // observes the device, owned by the gateway handler
+    private @Nullable TradfriObserveManager observeManager;
 
     public TradfriThingHandler(Thing thing) {
         super(thing);
@@ -71,6 +72,7 @@ public abstract class TradfriThingHandler extends BaseThingHandler implements Co
             URI uri = new URI(uriString);
             coapClient = new TradfriCoapClient(uri);
             coapClient.setEndpoint(handler.getEndpoint());
+            observeManager = handler.getObserveManager();
         } catch (URISyntaxException e) {
             logger.debug("Illegal device URI `{}`: {}", uriString, e.getMessage());
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
@@ -80,9 +82,10 @@ public abstract class TradfriThingHandler extends BaseThingHandler implements Co
         updateStatus(ThingStatus.UNKNOWN);
         switch (tradfriGateway.getStatus()) {
             case ONLINE:
-                scheduler.schedule(() -> {
-                    observeRelation = coapClient.startObserve(this);
-                }, 3, TimeUnit.SECONDS);
+                TradfriObserveManager localObserveManager = observeManager;
+                if (localObserveManager != null) {
+                    localObserveManager.observe(String.valueOf(id), this);
+                }
                 break;
             case OFFLINE:
             default:
@@ -95,9 +98,10 @@ public abstract class TradfriThingHandler extends BaseThingHandler implements Co
     @Override
     public synchronized void dispose() {
         active = false;
-        if (observeRelation != null) {
-            observeRelation.reactiveCancel();
-            observeRelation = null;
+        TradfriObserveManager localObserveManager = observeManager;
+        if (localObserveManager != null) {
+            localObserveManager.cancel(String.valueOf(id));
+            observeManager = null;
         }
         if (coapClient != null) {
             coapClient.shutdown();
@@ -112,11 +116,10 @@ public abstract class TradfriThingHandler extends BaseThingHandler implements Co
             updateStatus(status, statusDetail);
             // we are offline and lost our observe relation - let's try to establish the connection in 10 seconds again
             scheduler.schedule(() -> {
-                if (observeRelation != null) {
-                    observeRelation.reactiveCancel();
-                    observeRelation = null;
+                TradfriObserveManager localObserveManager = observeManager;
+                if (active && localObserveManager != null) {
+                    localObserveManager.reobserve(String.valueOf(id));
                 }
-                observeRelation = coapClient.startObserve(this);
             }, 10, TimeUnit.SECONDS);
         }
     }
@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.tradfri.internal;
+
+import static org.junit.Assert.*;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.californium.core.CoapResource;
+import org.eclipse.californium.core.CoapServer;
+import org.eclipse.californium.core.network.CoapEndpoint;
+import org.eclipse.californium.core.server.resources.CoapExchange;
+import org.eclipse.smarthome.core.thing.ThingStatus;
+import org.eclipse.smarthome.core.thing.ThingStatusDetail;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+
+/**
+ * Tests for {@link TradfriObserveManager} against a local CoAP server standing in for the gateway.
+ *
+ * @author agent - Initial contribution
+ */
+public class TradfriObserveManagerTest {
+
+    private static final long TIMEOUT = 5;
+
+    private CoapServer server;
+    private DeviceResource device1;
+    private DeviceResource device2;
+    private CoapEndpoint clientEndpoint;
+    private ScheduledExecutorService scheduler;
+    private TradfriObserveManager observeManager;
+
+    private static class DeviceResource extends CoapResource {
+        private volatile int dimmer;
+
+        DeviceResource(String instanceId) {
+            super(instanceId);
+            setObservable(true);
+        }
+
+        void setDimmer(int dimmer) {
+            this.dimmer = dimmer;
+            changed();
+        }
+
+        @Override
+        public void handleGET(CoapExchange exchange) {
+            exchange.respond("{\"9003\":" + getName() + ",\"5851\":" + dimmer + "}");
+        }
+    }
+
+    private static class RecordingCallback implements CoapCallback {
+        private final BlockingQueue<JsonElement> updates = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onUpdate(JsonElement data) {
+            updates.add(data);
+        }
+
+        @Override
+        public void setStatus(ThingStatus status, ThingStatusDetail statusDetail) {
+        }
+
+        int nextDimmer() throws InterruptedException {
+            JsonElement data = updates.poll(TIMEOUT, TimeUnit.SECONDS);
+            assertNotNull("No notification received", data);
+            return data.getAsJsonObject().get("5851").getAsInt();
+        }
+    }
+
+    @Before
+    public void setUp() {
+        CoapResource devices = new CoapResource("15001");
+        device1 = new DeviceResource("65537");
+        device2 = new DeviceResource("65538");
+        devices.add(device1);
+        devices.add(device2);
+
+        CoapEndpoint serverEndpoint = new CoapEndpoint.Builder()
+                .setInetSocketAddress(new InetSocketAddress("127.0.0.1", 0)).build();
+        server = new CoapServer();
+        server.addEndpoint(serverEndpoint);
+        server.add(devices);
+        server.start();
+
+        clientEndpoint = new CoapEndpoint.Builder().build();
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        observeManager = new TradfriObserveManager(
+                "coap://127.0.0.1:" + serverEndpoint.getAddress().getPort() + "/15001", clientEndpoint, scheduler);
+    }
+
+    @After
+    public void tearDown() {
+        observeManager.dispose();
+        clientEndpoint.destroy();
+        scheduler.shutdownNow();
+        server.destroy();
+    }
+
+    @Test
+    public void notificationsAreDispatchedToTheCallbackOfTheDevice() throws InterruptedException {
+        RecordingCallback callback1 = new RecordingCallback();
+        RecordingCallback callback2 = new RecordingCallback();
+        observeManager.observe("65537", callback1);
+        observeManager.observe("65538", callback2);
+
+        assertEquals(0, callback1.nextDimmer());
+        assertEquals(0, callback2.nextDimmer());
+
+        device1.setDimmer(100);
+        assertEquals(100, callback1.nextDimmer());
+
+        device2.setDimmer(200);
+        assertEquals(200, callback2.nextDimmer());
+        assertTrue(callback1.updates.isEmpty());
+    }
+
+    @Test
+    public void cancelledObservationsAreNotDispatched() throws InterruptedException {
+        RecordingCallback callback = new RecordingCallback();
+        observeManager.observe("65537", callback);
+        assertEquals(0, callback.nextDimmer());
+
+        observeManager.cancel("65537");
+        device1.setDimmer(100);
+        assertNull(callback.updates.poll(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void reobservedDevicesReceiveTheCurrentState() throws InterruptedException {
+        RecordingCallback callback = new RecordingCallback();
+        observeManager.observe("65537", callback);
+        assertEquals(0, callback.nextDimmer());
+
+        device1.setDimmer(50);
+        assertEquals(50, callback.nextDimmer());
+
+        observeManager.reobserve("65537");
+        assertEquals(50, callback.nextDimmer());
+    }
+}
@@ -56,6 +56,8 @@ public class WemoHandlerFactory extends BaseThingHandlerFactory {
 
     private UpnpIOService upnpIOService;
 
+    private WemoSubscriptionManager subscriptionManager;
+
     public static final Set<ThingTypeUID> SUPPORTED_THING_TYPES = WemoBindingConstants.SUPPORTED_THING_TYPES;
 
     @Override
@@ -87,7 +89,7 @@ public class WemoHandlerFactory extends BaseThingHandlerFactory {
             } else if (WemoBindingConstants.SUPPORTED_DEVICE_THING_TYPES.contains(thing.getThingTypeUID())) {
                 logger.debug("Creating a WemoHandler for thing '{}' with UDN '{}'", thing.getUID(),
                         thing.getConfiguration().get(UDN));
-                return new WemoHandler(thing, upnpIOService, wemoHttpcaller);
+                return new WemoHandler(thing, upnpIOService, subscriptionManager, wemoHttpcaller);
             } else if (thingTypeUID.equals(WemoBindingConstants.THING_TYPE_COFFEE)) {
                 logger.debug("Creating a WemoCoffeeHandler for thing '{}' with UDN '{}'", thing.getUID(),
                         thing.getConfiguration().get(UDN));
@@ -95,9 +97,9 @@ public class WemoHandlerFactory extends BaseThingHandlerFactory {
             } else if (thingTypeUID.equals(WemoBindingConstants.THING_TYPE_DIMMER)) {
                 logger.debug("Creating a WemoDimmerHandler for thing '{}' with UDN '{}'", thing.getUID(),
                         thing.getConfiguration().get("udn"));
-                return new WemoDimmerHandler(thing, upnpIOService, wemoHttpcaller);
+                return new WemoDimmerHandler(thing, upnpIOService, subscriptionManager, wemoHttpcaller);
             } else if (thingTypeUID.equals(WemoBindingConstants.THING_TYPE_MZ100)) {
-                return new WemoLightHandler(thing, upnpIOService, wemoHttpcaller);
+                return new WemoLightHandler(thing, upnpIOService, subscriptionManager, wemoHttpcaller);
             } else {
                 logger.warn("ThingHandler not found for {}", thingTypeUID);
                 return null;
@@ -109,10 +111,12 @@ public class WemoHandlerFactory extends BaseThingHandlerFactory {
     @Reference
     protected void setUpnpIOService(UpnpIOService upnpIOService) {
         this.upnpIOService = upnpIOService;
+        this.subscriptionManager = new WemoSubscriptionManager(upnpIOService);
     }
 
     protected void unsetUpnpIOService(UpnpIOService upnpIOService) {
         this.upnpIOService = null;
+        this.subscriptionManager = null;
     }
 
     @Override
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.wemo.internal;
+
+import static org.openhab.binding.wemo.internal.WemoBindingConstants.SUBSCRIPTION_DURATION;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.smarthome.io.transport.upnp.UpnpIOParticipant;
+import org.eclipse.smarthome.io.transport.upnp.UpnpIOService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link WemoSubscriptionManager} keeps track of the GENA subscriptions of all WeMo devices of the binding.
+ * <p>
+ * A subscription only counts as established after the {@link UpnpIOService} confirmed it. As long as all
+ * subscriptions of a device are established, state changes are pushed by the device and the handler does not need to
+ * poll. A failed or ended subscription is requested again with the next refresh of the handler, which polls in the
+ * meantime.
+ *
+ * @author agent - Initial contribution
+ */
+public class WemoSubscriptionManager {
+
+    private final Logger logger = LoggerFactory.getLogger(WemoSubscriptionManager.class);
+
+    private enum SubscriptionState {
+        REQUESTED,
+        ESTABLISHED,
+        FAILED
+    }
+
+    private final UpnpIOService service;
+
+    private final Map<UpnpIOParticipant, Map<String, SubscriptionState>> subscriptions = new HashMap<>();
+
+    public WemoSubscriptionManager(UpnpIOService service) {
+        this.service = service;
+    }
+
+    /**
+     * Subscribes to the given services of a device, unless a subscription is already established or requested.
+     *
+     * @param participant the handler of the device
+     * @param services the services to subscribe to
+     */
+    public synchronized void subscribe(UpnpIOParticipant participant, String... services) {
+        if (!service.isRegistered(participant)) {
+            logger.debug("Setting up WeMo GENA subscription for '{}' FAILED - UPnP device not registered",
+                    participant.getUDN());
+            return;
+        }
+
+        Map<String, SubscriptionState> states = subscriptions.computeIfAbsent(participant, p -> new HashMap<>());
+        for (String subscription : services) {
+            SubscriptionState state = states.get(subscription);
+            if (state == null || state == SubscriptionState.FAILED) {
+                logger.debug("Setting up GENA subscription {}: Subscribing to service {}...", participant.getUDN(),
+                        subscription);
+                states.put(subscription, SubscriptionState.REQUESTED);
+                service.addSubscription(participant, subscription, SUBSCRIPTION_DURATION);
+            }
+        }
+    }
+
+    /**
+     * Records the result of a subscription, to be called from
+     * {@link UpnpIOParticipant#onServiceSubscribed(String, boolean)}.
+     *
+     * @param participant the handler of the device
+     * @param subscription the service subscribed to
+     * @param succeeded whether the subscription is established
+     * @return {@code true} if an established subscription has been lost
+     */
+    public synchronized boolean onServiceSubscribed(UpnpIOParticipant participant, String subscription,
+            boolean succeeded) {
+        Map<String, SubscriptionState> states = subscriptions.get(participant);
+        if (states == null) {
+            return false;
+        }
+        SubscriptionState previous = states.put(subscription,
+                succeeded ? SubscriptionState.ESTABLISHED : SubscriptionState.FAILED);
+        return !succeeded && previous == SubscriptionState.ESTABLISHED;
+    }
+
+    /**
+     * Returns whether the device pushes its state changes, i.e. whether all subscriptions of the device are
+     * established.
+     *
+     * @param participant the handler of the device
+     * @return {@code true} if polling the device is not required
+     */
+    public synchronized boolean isEventDriven(UpnpIOParticipant participant) {
+        Map<String, SubscriptionState> states = subscriptions.get(participant);
+        if (states == null || states.isEmpty() || !service.isRegistered(participant)) {
+            return false;
+        }
+        return states.values().stream().allMatch(state -> state == SubscriptionState.ESTABLISHED);
+    }
+
+    /**
+     * Removes the subscriptions of a device and unregisters the device from the {@link UpnpIOService}.
+     *
+     * @param participant the handler of the device
+     */
+    public synchronized void unsubscribe(UpnpIOParticipant participant) {
+        logger.debug("Removing WeMo GENA subscription for '{}'", participant.getUDN());
+
+        Map<String, SubscriptionState> states = subscriptions.remove(participant);
+        if (service.isRegistered(participant)) {
+            if (states != null) {
+                for (Map.Entry<String, SubscriptionState> entry : states.entrySet()) {
+                    if (entry.getValue() != SubscriptionState.FAILED) {
+                        logger.debug("WeMo {}: Unsubscribing from service {}...", participant.getUDN(),
+                                entry.getKey());
+                        service.removeSubscription(participant, entry.getKey());
+                    }
+                }
+            }
+            service.unregisterParticipant(participant);
+        }
+    }
+}
@@ -43,6 +43,7 @@ import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.io.transport.upnp.UpnpIOParticipant;
 import org.eclipse.smarthome.io.transport.upnp.UpnpIOService;
+import org.openhab.binding.wemo.internal.WemoSubscriptionManager;
 import org.openhab.binding.wemo.internal.http.WemoHttpCall;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,10 +59,9 @@ public class WemoDimmerHandler extends AbstractWemoHandler implements UpnpIOPart
 
     private final Logger logger = LoggerFactory.getLogger(WemoDimmerHandler.class);
     public final static Set<ThingTypeUID> SUPPORTED_THING_TYPES = Collections.singleton(THING_TYPE_DIMMER);
-    private Map<String, Boolean> subscriptionState = new HashMap<String, Boolean>();
     private Map<String, String> stateMap = Collections.synchronizedMap(new HashMap<String, String>());
-    protected final static int SUBSCRIPTION_DURATION = 600;
     private UpnpIOService service;
+    private final WemoSubscriptionManager subscriptionManager;
     private int currentBrightness;
     private int currentNightModeBrightness;
     private String currentNightModeState = null;
@@ -82,17 +82,24 @@ public class WemoDimmerHandler extends AbstractWemoHandler implements UpnpIOPart
                 if (!isUpnpDeviceRegistered()) {
                     logger.debug("WeMo UPnP device {} not yet registered", getUDN());
                 }
-                updateWemoState();
                 onSubscription();
+                if (subscriptionManager.isEventDriven(WemoDimmerHandler.this)) {
+                    // the state is received with GENA events, only the night mode configuration is polled
+                    updateNightModeState();
+                } else {
+                    updateWemoState();
+                }
             } catch (Exception e) {
                 logger.debug("Exception during poll : {}", e.getMessage(), e);
             }
         }
     };
 
-    public WemoDimmerHandler(Thing thing, UpnpIOService upnpIOService, WemoHttpCall wemohttpCaller) {
+    public WemoDimmerHandler(Thing thing, UpnpIOService upnpIOService, WemoSubscriptionManager subscriptionManager,
+            WemoHttpCall wemohttpCaller) {
         super(thing);
         this.wemoHttpCaller = wemohttpCaller;
+        this.subscriptionManager = subscriptionManager;
         logger.debug("Creating a WemoDimmerHandler for thing '{}'", getThing().getUID());
         if (upnpIOService != null) {
             this.service = upnpIOService;
@@ -313,7 +320,10 @@ public class WemoDimmerHandler extends AbstractWemoHandler implements UpnpIOPart
     @Override
     public void onServiceSubscribed(String service, boolean succeeded) {
         logger.debug("WeMo {}: Subscription to service {} {}", getUDN(), service, succeeded ? "succeeded" : "failed");
-        subscriptionState.put(service, succeeded);
+        if (subscriptionManager.onServiceSubscribed(this, service, succeeded)) {
+            // changes may have been missed, catch up and poll until the subscription is back
+            scheduler.execute(this::updateWemoState);
+        }
     }
 
     @Override
@@ -390,32 +400,12 @@ public class WemoDimmerHandler extends AbstractWemoHandler implements UpnpIOPart
         }
     }
 
-    private synchronized void onSubscription() {
-        if (service.isRegistered(this)) {
-            logger.debug("Checking WeMo GENA subscription for '{}'", this);
-            String subscription = "basicevent1";
-            if ((subscriptionState.get(subscription) == null) || !subscriptionState.get(subscription).booleanValue()) {
-                logger.debug("Setting up GENA subscription {}: Subscribing to service {}...", getUDN(), subscription);
-                service.addSubscription(this, subscription, SUBSCRIPTION_DURATION);
-                subscriptionState.put(subscription, true);
-            }
-        } else {
-            logger.debug("Setting up WeMo GENA subscription for '{}' FAILED - service.isRegistered(this) is FALSE",
-                    this);
-        }
+    private void onSubscription() {
+        subscriptionManager.subscribe(this, "basicevent1");
     }
 
-    private synchronized void removeSubscription() {
-        logger.debug("Removing WeMo GENA subscription for '{}'", this);
-        if (service.isRegistered(this)) {
-            String subscription = "basicevent1";
-            if ((subscriptionState.get(subscription) != null) && subscriptionState.get(subscription).booleanValue()) {
-                logger.debug("WeMo {}: Unsubscribing from service {}...", getUDN(), subscription);
-                service.removeSubscription(this, subscription);
-            }
-            subscriptionState = new HashMap<String, Boolean>();
-            service.unregisterParticipant(this);
-        }
+    private void removeSubscription() {
+        subscriptionManager.unsubscribe(this);
     }
 
     private synchronized void onUpdate() {
@@ -485,11 +475,20 @@ public class WemoDimmerHandler extends AbstractWemoHandler implements UpnpIOPart
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, e.getMessage());
         }
         updateStatus(ThingStatus.ONLINE);
-        action = "GetNightModeConfiguration";
-        variable = null;
-        value = null;
-        soapHeader = "\"urn:Belkin:service:" + actionService + ":1#" + action + "\"";
-        content = "<?xml version=\"1.0\"?>"
+        updateNightModeState();
+    }
+
+    /**
+     * The {@link updateNightModeState} polls the night mode configuration of a WeMo dimmer. It is still polled while
+     * the state of the dimmer is received with GENA events.
+     */
+    protected void updateNightModeState() {
+        String action = "GetNightModeConfiguration";
+        String variable = null;
+        String actionService = "basicevent";
+        String value = null;
+        String soapHeader = "\"urn:Belkin:service:" + actionService + ":1#" + action + "\"";
+        String content = "<?xml version=\"1.0\"?>"
                 + "<s:Envelope xmlns:s=\"http://schemas.xmlsoap.org/soap/envelope/\" s:encodingStyle=\"http://schemas.xmlsoap.org/soap/encoding/\">"
                 + "<s:Body>" + "<u:" + action + " xmlns:u=\"urn:Belkin:service:" + actionService + ":1\">" + "</u:"
                 + action + ">" + "</s:Body>" + "</s:Envelope>";
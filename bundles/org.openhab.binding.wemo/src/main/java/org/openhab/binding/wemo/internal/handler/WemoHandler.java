@@ -51,6 +51,7 @@ import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.io.transport.upnp.UpnpIOParticipant;
 import org.eclipse.smarthome.io.transport.upnp.UpnpIOService;
+import org.openhab.binding.wemo.internal.WemoSubscriptionManager;
 import org.openhab.binding.wemo.internal.http.WemoHttpCall;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -74,14 +75,19 @@ public class WemoHandler extends AbstractWemoHandler implements UpnpIOParticipan
             .of(THING_TYPE_SOCKET, THING_TYPE_INSIGHT, THING_TYPE_LIGHTSWITCH, THING_TYPE_MOTION)
             .collect(Collectors.toSet());
 
-    private Map<String, Boolean> subscriptionState = new HashMap<String, Boolean>();
-
     private final Map<String, String> stateMap = Collections.synchronizedMap(new HashMap<String, String>());
 
     // protected static final int SUBSCRIPTION_DURATION = WemoBindingConstants.SUBSCRIPTION_DURATION;
 
     private UpnpIOService service;
 
+    private final WemoSubscriptionManager subscriptionManager;
+
+    /**
+     * The control port found by the last port scan, reused until a request to the device fails.
+     */
+    private volatile String controlPort;
+
     /**
      * The default refresh interval in Seconds.
      */
@@ -98,8 +104,12 @@ public class WemoHandler extends AbstractWemoHandler implements UpnpIOParticipan
                     logger.debug("WeMo UPnP device {} not yet registered", getUDN());
                 }
 
-                updateWemoState();
                 onSubscription();
+                if (subscriptionManager.isEventDriven(WemoHandler.this)) {
+                    logger.trace("WeMo {} sends GENA events, skipping poll", getUDN());
+                } else {
+                    updateWemoState();
+                }
             } catch (Exception e) {
                 logger.debug("Exception during poll", e);
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, e.getMessage());
@@ -107,10 +117,12 @@ public class WemoHandler extends AbstractWemoHandler implements UpnpIOParticipan
         }
     };
 
-    public WemoHandler(Thing thing, UpnpIOService upnpIOService, WemoHttpCall wemohttpCaller) {
+    public WemoHandler(Thing thing, UpnpIOService upnpIOService, WemoSubscriptionManager subscriptionManager,
+            WemoHttpCall wemohttpCaller) {
         super(thing);
 
         this.wemoHttpCaller = wemohttpCaller;
+        this.subscriptionManager = subscriptionManager;
 
         logger.debug("Creating a WemoHandler for thing '{}'", getThing().getUID());
 
@@ -180,7 +192,7 @@ public class WemoHandler extends AbstractWemoHandler implements UpnpIOParticipan
                     String wemoURL = getWemoURL("basicevent");
 
                     if (wemoURL != null) {
-                        wemoHttpCaller.executeCall(wemoURL, soapHeader, content);
+                        executeCall(wemoURL, soapHeader, content);
                     }
                 } catch (Exception e) {
                     logger.error("Failed to send command '{}' for device '{}': {}", command, getThing().getUID(),
@@ -195,7 +207,10 @@ public class WemoHandler extends AbstractWemoHandler implements UpnpIOParticipan
     @Override
     public void onServiceSubscribed(String service, boolean succeeded) {
         logger.debug("WeMo {}: Subscription to service {} {}", getUDN(), service, succeeded ? "succeeded" : "failed");
-        subscriptionState.put(service, succeeded);
+        if (subscriptionManager.onServiceSubscribed(this, service, succeeded)) {
+            // changes may have been missed, catch up and poll until the subscription is back
+            scheduler.execute(this::updateWemoState);
+        }
     }
 
     @SuppressWarnings("null")
@@ -339,58 +354,16 @@ public class WemoHandler extends AbstractWemoHandler implements UpnpIOParticipan
         }
     }
 
-    private synchronized void onSubscription() {
-        if (service.isRegistered(this)) {
-            logger.debug("Checking WeMo GENA subscription for '{}'", this);
-
-            ThingTypeUID thingTypeUID = thing.getThingTypeUID();
-            String subscription = "basicevent1";
-
-            if ((subscriptionState.get(subscription) == null) || !subscriptionState.get(subscription).booleanValue()) {
-                logger.debug("Setting up GENA subscription {}: Subscribing to service {}...", getUDN(), subscription);
-                service.addSubscription(this, subscription, SUBSCRIPTION_DURATION);
-                subscriptionState.put(subscription, true);
-            }
-
-            if (thingTypeUID.equals(THING_TYPE_INSIGHT)) {
-                subscription = "insight1";
-                if ((subscriptionState.get(subscription) == null)
-                        || !subscriptionState.get(subscription).booleanValue()) {
-                    logger.debug("Setting up GENA subscription {}: Subscribing to service {}...", getUDN(),
-                            subscription);
-                    service.addSubscription(this, subscription, SUBSCRIPTION_DURATION);
-                    subscriptionState.put(subscription, true);
-                }
-            }
+    private void onSubscription() {
+        if (THING_TYPE_INSIGHT.equals(thing.getThingTypeUID())) {
+            subscriptionManager.subscribe(this, "basicevent1", "insight1");
         } else {
-            logger.debug("Setting up WeMo GENA subscription for '{}' FAILED - service.isRegistered(this) is FALSE",
-                    this);
+            subscriptionManager.subscribe(this, "basicevent1");
         }
     }
 
-    private synchronized void removeSubscription() {
-        logger.debug("Removing WeMo GENA subscription for '{}'", this);
-
-        if (service.isRegistered(this)) {
-            ThingTypeUID thingTypeUID = thing.getThingTypeUID();
-            String subscription = "basicevent1";
-
-            if ((subscriptionState.get(subscription) != null) && subscriptionState.get(subscription).booleanValue()) {
-                logger.debug("WeMo {}: Unsubscribing from service {}...", getUDN(), subscription);
-                service.removeSubscription(this, subscription);
-            }
-
-            if (thingTypeUID.equals(THING_TYPE_INSIGHT)) {
-                subscription = "insight1";
-                if ((subscriptionState.get(subscription) != null)
-                        && subscriptionState.get(subscription).booleanValue()) {
-                    logger.debug("WeMo {}: Unsubscribing from service {}...", getUDN(), subscription);
-                    service.removeSubscription(this, subscription);
-                }
-            }
-            subscriptionState = new HashMap<String, Boolean>();
-            service.unregisterParticipant(this);
-        }
+    private void removeSubscription() {
+        subscriptionManager.unsubscribe(this);
     }
 
     private synchronized void onUpdate() {
@@ -440,7 +413,7 @@ public class WemoHandler extends AbstractWemoHandler implements UpnpIOParticipan
         try {
             String wemoURL = getWemoURL(actionService);
             if (wemoURL != null) {
-                String wemoCallResponse = wemoHttpCaller.executeCall(wemoURL, soapHeader, content);
+                String wemoCallResponse = executeCall(wemoURL, soapHeader, content);
                 if (wemoCallResponse != null) {
                     logger.trace("State response '{}' for device '{}' received", wemoCallResponse, getThing().getUID());
                     if (variable.equals("InsightParams")) {
@@ -468,13 +441,14 @@ public class WemoHandler extends AbstractWemoHandler implements UpnpIOParticipan
         String port = null;
         if (descriptorURL != null) {
             host = StringUtils.substringBetween(descriptorURL.toString(), "://", ":");
-            for (int i = portCheckStart; i < portCheckStop; i++) {
+            port = controlPort;
+            for (int i = portCheckStart; port == null && i < portCheckStop; i++) {
                 try {
                     boolean portFound = servicePing(host, i);
                     if (portFound) {
                         logger.trace("WeMo device {} responded at Port {}", getUDN(), i);
                         port = String.valueOf(i);
-                        break;
+                        controlPort = port;
                     }
                 } catch (Exception e) {
                 }
@@ -485,6 +459,15 @@ public class WemoHandler extends AbstractWemoHandler implements UpnpIOParticipan
         return wemoURL;
     }
 
+    private String executeCall(String wemoURL, String soapHeader, String content) {
+        String wemoCallResponse = wemoHttpCaller.executeCall(wemoURL, soapHeader, content);
+        if (wemoCallResponse == null) {
+            // the device may have changed its port, scan again with the next request
+            controlPort = null;
+        }
+        return wemoCallResponse;
+    }
+
     public boolean servicePing(String host, int port) throws IOException {
         SocketAddress socketAddress = new InetSocketAddress(host, port);
         try (Socket socket = new Socket()) {
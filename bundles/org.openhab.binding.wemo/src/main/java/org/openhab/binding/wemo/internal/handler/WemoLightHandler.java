@@ -16,8 +16,6 @@ import static org.openhab.binding.wemo.internal.WemoBindingConstants.*;
 
 import java.math.BigDecimal;
 import java.net.URL;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -39,6 +37,7 @@ import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.io.transport.upnp.UpnpIOParticipant;
 import org.eclipse.smarthome.io.transport.upnp.UpnpIOService;
+import org.openhab.binding.wemo.internal.WemoSubscriptionManager;
 import org.openhab.binding.wemo.internal.http.WemoHttpCall;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,10 +52,10 @@ public class WemoLightHandler extends AbstractWemoHandler implements UpnpIOParti
 
     private final Logger logger = LoggerFactory.getLogger(WemoLightHandler.class);
 
-    private Map<String, Boolean> subscriptionState = new HashMap<String, Boolean>();
-
     private UpnpIOService service;
 
+    private final WemoSubscriptionManager subscriptionManager;
+
     private WemoBridgeHandler wemoBridgeHandler;
 
     private String wemoLightID;
@@ -70,8 +69,6 @@ public class WemoLightHandler extends AbstractWemoHandler implements UpnpIOParti
 
     protected static final String SUBSCRIPTION = "bridge1";
 
-    protected static final int SUBSCRIPTION_DURATION = 600;
-
     /**
      * The default refresh interval in Seconds.
      */
@@ -93,8 +90,12 @@ public class WemoLightHandler extends AbstractWemoHandler implements UpnpIOParti
                     logger.debug("WeMo UPnP device {} not yet registered", getUDN());
                 }
 
-                getDeviceState();
                 onSubscription();
+                if (subscriptionManager.isEventDriven(WemoLightHandler.this)) {
+                    logger.trace("WeMo bridge sends GENA events for LightID '{}', skipping poll", wemoLightID);
+                } else {
+                    getDeviceState();
+                }
             } catch (Exception e) {
                 logger.debug("Exception during poll", e);
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, e.getMessage());
@@ -102,10 +103,12 @@ public class WemoLightHandler extends AbstractWemoHandler implements UpnpIOParti
         }
     };
 
-    public WemoLightHandler(Thing thing, UpnpIOService upnpIOService, WemoHttpCall wemoHttpcaller) {
+    public WemoLightHandler(Thing thing, UpnpIOService upnpIOService, WemoSubscriptionManager subscriptionManager,
+            WemoHttpCall wemoHttpcaller) {
         super(thing);
 
         this.wemoHttpCaller = wemoHttpcaller;
+        this.subscriptionManager = subscriptionManager;
 
         if (upnpIOService != null) {
             logger.debug("UPnPIOService '{}'", upnpIOService);
@@ -342,6 +345,11 @@ public class WemoLightHandler extends AbstractWemoHandler implements UpnpIOParti
 
     @Override
     public void onServiceSubscribed(String service, boolean succeeded) {
+        logger.debug("WeMo {}: Subscription to service {} {}", getUDN(), service, succeeded ? "succeeded" : "failed");
+        if (subscriptionManager.onServiceSubscribed(this, service, succeeded)) {
+            // changes may have been missed, catch up and poll until the subscription is back
+            scheduler.execute(this::getDeviceState);
+        }
     }
 
     @Override
@@ -373,33 +381,12 @@ public class WemoLightHandler extends AbstractWemoHandler implements UpnpIOParti
     public void onStatusChanged(boolean status) {
     }
 
-    private synchronized void onSubscription() {
-        if (service.isRegistered(this)) {
-            logger.debug("Checking WeMo GENA subscription for '{}'", this);
-
-            if ((subscriptionState.get(SUBSCRIPTION) == null) || !subscriptionState.get(SUBSCRIPTION).booleanValue()) {
-                logger.debug("Setting up GENA subscription {}: Subscribing to service {}...", getUDN(), SUBSCRIPTION);
-                service.addSubscription(this, SUBSCRIPTION, SUBSCRIPTION_DURATION);
-                subscriptionState.put(SUBSCRIPTION, true);
-            }
-        } else {
-            logger.debug("Setting up WeMo GENA subscription for '{}' FAILED - service.isRegistered(this) is FALSE",
-                    this);
-        }
+    private void onSubscription() {
+        subscriptionManager.subscribe(this, SUBSCRIPTION);
     }
 
-    private synchronized void removeSubscription() {
-        if (service.isRegistered(this)) {
-            logger.debug("Removing WeMo GENA subscription for '{}'", this);
-
-            if ((subscriptionState.get(SUBSCRIPTION) != null) && subscriptionState.get(SUBSCRIPTION).booleanValue()) {
-                logger.debug("WeMo {}: Unsubscribing from service {}...", getUDN(), SUBSCRIPTION);
-                service.removeSubscription(this, SUBSCRIPTION);
-            }
-
-            subscriptionState = new HashMap<String, Boolean>();
-            service.unregisterParticipant(this);
-        }
+    private void removeSubscription() {
+        subscriptionManager.unsubscribe(this);
     }
 
     private synchronized void onUpdate() {
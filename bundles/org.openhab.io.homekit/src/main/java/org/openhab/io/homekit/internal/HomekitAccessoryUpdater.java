@@ -12,13 +12,19 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.eclipse.smarthome.core.events.Event;
+import org.eclipse.smarthome.core.events.EventFilter;
+import org.eclipse.smarthome.core.events.EventSubscriber;
 import org.eclipse.smarthome.core.items.GenericItem;
-import org.eclipse.smarthome.core.items.Item;
-import org.eclipse.smarthome.core.items.StateChangeListener;
-import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.core.items.events.GroupItemStateChangedEvent;
+import org.eclipse.smarthome.core.items.events.ItemStateChangedEvent;
+import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,21 +32,31 @@ import io.github.hapjava.HomekitCharacteristicChangeCallback;
 
 /**
  * Subscribes and unsubscribes from Item changes to enable notification to Homekit
- * clients. Each item/key pair (key is optional) should be unique, as the underlying
+ * clients. Each owner/item/key triple (key is optional) should be unique, as the underlying
  * Homekit library takes care of insuring only a single subscription exists for
- * each accessory.
+ * each accessory. The owner is the accessory, so an accessory that is replaced by a
+ * rebuild cannot remove the subscription of the accessory replacing it.
+ *
+ * Instead of registering a listener at every item, this is a single subscriber of item state changed events, which
+ * looks up the characteristic itemCallbacks of the changed item by its name.
  *
  * @author Andy Lintner - Initial contribution
  */
-public class HomekitAccessoryUpdater {
+@Component(service = { HomekitAccessoryUpdater.class, EventSubscriber.class })
+public class HomekitAccessoryUpdater implements EventSubscriber {
+    private static final String NO_KEY = "";
+    private static final Set<String> SUBSCRIBED_EVENT_TYPES = Stream
+            .of(ItemStateChangedEvent.TYPE, GroupItemStateChangedEvent.TYPE).collect(Collectors.toSet());
+
     private Logger logger = LoggerFactory.getLogger(HomekitAccessoryUpdater.class);
-    private final ConcurrentMap<ItemKey, Subscription> subscriptionsByName = new ConcurrentHashMap<>();
+    private final Map<String, Map<Subscription, HomekitCharacteristicChangeCallback>> callbacks =
+            new ConcurrentHashMap<>();
 
-    public void subscribe(GenericItem item, HomekitCharacteristicChangeCallback callback) {
-        subscribe(item, null, callback);
+    public void subscribe(Object owner, GenericItem item, HomekitCharacteristicChangeCallback callback) {
+        subscribe(owner, item, null, callback);
     }
 
-    public void subscribe(GenericItem item, String key, HomekitCharacteristicChangeCallback callback) {
+    public void subscribe(Object owner, GenericItem item, String key, HomekitCharacteristicChangeCallback callback) {
         logger.trace("Received subscription request for {} / {}", item, key);
         if (item == null) {
             return;
@@ -49,62 +65,69 @@ public class HomekitAccessoryUpdater {
             logger.trace("The received subscription contains a null callback, skipping");
             return;
         }
-        ItemKey itemKey = new ItemKey(item, key);
-        subscriptionsByName.compute(itemKey, (k, v) -> {
-            if (v != null) {
+        callbacks.compute(item.getName(), (name, itemCallbacks) -> {
+            Map<Subscription, HomekitCharacteristicChangeCallback> newCallbacks = itemCallbacks != null
+                    ? itemCallbacks
+                    : new ConcurrentHashMap<>();
+            if (newCallbacks.put(new Subscription(owner, key), callback) != null) {
                 logger.debug("Received duplicate subscription for {} / {}", item, key);
-                unsubscribe(item, key);
             }
             logger.debug("Adding subscription for {} / {}", item, key);
-            Subscription subscription = (changedItem, oldState, newState) -> callback.changed();
-            item.addStateChangeListener(subscription);
-            return subscription;
+            return newCallbacks;
         });
     }
 
-    public void unsubscribe(GenericItem item) {
-        unsubscribe(item, null);
+    public void unsubscribe(Object owner, GenericItem item) {
+        unsubscribe(owner, item, null);
     }
 
-    public void unsubscribe(GenericItem item, String key) {
+    public void unsubscribe(Object owner, GenericItem item, String key) {
         if (item == null) {
             return;
         }
-        subscriptionsByName.computeIfPresent(new ItemKey(item, key), (k, v) -> {
-            logger.debug("Removing existing subscription for {} / {}", item, key);
-            item.removeStateChangeListener(v);
-            return null;
+        callbacks.computeIfPresent(item.getName(), (name, itemCallbacks) -> {
+            if (itemCallbacks.remove(new Subscription(owner, key)) != null) {
+                logger.debug("Removing existing subscription for {} / {}", item, key);
+            }
+            return itemCallbacks.isEmpty() ? null : itemCallbacks;
         });
     }
 
-    @FunctionalInterface
-    private static interface Subscription extends StateChangeListener {
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return SUBSCRIBED_EVENT_TYPES;
+    }
 
-        @Override
-        void stateChanged(Item item, State oldState, State newState);
+    @Override
+    public EventFilter getEventFilter() {
+        return null;
+    }
 
-        @Override
-        default void stateUpdated(Item item, State state) {
-            // Do nothing on non-change update
+    @Override
+    public void receive(Event event) {
+        ItemStateChangedEvent stateChangedEvent = (ItemStateChangedEvent) event;
+        Map<Subscription, HomekitCharacteristicChangeCallback> itemCallbacks = callbacks
+                .get(stateChangedEvent.getItemName());
+        if (itemCallbacks != null) {
+            itemCallbacks.values().forEach(HomekitCharacteristicChangeCallback::changed);
         }
     }
 
-    private static class ItemKey {
-        public GenericItem item;
-        public String key;
+    /**
+     * The subscription of a characteristic of an accessory, the owner is compared by identity.
+     */
+    private static class Subscription {
+        private final Object owner;
+        private final String key;
 
-        public ItemKey(GenericItem item, String key) {
-            this.item = item;
-            this.key = key;
+        Subscription(Object owner, String key) {
+            this.owner = owner;
+            this.key = key == null ? NO_KEY : key;
         }
 
         @Override
         public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + ((item == null) ? 0 : item.hashCode());
-            result = prime * result + ((key == null) ? 0 : key.hashCode());
-            return result;
+            return 31 * System.identityHashCode(owner) + key.hashCode();
         }
 
         @Override
@@ -112,28 +135,11 @@ public class HomekitAccessoryUpdater {
             if (this == obj) {
                 return true;
             }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
-            }
-            ItemKey other = (ItemKey) obj;
-            if (item == null) {
-                if (other.item != null) {
-                    return false;
-                }
-            } else if (!item.equals(other.item)) {
-                return false;
-            }
-            if (key == null) {
-                if (other.key != null) {
-                    return false;
-                }
-            } else if (!key.equals(other.key)) {
+            if (obj == null || getClass() != obj.getClass()) {
                 return false;
             }
-            return true;
+            Subscription other = (Subscription) obj;
+            return owner == other.owner && key.equals(other.key);
         }
     }
 }
@@ -14,14 +14,18 @@ package org.openhab.io.homekit.internal;
 
 import java.time.Clock;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemNotFoundException;
 import org.eclipse.smarthome.core.items.ItemRegistry;
@@ -43,11 +47,17 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     private final Logger logger = LoggerFactory.getLogger(HomekitChangeListener.class);
     private final ItemRegistry itemRegistry;
     private final HomekitAccessoryRegistry accessoryRegistry = new HomekitAccessoryRegistry();
-    private HomekitAccessoryUpdater updater = new HomekitAccessoryUpdater();
+    private HomekitAccessoryUpdater updater;
     private HomekitSettings settings;
 
     private Set<String> pendingUpdates = new HashSet<String>();
 
+    /**
+     * The items each created root accessory has been built from, to detect whether a dirty accessory actually needs to
+     * be rebuilt.
+     */
+    private final Map<String, AccessoryItems> accessoryItems = new ConcurrentHashMap<>();
+
     private final ScheduledExecutorService scheduler = ThreadPoolManager
             .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
 
@@ -61,8 +71,9 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
      */
     private final Debouncer applyUpdatesDebouncer;
 
-    HomekitChangeListener(ItemRegistry itemRegistry, HomekitSettings settings) {
+    HomekitChangeListener(ItemRegistry itemRegistry, HomekitAccessoryUpdater updater, HomekitSettings settings) {
         this.itemRegistry = itemRegistry;
+        this.updater = updater;
         this.settings = settings;
         this.applyUpdatesDebouncer = new Debouncer("update-homekit-devices", scheduler, Duration.ofMillis(1000),
                 Clock.systemUTC(), this::applyUpdates);
@@ -116,16 +127,28 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         }
     }
 
+    /**
+     * Rebuilds the root accessories of all dirty items. Accessories built from items of the same configuration are kept, so that
+     * neither the bridge nor its clients are bothered with accessories that did not change. The rebuild holds the lock
+     * of this listener, so it cannot interleave with clearing the accessories or changing the bridge.
+     */
     private synchronized void applyUpdates() {
-        Iterator<String> iter = pendingUpdates.iterator();
+        Set<String> updates = pendingUpdates;
+        pendingUpdates = new HashSet<>();
 
-        while (iter.hasNext()) {
-            String name = iter.next();
-            accessoryRegistry.remove(name);
+        for (String name : updates) {
+            Optional<HomekitTaggedItem> rootItem = getItemOptional(name)
+                    .map(i -> new HomekitTaggedItem(i, itemRegistry))
+                    .filter(i -> i.isAccessory() && !i.isMemberOfAccessoryGroup());
 
-            getItemOptional(name).map(i -> new HomekitTaggedItem(i, itemRegistry))
-                    .filter(i -> i.isAccessory() && !i.isMemberOfAccessoryGroup())
-                    .ifPresent(rootItem -> createRootAccessory(rootItem));
+            if (rootItem.isPresent() && new AccessoryItems(rootItem.get()).equals(accessoryItems.get(name))) {
+                logger.trace("Homekit device {} did not change", name);
+                continue;
+            }
+
+            accessoryRegistry.remove(name);
+            accessoryItems.remove(name);
+            rootItem.ifPresent(this::createRootAccessory);
         }
     }
 
@@ -137,6 +160,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     public synchronized void clearAccessories() {
         accessoryRegistry.clear();
+        accessoryItems.clear();
     }
 
     public synchronized void setBridge(HomekitRoot bridge) {
@@ -169,9 +193,53 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
             logger.debug("Adding homekit device {}", taggedItem.getItem().getUID());
             accessoryRegistry.addRootAccessory(taggedItem.getName(),
                     HomekitAccessoryFactory.create(taggedItem, itemRegistry, updater, settings));
+            accessoryItems.put(taggedItem.getName(), new AccessoryItems(taggedItem));
             logger.debug("Added homekit device {}", taggedItem.getItem().getUID());
         } catch (HomekitException | IncompleteAccessoryException e) {
             logger.warn("Could not add device {}: {}", taggedItem.getItem().getUID(), e.getMessage());
         }
     }
+
+    /**
+     * The configuration of the items a root accessory is built from. The registry replaces the instance of an item
+     * whenever its provider reloads it, so the items are compared by their name, type, label, tags and group
+     * membership; an accessory only needs to be rebuilt if one of them or the group members changed.
+     */
+    private static class AccessoryItems {
+        private final List<Object> configuration = new ArrayList<>();
+
+        AccessoryItems(HomekitTaggedItem taggedItem) {
+            add(taggedItem.getItem());
+            if (taggedItem.isGroup()) {
+                ((GroupItem) taggedItem.getItem()).getMembers().forEach(this::add);
+            }
+        }
+
+        private void add(Item item) {
+            configuration.add(item.getName());
+            configuration.add(item.getType());
+            if (item instanceof GroupItem && ((GroupItem) item).getBaseItem() != null) {
+                configuration.add(((GroupItem) item).getBaseItem().getType());
+            }
+            configuration.add(item.getLabel());
+            configuration.add(new HashSet<>(item.getTags()));
+            configuration.add(new HashSet<>(item.getGroupNames()));
+        }
+
+        @Override
+        public int hashCode() {
+            return configuration.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            return configuration.equals(((AccessoryItems) obj).configuration);
+        }
+    }
 }
@@ -63,12 +63,12 @@ public class HomekitImpl implements Homekit {
 
     @Activate
     public HomekitImpl(@Reference StorageService storageService, @Reference ItemRegistry itemRegistry,
-            @Reference NetworkAddressService networkAddressService, Map<String, Object> config)
-            throws IOException, InvalidAlgorithmParameterException {
+            @Reference NetworkAddressService networkAddressService, @Reference HomekitAccessoryUpdater updater,
+            Map<String, Object> config) throws IOException, InvalidAlgorithmParameterException {
         this.storageService = storageService;
         this.networkAddressService = networkAddressService;
         this.settings = processConfig(config);
-        this.changeListener = new HomekitChangeListener(itemRegistry, settings);
+        this.changeListener = new HomekitChangeListener(itemRegistry, updater, settings);
         startHomekitServer();
     }
 
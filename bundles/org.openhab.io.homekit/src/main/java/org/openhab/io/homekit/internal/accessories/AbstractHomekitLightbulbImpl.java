@@ -57,12 +57,12 @@ abstract class AbstractHomekitLightbulbImpl<T extends SwitchItem> extends Abstra
 
     @Override
     public void subscribeLightbulbPowerState(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(getItem(), callback);
+        getUpdater().subscribe(this, getItem(), callback);
     }
 
     @Override
     public void unsubscribeLightbulbPowerState() {
-        getUpdater().unsubscribe(getItem());
+        getUpdater().unsubscribe(this, getItem());
     }
 
 }
@@ -61,12 +61,12 @@ public class HomekitCarbonMonoxideSensorImpl extends AbstractHomekitAccessoryImp
 
     @Override
     public void subscribeCarbonMonoxideDetectedState(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(getItem(), callback);
+        getUpdater().subscribe(this, getItem(), callback);
     }
 
     @Override
     public void unsubscribeCarbonMonoxideDetectedState() {
-        getUpdater().unsubscribe(getItem());
+        getUpdater().unsubscribe(this, getItem());
     }
 
     @Override
@@ -120,31 +120,31 @@ class HomekitColorfulLightbulbImpl extends AbstractHomekitLightbulbImpl<ColorIte
 
     @Override
     public void subscribeHue(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(getItem(), "hue", callback);
+        getUpdater().subscribe(this, getItem(), "hue", callback);
     }
 
     @Override
     public void subscribeSaturation(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(getItem(), "saturation", callback);
+        getUpdater().subscribe(this, getItem(), "saturation", callback);
     }
 
     @Override
     public void subscribeBrightness(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(getItem(), "brightness", callback);
+        getUpdater().subscribe(this, getItem(), "brightness", callback);
     }
 
     @Override
     public void unsubscribeHue() {
-        getUpdater().unsubscribe(getItem(), "hue");
+        getUpdater().unsubscribe(this, getItem(), "hue");
     }
 
     @Override
     public void unsubscribeSaturation() {
-        getUpdater().unsubscribe(getItem(), "saturation");
+        getUpdater().unsubscribe(this, getItem(), "saturation");
     }
 
     @Override
     public void unsubscribeBrightness() {
-        getUpdater().unsubscribe(getItem(), "brightness");
+        getUpdater().unsubscribe(this, getItem(), "brightness");
     }
 }
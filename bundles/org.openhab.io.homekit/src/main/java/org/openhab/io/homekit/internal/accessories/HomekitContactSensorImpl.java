@@ -58,12 +58,12 @@ public class HomekitContactSensorImpl extends AbstractHomekitAccessoryImpl<Gener
 
     @Override
     public void subscribeContactState(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(getItem(), callback);
+        getUpdater().subscribe(this, getItem(), callback);
     }
 
     @Override
     public void unsubscribeContactState() {
-        getUpdater().unsubscribe(getItem());
+        getUpdater().unsubscribe(this, getItem());
     }
 
     @Override
@@ -62,11 +62,11 @@ class HomekitDimmableLightbulbImpl extends AbstractHomekitLightbulbImpl<DimmerIt
 
     @Override
     public void subscribeBrightness(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(getItem(), "brightness", callback);
+        getUpdater().subscribe(this, getItem(), "brightness", callback);
     }
 
     @Override
     public void unsubscribeBrightness() {
-        getUpdater().unsubscribe(getItem(), "brightness");
+        getUpdater().unsubscribe(this, getItem(), "brightness");
     }
 }
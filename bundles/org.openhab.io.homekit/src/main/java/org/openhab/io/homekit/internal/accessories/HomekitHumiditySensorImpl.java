@@ -45,11 +45,11 @@ public class HomekitHumiditySensorImpl extends AbstractHomekitAccessoryImpl<Numb
 
     @Override
     public void subscribeCurrentRelativeHumidity(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(getItem(), callback);
+        getUpdater().subscribe(this, getItem(), callback);
     }
 
     @Override
     public void unsubscribeCurrentRelativeHumidity() {
-        getUpdater().unsubscribe(getItem());
+        getUpdater().unsubscribe(this, getItem());
     }
 }
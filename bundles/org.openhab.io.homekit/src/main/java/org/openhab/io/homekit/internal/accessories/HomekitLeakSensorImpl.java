@@ -54,12 +54,12 @@ public class HomekitLeakSensorImpl extends AbstractHomekitAccessoryImpl<GenericI
 
     @Override
     public void subscribeLeakDetected(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(getItem(), callback);
+        getUpdater().subscribe(this, getItem(), callback);
     }
 
     @Override
     public void unsubscribeLeakDetected() {
-        getUpdater().unsubscribe(getItem());
+        getUpdater().unsubscribe(this, getItem());
     }
 
     @Override
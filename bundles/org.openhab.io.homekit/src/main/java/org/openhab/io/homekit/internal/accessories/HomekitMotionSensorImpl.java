@@ -49,12 +49,12 @@ public class HomekitMotionSensorImpl extends AbstractHomekitAccessoryImpl<Generi
 
     @Override
     public void subscribeMotionDetected(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(getItem(), callback);
+        getUpdater().subscribe(this, getItem(), callback);
     }
 
     @Override
     public void unsubscribeMotionDetected() {
-        getUpdater().unsubscribe(getItem());
+        getUpdater().unsubscribe(this, getItem());
     }
 
     @Override
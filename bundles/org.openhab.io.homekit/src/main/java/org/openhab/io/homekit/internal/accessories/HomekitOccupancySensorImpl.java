@@ -49,12 +49,12 @@ public class HomekitOccupancySensorImpl extends AbstractHomekitAccessoryImpl<Gen
 
     @Override
     public void subscribeOccupancyDetected(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(getItem(), callback);
+        getUpdater().subscribe(this, getItem(), callback);
     }
 
     @Override
     public void unsubscribeOccupancyDetected() {
-        getUpdater().unsubscribe(getItem());
+        getUpdater().unsubscribe(this, getItem());
     }
 
     @Override
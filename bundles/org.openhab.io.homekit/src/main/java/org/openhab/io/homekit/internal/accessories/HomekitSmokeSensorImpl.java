@@ -59,12 +59,12 @@ public class HomekitSmokeSensorImpl extends AbstractHomekitAccessoryImpl<Generic
 
     @Override
     public void subscribeSmokeDetectedState(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(getItem(), callback);
+        getUpdater().subscribe(this, getItem(), callback);
     }
 
     @Override
     public void unsubscribeSmokeDetectedState() {
-        getUpdater().unsubscribe(getItem());
+        getUpdater().unsubscribe(this, getItem());
     }
 
     @Override
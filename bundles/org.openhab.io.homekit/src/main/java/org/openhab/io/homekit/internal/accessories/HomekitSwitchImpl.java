@@ -55,11 +55,11 @@ public class HomekitSwitchImpl extends AbstractHomekitAccessoryImpl<SwitchItem>
 
     @Override
     public void subscribeSwitchState(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(getItem(), callback);
+        getUpdater().subscribe(this, getItem(), callback);
     }
 
     @Override
     public void unsubscribeSwitchState() {
-        getUpdater().unsubscribe(getItem());
+        getUpdater().unsubscribe(this, getItem());
     }
 }
@@ -227,42 +227,42 @@ class HomekitThermostatImpl extends AbstractTemperatureHomekitAccessoryImpl<Grou
     @Override
     public void subscribeCurrentMode(HomekitCharacteristicChangeCallback callback) {
         if (currentHeatingCoolingModeItem != null) {
-            getUpdater().subscribe(currentHeatingCoolingModeItem, callback);
+            getUpdater().subscribe(this, currentHeatingCoolingModeItem, callback);
         }
     }
 
     @Override
     public void subscribeCurrentTemperature(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(currentTemperatureItem, callback);
+        getUpdater().subscribe(this, currentTemperatureItem, callback);
     }
 
     @Override
     public void subscribeTargetMode(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(targetHeatingCoolingModeItem, callback);
+        getUpdater().subscribe(this, targetHeatingCoolingModeItem, callback);
     }
 
     @Override
     public void subscribeTargetTemperature(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(targetTemperatureItem, callback);
+        getUpdater().subscribe(this, targetTemperatureItem, callback);
     }
 
     @Override
     public void unsubscribeCurrentMode() {
-        getUpdater().unsubscribe(targetHeatingCoolingModeItem);
+        getUpdater().unsubscribe(this, targetHeatingCoolingModeItem);
     }
 
     @Override
     public void unsubscribeCurrentTemperature() {
-        getUpdater().unsubscribe(currentTemperatureItem);
+        getUpdater().unsubscribe(this, currentTemperatureItem);
     }
 
     @Override
     public void unsubscribeTargetMode() {
-        getUpdater().unsubscribe(targetHeatingCoolingModeItem);
+        getUpdater().unsubscribe(this, targetHeatingCoolingModeItem);
     }
 
     @Override
     public void unsubscribeTargetTemperature() {
-        getUpdater().unsubscribe(targetTemperatureItem);
+        getUpdater().unsubscribe(this, targetTemperatureItem);
     }
 }
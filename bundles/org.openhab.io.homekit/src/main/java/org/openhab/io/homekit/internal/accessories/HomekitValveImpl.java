@@ -54,12 +54,12 @@ public class HomekitValveImpl extends AbstractHomekitAccessoryImpl<SwitchItem> i
 
     @Override
     public void subscribeValveActive(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(getItem(), callback);
+        getUpdater().subscribe(this, getItem(), callback);
     }
 
     @Override
     public void unsubscribeValveActive() {
-        getUpdater().unsubscribe(getItem());
+        getUpdater().unsubscribe(this, getItem());
     }
 
     @Override
@@ -69,12 +69,12 @@ public class HomekitValveImpl extends AbstractHomekitAccessoryImpl<SwitchItem> i
 
     @Override
     public void subscribeValveInUse(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(getItem(), "inUse", callback);
+        getUpdater().subscribe(this, getItem(), "inUse", callback);
     }
 
     @Override
     public void unsubscribeValveInUse() {
-        getUpdater().unsubscribe(getItem(), "inUse");
+        getUpdater().unsubscribe(this, getItem(), "inUse");
     }
 
     @Override
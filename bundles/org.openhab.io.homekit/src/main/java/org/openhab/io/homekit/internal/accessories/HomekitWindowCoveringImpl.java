@@ -63,7 +63,7 @@ public class HomekitWindowCoveringImpl extends AbstractHomekitAccessoryImpl<Roll
 
     @Override
     public void subscribeCurrentPosition(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(getItem(), callback);
+        getUpdater().subscribe(this, getItem(), callback);
     }
 
     @Override
@@ -73,12 +73,12 @@ public class HomekitWindowCoveringImpl extends AbstractHomekitAccessoryImpl<Roll
 
     @Override
     public void subscribeTargetPosition(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(getItem(), "targetPosition", callback);
+        getUpdater().subscribe(this, getItem(), "targetPosition", callback);
     }
 
     @Override
     public void unsubscribeCurrentPosition() {
-        getUpdater().unsubscribe(getItem());
+        getUpdater().unsubscribe(this, getItem());
     }
 
     @Override
@@ -88,6 +88,6 @@ public class HomekitWindowCoveringImpl extends AbstractHomekitAccessoryImpl<Roll
 
     @Override
     public void unsubscribeTargetPosition() {
-        getUpdater().unsubscribe(getItem(), "targetPosition");
+        getUpdater().unsubscribe(this, getItem(), "targetPosition");
     }
 }
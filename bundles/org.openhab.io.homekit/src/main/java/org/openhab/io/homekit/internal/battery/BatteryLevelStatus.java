@@ -45,11 +45,11 @@ public class BatteryLevelStatus implements BatteryStatus {
 
     @Override
     public void subscribe(HomekitAccessoryUpdater updater, HomekitCharacteristicChangeCallback callback) {
-        updater.subscribe(batteryLevelItem, callback);
+        updater.subscribe(this, batteryLevelItem, callback);
     }
 
     @Override
     public void unsubscribe(HomekitAccessoryUpdater updater) {
-        updater.unsubscribe(batteryLevelItem);
+        updater.unsubscribe(this, batteryLevelItem);
     }
 }
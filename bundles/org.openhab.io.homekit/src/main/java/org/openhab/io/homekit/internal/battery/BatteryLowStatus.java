@@ -45,11 +45,11 @@ public class BatteryLowStatus implements BatteryStatus {
 
     @Override
     public void subscribe(HomekitAccessoryUpdater updater, HomekitCharacteristicChangeCallback callback) {
-        updater.subscribe(batterySwitchItem, callback);
+        updater.subscribe(this, batterySwitchItem, callback);
     }
 
     @Override
     public void unsubscribe(HomekitAccessoryUpdater updater) {
-        updater.unsubscribe(batterySwitchItem);
+        updater.unsubscribe(this, batterySwitchItem);
     }
 }
@@ -0,0 +1,195 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.homekit.internal;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.Collectors;
+
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemNotFoundException;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.items.events.ItemEventFactory;
+import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.types.UnDefType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.hapjava.HomekitAccessory;
+import io.github.hapjava.HomekitRoot;
+import io.github.hapjava.accessories.Switch;
+
+/**
+ * Tests the {@link HomekitChangeListener} and the {@link HomekitAccessoryUpdater} with a few hundred synthetic
+ * items. The time of the rebuilds and of the state change notifications is measured and logged.
+ *
+ * @author agent - Initial contribution
+ */
+public class HomekitChangeListenerTest {
+
+    private static final int ITEM_COUNT = 300;
+    private static final int CHANGED_ITEM_COUNT = 20;
+    // the debounce delay of the change listener is one second
+    private static final long REBUILD_TIMEOUT = 10000;
+
+    private final Logger logger = LoggerFactory.getLogger(HomekitChangeListenerTest.class);
+
+    private final Map<String, Item> items = new ConcurrentHashMap<>();
+    private final List<String> itemNames = new ArrayList<>();
+    private final HomekitAccessoryUpdater updater = new HomekitAccessoryUpdater();
+    private final HomekitRoot bridge = mock(HomekitRoot.class);
+
+    private HomekitChangeListener listener;
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            SwitchItem item = createSwitch("switch" + i, "Switch " + i);
+            items.put(item.getName(), item);
+            itemNames.add(item.getName());
+        }
+
+        ItemRegistry itemRegistry = mock(ItemRegistry.class);
+        when(itemRegistry.getAll()).thenAnswer(invocation -> new ArrayList<>(items.values()));
+        when(itemRegistry.get(anyString())).thenAnswer(invocation -> items.get(invocation.getArgument(0)));
+        when(itemRegistry.getItem(anyString())).thenAnswer(invocation -> {
+            Item item = items.get(invocation.getArgument(0));
+            if (item == null) {
+                throw new ItemNotFoundException(invocation.getArgument(0));
+            }
+            return item;
+        });
+
+        long start = System.nanoTime();
+        listener = new HomekitChangeListener(itemRegistry, updater, new HomekitSettings());
+        listener.setBridge(bridge);
+        logger.info("Created {} accessories in {} ms", ITEM_COUNT, millisSince(start));
+
+        verify(bridge, times(ITEM_COUNT)).addAccessory(any());
+    }
+
+    @After
+    public void tearDown() {
+        listener.stop();
+    }
+
+    @Test
+    public void testOnlyChangedAccessoriesAreRebuilt() {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            Item oldItem = items.get(itemNames.get(i));
+            // the registry replaces the instance of an item, even if its configuration did not change
+            String label = i < CHANGED_ITEM_COUNT ? "Renamed switch " + i : oldItem.getLabel();
+            Item newItem = createSwitch(oldItem.getName(), label);
+            items.put(newItem.getName(), newItem);
+            listener.updated(oldItem, newItem);
+        }
+
+        verify(bridge, timeout(REBUILD_TIMEOUT).times(ITEM_COUNT + CHANGED_ITEM_COUNT)).addAccessory(any());
+        logger.info("Rebuilt {} of {} dirty accessories in {} ms including the debounce delay", CHANGED_ITEM_COUNT,
+                ITEM_COUNT, millisSince(start));
+
+        verify(bridge, times(CHANGED_ITEM_COUNT)).removeAccessory(any());
+    }
+
+    @Test
+    public void testStateChangesNotifySubscribedCharacteristics() {
+        ArgumentCaptor<HomekitAccessory> accessories = ArgumentCaptor.forClass(HomekitAccessory.class);
+        verify(bridge, times(ITEM_COUNT)).addAccessory(accessories.capture());
+        List<Switch> switches = accessories.getAllValues().stream().map(Switch.class::cast)
+                .collect(Collectors.toList());
+
+        AtomicIntegerArray notifications = new AtomicIntegerArray(ITEM_COUNT);
+        for (Switch accessory : switches) {
+            int index = indexOf(accessory);
+            accessory.subscribeSwitchState(() -> notifications.incrementAndGet(index));
+        }
+
+        long start = System.nanoTime();
+        for (String itemName : itemNames) {
+            updater.receive(ItemEventFactory.createStateChangedEvent(itemName, OnOffType.ON, UnDefType.NULL));
+        }
+        long duration = System.nanoTime() - start;
+        logger.info("Notified {} characteristics in {} µs", ITEM_COUNT, TimeUnit.NANOSECONDS.toMicros(duration));
+
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            assertEquals(1, notifications.get(i));
+        }
+
+        // unsubscribed characteristics are not notified anymore
+        switches.get(0).unsubscribeSwitchState();
+        int index = indexOf(switches.get(0));
+        updater.receive(ItemEventFactory.createStateChangedEvent(itemNames.get(index), OnOffType.OFF, OnOffType.ON));
+        assertEquals(1, notifications.get(index));
+    }
+
+    @Test
+    public void testReplacedAccessoryDoesNotRemoveSubscriptionOfItsSuccessor() {
+        ArgumentCaptor<HomekitAccessory> accessories = ArgumentCaptor.forClass(HomekitAccessory.class);
+        verify(bridge, times(ITEM_COUNT)).addAccessory(accessories.capture());
+        Switch oldAccessory = accessories.getAllValues().stream().map(Switch.class::cast)
+                .filter(accessory -> indexOf(accessory) == 0).findFirst().get();
+        oldAccessory.subscribeSwitchState(() -> {
+        });
+
+        Item oldItem = items.get(itemNames.get(0));
+        Item newItem = createSwitch(oldItem.getName(), "Switch 0 renamed");
+        items.put(newItem.getName(), newItem);
+        listener.updated(oldItem, newItem);
+        verify(bridge, timeout(REBUILD_TIMEOUT).times(ITEM_COUNT + 1)).addAccessory(accessories.capture());
+        Switch newAccessory = (Switch) accessories.getValue();
+        assertNotSame(oldAccessory, newAccessory);
+
+        AtomicInteger notifications = new AtomicInteger();
+        newAccessory.subscribeSwitchState(notifications::incrementAndGet);
+        // the client unsubscribes from the removed accessory only after it subscribed to its successor
+        oldAccessory.unsubscribeSwitchState();
+
+        updater.receive(ItemEventFactory.createStateChangedEvent(newItem.getName(), OnOffType.ON, UnDefType.NULL));
+        assertEquals(1, notifications.get());
+    }
+
+    /**
+     * Returns the index of the item of an accessory, using the label of the item.
+     */
+    private int indexOf(Switch accessory) {
+        int index = Integer.parseInt(accessory.getLabel().substring("Switch ".length()));
+        assertEquals(itemNames.get(index), "switch" + index);
+        return index;
+    }
+
+    private SwitchItem createSwitch(String name, String label) {
+        SwitchItem item = new SwitchItem(name);
+        item.setLabel(label);
+        item.addTag(HomekitAccessoryType.SWITCH.getTag());
+        return item;
+    }
+
+    private long millisSince(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -27,6 +27,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
@@ -113,12 +114,15 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @Reference(policy = ReferencePolicy.DYNAMIC, cardinality = ReferenceCardinality.OPTIONAL)
     protected volatile @Nullable EventPublisher eventPublisher;
 
+    final LightsJsonCache lightsJsonCache = new LightsJsonCache();
+
     /**
      * Registers to the {@link ItemRegistry} and enumerates currently existing items.
      */
     @Activate
     protected void activate() {
         cs.ds.resetGroupsAndLights();
+        lightsJsonCache.clear();
 
         itemRegistry.removeRegistryChangeListener(this);
         itemRegistry.addRegistryChangeListener(this);
@@ -178,6 +182,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
             HueLightEntry device = new HueLightEntry(element, cs.ds.config.uuid + "-" + hueID.toString(), deviceType);
             device.item = element;
             cs.ds.lights.put(hueID, device);
+            lightsJsonCache.invalidate(hueID);
             updateGroup0();
         }
     }
@@ -196,6 +201,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         logger.debug("Remove item {}", hueID);
         cs.ds.lights.remove(hueID);
         cs.ds.groups.remove(hueID);
+        lightsJsonCache.invalidate(hueID);
         updateGroup0();
     }
 
@@ -237,18 +243,25 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         }
 
         hueDevice.updateItem(element);
+        lightsJsonCache.invalidate(hueID);
     }
 
     @GET
     @Path("{username}/lights")
     @ApiOperation(value = "Return all lights")
-    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK") })
-    public Response getAllLightsApi(@Context UriInfo uri,
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK"),
+            @ApiResponse(code = 304, message = "Not modified") })
+    public Response getAllLightsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @ApiParam(value = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights)).build();
+        LightsJsonCache.LightsJson lights = lightsJsonCache.allLightsJson(cs.gson, cs.ds.lights);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(lights.etag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(lights.toJson()).tag(lights.etag).build();
     }
 
     @GET
@@ -285,7 +298,11 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights.get(id))).build();
+        HueLightEntry hueDevice = cs.ds.lights.get(id);
+        if (hueDevice == null) {
+            return NetworkUtils.singleError(cs.gson, uri, HueResponse.NOT_AVAILABLE, "Light not existing");
+        }
+        return Response.ok(lightsJsonCache.lightJson(cs.gson, id, hueDevice)).build();
     }
 
     @SuppressWarnings({ "null", "unused" })
@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal.rest;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ws.rs.core.EntityTag;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.core.util.HexUtils;
+import org.openhab.io.hueemulation.internal.dto.HueLightEntry;
+
+import com.google.gson.Gson;
+
+/**
+ * Keeps the serialized JSON of every {@link HueLightEntry}, so that the frequently polled lights endpoints do not
+ * need to serialize all lights on each request.
+ * <p>
+ * A fragment is only reused as long as the light entry, its item and the item state and label are the same as at the
+ * time of serialization. Item state changes are not reported to a registry listener, therefore this check is done on
+ * each access instead. Registry changes additionally drop the fragment via {@link #invalidate(String)}.
+ * <p>
+ * Every serialized fragment gets a new version. The entity tag of all lights is the SHA-256 digest of the hue IDs and
+ * fragment versions, so it changes whenever a light is serialized again, added or removed.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class LightsJsonCache {
+    private static class Fragment {
+        final HueLightEntry entry;
+        final GenericItem item;
+        final State state;
+        final @Nullable String label;
+        final String json;
+        final long version;
+
+        Fragment(HueLightEntry entry, GenericItem item, State state, @Nullable String label, String json,
+                long version) {
+            this.entry = entry;
+            this.item = item;
+            this.state = state;
+            this.label = label;
+            this.json = json;
+            this.version = version;
+        }
+
+        boolean isValidFor(HueLightEntry entry) {
+            return this.entry == entry && item == entry.item && state.equals(item.getState())
+                    && Objects.equals(label, item.getLabel());
+        }
+    }
+
+    /**
+     * The serialized lights of one request, with an entity tag that only depends on the cached fragments.
+     */
+    static class LightsJson {
+        private final List<String> ids;
+        private final List<String> fragments;
+        private final Gson gson;
+        public final EntityTag etag;
+
+        private LightsJson(Gson gson, List<String> ids, List<Fragment> fragments, long epoch) {
+            this.gson = gson;
+            this.ids = ids;
+            this.fragments = new ArrayList<>(fragments.size());
+            MessageDigest digest = sha256();
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 2);
+            buffer.putLong(epoch).putLong(ids.size());
+            digest.update(buffer.array());
+            for (int i = 0; i < ids.size(); ++i) {
+                Fragment fragment = fragments.get(i);
+                this.fragments.add(fragment.json);
+                // the length prevents different lists of IDs from resulting in the same input
+                byte[] id = ids.get(i).getBytes(StandardCharsets.UTF_8);
+                buffer.clear();
+                buffer.putLong(id.length).putLong(fragment.version);
+                digest.update(id);
+                digest.update(buffer.array());
+            }
+            this.etag = new EntityTag(HexUtils.bytesToHex(digest.digest()));
+        }
+
+        private static MessageDigest sha256() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                // every Java platform is required to support SHA-256
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * Assembles the JSON object of all lights, keyed by their hue ID, from the cached fragments.
+         */
+        public String toJson() {
+            int length = 2;
+            for (String fragment : fragments) {
+                length += fragment.length() + 8;
+            }
+            StringBuilder json = new StringBuilder(length).append('{');
+            for (int i = 0; i < ids.size(); ++i) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append(gson.toJson(ids.get(i))).append(':').append(fragments.get(i));
+            }
+            return json.append('}').toString();
+        }
+    }
+
+    private final Map<String, Fragment> fragments = new ConcurrentHashMap<>();
+    // a random start, so that entity tags issued before a restart are not matched
+    private final long epoch = new Random().nextLong();
+    private final AtomicLong versions = new AtomicLong();
+
+    /**
+     * Returns the serialized light, reusing the cached fragment if the light did not change.
+     *
+     * @param gson The gson instance with the {@link HueLightEntry.Serializer} registered
+     * @param hueID The hue ID of the light
+     * @param entry The light
+     * @return The JSON object of the light
+     */
+    public String lightJson(Gson gson, String hueID, HueLightEntry entry) {
+        return fragment(gson, hueID, entry).json;
+    }
+
+    private Fragment fragment(Gson gson, String hueID, HueLightEntry entry) {
+        Fragment fragment = fragments.get(hueID);
+        if (fragment == null || !fragment.isValidFor(entry)) {
+            // the state is taken before serializing, a change during the serialization is detected by the next access
+            GenericItem item = entry.item;
+            State state = item.getState();
+            String label = item.getLabel();
+            fragment = new Fragment(entry, item, state, label, gson.toJson(entry), versions.incrementAndGet());
+            fragments.put(hueID, fragment);
+        }
+        return fragment;
+    }
+
+    /**
+     * Returns the number of lights serialized so far, i.e. the number of cache misses.
+     */
+    long serializedCount() {
+        return versions.get();
+    }
+
+    /**
+     * Serializes all given lights, reusing the cached fragments of unchanged lights.
+     *
+     * @param gson The gson instance with the {@link HueLightEntry.Serializer} registered
+     * @param lights The lights, keyed by hue ID
+     */
+    public LightsJson allLightsJson(Gson gson, Map<String, HueLightEntry> lights) {
+        List<String> ids = new ArrayList<>(lights.size());
+        List<Fragment> lightFragments = new ArrayList<>(lights.size());
+        for (Map.Entry<String, HueLightEntry> light : lights.entrySet()) {
+            ids.add(light.getKey());
+            lightFragments.add(fragment(gson, light.getKey(), light.getValue()));
+        }
+        fragments.keySet().retainAll(lights.keySet());
+        return new LightsJson(gson, ids, lightFragments, epoch);
+    }
+
+    /**
+     * Drops the cached fragment of a light.
+     */
+    public void invalidate(String hueID) {
+        fragments.remove(hueID);
+    }
+
+    /**
+     * Drops all cached fragments.
+     */
+    public void clear() {
+        fragments.clear();
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal.rest;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.io.hueemulation.internal.ConfigStore;
+import org.openhab.io.hueemulation.internal.rest.mocks.DummyItemRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Polls the lights resources of {@link LightsAndGroups} with a registry of 250 exposed items, like Alexa and Harmony
+ * hubs do, and checks that cached responses stay in sync with the items. The number of lights serialized while
+ * polling is measured, as well as the time of the polls compared to serializing all lights on each poll.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class LightsAndGroupsLoadTests {
+    private static final int ITEM_COUNT = 250;
+    private static final int POLL_COUNT = 200;
+    // an item state changes after this number of polls
+    private static final int POLLS_PER_STATE_CHANGE = 10;
+
+    private final Logger logger = LoggerFactory.getLogger(LightsAndGroupsLoadTests.class);
+
+    protected @NonNullByDefault({}) CommonSetup commonSetup;
+    protected @NonNullByDefault({}) ItemRegistry itemRegistry;
+    protected @NonNullByDefault({}) ConfigStore cs;
+
+    LightsAndGroups subject = new LightsAndGroups();
+    List<SwitchItem> switches = new ArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        commonSetup = new CommonSetup(false);
+        itemRegistry = new DummyItemRegistry();
+
+        this.cs = commonSetup.cs;
+
+        subject.cs = cs;
+        subject.eventPublisher = commonSetup.eventPublisher;
+        subject.userManagement = commonSetup.userManagement;
+        subject.itemRegistry = itemRegistry;
+        subject.activate();
+
+        for (int i = 0; i < ITEM_COUNT; ++i) {
+            SwitchItem item = new SwitchItem("switch" + i);
+            item.setLabel("Switch " + i);
+            item.addTag("Switchable");
+            itemRegistry.add(item);
+            switches.add(item);
+        }
+
+        commonSetup.start(new ResourceConfig().registerInstances(subject));
+    }
+
+    @After
+    public void tearDown() {
+        commonSetup.dispose();
+    }
+
+    private Response getAllLights() {
+        return commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get();
+    }
+
+    @Test
+    public void allLightsResponseMatchesFullSerialization() {
+        assertThat(cs.ds.lights.size(), is(ITEM_COUNT));
+
+        for (int i = 0; i < POLL_COUNT; ++i) {
+            Response response = getAllLights();
+            assertEquals(200, response.getStatus());
+            assertThat(response.readEntity(String.class), is(cs.gson.toJson(cs.ds.lights)));
+        }
+        // each light is serialized once and reused for all further polls
+        assertEquals(ITEM_COUNT, subject.lightsJsonCache.serializedCount());
+    }
+
+    @Test
+    public void pollingWithStateChangesSerializesOnlyChangedLights() {
+        int stateChanges = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < POLL_COUNT; ++i) {
+            if (i % POLLS_PER_STATE_CHANGE == POLLS_PER_STATE_CHANGE - 1) {
+                SwitchItem item = switches.get(stateChanges++ % ITEM_COUNT);
+                item.setState(item.getState() == OnOffType.ON ? OnOffType.OFF : OnOffType.ON);
+            }
+            Response response = getAllLights();
+            assertEquals(200, response.getStatus());
+            response.readEntity(String.class);
+        }
+        long cachedDuration = System.nanoTime() - start;
+        long serialized = subject.lightsJsonCache.serializedCount();
+
+        start = System.nanoTime();
+        for (int i = 0; i < POLL_COUNT; ++i) {
+            cs.gson.toJson(cs.ds.lights);
+        }
+        long fullDuration = System.nanoTime() - start;
+
+        assertEquals(ITEM_COUNT + stateChanges, serialized);
+        logger.info("{} polls of {} lights serialized {} lights in {} ms, full serialization of {} lights took {} ms",
+                POLL_COUNT, ITEM_COUNT, serialized, TimeUnit.NANOSECONDS.toMillis(cachedDuration),
+                POLL_COUNT * ITEM_COUNT, TimeUnit.NANOSECONDS.toMillis(fullDuration));
+    }
+
+    @Test
+    public void notModifiedUntilItemStateChanges() {
+        Response response = getAllLights();
+        assertEquals(200, response.getStatus());
+        String etag = response.getHeaderString(HttpHeaders.ETAG);
+        assertThat(etag, is(notNullValue()));
+        response.close();
+
+        for (int i = 0; i < POLL_COUNT; ++i) {
+            response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                    .header(HttpHeaders.IF_NONE_MATCH, etag).get();
+            assertEquals(304, response.getStatus());
+            response.close();
+        }
+
+        // A state change is not reported to the registry listener, but must still be visible
+        SwitchItem item = switches.get(42);
+        item.setState(OnOffType.ON);
+        String hueID = cs.mapItemUIDtoHueID(item);
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag).get();
+        assertEquals(200, response.getStatus());
+        assertThat(response.getHeaderString(HttpHeaders.ETAG), is(not(etag)));
+        assertThat(response.readEntity(String.class), is(cs.gson.toJson(cs.ds.lights)));
+        // only the changed light was serialized again
+        assertEquals(ITEM_COUNT + 1, subject.lightsJsonCache.serializedCount());
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights/" + hueID).request().get();
+        assertEquals(200, response.getStatus());
+        assertThat(response.readEntity(String.class), containsString("\"on\":true"));
+    }
+
+    @Test
+    public void registryChangesAreVisible() {
+        String etag = getAllLights().getHeaderString(HttpHeaders.ETAG);
+
+        SwitchItem item = new SwitchItem("switch7");
+        item.setLabel("Renamed switch");
+        item.addTag("Switchable");
+        itemRegistry.update(item);
+        itemRegistry.remove("switch8");
+
+        Response response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag).get();
+        assertEquals(200, response.getStatus());
+        String body = response.readEntity(String.class);
+        assertThat(body, containsString("Renamed switch"));
+        assertThat(body, not(containsString("\"Switch 8\"")));
+        assertThat(body, is(cs.gson.toJson(cs.ds.lights)));
+    }
+}
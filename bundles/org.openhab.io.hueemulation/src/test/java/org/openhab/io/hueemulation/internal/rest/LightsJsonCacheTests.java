@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal.rest;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.junit.Test;
+import org.openhab.io.hueemulation.internal.DeviceType;
+import org.openhab.io.hueemulation.internal.dto.HueLightEntry;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+
+/**
+ * Tests the reuse of the serialized lights by the {@link LightsJsonCache}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class LightsJsonCacheTests {
+    private final LightsJsonCache cache = new LightsJsonCache();
+    private final SwitchItem item = new SwitchItem("switch");
+    private final HueLightEntry entry = new HueLightEntry(item, "switch", DeviceType.SwitchType);
+
+    private boolean changeStateDuringSerialization;
+
+    // serializes the state of the item only, and changes it right after it has been read if requested
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(HueLightEntry.class, (JsonSerializer<HueLightEntry>) (light, type, context) -> {
+                JsonPrimitive json = new JsonPrimitive(light.item.getState().toString());
+                if (changeStateDuringSerialization) {
+                    changeStateDuringSerialization = false;
+                    light.item.setState(OnOffType.ON);
+                }
+                return json;
+            }).create();
+
+    @Test
+    public void unchangedLightIsSerializedOnce() {
+        assertEquals("\"NULL\"", cache.lightJson(gson, "1", entry));
+        assertEquals("\"NULL\"", cache.lightJson(gson, "1", entry));
+        assertEquals(1, cache.serializedCount());
+
+        item.setState(OnOffType.OFF);
+        assertEquals("\"OFF\"", cache.lightJson(gson, "1", entry));
+        assertEquals(2, cache.serializedCount());
+    }
+
+    @Test
+    public void stateChangeDuringSerializationIsNotMissed() {
+        changeStateDuringSerialization = true;
+        assertEquals("\"NULL\"", cache.lightJson(gson, "1", entry));
+
+        // the fragment was serialized with the previous state and must not be reused for the new one
+        assertEquals("\"ON\"", cache.lightJson(gson, "1", entry));
+        assertEquals("\"ON\"", cache.lightJson(gson, "1", entry));
+        assertEquals(2, cache.serializedCount());
+    }
+}
@@ -25,16 +25,22 @@ import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.net.ssl.KeyManagerFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.config.core.ConfigurableService;
 import org.eclipse.smarthome.config.core.Configuration;
@@ -43,6 +49,7 @@ import org.eclipse.smarthome.io.transport.mqtt.MqttConnectionObserver;
 import org.eclipse.smarthome.io.transport.mqtt.MqttConnectionState;
 import org.eclipse.smarthome.io.transport.mqtt.MqttService;
 import org.eclipse.smarthome.io.transport.mqtt.MqttServiceObserver;
+import org.h2.mvstore.MVStore;
 import org.openhab.io.mqttembeddedbroker.Constants;
 import org.openhab.io.mqttembeddedbroker.internal.MqttEmbeddedBrokerDetectStart.MqttEmbeddedBrokerStartedListener;
 import org.osgi.service.component.annotations.*;
@@ -83,12 +90,32 @@ import io.netty.handler.ssl.SslContextBuilder;
 @NonNullByDefault
 public class EmbeddedBrokerService
         implements ConfigurableService, MqttConnectionObserver, MqttServiceObserver, MqttEmbeddedBrokerStartedListener {
+    private static final String RETAINED_STORE = "retained_store";
+    // interval in minutes in which the broker metrics are logged
+    private static final long METRICS_LOG_INTERVAL = 5;
+
     private final MqttService service;
     private String persistenceFilename = "";
+    private int persistenceFlushInterval = 30;
+    private boolean compactPersistenceFile = false;
+    private int connectionBacklog = 128;
     // private NetworkServerTls networkServerTls; //TODO wait for NetworkServerTls implementation
 
+    /**
+     * Logs client connections and collects broker metrics: Connected clients, subscriptions, received and acknowledged
+     * messages and retained messages.
+     */
     @NonNullByDefault({})
     class BrokerMetricsListenerEx implements InterceptHandler {
+        private final long startTime = System.currentTimeMillis();
+        private final AtomicInteger connectedClients = new AtomicInteger();
+        // the topic filters subscribed by each client, the broker drops them when a clean session ends
+        private final Map<String, Set<String>> subscriptions = new ConcurrentHashMap<>();
+        private final Set<String> cleanSessionClients = ConcurrentHashMap.newKeySet();
+        private final AtomicLong publishedMessages = new AtomicLong();
+        private final AtomicLong acknowledgedMessages = new AtomicLong();
+        private final Set<String> retainedTopics = ConcurrentHashMap.newKeySet();
+        private volatile long persistedRetainedMessages;
 
         @Override
         public String getID() {
@@ -97,42 +124,132 @@ public class EmbeddedBrokerService
 
         @Override
         public Class<?>[] getInterceptedMessageTypes() {
-            return new Class<?>[] { InterceptConnectMessage.class, InterceptDisconnectMessage.class };
+            return new Class<?>[] { InterceptConnectMessage.class, InterceptDisconnectMessage.class,
+                    InterceptConnectionLostMessage.class, InterceptPublishMessage.class,
+                    InterceptAcknowledgedMessage.class, InterceptSubscribeMessage.class,
+                    InterceptUnsubscribeMessage.class };
         }
 
         @Override
         public void onConnect(InterceptConnectMessage arg0) {
-            logger.debug("MQTT Client connected: {}", arg0.getClientID());
+            clientConnected(arg0.getClientID(), arg0.isCleanSession());
+            logger.debug("MQTT Client connected: {} ({} clients)", arg0.getClientID(), getConnectedClients());
         }
 
         @Override
         public void onConnectionLost(InterceptConnectionLostMessage arg0) {
-
+            clientDisconnected(arg0.getClientID());
         }
 
         @Override
         public void onDisconnect(InterceptDisconnectMessage arg0) {
-            logger.debug("MQTT Client disconnected: {}", arg0.getClientID());
+            clientDisconnected(arg0.getClientID());
+            logger.debug("MQTT Client disconnected: {} ({} clients)", arg0.getClientID(), getConnectedClients());
         }
 
         @Override
         public void onMessageAcknowledged(InterceptAcknowledgedMessage arg0) {
-
+            acknowledgedMessages.incrementAndGet();
         }
 
         @Override
         public void onPublish(InterceptPublishMessage arg0) {
-
+            publishedMessages.incrementAndGet();
+            if (arg0.isRetainFlag()) {
+                if (arg0.getPayload().readableBytes() > 0) {
+                    retainedTopics.add(arg0.getTopicName());
+                } else {
+                    retainedTopics.remove(arg0.getTopicName());
+                }
+            }
         }
 
         @Override
         public void onSubscribe(InterceptSubscribeMessage arg0) {
-
+            subscribed(arg0.getClientID(), arg0.getTopicFilter());
         }
 
         @Override
         public void onUnsubscribe(InterceptUnsubscribeMessage arg0) {
+            unsubscribed(arg0.getClientID(), arg0.getTopicFilter());
+        }
+
+        void clientConnected(String clientID, boolean cleanSession) {
+            connectedClients.incrementAndGet();
+            if (cleanSession) {
+                // a clean session starts without the subscriptions of a previous session
+                subscriptions.remove(clientID);
+                cleanSessionClients.add(clientID);
+            } else {
+                cleanSessionClients.remove(clientID);
+            }
+        }
 
+        void clientDisconnected(String clientID) {
+            connectedClients.decrementAndGet();
+            if (cleanSessionClients.remove(clientID)) {
+                subscriptions.remove(clientID);
+            }
+        }
+
+        void subscribed(String clientID, String topicFilter) {
+            subscriptions.computeIfAbsent(clientID, id -> ConcurrentHashMap.newKeySet()).add(topicFilter);
+        }
+
+        void unsubscribed(String clientID, String topicFilter) {
+            subscriptions.computeIfPresent(clientID, (id, topicFilters) -> {
+                topicFilters.remove(topicFilter);
+                return topicFilters.isEmpty() ? null : topicFilters;
+            });
+        }
+
+        public int getConnectedClients() {
+            return connectedClients.get();
+        }
+
+        /**
+         * Returns the number of subscriptions of connected clients and of persistent sessions.
+         */
+        public int getSubscriptions() {
+            return subscriptions.values().stream().mapToInt(Set::size).sum();
+        }
+
+        public long getPublishedMessages() {
+            return publishedMessages.get();
+        }
+
+        public long getAcknowledgedMessages() {
+            return acknowledgedMessages.get();
+        }
+
+        /**
+         * Returns the average number of received messages per second since the broker started.
+         */
+        public double getPublishRate() {
+            long seconds = Math.max(1, (System.currentTimeMillis() - startTime) / 1000);
+            return (double) publishedMessages.get() / seconds;
+        }
+
+        /**
+         * Returns the number of retained messages in the persistence file when the broker started.
+         */
+        public long getPersistedRetainedMessages() {
+            return persistedRetainedMessages;
+        }
+
+        /**
+         * Returns the number of topics with a retained message published since the broker started.
+         */
+        public int getRetainedTopics() {
+            return retainedTopics.size();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d clients, %d subscriptions, %d messages received (%.2f/s), %d acknowledged, "
+                    + "%d retained topics published, %d retained messages loaded", getConnectedClients(),
+                    getSubscriptions(), getPublishedMessages(), getPublishRate(), getAcknowledgedMessages(),
+                    getRetainedTopics(), getPersistedRetainedMessages());
         }
     }
 
@@ -140,6 +257,9 @@ public class EmbeddedBrokerService
     private final Logger logger = LoggerFactory.getLogger(EmbeddedBrokerService.class);
     protected MqttEmbeddedBrokerDetectStart detectStart = new MqttEmbeddedBrokerDetectStart(this);
     protected BrokerMetricsListenerEx metrics = new BrokerMetricsListenerEx();
+    private final ScheduledExecutorService scheduler = ThreadPoolManager
+            .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
+    private @Nullable ScheduledFuture<?> metricsLogJob;
 
     private @Nullable MqttBrokerConnection connection;
 
@@ -179,12 +299,18 @@ public class EmbeddedBrokerService
                 Path path = Paths.get(ConfigConstants.getUserDataFolder()).toAbsolutePath();
                 Files.createDirectories(path);
                 this.persistenceFilename = path.resolve(persistenceFilename).toString();
+            } else {
+                this.persistenceFilename = persistenceFilename;
             }
+            persistenceFlushInterval = config.persistenceFlushInterval;
+            compactPersistenceFile = config.compactPersistenceFile;
 
             logger.info("Broker persistence file: {}", persistenceFilename);
         } else {
+            this.persistenceFilename = "";
             logger.info("Using in-memory persistence. No persistence file has been set!");
         }
+        connectionBacklog = config.connectionBacklog;
 
         // Start embedded server
         startEmbeddedServer(port, config.secure, config.username, config.password);
@@ -277,6 +403,7 @@ public class EmbeddedBrokerService
             // properties.put(BrokerConstants.SSL_PORT_PROPERTY_NAME, BrokerConstants.DISABLED_PORT_BIND);
             properties.put(BrokerConstants.PORT_PROPERTY_NAME, Integer.toString(port));
         }
+        properties.put(BrokerConstants.NETTY_SO_BACKLOG_PROPERTY_NAME, Integer.toString(connectionBacklog));
 
         // Authentication
         IAuthenticator authentificator = null;
@@ -291,9 +418,12 @@ public class EmbeddedBrokerService
             logger.debug("Broker anonymous access enabled");
         }
 
+        metrics = new BrokerMetricsListenerEx();
         if (!persistenceFilename.isEmpty()) { // Persistence: If not set, an in-memory database is used.
+            preparePersistenceFile();
             properties.put(BrokerConstants.PERSISTENT_STORE_PROPERTY_NAME, persistenceFilename);
-            properties.put(BrokerConstants.AUTOSAVE_INTERVAL_PROPERTY_NAME, "30"); // in seconds
+            properties.put(BrokerConstants.AUTOSAVE_INTERVAL_PROPERTY_NAME,
+                    Integer.toString(persistenceFlushInterval)); // in seconds
         }
 
         // We may provide ACL functionality at some point as well
@@ -317,18 +447,64 @@ public class EmbeddedBrokerService
         server.addInterceptHandler(metrics);
         ScheduledExecutorService s = new ScheduledThreadPoolExecutor(1);
         detectStart.startBrokerStartedDetection(port, s);
+        metricsLogJob = scheduler.scheduleWithFixedDelay(this::logMetrics, METRICS_LOG_INTERVAL,
+                METRICS_LOG_INTERVAL, TimeUnit.MINUTES);
+    }
+
+    private void logMetrics() {
+        logger.debug("Embedded broker metrics: {}", metrics);
     }
 
     public void stopEmbeddedServer() {
         Server server = this.server;
         if (server != null) {
+            ScheduledFuture<?> metricsLogJob = this.metricsLogJob;
+            if (metricsLogJob != null) {
+                metricsLogJob.cancel(false);
+                this.metricsLogJob = null;
+            }
             server.removeInterceptHandler(metrics);
+            logger.info("Stopping embedded broker: {}", metrics);
             detectStart.stopBrokerStartDetection();
             server.stopServer();
             this.server = null;
         }
     }
 
+    /**
+     * Determines the number of retained messages in the persistence file and moves all used chunks of the file to the
+     * beginning, so that the broker does not need to read unused space on startup. The store is operated on chunk
+     * level, stored messages are not deserialized.
+     */
+    private void preparePersistenceFile() {
+        if (!new File(persistenceFilename).exists()) {
+            return;
+        }
+        try {
+            MVStore store = new MVStore.Builder().fileName(persistenceFilename).autoCommitDisabled().open();
+            try {
+                metrics.persistedRetainedMessages = store.openMap(RETAINED_STORE).sizeAsLong();
+                if (compactPersistenceFile) {
+                    long size = store.getFileStore().size();
+                    store.compactMoveChunks();
+                    logger.debug("Compacted broker persistence file from {} to {} bytes", size,
+                            store.getFileStore().size());
+                }
+            } finally {
+                store.close();
+            }
+        } catch (IllegalStateException e) {
+            logger.warn("Could not prepare broker persistence file {}: {}", persistenceFilename, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the metrics of the embedded broker.
+     */
+    public BrokerMetricsListenerEx getMetrics() {
+        return metrics;
+    }
+
     /**
      * For testing: Returns true if the embedded server confirms that the MqttBrokerConnection is connected.
      */
@@ -25,6 +25,12 @@ public class ServiceConfiguration {
     public @Nullable Integer port;
     public Boolean secure = false;
     public String persistenceFile = "mqttembedded.bin";
+    /** Interval in seconds in which changes are flushed to the persistence file */
+    public Integer persistenceFlushInterval = 30;
+    /** Compacts the persistence file before the broker loads it */
+    public Boolean compactPersistenceFile = false;
+    /** Maximum number of pending client connections, e.g. if all clients reconnect after a restart */
+    public Integer connectionBacklog = 128;
 
     public @Nullable String username;
     public @Nullable String password;
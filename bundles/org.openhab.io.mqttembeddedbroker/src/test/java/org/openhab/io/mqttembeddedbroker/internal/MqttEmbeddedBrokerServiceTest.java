@@ -192,4 +192,62 @@ public class MqttEmbeddedBrokerServiceTest extends JavaTest {
             assertThat(new String(entry.getValue().getPayload()), is("testtest"));
         }
     }
+
+    @Test
+    public void metricsAndRetainedMessagesAfterRestart() throws InterruptedException, IOException, ExecutionException {
+        config.put("persistenceFile", "persist-restart.mqtt");
+        config.put("compactPersistenceFile", true);
+        Path path = Paths.get(ConfigConstants.getUserDataFolder()).toAbsolutePath();
+        File persistenceFile = path.resolve("persist-restart.mqtt").toFile();
+
+        if (persistenceFile.exists()) {
+            persistenceFile.delete();
+        }
+
+        subject.modified(config);
+
+        MqttBrokerConnection c = subject.getConnection();
+        assertNotNull(c);
+        waitForConnectionChange(c, MqttConnectionState.CONNECTED);
+
+        c.publish("demotopic", "testtest".getBytes(), 2, true).get();
+        c.publish("othertopic", "testtest".getBytes(), 1, false).get();
+
+        waitForAssert(() -> assertThat(subject.getMetrics().getPublishedMessages(), is(2L)));
+        assertThat(subject.getMetrics().getRetainedTopics(), is(1));
+        assertThat(subject.getMetrics().getConnectedClients(), is(1));
+
+        // Restart the broker -> the compacted persistence file still contains the retained message
+        subject.modified(config);
+
+        assertThat(subject.getMetrics().getPersistedRetainedMessages(), is(1L));
+        assertThat(subject.getMetrics().getPublishedMessages(), is(0L));
+    }
+
+    @Test
+    public void subscriptionsEndWithCleanSessions() {
+        EmbeddedBrokerService.BrokerMetricsListenerEx metrics = subject.getMetrics();
+        int subscriptions = metrics.getSubscriptions();
+
+        metrics.clientConnected("clean", true);
+        metrics.subscribed("clean", "a/#");
+        metrics.subscribed("clean", "b/#");
+        // a repeated subscription replaces the existing one
+        metrics.subscribed("clean", "a/#");
+        metrics.clientConnected("persistent", false);
+        metrics.subscribed("persistent", "a/#");
+        assertThat(metrics.getSubscriptions(), is(subscriptions + 3));
+
+        metrics.unsubscribed("clean", "b/#");
+        assertThat(metrics.getSubscriptions(), is(subscriptions + 2));
+
+        // the broker keeps the subscriptions of a persistent session after the client disconnected
+        metrics.clientDisconnected("clean");
+        metrics.clientDisconnected("persistent");
+        assertThat(metrics.getSubscriptions(), is(subscriptions + 1));
+
+        // a new clean session drops the subscriptions of the persistent session
+        metrics.clientConnected("persistent", true);
+        assertThat(metrics.getSubscriptions(), is(subscriptions));
+    }
 }
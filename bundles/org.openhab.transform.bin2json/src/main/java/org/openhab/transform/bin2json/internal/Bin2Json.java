@@ -14,6 +14,8 @@ package org.openhab.transform.bin2json.internal;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.time.Duration;
 import java.time.LocalDateTime;
 
@@ -24,6 +26,7 @@ import org.slf4j.LoggerFactory;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonWriter;
 import com.igormaznitsa.jbbp.JBBPParser;
 import com.igormaznitsa.jbbp.exceptions.JBBPException;
 import com.igormaznitsa.jbbp.model.JBBPAbstractArrayField;
@@ -64,13 +67,23 @@ import com.igormaznitsa.jbbp.model.JBBPFieldUShort;
  * {@code
  * JsonObject json = new Bin2Json("byte a; byte b; ubyte c;").convert("03FAFF");
  * json.toString() = {"a":3,"b":-6,"c":255}
+ * }
  * </pre>
  *
+ * If only the JSON string is needed, {@link #convertToString(String)} writes it directly from the parsed data without
+ * building a {@link JsonObject} first.
+ *
  * @author Pauli Anttila - Initial contribution
  *
  */
 public class Bin2Json {
 
+    /** Writer buffers larger than this are not kept for reuse */
+    private static final int MAX_REUSED_BUFFER_SIZE = 64 * 1024;
+
+    private static final ThreadLocal<StringWriter> REUSABLE_WRITER = ThreadLocal
+            .withInitial(() -> new StringWriter(256));
+
     private final Logger logger = LoggerFactory.getLogger(Bin2Json.class);
 
     private JBBPParser parser;
@@ -137,6 +150,60 @@ public class Bin2Json {
         }
     }
 
+    /**
+     * Convert {@link String} in hexadecimal string format to a JSON string. The result is identical to
+     * <code>convert(hexString).toString()</code>, but is written directly from the parsed data.
+     *
+     * @param hexString Data in hexadecimal string format. Example data: 03FAFF
+     * @return JSON string
+     * @throws ConversionException
+     */
+    public String convertToString(String hexString) throws ConversionException {
+        final StringWriter writer = REUSABLE_WRITER.get();
+        final StringBuffer buffer = writer.getBuffer();
+        buffer.setLength(0);
+        try {
+            LocalDateTime start = LocalDateTime.now();
+            convert(hexString, writer);
+            final String json = buffer.toString();
+            if (logger.isTraceEnabled()) {
+                Duration duration = Duration.between(start, LocalDateTime.now());
+                logger.trace("Conversion time={}, json={}", duration, json);
+            }
+            return json;
+        } finally {
+            if (buffer.capacity() > MAX_REUSED_BUFFER_SIZE) {
+                REUSABLE_WRITER.remove();
+            }
+        }
+    }
+
+    /**
+     * Convert {@link String} in hexadecimal string format to JSON and write it to the given {@link Writer}.
+     *
+     * @param hexString Data in hexadecimal string format. Example data: 03FAFF
+     * @param writer the writer the JSON string is written to
+     * @throws ConversionException
+     */
+    public void convert(String hexString, Writer writer) throws ConversionException {
+        final byte[] data;
+        try {
+            data = HexUtils.hexToBytes(hexString);
+        } catch (IllegalArgumentException e) {
+            throw new ConversionException(String.format("Illegal hexstring , reason: %s", e.getMessage(), e));
+        }
+        try {
+            final JsonWriter jsonWriter = new JsonWriter(writer);
+            jsonWriter.setLenient(true);
+            writeStruct(jsonWriter, parser.parse(data));
+            jsonWriter.flush();
+        } catch (IOException e) {
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
+        } catch (JBBPException e) {
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
+        }
+    }
+
     private JsonObject convert(JBBPFieldStruct data) throws ConversionException {
         try {
             LocalDateTime start = LocalDateTime.now();
@@ -236,4 +303,115 @@ public class Bin2Json {
         }
         return jsn;
     }
+
+    /**
+     * Writes the fields of a struct as JSON object. Like {@link JsonObject}, a field name occurring more than once
+     * (e.g. several unnamed fields) is written at the position of its first occurrence with the value of its last.
+     */
+    private void writeStruct(final JsonWriter writer, final JBBPFieldStruct struct)
+            throws IOException, ConversionException {
+        final JBBPAbstractField[] fields = struct.getArray();
+        writer.beginObject();
+        for (int i = 0; i < fields.length; i++) {
+            final String fieldName = getFieldName(fields[i]);
+            if (indexOfName(fields, fieldName, 0, i) >= 0) {
+                continue;
+            }
+            int last = i;
+            int next;
+            while ((next = indexOfName(fields, fieldName, last + 1, fields.length)) >= 0) {
+                last = next;
+            }
+            writer.name(fieldName);
+            writeValue(writer, fields[last]);
+        }
+        writer.endObject();
+    }
+
+    private void writeValue(final JsonWriter writer, final JBBPAbstractField field)
+            throws IOException, ConversionException {
+        if (field instanceof JBBPAbstractArrayField) {
+            writer.beginArray();
+            if (field instanceof JBBPFieldArrayBit) {
+                for (final byte b : ((JBBPFieldArrayBit) field).getArray()) {
+                    writer.value(b);
+                }
+            } else if (field instanceof JBBPFieldArrayBoolean) {
+                for (final boolean b : ((JBBPFieldArrayBoolean) field).getArray()) {
+                    writer.value(b);
+                }
+            } else if (field instanceof JBBPFieldArrayByte) {
+                for (final byte b : ((JBBPFieldArrayByte) field).getArray()) {
+                    writer.value(b);
+                }
+            } else if (field instanceof JBBPFieldArrayInt) {
+                for (final int b : ((JBBPFieldArrayInt) field).getArray()) {
+                    writer.value(b);
+                }
+            } else if (field instanceof JBBPFieldArrayLong) {
+                for (final long b : ((JBBPFieldArrayLong) field).getArray()) {
+                    writer.value(b);
+                }
+            } else if (field instanceof JBBPFieldArrayShort) {
+                for (final short b : ((JBBPFieldArrayShort) field).getArray()) {
+                    writer.value(b);
+                }
+            } else if (field instanceof JBBPFieldArrayStruct) {
+                final JBBPFieldArrayStruct array = (JBBPFieldArrayStruct) field;
+                for (int i = 0; i < array.size(); i++) {
+                    // each element is wrapped into an object named like the struct, as done by convertToJSon
+                    final JBBPFieldStruct element = array.getElementAt(i);
+                    writer.beginObject();
+                    writer.name(getFieldName(element));
+                    writeStruct(writer, element);
+                    writer.endObject();
+                }
+            } else if (field instanceof JBBPFieldArrayUByte) {
+                for (final byte b : ((JBBPFieldArrayUByte) field).getArray()) {
+                    writer.value(b & 0xFF);
+                }
+            } else if (field instanceof JBBPFieldArrayUShort) {
+                for (final short b : ((JBBPFieldArrayUShort) field).getArray()) {
+                    writer.value(b & 0xFFFF);
+                }
+            } else {
+                throw new ConversionException(String.format("Unexpected field type '%s'", field));
+            }
+            writer.endArray();
+        } else if (field instanceof JBBPFieldBit) {
+            writer.value(((JBBPFieldBit) field).getAsInt());
+        } else if (field instanceof JBBPFieldBoolean) {
+            writer.value(((JBBPFieldBoolean) field).getAsBool());
+        } else if (field instanceof JBBPFieldByte) {
+            writer.value(((JBBPFieldByte) field).getAsInt());
+        } else if (field instanceof JBBPFieldInt) {
+            writer.value(((JBBPFieldInt) field).getAsInt());
+        } else if (field instanceof JBBPFieldLong) {
+            writer.value(((JBBPFieldLong) field).getAsLong());
+        } else if (field instanceof JBBPFieldShort) {
+            writer.value(((JBBPFieldShort) field).getAsInt());
+        } else if (field instanceof JBBPFieldStruct) {
+            writeStruct(writer, (JBBPFieldStruct) field);
+        } else if (field instanceof JBBPFieldUByte) {
+            writer.value(((JBBPFieldUByte) field).getAsInt());
+        } else if (field instanceof JBBPFieldUShort) {
+            writer.value(((JBBPFieldUShort) field).getAsInt());
+        } else {
+            throw new ConversionException(String.format("Unexpected field '%s'", field));
+        }
+    }
+
+    private static String getFieldName(final JBBPAbstractField field) {
+        return field.getFieldName() == null ? "nonamed" : field.getFieldName();
+    }
+
+    private static int indexOfName(final JBBPAbstractField[] fields, final String fieldName, final int from,
+            final int to) {
+        for (int i = from; i < to; i++) {
+            if (fieldName.equals(getFieldName(fields[i]))) {
+                return i;
+            }
+        }
+        return -1;
+    }
 }
@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.bin2json.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link Bin2Json} converter.
+ *
+ * @author agent - Initial contribution
+ */
+public class Bin2JsonTest {
+
+    /** parser rules and hexadecimal data covering all field types, arrays, structs and unnamed fields */
+    private static final String[][] FIXTURES = { //
+            { "byte a; byte b; ubyte c;", "03FAFF" }, //
+            { "int i; long l; short s; ushort us; bool b;", "01020304FFFFFFFFFFFFFFFE8000FFFF01" }, //
+            { "bit:3 a; bit:5 b;", "FF" }, //
+            { "byte[2] ba; ubyte[2] uba; short[2] sa; ushort[2] usa; int[1] ia; long[1] la; bool[2] boa;"
+                    + "bit:4[2] bits;", "807F80FFFFFF0001FFFF8000FFFFFFFF00000000000000010001A5" }, //
+            { "header { ubyte type; ubyte len; } data [2] { byte x; ubyte y; }", "0102FF017F80" }, //
+            { "ubyte len; byte [len] payload;", "03010203" }, //
+            { "byte; byte; ubyte a;", "010203" } };
+
+    @Test
+    public void testConvert() throws ConversionException {
+        Bin2Json bin2json = new Bin2Json("byte a; byte b; ubyte c;");
+        assertEquals("{\"a\":3,\"b\":-6,\"c\":255}", bin2json.convert("03FAFF").toString());
+    }
+
+    @Test
+    public void testConvertToStringEqualsConvert() throws ConversionException {
+        for (String[] fixture : FIXTURES) {
+            Bin2Json bin2json = new Bin2Json(fixture[0]);
+            assertEquals(fixture[0], bin2json.convert(fixture[1]).toString(), bin2json.convertToString(fixture[1]));
+        }
+    }
+
+    @Test
+    public void testConvertToStringReusesWriter() throws ConversionException {
+        Bin2Json bin2json = new Bin2Json("ubyte len; byte [len] payload;");
+        assertEquals("{\"len\":2,\"payload\":[1,2]}", bin2json.convertToString("020102"));
+        assertEquals("{\"len\":1,\"payload\":[3]}", bin2json.convertToString("0103"));
+    }
+
+}
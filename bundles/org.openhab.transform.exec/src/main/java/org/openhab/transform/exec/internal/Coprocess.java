@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A long-lived helper process which is fed one input line on its stdin and answers with one output line on its
+ * stdout per transformation. Anything the helper writes to its stderr is logged.
+ *
+ * A coprocess is used by one thread at a time. Once a request fails or times out, the line framing cannot be trusted
+ * anymore, so the process is killed and must be replaced.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class Coprocess {
+
+    /** marker put into the response queue when the helper closes its stdout */
+    private static final String END_OF_STREAM = new String("EOF");
+
+    /** marker put into the response queue when the input could not be written to the helper */
+    private static final String WRITE_FAILED = new String("WRITE_FAILED");
+
+    private final Logger logger = LoggerFactory.getLogger(Coprocess.class);
+
+    private final String[] command;
+    private final Process process;
+    private final BufferedWriter writer;
+    private final BlockingQueue<String> requests = new LinkedBlockingQueue<>();
+    private final BlockingQueue<String> responses = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+    private volatile boolean broken;
+
+    Coprocess(String[] command) throws IOException {
+        this.command = command;
+        this.process = new ProcessBuilder(command).start();
+        this.writer = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+
+        startThread(this::readResponses, "OH-exec-coprocess-" + command[0]);
+        startThread(this::readErrors, "OH-exec-coprocess-stderr-" + command[0]);
+        // writing may block when the helper does not read its stdin, so it is done by a separate thread as well
+        this.writerThread = startThread(this::writeRequests, "OH-exec-coprocess-stdin-" + command[0]);
+    }
+
+    /**
+     * Sends one input line to the helper and waits for its answer.
+     *
+     * @param source the input, must not contain line breaks
+     * @param timeout maximum time to send the input and wait for the answer in milliseconds
+     * @return the answer of the helper
+     * @throws TransformationException if the helper died, did not answer in time or the input could not be sent
+     */
+    String request(String source, long timeout) throws TransformationException {
+        if (!isAlive()) {
+            throw new TransformationException("Coprocess '" + command[0] + "' is not running");
+        }
+        requests.offer(source);
+        try {
+            @Nullable
+            String response = responses.poll(timeout, TimeUnit.MILLISECONDS);
+            if (response == null) {
+                destroy();
+                throw new TransformationException(
+                        "Coprocess '" + command[0] + "' did not answer within " + timeout + " ms");
+            }
+            if (response == END_OF_STREAM) {
+                destroy();
+                throw new TransformationException("Coprocess '" + command[0] + "' terminated");
+            }
+            if (response == WRITE_FAILED) {
+                destroy();
+                throw new TransformationException("Failed to send input to coprocess '" + command[0] + "'");
+            }
+            return response;
+        } catch (InterruptedException e) {
+            destroy();
+            Thread.currentThread().interrupt();
+            throw new TransformationException("Interrupted while waiting for coprocess '" + command[0] + "'", e);
+        }
+    }
+
+    boolean isAlive() {
+        return !broken && process.isAlive();
+    }
+
+    /**
+     * Kills the helper. A write blocked on its stdin fails once the process is gone.
+     */
+    void destroy() {
+        broken = true;
+        writerThread.interrupt();
+        process.destroyForcibly();
+    }
+
+    private Thread startThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private void writeRequests() {
+        try {
+            while (!broken) {
+                String request = requests.take();
+                writer.write(request);
+                writer.newLine();
+                writer.flush();
+            }
+        } catch (IOException e) {
+            logger.debug("Writing to coprocess '{}' failed: {}", command[0], e.getMessage());
+            broken = true;
+            responses.offer(WRITE_FAILED);
+        } catch (InterruptedException e) {
+            // destroyed
+        }
+    }
+
+    private void readResponses() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                responses.offer(line);
+            }
+        } catch (IOException e) {
+            logger.debug("Reading from coprocess '{}' failed: {}", command[0], e.getMessage());
+        }
+        broken = true;
+        responses.offer(END_OF_STREAM);
+    }
+
+    private void readErrors() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                logger.debug("Coprocess '{}' error output: {}", command[0], line);
+            }
+        } catch (IOException e) {
+            // the stream is closed when the process is destroyed
+        }
+    }
+}
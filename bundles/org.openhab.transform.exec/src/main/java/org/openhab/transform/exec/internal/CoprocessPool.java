@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.StringTokenizer;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of {@link Coprocess}es running the same command line. Helpers are started on demand up to a fixed number and
+ * are replaced transparently when they crash or time out.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class CoprocessPool {
+
+    private final Logger logger = LoggerFactory.getLogger(CoprocessPool.class);
+
+    private final String[] command;
+    private final int maxProcesses;
+    // idle helpers and the number of started helpers, guarded by the pool, which is notified when either changes
+    private final Queue<Coprocess> idleProcesses = new ArrayDeque<>();
+    private int processCount;
+    private boolean closed;
+
+    /**
+     * @param commandLine the command line of the helper. Like for the spawn-per-call mode, arguments are separated by
+     *            whitespace or, if present, by <code>@@</code>.
+     * @param maxProcesses maximum number of helpers running concurrently
+     * @throws TransformationException if the command line is empty
+     */
+    CoprocessPool(String commandLine, int maxProcesses) throws TransformationException {
+        this.command = splitCommandLine(commandLine);
+        if (command.length == 0 || command[0].isEmpty()) {
+            throw new TransformationException("Command line for coprocess must not be empty");
+        }
+        this.maxProcesses = maxProcesses;
+    }
+
+    /**
+     * Transforms the input by one of the helpers of this pool.
+     *
+     * @param source the input to transform
+     * @param timeout maximum time in milliseconds to wait for a free helper and for its answer each
+     * @return the answer of the helper
+     * @throws TransformationException if no helper is available or the helper failed
+     */
+    String transform(String source, long timeout) throws TransformationException {
+        if (source.indexOf('\n') >= 0 || source.indexOf('\r') >= 0) {
+            throw new TransformationException("Input for a coprocess must not contain line breaks");
+        }
+
+        Coprocess coprocess = acquire(timeout);
+        try {
+            return coprocess.request(source, timeout);
+        } finally {
+            release(coprocess);
+        }
+    }
+
+    /**
+     * Stops all helpers. Helpers in use are stopped when they are released.
+     */
+    synchronized void close() {
+        closed = true;
+        Coprocess coprocess;
+        while ((coprocess = idleProcesses.poll()) != null) {
+            coprocess.destroy();
+            processCount--;
+        }
+        notifyAll();
+    }
+
+    /**
+     * Takes an idle helper or starts a new one if the pool is not full. Otherwise waits until a helper is released or
+     * a helper of the pool has been stopped, which frees a slot for a new one.
+     */
+    private Coprocess acquire(long timeout) throws TransformationException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        synchronized (this) {
+            while (true) {
+                if (closed) {
+                    throw new TransformationException("Coprocess pool for '" + command[0] + "' is closed");
+                }
+                Coprocess coprocess = idleProcesses.poll();
+                if (coprocess != null) {
+                    if (coprocess.isAlive()) {
+                        return coprocess;
+                    }
+                    // crashed while idle, stop its threads and start a replacement in its slot
+                    logger.debug("Restarting crashed coprocess '{}'", command[0]);
+                    coprocess.destroy();
+                    processCount--;
+                }
+                if (processCount < maxProcesses) {
+                    processCount++;
+                    break;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new TransformationException(
+                            "No coprocess '" + command[0] + "' available within " + timeout + " ms");
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new TransformationException("Interrupted while waiting for coprocess '" + command[0] + "'",
+                            e);
+                }
+            }
+        }
+        try {
+            logger.debug("Starting coprocess '{}'", command[0]);
+            return new Coprocess(command);
+        } catch (IOException e) {
+            releaseProcess();
+            throw new TransformationException("Failed to start coprocess '" + command[0] + "'", e);
+        }
+    }
+
+    private void release(Coprocess coprocess) {
+        synchronized (this) {
+            if (!closed && coprocess.isAlive()) {
+                idleProcesses.offer(coprocess);
+                notifyAll();
+                return;
+            }
+        }
+        coprocess.destroy();
+        releaseProcess();
+    }
+
+    private synchronized void releaseProcess() {
+        processCount--;
+        notifyAll();
+    }
+
+    private static String[] splitCommandLine(String commandLine) {
+        if (commandLine.contains("@@")) {
+            return commandLine.trim().split("@@");
+        }
+        List<String> arguments = new ArrayList<>();
+        StringTokenizer tokenizer = new StringTokenizer(commandLine);
+        while (tokenizer.hasMoreTokens()) {
+            arguments.add(tokenizer.nextToken());
+        }
+        return arguments.toArray(new String[arguments.size()]);
+    }
+}
@@ -12,12 +12,16 @@
  */
 package org.openhab.transform.exec.internal;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.eclipse.smarthome.io.net.exec.ExecUtil;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,11 +35,29 @@ import org.slf4j.LoggerFactory;
 @Component(immediate = true, property = { "smarthome.transform=EXEC" })
 public class ExecTransformationService implements TransformationService {
 
+    /** prefix of a command line selecting the coprocess mode */
+    static final String COPROCESS_PREFIX = "coprocess:";
+
+    private static final int TIMEOUT_MS = 5000;
+    private static final int MAX_COPROCESSES = 4;
+
     private final Logger logger = LoggerFactory.getLogger(ExecTransformationService.class);
 
+    private final Map<String, CoprocessPool> coprocessPools = new ConcurrentHashMap<>();
+
+    @Deactivate
+    public void deactivate() {
+        coprocessPools.values().forEach(CoprocessPool::close);
+        coprocessPools.clear();
+    }
+
     /**
      * Transforms the input <code>source</code> by the command line.
      *
+     * By default the command is executed once per transformation. If the command line starts with
+     * {@link #COPROCESS_PREFIX}, the command is started as a long-lived helper instead, which reads one input per line
+     * on its stdin and has to answer each with one line on its stdout.
+     *
      * @param commandLine the command to execute. Command line should contain %s string,
      *                        which will be replaced by the input data.
      * @param source      the input to transform
@@ -50,11 +72,30 @@ public class ExecTransformationService implements TransformationService {
 
         long startTime = System.currentTimeMillis();
 
-        String formattedCommandLine = String.format(commandLine, source);
-        String result = ExecUtil.executeCommandLineAndWaitResponse(formattedCommandLine, 5000);
+        @Nullable
+        String result;
+        if (commandLine.startsWith(COPROCESS_PREFIX)) {
+            result = getCoprocessPool(commandLine.substring(COPROCESS_PREFIX.length())).transform(source,
+                    TIMEOUT_MS);
+        } else {
+            String formattedCommandLine = String.format(commandLine, source);
+            result = ExecUtil.executeCommandLineAndWaitResponse(formattedCommandLine, TIMEOUT_MS);
+        }
         logger.trace("command line execution elapsed {} ms", System.currentTimeMillis() - startTime);
 
         return result;
     }
 
+    private CoprocessPool getCoprocessPool(String commandLine) throws TransformationException {
+        CoprocessPool pool = coprocessPools.get(commandLine);
+        if (pool == null) {
+            CoprocessPool newPool = new CoprocessPool(commandLine, MAX_COPROCESSES);
+            pool = coprocessPools.putIfAbsent(commandLine, newPool);
+            if (pool == null) {
+                pool = newPool;
+            }
+        }
+        return pool;
+    }
+
 }
@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link CoprocessPool}, using shell scripts as helpers.
+ *
+ * @author agent - Initial contribution
+ */
+public class CoprocessPoolTest {
+
+    private static final long TIMEOUT = 5000;
+
+    /** answers with the process id of the helper, sleeps on input "sleep" and exits on input "crash" */
+    private static final String HELPER = "sh@@-c@@while read -r value; do "
+            + "if [ \"$value\" = sleep ]; then sleep 10; fi; " + "if [ \"$value\" = crash ]; then exit 1; fi; "
+            + "echo \"error output\" >&2; echo \"$$ $value\"; done";
+
+    private CoprocessPool pool;
+
+    @Before
+    public void setUp() {
+        Assume.assumeFalse(System.getProperty("os.name").toLowerCase().startsWith("windows"));
+    }
+
+    @After
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testHelperIsReused() throws TransformationException {
+        pool = new CoprocessPool(HELPER, 2);
+
+        String first = pool.transform("a", TIMEOUT);
+        String second = pool.transform("b", TIMEOUT);
+
+        assertEquals("a", value(first));
+        assertEquals("b", value(second));
+        assertEquals(pid(first), pid(second));
+    }
+
+    @Test
+    public void testConcurrentTransformationsAreLimitedToPoolSize() throws Exception {
+        pool = new CoprocessPool(HELPER, 2);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<String>> tasks = IntStream.range(0, 40).mapToObj(i -> (Callable<String>) () -> {
+                String response = pool.transform(Integer.toString(i), TIMEOUT);
+                assertEquals(Integer.toString(i), value(response));
+                return pid(response);
+            }).collect(Collectors.toList());
+
+            Set<String> pids = new HashSet<>();
+            for (Future<String> future : executor.invokeAll(tasks)) {
+                pids.add(future.get());
+            }
+            assertTrue(pids.size() >= 1 && pids.size() <= 2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCrashedHelperIsRestarted() throws TransformationException {
+        pool = new CoprocessPool(HELPER, 1);
+
+        String first = pool.transform("a", TIMEOUT);
+        try {
+            pool.transform("crash", TIMEOUT);
+            fail("Terminated helper not reported");
+        } catch (TransformationException e) {
+            // expected
+        }
+        String second = pool.transform("b", TIMEOUT);
+
+        assertEquals("b", value(second));
+        assertNotEquals(pid(first), pid(second));
+    }
+
+    @Test(timeout = 20000)
+    public void testHelperIsReplacedAfterTimeout() throws TransformationException {
+        pool = new CoprocessPool(HELPER, 1);
+
+        String first = pool.transform("a", TIMEOUT);
+        try {
+            pool.transform("sleep", 200);
+            fail("Timeout not reported");
+        } catch (TransformationException e) {
+            // expected
+        }
+        String second = pool.transform("b", TIMEOUT);
+
+        assertEquals("b", value(second));
+        assertNotEquals(pid(first), pid(second));
+    }
+
+    @Test(timeout = 20000)
+    public void testWaitingTransformationStartsHelperWhenSlotIsFreed() throws Exception {
+        pool = new CoprocessPool(HELPER, 1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> timedOut = executor.submit(() -> pool.transform("sleep", 1000));
+            Thread.sleep(200);
+
+            // the only helper times out and is stopped while this transformation waits for it
+            String response = pool.transform("b", TIMEOUT);
+
+            assertEquals("b", value(response));
+            try {
+                timedOut.get();
+                fail("Timeout not reported");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof TransformationException);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void testCrashedIdleHelperIsStopped() throws Exception {
+        // a distinct command name to tell the threads of this helper from those of other tests
+        String command = "/bin/sh";
+        pool = new CoprocessPool(command + HELPER.substring(2), 1);
+
+        String first = pool.transform("a", TIMEOUT);
+        new ProcessBuilder("kill", pid(first)).start().waitFor();
+        while (countThreads("OH-exec-coprocess-" + command) > 0) {
+            // wait until the end of the output of the killed helper has been read
+            Thread.sleep(50);
+        }
+
+        String second = pool.transform("b", TIMEOUT);
+
+        assertEquals("b", value(second));
+        assertNotEquals(pid(first), pid(second));
+        // only the writer thread of the replacement is left
+        while (countThreads("OH-exec-coprocess-stdin-" + command) > 1) {
+            Thread.sleep(50);
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void testHelperNotReadingInputTimesOut() throws TransformationException {
+        pool = new CoprocessPool("sleep 30", 1);
+
+        // much more than fits into the pipe buffer, so writing blocks
+        char[] input = new char[1024 * 1024];
+        Arrays.fill(input, 'x');
+        try {
+            pool.transform(new String(input), 200);
+            fail("Timeout not reported");
+        } catch (TransformationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testClosedPoolFails() throws TransformationException {
+        pool = new CoprocessPool(HELPER, 1);
+        pool.transform("a", TIMEOUT);
+        pool.close();
+
+        try {
+            pool.transform("b", TIMEOUT);
+            fail("Closed pool not reported");
+        } catch (TransformationException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testInputWithLineBreakIsRejected() throws TransformationException {
+        pool = new CoprocessPool(HELPER, 1);
+        pool.transform("a\nb", TIMEOUT);
+    }
+
+    private static long countThreads(String name) {
+        return Thread.getAllStackTraces().keySet().stream().filter(thread -> name.equals(thread.getName())).count();
+    }
+
+    private static String pid(String response) {
+        return response.substring(0, response.indexOf(' '));
+    }
+
+    private static String value(String response) {
+        return response.substring(response.indexOf(' ') + 1);
+    }
+}
@@ -0,0 +1,7 @@
+// assigns the input to a global variable and reads it back after a while, which mixes up the results of concurrent
+// transformations sharing their global variables
+value = input;
+for (i = 0; i < 1000; i++) {
+    count = i;
+}
+value + "/" + count
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Pool of compiled instances of one JavaScript file. Every instance is compiled on its own {@link ScriptEngine}, so
+ * concurrent transformations neither block each other nor share global script state.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class CompiledScriptPool {
+
+    /* idle instances kept per script, further instances are created on demand and dropped after use */
+    static final int MAX_IDLE_SCRIPTS = 8;
+
+    private final ScriptEngineManager manager;
+    private final String source;
+    private final Queue<CompiledScript> idleScripts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private volatile boolean invalidated;
+
+    /**
+     * Creates a pool and compiles its first instance, so syntax errors are reported when the script is loaded.
+     *
+     * @param manager the manager used to create script engines
+     * @param source content of the JavaScript file
+     * @throws ScriptException if the script cannot be compiled
+     */
+    CompiledScriptPool(ScriptEngineManager manager, String source) throws ScriptException {
+        this.manager = manager;
+        this.source = source;
+        release(compile());
+    }
+
+    /**
+     * Takes an idle compiled script from the pool or compiles a new one if none is available. The script has to be
+     * handed back by {@link #release(CompiledScript)} after evaluation.
+     *
+     * @return a compiled script for exclusive use by the caller
+     * @throws ScriptException if the script cannot be compiled
+     */
+    CompiledScript borrow() throws ScriptException {
+        CompiledScript script = idleScripts.poll();
+        if (script != null) {
+            idleCount.decrementAndGet();
+            return script;
+        }
+        return compile();
+    }
+
+    /**
+     * Hands a compiled script back to the pool. Scripts of an invalidated pool or beyond the idle limit are dropped.
+     *
+     * @param script the script previously returned by {@link #borrow()}
+     */
+    void release(@Nullable CompiledScript script) {
+        if (script == null || invalidated) {
+            return;
+        }
+        if (idleCount.incrementAndGet() <= MAX_IDLE_SCRIPTS) {
+            idleScripts.offer(script);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Drops all idle scripts. Scripts currently in use are dropped when they are released.
+     */
+    void invalidate() {
+        invalidated = true;
+        idleScripts.clear();
+        idleCount.set(0);
+    }
+
+    private CompiledScript compile() throws ScriptException {
+        final ScriptEngine engine = manager.getEngineByName("javascript");
+        return ((Compilable) engine).compile(source);
+    }
+}
@@ -13,20 +13,19 @@
 package org.openhab.transform.javascript.internal;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.util.Map;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 
-import javax.script.Compilable;
-import javax.script.CompiledScript;
-import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
@@ -44,36 +43,59 @@ public class JavaScriptEngineManager {
 
     private final Logger logger = LoggerFactory.getLogger(JavaScriptEngineManager.class);
     private final ScriptEngineManager manager = new ScriptEngineManager();
-    /* keep memory foot print low. max 2 concurrent threads are estimated */
-    private final Map<String, CompiledScript> compiledScriptMap = new ConcurrentHashMap<>(4, 0.5f, 2);
+    /* lookups of loaded scripts never block, a script still being loaded is awaited by its future */
+    private final ConcurrentMap<String, CompletableFuture<CompiledScriptPool>> scriptPools = new ConcurrentHashMap<>();
 
     /**
-     * Get a pre compiled script {@link CompiledScript} from cache. If it is not in the cache, then load it from
-     * storage and put a pre compiled version into the cache.
+     * Get the pool of pre compiled scripts {@link CompiledScriptPool} from cache. If it is not in the cache, then load
+     * the script from storage and put a pool with a pre compiled version into the cache. A script is loaded and
+     * compiled only once, even if it is requested by several threads at the same time.
      *
      * @param filename name of the JavaScript file to load
-     * @return a pre compiled script {@link CompiledScript}
+     * @return the pool of pre compiled scripts {@link CompiledScriptPool}
      * @throws TransformationException if compile of JavaScript failed
      */
-    protected CompiledScript getScript(final String filename) throws TransformationException {
-        synchronized (compiledScriptMap) {
-            if (compiledScriptMap.containsKey(filename)) {
-                logger.debug("Loading JavaScript {} from cache.", filename);
-                return compiledScriptMap.get(filename);
-            } else {
-                final String path = TransformationScriptWatcher.TRANSFORM_FOLDER + File.separator + filename;
-                logger.debug("Loading script {} from storage ", path);
-                try (final Reader reader = new InputStreamReader(new FileInputStream(path))) {
-                    final ScriptEngine engine = manager.getEngineByName("javascript");
-                    final CompiledScript cScript = ((Compilable) engine).compile(reader);
-                    logger.debug("Putting compiled JavaScript {} to cache.", cScript);
-                    compiledScriptMap.put(filename, cScript);
-                    return cScript;
-                } catch (IOException | ScriptException e) {
-                    throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(),
-                            e);
-                }
+    protected CompiledScriptPool getScriptPool(final String filename) throws TransformationException {
+        CompletableFuture<CompiledScriptPool> future = scriptPools.get(filename);
+        if (future == null) {
+            final CompletableFuture<CompiledScriptPool> newFuture = new CompletableFuture<>();
+            future = scriptPools.putIfAbsent(filename, newFuture);
+            if (future == null) {
+                future = newFuture;
+                load(filename, newFuture);
             }
+        } else {
+            logger.debug("Loading JavaScript {} from cache.", filename);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransformationException("Interrupted while loading JavaScript " + filename, e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof TransformationException) {
+                throw (TransformationException) cause;
+            }
+            throw new TransformationException("An error occurred while loading JavaScript. " + cause.getMessage(),
+                    cause);
+        }
+    }
+
+    private void load(final String filename, final CompletableFuture<CompiledScriptPool> future) {
+        final String path = TransformationScriptWatcher.TRANSFORM_FOLDER + File.separator + filename;
+        logger.debug("Loading script {} from storage ", path);
+        try {
+            final String source = new String(Files.readAllBytes(Paths.get(path)));
+            final CompiledScriptPool pool = new CompiledScriptPool(manager, source);
+            logger.debug("Putting compiled JavaScript {} to cache.", filename);
+            future.complete(pool);
+        } catch (IOException | ScriptException | RuntimeException e) {
+            // do not cache failures, the next request retries loading the script
+            scriptPools.remove(filename, future);
+            future.completeExceptionally(
+                    new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(), e));
         }
     }
 
@@ -84,6 +106,12 @@ public class JavaScriptEngineManager {
      */
     protected void removeFromCache(String fileName) {
         logger.debug("Removing JavaScript {} from cache.", fileName);
-        compiledScriptMap.remove(fileName);
+        final CompletableFuture<CompiledScriptPool> future = scriptPools.remove(fileName);
+        if (future != null) {
+            final @Nullable CompiledScriptPool pool = future.getNow(null);
+            if (pool != null) {
+                pool.invalidate();
+            }
+        }
     }
 }
@@ -70,8 +70,11 @@ public class JavaScriptTransformationService implements TransformationService {
 
         String result = "";
 
+        final CompiledScriptPool pool = manager.getScriptPool(filename);
+        @Nullable
+        CompiledScript cScript = null;
         try {
-            final CompiledScript cScript = manager.getScript(filename);
+            cScript = pool.borrow();
             final Bindings bindings = cScript.getEngine().createBindings();
             bindings.put("input", source);
             result = String.valueOf(cScript.eval(bindings));
@@ -79,6 +82,7 @@ public class JavaScriptTransformationService implements TransformationService {
         } catch (ScriptException e) {
             throw new TransformationException("An error occurred while executing script. " + e.getMessage(), e);
         } finally {
+            pool.release(cScript);
             logger.trace("JavaScript execution elapsed {} ms. Result: {}", System.currentTimeMillis() - startTime,
                     result);
         }
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the reuse of compiled scripts and the idle limit of the {@link CompiledScriptPool}.
+ *
+ * @author agent - Initial contribution
+ */
+public class CompiledScriptPoolTest {
+
+    private static final String SOURCE = "input";
+
+    private final AtomicInteger compileCount = new AtomicInteger();
+    private ScriptEngineManager manager;
+
+    @Before
+    public void init() {
+        manager = mock(ScriptEngineManager.class);
+        when(manager.getEngineByName("javascript")).thenAnswer(invocation -> {
+            ScriptEngine engine = mock(ScriptEngine.class, withSettings().extraInterfaces(Compilable.class));
+            when(((Compilable) engine).compile(anyString())).thenAnswer(compile -> {
+                if (!SOURCE.equals(compile.getArgument(0))) {
+                    throw new ScriptException("syntax error");
+                }
+                compileCount.incrementAndGet();
+                return mock(CompiledScript.class);
+            });
+            return engine;
+        });
+    }
+
+    @Test
+    public void testFirstScriptIsCompiledOnCreation() throws ScriptException {
+        CompiledScriptPool pool = new CompiledScriptPool(manager, SOURCE);
+        assertEquals(1, compileCount.get());
+
+        pool.borrow();
+        assertEquals(1, compileCount.get());
+    }
+
+    @Test(expected = ScriptException.class)
+    public void testSyntaxErrorIsReportedOnCreation() throws ScriptException {
+        new CompiledScriptPool(manager, "input +");
+    }
+
+    @Test
+    public void testBorrowedScriptsAreExclusiveAndReused() throws ScriptException {
+        CompiledScriptPool pool = new CompiledScriptPool(manager, SOURCE);
+
+        CompiledScript first = pool.borrow();
+        CompiledScript second = pool.borrow();
+        assertNotSame(first, second);
+        assertEquals(2, compileCount.get());
+
+        pool.release(second);
+        assertSame(second, pool.borrow());
+        assertEquals(2, compileCount.get());
+    }
+
+    @Test
+    public void testIdleScriptsAreLimited() throws ScriptException {
+        CompiledScriptPool pool = new CompiledScriptPool(manager, SOURCE);
+        int borrowCount = CompiledScriptPool.MAX_IDLE_SCRIPTS + 4;
+
+        List<CompiledScript> scripts = new ArrayList<>();
+        for (int i = 0; i < borrowCount; i++) {
+            scripts.add(pool.borrow());
+        }
+        assertEquals(borrowCount, compileCount.get());
+        scripts.forEach(pool::release);
+
+        // only the idle scripts within the limit are kept and reused
+        Set<CompiledScript> reused = new HashSet<>();
+        for (int i = 0; i < borrowCount; i++) {
+            reused.add(pool.borrow());
+        }
+        assertEquals(borrowCount, reused.size());
+        assertEquals(borrowCount + borrowCount - CompiledScriptPool.MAX_IDLE_SCRIPTS, compileCount.get());
+        reused.retainAll(scripts);
+        assertEquals(CompiledScriptPool.MAX_IDLE_SCRIPTS, reused.size());
+    }
+
+    @Test
+    public void testInvalidatedPoolDropsScripts() throws ScriptException {
+        CompiledScriptPool pool = new CompiledScriptPool(manager, SOURCE);
+        CompiledScript borrowed = pool.borrow();
+
+        pool.invalidate();
+        pool.release(borrowed);
+
+        assertNotSame(borrowed, pool.borrow());
+        assertEquals(2, compileCount.get());
+    }
+}
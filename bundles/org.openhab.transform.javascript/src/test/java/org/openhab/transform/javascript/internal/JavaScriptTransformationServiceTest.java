@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.script.ScriptEngineManager;
+
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link JavaScriptTransformationService} with the cached pools of compiled scripts of the
+ * {@link JavaScriptEngineManager}.
+ *
+ * @author agent - Initial contribution
+ */
+public class JavaScriptTransformationServiceTest {
+
+    private static final String CHANGING_SCRIPT = "js/changing.js";
+    private static final int THREADS = 8;
+    private static final int TRANSFORMS_PER_THREAD = 200;
+
+    private final Path changingScript = Paths.get(TransformationScriptWatcher.TRANSFORM_FOLDER, CHANGING_SCRIPT);
+
+    private JavaScriptTransformationService processor;
+    private JavaScriptEngineManager manager;
+
+    @Before
+    public void init() {
+        // the JavaScript engine is not available on every Java version
+        Assume.assumeNotNull(new ScriptEngineManager().getEngineByName("javascript"));
+
+        manager = new JavaScriptEngineManager();
+        processor = new JavaScriptTransformationService();
+        processor.setJavaScriptEngineManager(manager);
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        Files.deleteIfExists(changingScript);
+    }
+
+    @Test
+    public void testConcurrentTransformsUseIndependentBindings() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                String prefix = "thread" + thread + "-";
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < TRANSFORMS_PER_THREAD; i++) {
+                        assertEquals(prefix + i + "/999", processor.transform("js/globals.js", prefix + i));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testChangedScriptIsReloadedAfterRemovalFromCache() throws Exception {
+        writeChangingScript("'first ' + input");
+        assertEquals("first a", processor.transform(CHANGING_SCRIPT, "a"));
+
+        // the cached script is used until the watcher reports the change
+        writeChangingScript("'second ' + input");
+        assertEquals("first b", processor.transform(CHANGING_SCRIPT, "b"));
+
+        manager.removeFromCache(CHANGING_SCRIPT);
+        assertEquals("second c", processor.transform(CHANGING_SCRIPT, "c"));
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testScriptWithSyntaxErrorIsRejected() throws Exception {
+        writeChangingScript("input +");
+        processor.transform(CHANGING_SCRIPT, "a");
+    }
+
+    private void writeChangingScript(String source) throws IOException {
+        Files.write(changingScript, source.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -31,6 +32,11 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.Context;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
+import com.hubspot.jinjava.tree.Node;
 
 /**
  * <p>
@@ -45,8 +51,34 @@ public class JinjaTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(JinjaTransformationService.class);
 
+    /**
+     * Maximum number of parsed templates kept in {@link #templateCache}.
+     */
+    private static final int MAX_CACHED_TEMPLATES = 256;
+
+    private static final String VALUE_JSON = "value_json";
+
+    /**
+     * {@link ObjectMapper} is thread-safe once configured, so a single instance is shared by all transformations.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     private Jinjava jinjava = new Jinjava();
 
+    /**
+     * Parsed templates keyed by template text, evicting the least recently used entry once
+     * {@link #MAX_CACHED_TEMPLATES} is exceeded. Access must be synchronized on the map.
+     */
+    private final Map<String, CachedTemplate> templateCache = new LinkedHashMap<String, CachedTemplate>(16, 0.75f,
+            true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, CachedTemplate> eldest) {
+            return size() > MAX_CACHED_TEMPLATES;
+        }
+    };
+
     /**
      * Transforms the input <code>value</code> by Jinja template.
      *
@@ -58,23 +90,96 @@ public class JinjaTransformationService implements TransformationService {
     public @Nullable String transform(String template, String value) throws TransformationException {
         logger.debug("about to transform '{}' by the function '{}'", value, template);
 
+        CachedTemplate cachedTemplate = getTemplate(template);
+
         Map<String, @Nullable Object> bindings = new HashMap<>();
         bindings.put("value", value);
 
-        try {
-            JsonNode tree = new ObjectMapper().readTree(value);
-            bindings.put("value_json", toObject(tree));
-        } catch (IOException e) {
-            // ok, then value_json is null...
+        if (cachedTemplate.usesValueJson) {
+            try {
+                JsonNode tree = OBJECT_MAPPER.readTree(value);
+                bindings.put(VALUE_JSON, toObject(tree));
+            } catch (IOException e) {
+                // ok, then value_json is null...
+            }
         }
 
-        String transformationResult = jinjava.render(template, bindings);
+        String transformationResult = render(cachedTemplate.root, bindings);
 
         logger.debug("transformation resulted in '{}'", transformationResult);
 
         return transformationResult;
     }
 
+    /**
+     * Returns the parsed template for the given template text, parsing and caching it on first use.
+     *
+     * @throws TransformationException if the template cannot be parsed
+     */
+    private CachedTemplate getTemplate(String template) throws TransformationException {
+        synchronized (templateCache) {
+            CachedTemplate cachedTemplate = templateCache.get(template);
+            if (cachedTemplate != null) {
+                return cachedTemplate;
+            }
+        }
+
+        // parse outside the lock, a concurrent duplicate parse is harmless
+        JinjavaInterpreter interpreter = jinjava.newInterpreter();
+        Node root = interpreter.parse(template);
+        checkErrors(interpreter, "parse");
+
+        CachedTemplate cachedTemplate = new CachedTemplate(root, template.contains(VALUE_JSON));
+
+        synchronized (templateCache) {
+            templateCache.put(template, cachedTemplate);
+        }
+        return cachedTemplate;
+    }
+
+    /**
+     * Renders an already parsed template the same way {@link Jinjava#render(String, Map)} renders template text.
+     *
+     * @throws TransformationException if rendering the template failed
+     */
+    private String render(Node root, Map<String, @Nullable Object> bindings) throws TransformationException {
+        Context context = new Context(jinjava.getGlobalContext(), bindings,
+                jinjava.getGlobalConfig().getDisabled());
+        JinjavaInterpreter interpreter = new JinjavaInterpreter(jinjava, context, jinjava.getGlobalConfig());
+
+        JinjavaInterpreter.pushCurrent(interpreter);
+        String result;
+        try {
+            result = interpreter.render(root);
+        } finally {
+            JinjavaInterpreter.popCurrent();
+        }
+        checkErrors(interpreter, "render");
+        return result;
+    }
+
+    /**
+     * Fails the transformation on fatal errors, like {@link Jinjava#render(String, Map)} does.
+     */
+    private void checkErrors(JinjavaInterpreter interpreter, String action) throws TransformationException {
+        @Nullable
+        StringBuilder message = null;
+        for (TemplateError error : interpreter.getErrors()) {
+            if (error.getSeverity() != ErrorType.FATAL) {
+                continue;
+            }
+            if (message == null) {
+                message = new StringBuilder("Failed to ").append(action).append(" Jinja template:");
+            } else {
+                message.append(';');
+            }
+            message.append(" line ").append(error.getLineno()).append(": ").append(error.getMessage());
+        }
+        if (message != null) {
+            throw new TransformationException(message.toString());
+        }
+    }
+
     private static @Nullable Object toObject(JsonNode node) {
         switch (node.getNodeType()) {
             case ARRAY: {
@@ -104,4 +209,14 @@ public class JinjaTransformationService implements TransformationService {
                 return null;
         }
     }
+
+    private static class CachedTemplate {
+        private final Node root;
+        private final boolean usesValueJson;
+
+        private CachedTemplate(Node root, boolean usesValueJson) {
+            this.root = root;
+            this.usesValueJson = usesValueJson;
+        }
+    }
 }
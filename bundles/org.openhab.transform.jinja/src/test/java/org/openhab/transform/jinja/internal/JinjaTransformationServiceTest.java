@@ -62,4 +62,52 @@ public class JinjaTransformationServiceTest {
         Assert.assertEquals("Hello world!", transformedResponse);
     }
 
+    @Test
+    public void testCachedTemplateWithDifferentValues() throws TransformationException {
+        String template = "{{value_json.Temperature}}";
+
+        // method under test
+        String first = processor.transform(template, "{\"Temperature\":4.7}");
+        String second = processor.transform(template, "{\"Temperature\":5.2}");
+
+        // Asserts
+        Assert.assertEquals("4.7", first);
+        Assert.assertEquals("5.2", second);
+    }
+
+    @Test
+    public void testJsonValueWithoutValueJsonReference() throws TransformationException {
+
+        String value = "{\"Temperature\":4.7}";
+        // method under test
+        String transformedResponse = processor.transform("raw: {{ value }}", value);
+
+        // Asserts
+        Assert.assertEquals("raw: {\"Temperature\":4.7}", transformedResponse);
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testTemplateWithUnknownTag() throws TransformationException {
+        // method under test
+        processor.transform("Hello {% unknowntag %}{{ value }}!", "world");
+    }
+
+    @Test
+    public void testTemplateWithInvalidExpression() throws TransformationException {
+        String template = "Hello {{ value + }}!";
+
+        // method under test, a failing template must fail on every use
+        for (int i = 0; i < 2; i++) {
+            try {
+                processor.transform(template, "world");
+                Assert.fail("Invalid expression not reported");
+            } catch (TransformationException e) {
+                // expected
+            }
+        }
+
+        // Asserts
+        Assert.assertEquals("Hello world!", processor.transform("Hello {{ value }}!", "world"));
+    }
+
 }
@@ -12,7 +12,9 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -24,6 +26,7 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -41,8 +44,41 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(immediate = true, property = { "smarthome.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    /** Maximum number of compiled JsonPath expressions kept in {@link #compiledPaths} */
+    private static final int MAX_COMPILED_PATHS = 256;
+
+    /** Maximum number of parsed documents kept in {@link #parsedDocuments} */
+    private static final int MAX_PARSED_DOCUMENTS = 8;
+
+    /**
+     * Time a parsed document is reused for. Channels fed by the same payload are transformed within a short time, so
+     * a short window is enough to parse such a payload only once.
+     */
+    private static final long PARSED_DOCUMENT_TTL_MS = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    /** LRU cache of compiled expressions, access must be synchronized on the map */
+    private final Map<String, JsonPath> compiledPaths = new LinkedHashMap<String, JsonPath>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, JsonPath> eldest) {
+            return size() > MAX_COMPILED_PATHS;
+        }
+    };
+
+    /** LRU cache of recently parsed documents keyed by their source, access must be synchronized on the map */
+    private final Map<String, ParsedDocument> parsedDocuments = new LinkedHashMap<String, ParsedDocument>(16, 0.75f,
+            true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, ParsedDocument> eldest) {
+            return size() > MAX_PARSED_DOCUMENTS;
+        }
+    };
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -60,7 +96,7 @@ public class JSonPathTransformationService implements TransformationService {
         logger.debug("about to transform '{}' by the function '{}'", source, jsonPathExpression);
 
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            Object transformationResult = getDocument(source).read(getPath(jsonPathExpression));
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -76,6 +112,35 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    private JsonPath getPath(String jsonPathExpression) {
+        synchronized (compiledPaths) {
+            JsonPath path = compiledPaths.get(jsonPathExpression);
+            if (path != null) {
+                return path;
+            }
+        }
+        JsonPath path = JsonPath.compile(jsonPathExpression);
+        synchronized (compiledPaths) {
+            compiledPaths.put(jsonPathExpression, path);
+        }
+        return path;
+    }
+
+    private DocumentContext getDocument(String source) {
+        long now = System.currentTimeMillis();
+        synchronized (parsedDocuments) {
+            ParsedDocument document = parsedDocuments.get(source);
+            if (document != null && now - document.parsedAt < PARSED_DOCUMENT_TTL_MS) {
+                return document.context;
+            }
+        }
+        DocumentContext context = JsonPath.parse(source);
+        synchronized (parsedDocuments) {
+            parsedDocuments.put(source, new ParsedDocument(context, now));
+        }
+        return context;
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -100,4 +165,14 @@ public class JSonPathTransformationService implements TransformationService {
     private String createStringList(List<?> list) {
         return list.stream().map(n -> "\"" + String.valueOf(n) + "\"").collect(Collectors.joining(", ", "[", "]"));
     }
+
+    private static class ParsedDocument {
+        private final DocumentContext context;
+        private final long parsedAt;
+
+        private ParsedDocument(DocumentContext context, long parsedAt) {
+            this.context = context;
+            this.parsedAt = parsedAt;
+        }
+    }
 }
@@ -129,4 +129,24 @@ public class JSonPathTransformationServiceTest {
         String transformedResponse = processor.transform("$.data", json);
         assertEquals(list, transformedResponse);
     }
+
+    @Test
+    public void testSeveralPathsOnSameSource() throws TransformationException {
+        final String json = "{\"StatusSNS\":{\"AM2301\":{\"Temperature\":4.7,\"Humidity\":99.9}}}";
+        assertEquals("4.7", processor.transform("$.StatusSNS.AM2301.Temperature", json));
+        assertEquals("99.9", processor.transform("$.StatusSNS.AM2301.Humidity", json));
+        assertEquals("4.7", processor.transform("$.StatusSNS.AM2301.Temperature", json));
+    }
+
+    @Test
+    public void testSamePathOnChangedSource() throws TransformationException {
+        assertEquals("1", processor.transform("$.value", "{\"value\":1}"));
+        assertEquals("2", processor.transform("$.value", "{\"value\":2}"));
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testCachedSourceWithInvalidPath() throws TransformationException {
+        processor.transform("$[0].name", jsonArray);
+        processor.transform("$$", jsonArray);
+    }
 }
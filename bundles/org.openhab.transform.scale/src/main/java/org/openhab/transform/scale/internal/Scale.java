@@ -0,0 +1,177 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * A scale file compiled for fast lookups.
+ *
+ * All range limits of the scale are collected into one sorted array of distinct boundaries. These boundaries split
+ * the number line into elementary segments (the open gaps between two boundaries and the boundaries themselves) that
+ * never overlap. The label of each segment is resolved once at load time by applying the ranges in file order, so a
+ * lookup is a binary search that keeps the first-match semantics of the scale file.
+ *
+ * @author agent - Initial contribution
+ */
+public class Scale {
+
+    private static final String FORMAT_VALUE = "%value%";
+    private static final String FORMAT_LABEL = "%label%";
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    /** Distinct range limits in ascending order */
+    private final BigDecimal[] boundaries;
+
+    /**
+     * Labels of the elementary segments, <code>null</code> if no range matches. Segment <code>2*i</code> is the open
+     * gap below <code>boundaries[i]</code>, segment <code>2*i+1</code> is <code>boundaries[i]</code> itself and the
+     * last segment is the open gap above the highest boundary.
+     */
+    private final String[] labels;
+
+    private final String nonNumeric;
+
+    /** Format split into literals and the {@link #VALUE} and {@link #LABEL} placeholders */
+    private final Object[] formatSegments;
+
+    private static final Object VALUE = new Object();
+    private static final Object LABEL = new Object();
+
+    /**
+     * Compiles a scale.
+     *
+     * @param ranges the ranges and their labels, in the order they appear in the scale file
+     * @param nonNumeric the label used for non numeric inputs, may be <code>null</code>
+     * @param format the presentation format, may contain <code>%value%</code> and <code>%label%</code>
+     */
+    public Scale(LinkedHashMap<Range, String> ranges, String nonNumeric, String format) {
+        TreeSet<BigDecimal> limits = new TreeSet<>();
+        for (Range range : ranges.keySet()) {
+            if (range.min != null) {
+                limits.add(range.min);
+            }
+            if (range.max != null) {
+                limits.add(range.max);
+            }
+        }
+        this.boundaries = limits.toArray(new BigDecimal[limits.size()]);
+
+        this.labels = new String[2 * boundaries.length + 1];
+        for (int segment = 0; segment < labels.length; segment++) {
+            labels[segment] = firstMatch(ranges, representative(segment));
+        }
+
+        this.nonNumeric = nonNumeric;
+        this.formatSegments = compileFormat(format);
+    }
+
+    /**
+     * Returns the label of the first range containing the value, or <code>null</code> if there is none.
+     */
+    public String getLabel(BigDecimal value) {
+        int index = Arrays.binarySearch(boundaries, value);
+        return labels[index >= 0 ? 2 * index + 1 : 2 * (-index - 1)];
+    }
+
+    /**
+     * Returns the label used for non numeric inputs, or <code>null</code> if the scale does not define one.
+     */
+    public String getNonNumeric() {
+        return nonNumeric;
+    }
+
+    /**
+     * Fills the presentation format with the source and its label.
+     */
+    public String format(String source, String label) {
+        if (formatSegments.length == 1 && formatSegments[0] == LABEL) {
+            return label;
+        }
+        StringBuilder result = new StringBuilder();
+        for (Object segment : formatSegments) {
+            if (segment == VALUE) {
+                result.append(source);
+            } else if (segment == LABEL) {
+                result.append(label);
+            } else {
+                result.append((String) segment);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Returns a value lying inside the given elementary segment.
+     */
+    private BigDecimal representative(int segment) {
+        if (boundaries.length == 0) {
+            return BigDecimal.ZERO;
+        }
+        int index = segment / 2;
+        if (segment % 2 == 1) {
+            return boundaries[index];
+        } else if (index == 0) {
+            return boundaries[0].subtract(BigDecimal.ONE);
+        } else if (index == boundaries.length) {
+            return boundaries[index - 1].add(BigDecimal.ONE);
+        } else {
+            // halving a finite decimal always terminates
+            return boundaries[index - 1].add(boundaries[index]).divide(TWO);
+        }
+    }
+
+    private static String firstMatch(Map<Range, String> ranges, BigDecimal value) {
+        for (Map.Entry<Range, String> entry : ranges.entrySet()) {
+            if (entry.getKey().contains(value)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static Object[] compileFormat(String format) {
+        List<Object> segments = new ArrayList<>();
+        int start = 0;
+        while (start < format.length()) {
+            int valueIndex = format.indexOf(FORMAT_VALUE, start);
+            int labelIndex = format.indexOf(FORMAT_LABEL, start);
+            int next;
+            Object placeholder;
+            if (valueIndex >= 0 && (labelIndex < 0 || valueIndex < labelIndex)) {
+                next = valueIndex;
+                placeholder = VALUE;
+            } else if (labelIndex >= 0) {
+                next = labelIndex;
+                placeholder = LABEL;
+            } else {
+                segments.add(format.substring(start));
+                break;
+            }
+            if (next > start) {
+                segments.add(format.substring(start, next));
+            }
+            segments.add(placeholder);
+            start = next + (placeholder == VALUE ? FORMAT_VALUE.length() : FORMAT_LABEL.length());
+        }
+        return segments.toArray();
+    }
+
+}
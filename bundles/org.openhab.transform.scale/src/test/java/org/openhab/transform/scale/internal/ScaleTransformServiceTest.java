@@ -14,7 +14,11 @@ package org.openhab.transform.scale.internal;
 
 import static org.junit.Assert.fail;
 
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
 
 import javax.measure.quantity.Dimensionless;
 
@@ -150,4 +154,58 @@ public class ScaleTransformServiceTest {
         Assert.assertEquals("Correcte (992) !", transformedResponse);
     }
 
+    @Test
+    public void testTransformOnBoundaries() throws TransformationException {
+        String existingscale = "scale/limits.scale";
+
+        Assert.assertEquals("low", processor.transform(existingscale, "9.99"));
+        Assert.assertEquals("middle", processor.transform(existingscale, "10"));
+        Assert.assertEquals("high", processor.transform(existingscale, "20.0"));
+        Assert.assertEquals("extreme", processor.transform(existingscale, "300"));
+    }
+
+    @Test
+    public void testEvaluationOrderOfOverlappingRanges() throws TransformationException {
+        // Ensures that the first matching range wins wherever ranges overlap or are nested
+        String existingscale = "scale/overlapping.scale";
+
+        Assert.assertEquals("narrow", processor.transform(existingscale, "10"));
+        Assert.assertEquals("narrow", processor.transform(existingscale, "12"));
+        Assert.assertEquals("narrow", processor.transform(existingscale, "15"));
+        Assert.assertEquals("narrow", processor.transform(existingscale, "20"));
+        Assert.assertEquals("overlap", processor.transform(existingscale, "5.01"));
+        Assert.assertEquals("overlap", processor.transform(existingscale, "9.99"));
+        Assert.assertEquals("wide", processor.transform(existingscale, "5"));
+        Assert.assertEquals("wide", processor.transform(existingscale, "0"));
+        Assert.assertEquals("wide", processor.transform(existingscale, "20.01"));
+        Assert.assertEquals("wide", processor.transform(existingscale, "100"));
+        Assert.assertEquals("below", processor.transform(existingscale, "-0.01"));
+        Assert.assertEquals("above", processor.transform(existingscale, "100.01"));
+    }
+
+    @Test
+    public void testCompiledScaleMatchesFirstRange() {
+        LinkedHashMap<Range, String> ranges = new LinkedHashMap<>();
+        ranges.put(Range.closed(new BigDecimal("10"), new BigDecimal("20")), "narrow");
+        ranges.put(Range.open(new BigDecimal("5"), new BigDecimal("15")), "overlap");
+        ranges.put(Range.closedOpen(new BigDecimal("0"), new BigDecimal("100")), "wide");
+        ranges.put(Range.openClosed(new BigDecimal("-5"), new BigDecimal("0")), "negative");
+        ranges.put(Range.greaterThan(new BigDecimal("50")), "above");
+        Scale scale = new Scale(ranges, null, "%label%");
+
+        // compare the compiled lookup with a linear scan of the ranges in file order
+        Random random = new Random(1);
+        for (int i = 0; i < 10000; i++) {
+            BigDecimal value = BigDecimal.valueOf(random.nextInt(2400) - 200, 1);
+            String expected = null;
+            for (Map.Entry<Range, String> entry : ranges.entrySet()) {
+                if (entry.getKey().contains(value)) {
+                    expected = entry.getValue();
+                    break;
+                }
+            }
+            Assert.assertEquals("Label of " + value, expected, scale.getLabel(value));
+        }
+    }
+
 }
@@ -15,6 +15,8 @@ package org.openhab.voice.marytts.internal;
 import static javax.sound.sampled.AudioSystem.NOT_SPECIFIED;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Set;
@@ -23,7 +25,10 @@ import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
+import org.openhab.voice.ttscache.TTSCache;
+import org.openhab.voice.ttscache.TTSCacheKey;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,6 +61,8 @@ public class MaryTTSService implements TTSService {
      */
     private Set<AudioFormat> audioFormats;
 
+    private TTSCache ttsCache;
+
     protected void activate() {
         try {
             marytts = new LocalMaryInterface();
@@ -66,6 +73,15 @@ public class MaryTTSService implements TTSService {
         }
     }
 
+    @Reference
+    protected void setTTSCache(TTSCache ttsCache) {
+        this.ttsCache = ttsCache;
+    }
+
+    protected void unsetTTSCache(TTSCache ttsCache) {
+        this.ttsCache = null;
+    }
+
     @Override
     public Set<org.eclipse.smarthome.core.voice.Voice> getAvailableVoices() {
         return voices;
@@ -114,18 +130,22 @@ public class MaryTTSService implements TTSService {
         Voice maryTTSVoice = Voice.getVoice(voice.getLabel());
         AudioFormat maryTTSVoiceAudioFormat = getAudioFormat(maryTTSVoice.dbAudioFormat());
 
-        // Synchronize on marytts
-        synchronized (marytts) {
-            // Set voice (Each voice supports only a single AudioFormat)
-            marytts.setLocale(voice.getLocale());
-            marytts.setVoice(voice.getLabel());
-
-            try {
-                return new MaryTTSAudioStream(marytts.generateAudio(text), maryTTSVoiceAudioFormat);
-            } catch (SynthesisException | IOException e) {
-                throw new TTSException("Error generating an AudioStream", e);
+        TTSCacheKey key = new TTSCacheKey(getId(), voice.getUID(), maryTTSVoiceAudioFormat, text);
+        return ttsCache.get(key, audioFile -> {
+            // Synchronize on marytts
+            synchronized (marytts) {
+                // Set voice (Each voice supports only a single AudioFormat)
+                marytts.setLocale(voice.getLocale());
+                marytts.setVoice(voice.getLabel());
+
+                try (MaryTTSAudioStream audioStream = new MaryTTSAudioStream(marytts.generateAudio(text),
+                        maryTTSVoiceAudioFormat)) {
+                    Files.copy(audioStream, audioFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                } catch (SynthesisException | IOException e) {
+                    throw new TTSException("Error generating an AudioStream", e);
+                }
             }
-        }
+        });
     }
 
     /**
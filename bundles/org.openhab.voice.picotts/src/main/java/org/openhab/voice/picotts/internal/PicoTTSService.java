@@ -12,19 +12,24 @@
  */
 package org.openhab.voice.picotts.internal;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Locale;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
 import org.eclipse.smarthome.core.voice.Voice;
+import org.openhab.voice.ttscache.TTSCache;
+import org.openhab.voice.ttscache.TTSCacheKey;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 
 /**
  * @author Florian Schmidt - Initial Contribution
@@ -39,6 +44,17 @@ public class PicoTTSService implements TTSService {
     private final Set<AudioFormat> audioFormats = Collections.singleton(
             new AudioFormat(AudioFormat.CONTAINER_WAVE, AudioFormat.CODEC_PCM_SIGNED, false, 16, null, 16000L));
 
+    private TTSCache ttsCache;
+
+    @Reference
+    protected void setTTSCache(TTSCache ttsCache) {
+        this.ttsCache = ttsCache;
+    }
+
+    protected void unsetTTSCache(TTSCache ttsCache) {
+        this.ttsCache = null;
+    }
+
     @Override
     public Set<Voice> getAvailableVoices() {
         return this.voices;
@@ -67,10 +83,31 @@ public class PicoTTSService implements TTSService {
             throw new TTSException("The passed AudioFormat is unsupported");
         }
 
+        TTSCacheKey key = new TTSCacheKey(getId(), voice.getUID(), requestedFormat, text);
+        return ttsCache.get(key, audioFile -> synthesize(text, voice, audioFile));
+    }
+
+    /**
+     * Runs pico2wave to generate the audio file.
+     *
+     * @param text The text to speak
+     * @param voice The voice to use
+     * @param audioFile The wav file to generate
+     */
+    private void synthesize(String text, Voice voice, File audioFile) throws TTSException {
+        String[] command = new String[] { "pico2wave", "-l=" + voice.getLabel(), "-w=" + audioFile.getAbsolutePath(),
+                text };
         try {
-            return new PicoTTSAudioStream(text, voice, requestedFormat);
-        } catch (AudioException e) {
-            throw new TTSException(e);
+            Process process = Runtime.getRuntime().exec(command);
+            int exitValue = process.waitFor();
+            if (exitValue != 0) {
+                throw new TTSException("The '" + Arrays.toString(command) + "' exited with " + exitValue);
+            }
+        } catch (IOException e) {
+            throw new TTSException("Error while executing '" + Arrays.toString(command) + "'", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TTSException("The '" + Arrays.toString(command) + "' has been interrupted", e);
         }
     }
 
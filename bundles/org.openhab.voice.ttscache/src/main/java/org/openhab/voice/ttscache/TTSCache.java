@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache;
+
+import java.time.Duration;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.voice.TTSException;
+
+/**
+ * A cache for synthesized speech shared by the TTS services. The audio is stored in files addressed by their
+ * {@link TTSCacheKey}, the least recently used files are removed when the cache exceeds its size. Short audio is
+ * additionally kept in memory.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface TTSCache {
+
+    /**
+     * Returns the cached audio for the given key. On a cache miss the audio is synthesized by the given synthesizer
+     * and added to the cache. Concurrent requests for the same key wait for a single synthesis.
+     *
+     * @param key the key of the audio
+     * @param synthesizer synthesizes the audio on a cache miss
+     * @return a stream of the audio with the format of the key
+     * @throws TTSException if the audio could not be synthesized or read from the cache
+     */
+    AudioStream get(TTSCacheKey key, TTSSynthesizer synthesizer) throws TTSException;
+
+    /**
+     * Removes all cached audio of a TTS service.
+     *
+     * @param serviceId the id of the TTS service
+     */
+    void purge(String serviceId);
+
+    /**
+     * Removes the cached audio of a TTS service which was not used for the given time.
+     *
+     * @param serviceId the id of the TTS service
+     * @param maxAge the time after which unused audio is removed
+     */
+    void expire(String serviceId, Duration maxAge);
+
+    /**
+     * Removes the cache folder which a TTS service used before it moved to this cache, together with its files. The
+     * files cannot be moved into this cache, as their names do not contain all properties of a {@link TTSCacheKey}.
+     *
+     * @param servicePid the pid of the TTS service, which named its cache folder under {@code $userdata/cache}
+     */
+    void removeServiceCacheFolder(String servicePid);
+
+    /**
+     * Returns the statistics of the cache since it was started.
+     *
+     * @return the cache statistics
+     */
+    TTSCacheStatistics getStatistics();
+}
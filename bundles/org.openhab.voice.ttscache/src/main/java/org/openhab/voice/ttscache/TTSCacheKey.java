@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.audio.AudioFormat;
+import org.eclipse.smarthome.core.util.HexUtils;
+
+/**
+ * The key of audio in the {@link TTSCache}. The audio is addressed by the TTS service, voice, format and text as well
+ * as by service options which change the synthesized audio, e.g. pitch or speaking rate.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TTSCacheKey {
+
+    private final String serviceId;
+    private final String voiceUID;
+    private final AudioFormat format;
+    private final String options;
+    private final String text;
+
+    private @Nullable String fileName;
+
+    public TTSCacheKey(String serviceId, String voiceUID, AudioFormat format, String text) {
+        this(serviceId, voiceUID, format, "", text);
+    }
+
+    public TTSCacheKey(String serviceId, String voiceUID, AudioFormat format, String options, String text) {
+        this.serviceId = serviceId;
+        this.voiceUID = voiceUID;
+        this.format = format;
+        this.options = options;
+        this.text = text;
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    public String getVoiceUID() {
+        return voiceUID;
+    }
+
+    public AudioFormat getFormat() {
+        return format;
+    }
+
+    public String getOptions() {
+        return options;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Gets the name of the cache file, which is made up of the service id and the SHA-256 hash of the key.
+     *
+     * Sample: "googletts_7F83B1657FF1FC53B92DC18148A1D65DFC2D4B1FA3D677284ADDD200126D9069.mp3"
+     *
+     * @return the file name of the audio
+     */
+    public String getFileName() {
+        String fileName = this.fileName;
+        if (fileName == null) {
+            StringBuilder content = new StringBuilder().append(serviceId).append('\n').append(voiceUID).append('\n')
+                    .append(format.getContainer()).append(':').append(format.getCodec()).append(':')
+                    .append(format.isBigEndian()).append(':').append(format.getBitDepth()).append(':')
+                    .append(format.getBitRate()).append(':').append(format.getFrequency()).append('\n')
+                    .append(options).append('\n').append(text);
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256")
+                        .digest(content.toString().getBytes(StandardCharsets.UTF_8));
+                fileName = serviceId + "_" + HexUtils.bytesToHex(hash) + "." + getFileExtension();
+            } catch (NoSuchAlgorithmException e) {
+                // every Java platform supports SHA-256
+                throw new IllegalStateException(e);
+            }
+            this.fileName = fileName;
+        }
+        return fileName;
+    }
+
+    private String getFileExtension() {
+        if (AudioFormat.CODEC_MP3.equals(format.getCodec())) {
+            return "mp3";
+        } else if (AudioFormat.CONTAINER_WAVE.equals(format.getContainer())) {
+            return "wav";
+        } else if (AudioFormat.CONTAINER_OGG.equals(format.getContainer())) {
+            return "ogg";
+        } else {
+            return "audio";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TTSCacheKey [serviceId=" + serviceId + ", voiceUID=" + voiceUID + ", format=" + format + ", options="
+                + options + ", text=" + text + "]";
+    }
+}
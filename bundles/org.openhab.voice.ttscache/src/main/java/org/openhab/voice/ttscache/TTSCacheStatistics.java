@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The hit and miss counts and the size of a {@link TTSCache}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TTSCacheStatistics {
+
+    private final long memoryHits;
+    private final long diskHits;
+    private final long sharedRequests;
+    private final long misses;
+    private final int diskEntries;
+    private final long diskSize;
+    private final int memoryEntries;
+    private final long memorySize;
+
+    public TTSCacheStatistics(long memoryHits, long diskHits, long sharedRequests, long misses, int diskEntries,
+            long diskSize, int memoryEntries, long memorySize) {
+        this.memoryHits = memoryHits;
+        this.diskHits = diskHits;
+        this.sharedRequests = sharedRequests;
+        this.misses = misses;
+        this.diskEntries = diskEntries;
+        this.diskSize = diskSize;
+        this.memoryEntries = memoryEntries;
+        this.memorySize = memorySize;
+    }
+
+    /**
+     * @return the number of requests answered from memory
+     */
+    public long getMemoryHits() {
+        return memoryHits;
+    }
+
+    /**
+     * @return the number of requests answered from a cache file
+     */
+    public long getDiskHits() {
+        return diskHits;
+    }
+
+    /**
+     * @return the number of requests which waited for the synthesis of a concurrent request of the same audio
+     */
+    public long getSharedRequests() {
+        return sharedRequests;
+    }
+
+    /**
+     * @return the number of requests which synthesized their audio
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getRequests() {
+        return memoryHits + diskHits + sharedRequests + misses;
+    }
+
+    /**
+     * @return the share of requests which did not synthesize their audio, between 0 and 1
+     */
+    public double getHitRate() {
+        long requests = getRequests();
+        return requests == 0 ? 0 : (double) (requests - misses) / requests;
+    }
+
+    public int getDiskEntries() {
+        return diskEntries;
+    }
+
+    /**
+     * @return the total size of the cache files in bytes
+     */
+    public long getDiskSize() {
+        return diskSize;
+    }
+
+    public int getMemoryEntries() {
+        return memoryEntries;
+    }
+
+    /**
+     * @return the total size of the audio in memory in bytes
+     */
+    public long getMemorySize() {
+        return memorySize;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d requests, hit rate %.1f%% (%d memory hits, %d disk hits, %d shared, %d misses), "
+                + "%d files with %d bytes, %d in memory with %d bytes", getRequests(), getHitRate() * 100, memoryHits,
+                diskHits, sharedRequests, misses, diskEntries, diskSize, memoryEntries, memorySize);
+    }
+}
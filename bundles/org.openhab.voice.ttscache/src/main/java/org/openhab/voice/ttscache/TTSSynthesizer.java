@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache;
+
+import java.io.File;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.voice.TTSException;
+
+/**
+ * Synthesizes the audio of a {@link TTSCache} miss.
+ *
+ * @author agent - Initial contribution
+ */
+@FunctionalInterface
+@NonNullByDefault
+public interface TTSSynthesizer {
+
+    /**
+     * Synthesizes the audio into the given file. The file name has the extension of the audio format.
+     *
+     * @param audioFile the file to write the audio to
+     * @throws TTSException if the audio could not be synthesized
+     */
+    void synthesize(File audioFile) throws TTSException;
+}
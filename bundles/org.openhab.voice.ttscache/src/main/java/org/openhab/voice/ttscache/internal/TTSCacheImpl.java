@@ -0,0 +1,462 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache.internal;
+
+import static org.openhab.voice.ttscache.internal.TTSCacheImpl.SERVICE_PID;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.config.core.ConfigurableService;
+import org.eclipse.smarthome.core.audio.AudioException;
+import org.eclipse.smarthome.core.audio.AudioFormat;
+import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.audio.ByteArrayAudioStream;
+import org.eclipse.smarthome.core.audio.FileAudioStream;
+import org.eclipse.smarthome.core.voice.TTSException;
+import org.openhab.voice.ttscache.TTSCache;
+import org.openhab.voice.ttscache.TTSCacheKey;
+import org.openhab.voice.ttscache.TTSCacheStatistics;
+import org.openhab.voice.ttscache.TTSSynthesizer;
+import org.osgi.framework.Constants;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link TTSCache} implementation. The sizes of the cache files are indexed in order of their last use, which
+ * is restored from the file time stamps on startup.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(configurationPid = SERVICE_PID, property = { Constants.SERVICE_PID + "=" + SERVICE_PID,
+        ConfigurableService.SERVICE_PROPERTY_LABEL + "=Text-to-Speech Cache",
+        ConfigurableService.SERVICE_PROPERTY_DESCRIPTION_URI + "=voice:ttscache",
+        ConfigurableService.SERVICE_PROPERTY_CATEGORY + "=voice" })
+@NonNullByDefault
+public class TTSCacheImpl implements TTSCache {
+
+    /**
+     * Service pid
+     */
+    static final String SERVICE_PID = "org.openhab.voice.ttscache";
+
+    /**
+     * Cache folder under $userdata
+     */
+    private static final String CACHE_FOLDER_NAME = "cache";
+
+    /**
+     * Prefix of the files which are being synthesized
+     */
+    private static final String PARTIAL_FILE_PREFIX = "partial_";
+
+    /**
+     * Configuration parameters
+     */
+    private static final String PARAM_DISK_SIZE = "diskSize";
+    private static final String PARAM_MEMORY_SIZE = "memorySize";
+    private static final String PARAM_MEMORY_ENTRY_SIZE = "memoryEntrySize";
+
+    private static final long DEFAULT_DISK_SIZE_MB = 100;
+    private static final long DEFAULT_MEMORY_SIZE_KB = 4096;
+    private static final long DEFAULT_MEMORY_ENTRY_SIZE_KB = 256;
+
+    private static final int STATISTICS_LOG_INTERVAL = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(TTSCacheImpl.class);
+
+    /**
+     * The sizes of the cache files by file name, the least recently used first
+     */
+    private final LinkedHashMap<String, Long> diskEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The audio of short cache files by file name, the least recently used first
+     */
+    private final LinkedHashMap<String, byte[]> memoryEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The running syntheses by file name
+     */
+    private final Map<String, CompletableFuture<File>> pendingEntries = new ConcurrentHashMap<>();
+
+    private @NonNullByDefault({}) File cacheFolder;
+
+    private long maxDiskSize;
+    private long maxMemorySize;
+    private long maxMemoryEntrySize;
+
+    private long diskSize;
+    private long memorySize;
+
+    private long memoryHits;
+    private long diskHits;
+    private long sharedRequests;
+    private long misses;
+
+    @Activate
+    protected void activate(Map<String, Object> config) {
+        activate(new File(new File(ConfigConstants.getUserDataFolder(), CACHE_FOLDER_NAME), SERVICE_PID), config);
+    }
+
+    void activate(File cacheFolder, Map<String, Object> config) {
+        this.cacheFolder = cacheFolder;
+        if (!cacheFolder.exists()) {
+            cacheFolder.mkdirs();
+        }
+        logger.info("Using cache folder {}", cacheFolder.getAbsolutePath());
+
+        loadDiskEntries();
+        modified(config);
+    }
+
+    @Modified
+    protected synchronized void modified(Map<String, Object> config) {
+        maxDiskSize = getSize(config, PARAM_DISK_SIZE, DEFAULT_DISK_SIZE_MB) * 1024 * 1024;
+        maxMemorySize = getSize(config, PARAM_MEMORY_SIZE, DEFAULT_MEMORY_SIZE_KB) * 1024;
+        maxMemoryEntrySize = Math.min(getSize(config, PARAM_MEMORY_ENTRY_SIZE, DEFAULT_MEMORY_ENTRY_SIZE_KB) * 1024,
+                maxMemorySize);
+        logger.debug("Cache size {} bytes, {} bytes in memory for files up to {} bytes", maxDiskSize, maxMemorySize,
+                maxMemoryEntrySize);
+
+        evictDiskEntries(null);
+        evictMemoryEntries();
+    }
+
+    @Deactivate
+    protected synchronized void deactivate() {
+        logger.debug("Cache statistics: {}", getStatistics());
+        memoryEntries.clear();
+        memorySize = 0;
+    }
+
+    private long getSize(Map<String, Object> config, String param, long defaultValue) {
+        Object value = config.get(param);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return new BigDecimal(value.toString()).longValue();
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value '{}' of parameter {}, using {}", value, param, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Indexes the files of the cache folder in order of their last use.
+     */
+    private synchronized void loadDiskEntries() {
+        diskEntries.clear();
+        diskSize = 0;
+        File[] files = cacheFolder.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            if (!file.isFile()) {
+                continue;
+            }
+            if (file.getName().startsWith(PARTIAL_FILE_PREFIX)) {
+                // left over from an interrupted synthesis
+                file.delete();
+                continue;
+            }
+            long length = file.length();
+            diskEntries.put(file.getName(), length);
+            diskSize += length;
+        }
+        logger.debug("Found {} cache files with {} bytes", diskEntries.size(), diskSize);
+    }
+
+    @Override
+    public AudioStream get(TTSCacheKey key, TTSSynthesizer synthesizer) throws TTSException {
+        String fileName = key.getFileName();
+        File file = new File(cacheFolder, fileName);
+        AudioFormat format = key.getFormat();
+
+        byte[] audio;
+        Long length;
+        synchronized (this) {
+            audio = memoryEntries.get(fileName);
+            if (audio != null) {
+                // keep the order of use of the cache files in step
+                diskEntries.get(fileName);
+                memoryHits++;
+                logStatistics();
+            }
+            length = diskEntries.get(fileName);
+        }
+        if (audio != null) {
+            // the time stamp restores the order of use on the next startup
+            file.setLastModified(System.currentTimeMillis());
+            return new ByteArrayAudioStream(audio, format);
+        }
+        if (length != null) {
+            logger.debug("Audio file {} was found in cache.", fileName);
+            file.setLastModified(System.currentTimeMillis());
+            try {
+                AudioStream audioStream = createAudioStream(fileName, file, length, format);
+                synchronized (this) {
+                    diskHits++;
+                    logStatistics();
+                }
+                return audioStream;
+            } catch (TTSException e) {
+                if (file.isFile()) {
+                    throw e;
+                }
+                // the file was removed since it was looked up, e.g. by a purge
+                logger.debug("Audio file {} was removed from cache, synthesizing it again", fileName);
+                removeDiskEntry(fileName, file);
+            }
+        }
+
+        CompletableFuture<File> synthesis = new CompletableFuture<>();
+        CompletableFuture<File> runningSynthesis = pendingEntries.putIfAbsent(fileName, synthesis);
+        if (runningSynthesis != null) {
+            logger.debug("Waiting for the running synthesis of {}", fileName);
+            synchronized (this) {
+                sharedRequests++;
+                logStatistics();
+            }
+            awaitSynthesis(runningSynthesis);
+        } else {
+            try {
+                synthesize(fileName, file, synthesizer);
+                synthesis.complete(file);
+            } catch (TTSException | RuntimeException e) {
+                synthesis.completeExceptionally(e);
+                throw e;
+            } finally {
+                pendingEntries.remove(fileName);
+            }
+        }
+        return createAudioStream(fileName, file, file.length(), format);
+    }
+
+    private void awaitSynthesis(CompletableFuture<File> synthesis) throws TTSException {
+        try {
+            synthesis.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TTSException("Interrupted while waiting for the synthesis", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TTSException) {
+                throw (TTSException) cause;
+            }
+            throw new TTSException("Synthesis failed", cause);
+        }
+    }
+
+    private void synthesize(String fileName, File file, TTSSynthesizer synthesizer) throws TTSException {
+        synchronized (this) {
+            // a concurrent request may have added the file since it was looked up
+            if (diskEntries.containsKey(fileName)) {
+                diskHits++;
+                logStatistics();
+                return;
+            }
+        }
+
+        logger.debug("Synthesizing audio file {}", fileName);
+        // write into another file, so a failed synthesis is not taken for audio
+        File partialFile = new File(cacheFolder, PARTIAL_FILE_PREFIX + fileName);
+        try {
+            synthesizer.synthesize(partialFile);
+            if (!partialFile.isFile() || partialFile.length() == 0) {
+                throw new TTSException("No audio was synthesized");
+            }
+            Files.move(partialFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new TTSException("Could not add audio file " + fileName + " to cache", e);
+        } finally {
+            partialFile.delete();
+        }
+
+        long length = file.length();
+        synchronized (this) {
+            Long previousLength = diskEntries.put(fileName, length);
+            diskSize += length - (previousLength != null ? previousLength : 0);
+            misses++;
+            logStatistics();
+            evictDiskEntries(fileName);
+        }
+    }
+
+    private AudioStream createAudioStream(String fileName, File file, long length, AudioFormat format)
+            throws TTSException {
+        try {
+            if (length <= maxMemoryEntrySize) {
+                byte[] audio = Files.readAllBytes(file.toPath());
+                synchronized (this) {
+                    if (diskEntries.containsKey(fileName) && memoryEntries.put(fileName, audio) == null) {
+                        memorySize += audio.length;
+                        evictMemoryEntries();
+                    }
+                }
+                return new ByteArrayAudioStream(audio, format);
+            }
+            return new FileAudioStream(file, format);
+        } catch (IOException | AudioException e) {
+            throw new TTSException("Could not read audio file " + fileName + " from cache", e);
+        }
+    }
+
+    /**
+     * Removes the least recently used files until the cache fits its size.
+     *
+     * @param keptFileName the name of a file which is not removed, e.g. because it was just added
+     */
+    private synchronized void evictDiskEntries(@Nullable String keptFileName) {
+        Iterator<Map.Entry<String, Long>> iterator = diskEntries.entrySet().iterator();
+        while (diskSize > maxDiskSize && iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            String fileName = entry.getKey();
+            if (fileName.equals(keptFileName)) {
+                continue;
+            }
+            iterator.remove();
+            diskSize -= entry.getValue();
+            removeMemoryEntry(fileName);
+            deleteFile(fileName);
+        }
+    }
+
+    /**
+     * Removes the least recently used audio from memory until it fits the memory size.
+     */
+    private synchronized void evictMemoryEntries() {
+        Iterator<byte[]> iterator = memoryEntries.values().iterator();
+        while (memorySize > maxMemorySize && iterator.hasNext()) {
+            memorySize -= iterator.next().length;
+            iterator.remove();
+        }
+    }
+
+    private synchronized void removeDiskEntry(String fileName, File file) {
+        // the file may have been synthesized again meanwhile
+        if (!file.isFile()) {
+            Long length = diskEntries.remove(fileName);
+            if (length != null) {
+                diskSize -= length;
+            }
+            removeMemoryEntry(fileName);
+        }
+    }
+
+    private synchronized void removeMemoryEntry(String fileName) {
+        byte[] audio = memoryEntries.remove(fileName);
+        if (audio != null) {
+            memorySize -= audio.length;
+        }
+    }
+
+    private void deleteFile(String fileName) {
+        logger.debug("Removing audio file {} from cache", fileName);
+        if (!new File(cacheFolder, fileName).delete()) {
+            logger.debug("Could not delete audio file {}", fileName);
+        }
+    }
+
+    @Override
+    public synchronized void purge(String serviceId) {
+        String prefix = serviceId + "_";
+        Iterator<Map.Entry<String, Long>> iterator = diskEntries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            String fileName = entry.getKey();
+            if (fileName.startsWith(prefix)) {
+                iterator.remove();
+                diskSize -= entry.getValue();
+                removeMemoryEntry(fileName);
+                deleteFile(fileName);
+            }
+        }
+        logger.debug("Cache purged for service {}.", serviceId);
+    }
+
+    @Override
+    public synchronized void expire(String serviceId, Duration maxAge) {
+        String prefix = serviceId + "_";
+        long oldestUse = System.currentTimeMillis() - maxAge.toMillis();
+        int count = 0;
+        Iterator<Map.Entry<String, Long>> iterator = diskEntries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            String fileName = entry.getKey();
+            // the time stamps of the files are updated when they are used
+            if (fileName.startsWith(prefix) && new File(cacheFolder, fileName).lastModified() < oldestUse) {
+                iterator.remove();
+                diskSize -= entry.getValue();
+                removeMemoryEntry(fileName);
+                deleteFile(fileName);
+                count++;
+            }
+        }
+        logger.debug("Removed {} audio files of service {} unused for {} days.", count, serviceId, maxAge.toDays());
+    }
+
+    @Override
+    public void removeServiceCacheFolder(String servicePid) {
+        File folder = new File(cacheFolder.getParentFile(), servicePid);
+        if (folder.equals(cacheFolder) || !folder.isDirectory()) {
+            return;
+        }
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        if (folder.delete()) {
+            logger.info("Removed the previous cache folder {} of {}", folder.getAbsolutePath(), servicePid);
+        } else {
+            logger.warn("Could not remove the previous cache folder {} of {}", folder.getAbsolutePath(), servicePid);
+        }
+    }
+
+    @Override
+    public synchronized TTSCacheStatistics getStatistics() {
+        return new TTSCacheStatistics(memoryHits, diskHits, sharedRequests, misses, diskEntries.size(), diskSize,
+                memoryEntries.size(), memorySize);
+    }
+
+    private synchronized void logStatistics() {
+        long requests = memoryHits + diskHits + sharedRequests + misses;
+        if (logger.isDebugEnabled() && requests % STATISTICS_LOG_INTERVAL == 0) {
+            logger.debug("Cache statistics: {}", getStatistics());
+        }
+    }
+}
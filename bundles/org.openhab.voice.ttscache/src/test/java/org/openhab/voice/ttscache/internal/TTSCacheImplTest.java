@@ -0,0 +1,343 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache.internal;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.smarthome.core.audio.AudioFormat;
+import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.audio.FileAudioStream;
+import org.eclipse.smarthome.core.voice.TTSException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.voice.ttscache.TTSCacheKey;
+import org.openhab.voice.ttscache.TTSCacheStatistics;
+import org.openhab.voice.ttscache.TTSSynthesizer;
+
+/**
+ * Tests the {@link TTSCacheImpl}.
+ *
+ * @author agent - Initial contribution
+ */
+public class TTSCacheImplTest {
+
+    private static final AudioFormat FORMAT = new AudioFormat(AudioFormat.CONTAINER_NONE, AudioFormat.CODEC_MP3, null,
+            16, 64000, 44100L);
+
+    private static final int LARGE_AUDIO_SIZE = 400 * 1024;
+
+    public @Rule TemporaryFolder folder = new TemporaryFolder();
+
+    private final Map<String, Object> config = new HashMap<>();
+    private final AtomicInteger syntheses = new AtomicInteger();
+
+    private File cacheFolder;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheFolder = folder.newFolder("cache");
+    }
+
+    @Test
+    public void testMissIsSynthesizedAndHitIsReadFromMemory() throws Exception {
+        TTSCacheImpl cache = createCache();
+        TTSCacheKey key = createKey("Hello");
+
+        assertArrayEquals(audio("Hello"), read(cache.get(key, synthesizer("Hello"))));
+        assertArrayEquals(audio("Hello"), read(cache.get(key, synthesizer("Hello"))));
+        assertArrayEquals(audio("Hello"), read(cache.get(createKey("Hello"), synthesizer("Hello"))));
+
+        assertEquals(1, syntheses.get());
+        TTSCacheStatistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getMisses());
+        assertEquals(2, statistics.getMemoryHits());
+        assertEquals(3, statistics.getRequests());
+        assertEquals(2.0 / 3, statistics.getHitRate(), 0.001);
+        assertEquals(1, statistics.getDiskEntries());
+        assertEquals(1, statistics.getMemoryEntries());
+    }
+
+    @Test
+    public void testKeysDifferByServiceVoiceFormatOptionsAndText() throws Exception {
+        TTSCacheImpl cache = createCache();
+        AudioFormat wav = new AudioFormat(AudioFormat.CONTAINER_WAVE, AudioFormat.CODEC_PCM_SIGNED, false, 16, null,
+                16000L);
+        List<TTSCacheKey> keys = Arrays.asList(createKey("Hello"),
+                new TTSCacheKey("othertts", "testtts:voice", FORMAT, "Hello"),
+                new TTSCacheKey("testtts", "testtts:other", FORMAT, "Hello"),
+                new TTSCacheKey("testtts", "testtts:voice", wav, "Hello"),
+                new TTSCacheKey("testtts", "testtts:voice", FORMAT, "pitch=2", "Hello"), createKey("Hello!"));
+
+        for (TTSCacheKey key : keys) {
+            cache.get(key, synthesizer(key.getText()));
+        }
+
+        assertEquals(keys.size(), syntheses.get());
+        assertEquals(keys.size(), cache.getStatistics().getDiskEntries());
+        assertTrue(new File(cacheFolder, keys.get(3).getFileName()).getName().endsWith(".wav"));
+    }
+
+    @Test
+    public void testConcurrentRequestsAreSynthesizedOnce() throws Exception {
+        TTSCacheImpl cache = createCache();
+        CountDownLatch synthesisStarted = new CountDownLatch(1);
+        CountDownLatch synthesisReleased = new CountDownLatch(1);
+        TTSSynthesizer blockingSynthesizer = file -> {
+            synthesisStarted.countDown();
+            try {
+                synthesisReleased.await();
+            } catch (InterruptedException e) {
+                throw new TTSException(e);
+            }
+            synthesizer("Hello").synthesize(file);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            results.add(executor.submit(() -> read(cache.get(createKey("Hello"), blockingSynthesizer))));
+            assertTrue(synthesisStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> read(cache.get(createKey("Hello"), blockingSynthesizer))));
+            }
+            // give the requests time to join the running synthesis
+            Thread.sleep(200);
+            synthesisReleased.countDown();
+
+            for (Future<byte[]> result : results) {
+                assertArrayEquals(audio("Hello"), result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, syntheses.get());
+        TTSCacheStatistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getMisses());
+        assertEquals(3, statistics.getSharedRequests());
+    }
+
+    @Test
+    public void testFailedSynthesisIsNotCached() throws Exception {
+        TTSCacheImpl cache = createCache();
+        try {
+            cache.get(createKey("Hello"), file -> {
+                synthesizer(new byte[] { 1 }).synthesize(file);
+                throw new TTSException("Service not available");
+            });
+            fail("The synthesis should have failed");
+        } catch (TTSException e) {
+            assertEquals("Service not available", e.getMessage());
+        }
+
+        assertEquals(0, cache.getStatistics().getDiskEntries());
+        assertEquals(0, cacheFolder.list().length);
+
+        assertArrayEquals(audio("Hello"), read(cache.get(createKey("Hello"), synthesizer("Hello"))));
+        assertEquals(2, syntheses.get());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedFilesAreEvicted() throws Exception {
+        config.put("diskSize", 1);
+        config.put("memoryEntrySize", 0);
+        TTSCacheImpl cache = createCache();
+
+        read(cache.get(createKey("A"), synthesizer(new byte[LARGE_AUDIO_SIZE])));
+        read(cache.get(createKey("B"), synthesizer(new byte[LARGE_AUDIO_SIZE])));
+        // use A again, so B is the least recently used file
+        AudioStream stream = cache.get(createKey("A"), synthesizer(new byte[LARGE_AUDIO_SIZE]));
+        assertTrue(stream instanceof FileAudioStream);
+        read(stream);
+        read(cache.get(createKey("C"), synthesizer(new byte[LARGE_AUDIO_SIZE])));
+
+        assertEquals(3, syntheses.get());
+        assertTrue(new File(cacheFolder, createKey("A").getFileName()).exists());
+        assertFalse(new File(cacheFolder, createKey("B").getFileName()).exists());
+        assertTrue(new File(cacheFolder, createKey("C").getFileName()).exists());
+        TTSCacheStatistics statistics = cache.getStatistics();
+        assertEquals(2, statistics.getDiskEntries());
+        assertEquals(2 * LARGE_AUDIO_SIZE, statistics.getDiskSize());
+        assertEquals(0, statistics.getMemoryEntries());
+    }
+
+    @Test
+    public void testMemoryIsBoundedBySize() throws Exception {
+        config.put("memorySize", 1);
+        TTSCacheImpl cache = createCache();
+
+        // each audio is more than half of the memory size
+        cache.get(createKey("A"), synthesizer(new byte[600]));
+        cache.get(createKey("B"), synthesizer(new byte[600]));
+
+        TTSCacheStatistics statistics = cache.getStatistics();
+        assertEquals(2, statistics.getDiskEntries());
+        assertEquals(1, statistics.getMemoryEntries());
+        assertEquals(600, statistics.getMemorySize());
+    }
+
+    @Test
+    public void testFilesAreFoundAfterRestart() throws Exception {
+        TTSCacheImpl cache = createCache();
+        cache.get(createKey("Hello"), synthesizer("Hello"));
+        cache.deactivate();
+
+        TTSCacheImpl restartedCache = createCache();
+        assertArrayEquals(audio("Hello"), read(restartedCache.get(createKey("Hello"), synthesizer("Hello"))));
+        assertEquals(1, syntheses.get());
+        assertEquals(1, restartedCache.getStatistics().getDiskHits());
+    }
+
+    @Test
+    public void testPurgeRemovesFilesOfService() throws Exception {
+        TTSCacheImpl cache = createCache();
+        TTSCacheKey otherKey = new TTSCacheKey("othertts", "othertts:voice", FORMAT, "Hello");
+        cache.get(createKey("Hello"), synthesizer("Hello"));
+        cache.get(otherKey, synthesizer("Hello"));
+
+        cache.purge("testtts");
+
+        assertFalse(new File(cacheFolder, createKey("Hello").getFileName()).exists());
+        assertTrue(new File(cacheFolder, otherKey.getFileName()).exists());
+        assertEquals(1, cache.getStatistics().getDiskEntries());
+        assertEquals(1, cache.getStatistics().getMemoryEntries());
+    }
+
+    @Test
+    public void testRemovedFileIsSynthesizedAgain() throws Exception {
+        config.put("memoryEntrySize", 0);
+        TTSCacheImpl cache = createCache();
+        cache.get(createKey("Hello"), synthesizer("Hello"));
+
+        // removed after it was indexed, e.g. by hand
+        assertTrue(new File(cacheFolder, createKey("Hello").getFileName()).delete());
+
+        assertArrayEquals(audio("Hello"), read(cache.get(createKey("Hello"), synthesizer("Hello"))));
+        assertEquals(2, syntheses.get());
+        TTSCacheStatistics statistics = cache.getStatistics();
+        assertEquals(0, statistics.getDiskHits());
+        assertEquals(2, statistics.getMisses());
+        assertEquals(1, statistics.getDiskEntries());
+        assertEquals(audio("Hello").length, statistics.getDiskSize());
+    }
+
+    @Test
+    public void testMemoryHitUpdatesTimeStamp() throws Exception {
+        TTSCacheImpl cache = createCache();
+        cache.get(createKey("Hello"), synthesizer("Hello"));
+        File file = new File(cacheFolder, createKey("Hello").getFileName());
+        long lastUse = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1);
+        assertTrue(file.setLastModified(lastUse));
+
+        cache.get(createKey("Hello"), synthesizer("Hello"));
+
+        assertEquals(1, cache.getStatistics().getMemoryHits());
+        assertTrue(file.lastModified() > lastUse);
+    }
+
+    @Test
+    public void testExpireRemovesUnusedFilesOfService() throws Exception {
+        TTSCacheImpl cache = createCache();
+        TTSCacheKey otherKey = new TTSCacheKey("othertts", "othertts:voice", FORMAT, "Hello");
+        cache.get(createKey("Hello"), synthesizer("Hello"));
+        cache.get(createKey("World"), synthesizer("World"));
+        cache.get(otherKey, synthesizer("Hello"));
+        long lastUse = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(10);
+        assertTrue(new File(cacheFolder, createKey("Hello").getFileName()).setLastModified(lastUse));
+        assertTrue(new File(cacheFolder, otherKey.getFileName()).setLastModified(lastUse));
+
+        cache.expire("testtts", Duration.ofDays(7));
+
+        assertFalse(new File(cacheFolder, createKey("Hello").getFileName()).exists());
+        assertTrue(new File(cacheFolder, createKey("World").getFileName()).exists());
+        assertTrue(new File(cacheFolder, otherKey.getFileName()).exists());
+        assertEquals(2, cache.getStatistics().getDiskEntries());
+        assertEquals(2, cache.getStatistics().getMemoryEntries());
+    }
+
+    @Test
+    public void testServiceCacheFolderIsRemoved() throws Exception {
+        TTSCacheImpl cache = createCache();
+        cache.get(createKey("Hello"), synthesizer("Hello"));
+        File serviceCacheFolder = folder.newFolder("org.openhab.voice.testtts");
+        Files.write(new File(serviceCacheFolder, "0123456789abcdef.mp3").toPath(), audio("Hello"));
+        Files.write(new File(serviceCacheFolder, "0123456789abcdef.txt").toPath(), "Hello".getBytes());
+
+        cache.removeServiceCacheFolder("org.openhab.voice.testtts");
+        // the folder of the cache itself is kept
+        cache.removeServiceCacheFolder(cacheFolder.getName());
+
+        assertFalse(serviceCacheFolder.exists());
+        assertTrue(new File(cacheFolder, createKey("Hello").getFileName()).exists());
+    }
+
+    private TTSCacheImpl createCache() {
+        TTSCacheImpl cache = new TTSCacheImpl();
+        cache.activate(cacheFolder, config);
+        return cache;
+    }
+
+    private TTSCacheKey createKey(String text) {
+        return new TTSCacheKey("testtts", "testtts:voice", FORMAT, text);
+    }
+
+    private TTSSynthesizer synthesizer(String text) {
+        return synthesizer(audio(text));
+    }
+
+    private TTSSynthesizer synthesizer(byte[] audio) {
+        return file -> {
+            syntheses.incrementAndGet();
+            try {
+                Files.write(file.toPath(), audio);
+            } catch (IOException e) {
+                throw new TTSException(e);
+            }
+        };
+    }
+
+    private byte[] audio(String text) {
+        return ("audio of " + text).getBytes();
+    }
+
+    private byte[] read(InputStream stream) throws IOException {
+        try (InputStream inputStream = stream; ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            byte[] buffer = new byte[4096];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, length);
+            }
+            return outputStream.toByteArray();
+        }
+    }
+}
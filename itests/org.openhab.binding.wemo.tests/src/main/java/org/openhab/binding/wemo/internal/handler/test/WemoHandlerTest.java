@@ -141,7 +141,7 @@ public class WemoHandlerTest {
         String channelToWatch;
 
         public MockWemoHandler(Thing thing, String channelToWatch) {
-            super(thing, null, new WemoHttpCall());
+            super(thing, null, null, new WemoHttpCall());
             this.channelToWatch = channelToWatch;
         }
 